@@ -53,12 +53,55 @@ app.post('/api/v1/brand-voice/profiles', async (req: Request, res: Response) =>
             {
                 headers: {
                     'Content-Type': 'application/json',
-                    'X-Request-ID': generateRequestId()
+                    'X-Request-ID': generateRequestId(),
+                    ...idempotencyKey(req),
+                    // Prefer: respond-async answers 202 with a pending profile
+                    ...(req.get('Prefer') ? { 'Prefer': req.get('Prefer') } : {})
                 },
                 timeout: 10000
             }
         );
 
+        if (response.headers.location) {
+            res.location(response.headers.location);
+        }
+        if (response.headers['preference-applied']) {
+            res.set('Preference-Applied', response.headers['preference-applied']);
+        }
+        res.status(response.status).json(response.data);
+    } catch (error) {
+        handleProxyError(error, res);
+    }
+});
+
+// Corpus uploads (multipart or raw, possibly gzipped) are piped through unparsed,
+// so neither the JSON body limit nor gateway memory applies
+app.post('/api/v1/brand-voice/profiles/corpus', async (req: Request, res: Response) => {
+    try {
+        const headers: Record<string, string> = {
+            'Content-Type': req.headers['content-type'] || 'application/octet-stream',
+            'X-Request-ID': generateRequestId()
+        };
+        if (req.headers['content-length']) {
+            headers['Content-Length'] = req.headers['content-length'];
+        }
+
+        const response = await axios.post(
+            `${BRAND_VOICE_SERVICE_URL}/api/v1/brand-voice/profiles/corpus`,
+            req,
+            {
+                params: req.query,
+                headers,
+                maxBodyLength: Infinity,
+                // A streamed body cannot be replayed, so the service streams it to the owning instance itself
+                maxRedirects: 0,
+                timeout: 600000
+            }
+        );
+
+        if (response.headers.location) {
+            res.location(response.headers.location);
+        }
         res.status(response.status).json(response.data);
     } catch (error) {
         handleProxyError(error, res);
@@ -85,6 +128,113 @@ app.get('/api/v1/brand-voice/profiles/:customerId', async (req: Request, res: Re
     }
 });
 
+app.put('/api/v1/brand-voice/profiles/:customerId', async (req: Request, res: Response) => {
+    try {
+        const { customerId } = req.params;
+
+        const response = await axios.put(
+            `${BRAND_VOICE_SERVICE_URL}/api/v1/brand-voice/profiles/${customerId}`,
+            req.body,
+            {
+                headers: {
+                    'Content-Type': 'application/json',
+                    'X-Request-ID': generateRequestId()
+                },
+                timeout: 10000
+            }
+        );
+
+        res.status(response.status).json(response.data);
+    } catch (error) {
+        handleProxyError(error, res);
+    }
+});
+
+app.patch('/api/v1/brand-voice/profiles/:customerId', async (req: Request, res: Response) => {
+    try {
+        const { customerId } = req.params;
+
+        const response = await axios.patch(
+            `${BRAND_VOICE_SERVICE_URL}/api/v1/brand-voice/profiles/${customerId}`,
+            req.body,
+            {
+                headers: {
+                    'Content-Type': 'application/json',
+                    'X-Request-ID': generateRequestId()
+                },
+                timeout: 10000
+            }
+        );
+
+        res.status(response.status).json(response.data);
+    } catch (error) {
+        handleProxyError(error, res);
+    }
+});
+
+app.get('/api/v1/brand-voice/profiles/:customerId/status', async (req: Request, res: Response) => {
+    try {
+        const { customerId } = req.params;
+
+        const response = await axios.get(
+            `${BRAND_VOICE_SERVICE_URL}/api/v1/brand-voice/profiles/${customerId}/status`,
+            {
+                headers: {
+                    'X-Request-ID': generateRequestId()
+                },
+                timeout: 5000
+            }
+        );
+
+        res.status(response.status).json(response.data);
+    } catch (error) {
+        handleProxyError(error, res);
+    }
+});
+
+app.get('/api/v1/brand-voice/profiles/:customerId/scoring-rules', async (req: Request, res: Response) => {
+    try {
+        const { customerId } = req.params;
+
+        const response = await axios.get(
+            `${BRAND_VOICE_SERVICE_URL}/api/v1/brand-voice/profiles/${customerId}/scoring-rules`,
+            {
+                headers: {
+                    'X-Request-ID': generateRequestId()
+                },
+                timeout: 5000
+            }
+        );
+
+        res.status(response.status).json(response.data);
+    } catch (error) {
+        handleProxyError(error, res);
+    }
+});
+
+app.put('/api/v1/brand-voice/profiles/:customerId/scoring-rules', async (req: Request, res: Response) => {
+    try {
+        const { customerId } = req.params;
+
+        const response = await axios.put(
+            `${BRAND_VOICE_SERVICE_URL}/api/v1/brand-voice/profiles/${customerId}/scoring-rules`,
+            req.body,
+            {
+                params: req.query,
+                headers: {
+                    'Content-Type': 'application/json',
+                    'X-Request-ID': generateRequestId()
+                },
+                timeout: 10000
+            }
+        );
+
+        res.status(response.status).json(response.data);
+    } catch (error) {
+        handleProxyError(error, res);
+    }
+});
+
 app.post('/api/v1/brand-voice/validate', async (req: Request, res: Response) => {
     try {
         // Add validation
@@ -98,6 +248,56 @@ app.post('/api/v1/brand-voice/validate', async (req: Request, res: Response) =>
         const response = await axios.post(
             `${BRAND_VOICE_SERVICE_URL}/api/v1/brand-voice/validate`,
             req.body,
+            {
+                headers: {
+                    'Content-Type': 'application/json',
+                    'X-Request-ID': generateRequestId(),
+                    ...idempotencyKey(req)
+                },
+                timeout: 10000
+            }
+        );
+
+        res.status(response.status).json(response.data);
+    } catch (error) {
+        handleProxyError(error, res);
+    }
+});
+
+app.post('/api/v1/brand-voice/validate/stream', async (req: Request, res: Response) => {
+    try {
+        const response = await axios.post(
+            `${BRAND_VOICE_SERVICE_URL}/api/v1/brand-voice/validate/stream`,
+            req.body,
+            {
+                headers: {
+                    'Content-Type': 'application/json',
+                    'X-Request-ID': generateRequestId(),
+                    ...idempotencyKey(req)
+                },
+                timeout: 30000
+            }
+        );
+
+        res.status(response.status).json(response.data);
+    } catch (error) {
+        handleProxyError(error, res);
+    }
+});
+
+app.post('/api/v1/brand-voice/validate/jobs', async (req: Request, res: Response) => {
+    try {
+        if (!req.body.customerId || !Array.isArray(req.body.items) || req.body.items.length === 0) {
+            return res.status(400).json({
+                error: 'Bad Request',
+                message: 'customerId and a non-empty items array are required'
+            });
+        }
+
+        // Only queues the job, so the usual short timeout applies even for large documents
+        const response = await axios.post(
+            `${BRAND_VOICE_SERVICE_URL}/api/v1/brand-voice/validate/jobs`,
+            req.body,
             {
                 headers: {
                     'Content-Type': 'application/json',
@@ -107,6 +307,71 @@ app.post('/api/v1/brand-voice/validate', async (req: Request, res: Response) =>
             }
         );
 
+        if (response.headers.location) {
+            res.location(response.headers.location);
+        }
+        res.status(response.status).json(response.data);
+    } catch (error) {
+        handleProxyError(error, res);
+    }
+});
+
+app.get('/api/v1/brand-voice/validate/jobs/:jobId', async (req: Request, res: Response) => {
+    try {
+        const { jobId } = req.params;
+
+        const response = await axios.get(
+            `${BRAND_VOICE_SERVICE_URL}/api/v1/brand-voice/validate/jobs/${jobId}`,
+            {
+                headers: {
+                    'X-Request-ID': generateRequestId()
+                },
+                timeout: 5000
+            }
+        );
+
+        res.status(response.status).json(response.data);
+    } catch (error) {
+        handleProxyError(error, res);
+    }
+});
+
+app.get('/api/v1/brand-voice/customers/:customerId/validation-stats', async (req: Request, res: Response) => {
+    try {
+        const { customerId } = req.params;
+
+        const response = await axios.get(
+            `${BRAND_VOICE_SERVICE_URL}/api/v1/brand-voice/customers/${customerId}/validation-stats`,
+            {
+                params: req.query,
+                headers: {
+                    'X-Request-ID': generateRequestId()
+                },
+                timeout: 5000
+            }
+        );
+
+        res.status(response.status).json(response.data);
+    } catch (error) {
+        handleProxyError(error, res);
+    }
+});
+
+app.get('/api/v1/brand-voice/customers/:customerId/score-quantiles', async (req: Request, res: Response) => {
+    try {
+        const { customerId } = req.params;
+
+        const response = await axios.get(
+            `${BRAND_VOICE_SERVICE_URL}/api/v1/brand-voice/customers/${customerId}/score-quantiles`,
+            {
+                params: req.query,
+                headers: {
+                    'X-Request-ID': generateRequestId()
+                },
+                timeout: 5000
+            }
+        );
+
         res.status(response.status).json(response.data);
     } catch (error) {
         handleProxyError(error, res);
@@ -150,6 +415,12 @@ app.use((req: Request, res: Response) => {
     });
 });
 
+// Passed through so retries of the same request replay the first response
+function idempotencyKey(req: Request): Record<string, string> {
+    const key = req.headers['idempotency-key'];
+    return typeof key === 'string' ? { 'Idempotency-Key': key } : {};
+}
+
 function generateRequestId(): string {
     return `req_${Date.now()}_${Math.random().toString(36).substr(2, 9)}`;
 }
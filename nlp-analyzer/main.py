@@ -6,7 +6,7 @@ Provides advanced text analysis for brand voice detection
 from fastapi import FastAPI, HTTPException
 from pydantic import BaseModel
 import uvicorn
-from typing import Dict, Any
+from typing import Dict, Any, List
 import re
 from collections import Counter
 import logging
@@ -33,6 +33,18 @@ class AnalyzeResponse(BaseModel):
     key_phrases: list
 
 
+class BatchAnalyzeRequest(BaseModel):
+    texts: List[str]
+
+
+class BatchAnalyzeResponse(BaseModel):
+    # One entry per input text, in order; failed texts carry an "error" key
+    results: List[Dict[str, Any]]
+
+
+MAX_BATCH_SIZE = 256
+
+
 @app.get("/health")
 async def health_check():
     """Health check endpoint"""
@@ -53,16 +65,7 @@ async def analyze_text(request: AnalyzeRequest):
         logger.info(f"Analyzing text of length: {len(text)}")
 
         # Perform analysis
-        analysis = {
-            "tone": detect_tone(text),
-            "formality": calculate_formality(text),
-            "vocabulary_complexity": calculate_vocabulary_complexity(text),
-            "sentence_length": categorize_sentence_length(text),
-            "avg_sentence_length": calculate_avg_sentence_length(text),
-            "word_count": count_words(text),
-            "unique_words": count_unique_words(text),
-            "key_phrases": extract_key_phrases(text)
-        }
+        analysis = analyze(text)
 
         logger.info(f"Analysis completed: tone={analysis['tone']}, formality={analysis['formality']:.2f}")
 
@@ -73,6 +76,45 @@ async def analyze_text(request: AnalyzeRequest):
         raise HTTPException(status_code=500, detail=f"Analysis failed: {str(e)}")
 
 
+@app.post("/analyze/batch", response_model=BatchAnalyzeResponse)
+async def analyze_batch(request: BatchAnalyzeRequest):
+    """
+    Analyze several texts in one call. A failure on one text is reported in
+    its own result entry and does not fail the rest of the batch.
+    """
+    if len(request.texts) > MAX_BATCH_SIZE:
+        raise HTTPException(status_code=413, detail=f"Batch exceeds {MAX_BATCH_SIZE} texts")
+
+    results = []
+    for text in request.texts:
+        if not text or len(text.strip()) < 10:
+            results.append({"error": "Text is too short for analysis"})
+            continue
+        try:
+            results.append(analyze(text))
+        except Exception as e:
+            logger.error(f"Error analyzing text in batch: {str(e)}")
+            results.append({"error": f"Analysis failed: {str(e)}"})
+
+    logger.info(f"Batch analysis completed: {len(results)} texts")
+
+    return {"results": results}
+
+
+def analyze(text: str) -> Dict[str, Any]:
+    """Run every voice heuristic over a single text"""
+    return {
+        "tone": detect_tone(text),
+        "formality": calculate_formality(text),
+        "vocabulary_complexity": calculate_vocabulary_complexity(text),
+        "sentence_length": categorize_sentence_length(text),
+        "avg_sentence_length": calculate_avg_sentence_length(text),
+        "word_count": count_words(text),
+        "unique_words": count_unique_words(text),
+        "key_phrases": extract_key_phrases(text)
+    }
+
+
 def detect_tone(text: str) -> str:
     """Detect the overall tone of the text"""
     text_lower = text.lower()
@@ -0,0 +1,72 @@
+#!/bin/bash
+
+# Fast-start build: Spring AOT jar + AppCDS archive from a training run.
+#
+# Builds target/*-fast-start.jar, extracts it into target/fast-start and
+# starts it with -XX:ArchiveClassesAtExit while creating a profile and
+# validating content against it, so the archive covers the request path and
+# not only context refresh. Admission control is off for the training run, as
+# its back-to-back validations would exceed the per-tenant rate limit. Needs
+# PostgreSQL, Redis and the NLP analyzer (make docker-up, or docker-compose
+# up -d postgres redis nlp-analyzer).
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+OUT=target/fast-start
+PORT=${TRAINING_PORT:-18080}
+BASE="http://localhost:${PORT}/api/v1/brand-voice"
+CUSTOMER="cds-training-$$"
+VALIDATIONS=${TRAINING_VALIDATIONS:-200}
+
+echo "Building fast-start jar (Spring AOT)..."
+mvn -B -q -Pfast-start clean package -DskipTests
+
+rm -rf "$OUT"
+java -Djarmode=tools -jar target/brand-voice-service-*-fast-start.jar extract --destination "$OUT"
+APP_JAR=$(ls "$OUT"/*.jar)
+
+echo "Starting training run..."
+java -XX:ArchiveClassesAtExit="$OUT/app.jsa" \
+    -Dspring.aot.enabled=true \
+    --add-modules jdk.incubator.vector \
+    -jar "$APP_JAR" \
+    --spring.profiles.active=fast-start \
+    --server.port="$PORT" \
+    --grpc.server.port=0 \
+    --brand-voice.admission.enabled=false \
+    > "$OUT/training.log" 2>&1 &
+PID=$!
+trap 'kill $PID 2>/dev/null || true' EXIT
+
+for _ in $(seq 1 120); do
+    curl -sf "$BASE/health" > /dev/null && break
+    sleep 1
+done
+
+curl -sf -X POST "$BASE/profiles" -H 'Content-Type: application/json' -d "{
+  \"customerId\": \"$CUSTOMER\",
+  \"brandName\": \"CDS Training\",
+  \"sampleContent\": \"We are excited to share our innovative solutions with you! Our team is dedicated to delivering amazing results that help your business grow and succeed.\"
+}" > /dev/null
+
+curl -sf "$BASE/profiles/$CUSTOMER" > /dev/null
+
+for i in $(seq 1 "$VALIDATIONS"); do
+    curl -sf -X POST "$BASE/validate" -H 'Content-Type: application/json' -d "{
+      \"customerId\": \"$CUSTOMER\",
+      \"content\": \"Training request $i: we are thrilled to announce our latest product launch for your team.\",
+      \"contentType\": \"email\"
+    }" > /dev/null
+done
+
+curl -sf -X DELETE "$BASE/profiles/$CUSTOMER" > /dev/null
+
+# The archive is written when the JVM exits
+kill -TERM $PID
+wait $PID || true
+trap - EXIT
+
+echo "✓ CDS archive written to $OUT/app.jsa"
+echo "  Run: java -XX:SharedArchiveFile=$OUT/app.jsa -Dspring.aot.enabled=true --add-modules jdk.incubator.vector -jar $APP_JAR --spring.profiles.active=fast-start"
@@ -0,0 +1,86 @@
+#!/bin/bash
+
+# Compares the default jar with the fast-start build (AOT + AppCDS).
+#
+# For each variant, reports the startup time Spring logs ("process running
+# for") and the time from JVM launch to the first successful /validate
+# response. Run scripts/cds-training.sh first; needs the same backing
+# services as the training run.
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+FAST=target/fast-start
+PORT=${REPORT_PORT:-18081}
+BASE="http://localhost:${PORT}/api/v1/brand-voice"
+RUNS=${REPORT_RUNS:-3}
+CUSTOMER="startup-report"
+
+if [ ! -f "$FAST/app.jsa" ]; then
+    echo "✗ $FAST/app.jsa not found, run scripts/cds-training.sh first"
+    exit 1
+fi
+
+FAST_JAR=$(ls "$FAST"/*.jar)
+DEFAULT_JAR=target/startup-report/default.jar
+
+# Package the default jar without cleaning, so the extracted fast-start build stays
+mkdir -p target/startup-report
+mvn -B -q package -DskipTests
+cp "$(ls target/brand-voice-service-*.jar | grep -v -- '-fast-start.jar$')" "$DEFAULT_JAR"
+
+VALIDATE_BODY="{\"customerId\": \"$CUSTOMER\", \"content\": \"We are thrilled to announce our latest product launch for your team.\", \"contentType\": \"email\"}"
+
+now_ms() {
+    date +%s%3N
+}
+
+# run <log> <java args...>: starts the service and prints "<startup s> <ttfv ms>"
+run() {
+    local log=$1; shift
+    local start
+    start=$(now_ms)
+    java "$@" --server.port="$PORT" --grpc.server.port=0 > "$log" 2>&1 &
+    local pid=$!
+
+    until curl -sf -X POST "$BASE/validate" -H 'Content-Type: application/json' -d "$VALIDATE_BODY" > /dev/null; do
+        if ! kill -0 $pid 2>/dev/null; then
+            echo "✗ Service exited, see $log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    local ttfv=$(( $(now_ms) - start ))
+
+    kill -TERM $pid
+    wait $pid || true
+
+    local startup
+    startup=$(grep -o 'process running for [0-9.]*' "$log" | awk '{print $4}')
+    echo "$startup $ttfv"
+}
+
+# Make sure the profile used for validation exists
+java -jar "$DEFAULT_JAR" --server.port="$PORT" --grpc.server.port=0 > target/startup-report/setup.log 2>&1 &
+SETUP_PID=$!
+until curl -sf "$BASE/health" > /dev/null; do sleep 0.5; done
+curl -s -X POST "$BASE/profiles" -H 'Content-Type: application/json' -d "{
+  \"customerId\": \"$CUSTOMER\",
+  \"brandName\": \"Startup Report\",
+  \"sampleContent\": \"We are excited to share our innovative solutions with you! Our team is dedicated to delivering amazing results that help your business grow and succeed.\"
+}" > /dev/null || true
+kill -TERM $SETUP_PID
+wait $SETUP_PID || true
+
+printf "%-12s %4s %12s %26s\n" "variant" "run" "startup (s)" "time to first validate (ms)"
+for i in $(seq 1 "$RUNS"); do
+    read -r startup ttfv < <(run target/startup-report/default-$i.log \
+        --add-modules jdk.incubator.vector -jar "$DEFAULT_JAR")
+    printf "%-12s %4d %12s %26s\n" "default" "$i" "$startup" "$ttfv"
+
+    read -r startup ttfv < <(run target/startup-report/fast-start-$i.log \
+        -XX:SharedArchiveFile="$FAST/app.jsa" -Dspring.aot.enabled=true \
+        --add-modules jdk.incubator.vector -jar "$FAST_JAR" --spring.profiles.active=fast-start)
+    printf "%-12s %4d %12s %26s\n" "fast-start" "$i" "$startup" "$ttfv"
+done
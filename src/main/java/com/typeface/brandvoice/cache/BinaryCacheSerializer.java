@@ -0,0 +1,465 @@
+package com.typeface.brandvoice.cache;
+
+import com.typeface.brandvoice.dto.BrandProfileResponse;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compact binary encoding for cached values.
+ *
+ * Every entry starts with a three-byte header: format version, flags and
+ * payload kind. {@link CachedEntry} envelopes store their load time ahead of
+ * the wrapped value. {@link BrandProfileResponse} has a dedicated schema (a field
+ * presence mask followed by the present fields, with varint lengths and tagged
+ * attribute values), so no class names are stored. Any other type, or a
+ * profile holding attribute values the schema cannot represent, is stored as
+ * JSON through the fallback serializer.
+ *
+ * Payloads at or above the compression threshold are deflated. Entries
+ * written by the plain JSON serializer are still readable, and entries from an
+ * unknown format version decode to {@code null}, which the cache treats as a
+ * miss.
+ */
+public class BinaryCacheSerializer implements RedisSerializer<Object> {
+
+    // Bump when any schema below changes; older entries then read as misses
+    static final byte FORMAT_VERSION = 1;
+
+    private static final byte FLAG_DEFLATE = 0x01;
+
+    private static final byte KIND_JSON = 0;
+    private static final byte KIND_BRAND_PROFILE = 1;
+    private static final byte KIND_CACHED_ENTRY = 2;
+
+    private static final int HEADER_LENGTH = 3;
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_INT = 2;
+    private static final byte TAG_LONG = 3;
+    private static final byte TAG_DOUBLE = 4;
+    private static final byte TAG_TRUE = 5;
+    private static final byte TAG_FALSE = 6;
+    private static final byte TAG_LIST = 7;
+    private static final byte TAG_MAP = 8;
+
+    private static final ThreadLocal<Deflater> DEFLATER =
+            ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED));
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
+
+    private final RedisSerializer<Object> fallback;
+    private final int compressionThreshold;
+
+    public BinaryCacheSerializer(RedisSerializer<Object> fallback, int compressionThreshold) {
+        this.fallback = fallback;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+
+        Output out = new Output(256);
+        out.skip(HEADER_LENGTH);
+        byte kind = writePayload(out, value);
+
+        int payloadLength = out.size() - HEADER_LENGTH;
+        if (compressionThreshold > 0 && payloadLength >= compressionThreshold) {
+            return deflate(out.buffer(), payloadLength, kind);
+        }
+
+        byte[] bytes = out.toByteArray();
+        bytes[0] = FORMAT_VERSION;
+        bytes[1] = 0;
+        bytes[2] = kind;
+        return bytes;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        // Written by the JSON codec before the switch
+        if (bytes[0] == '{' || bytes[0] == '[' || bytes[0] == '"') {
+            return fallback.deserialize(bytes);
+        }
+        if (bytes[0] != FORMAT_VERSION || bytes.length < HEADER_LENGTH) {
+            return null;
+        }
+
+        byte flags = bytes[1];
+        byte kind = bytes[2];
+        Input in = (flags & FLAG_DEFLATE) != 0
+                ? new Input(inflate(bytes))
+                : new Input(bytes, HEADER_LENGTH);
+
+        return readPayload(in, kind);
+    }
+
+    /**
+     * Writes the value with the most specific schema available and returns
+     * its kind. A {@link CachedEntry} is written as its load time followed by
+     * the wrapped value's own kind and payload.
+     */
+    private byte writePayload(Output out, Object value) {
+        int start = out.size();
+
+        if (value instanceof CachedEntry entry && entry.value() != null) {
+            out.writeVarLong(entry.loadedAt());
+            int kindPosition = out.size();
+            out.writeByte(0);
+            out.set(kindPosition, writePayload(out, entry.value()));
+            return KIND_CACHED_ENTRY;
+        }
+        if (value instanceof BrandProfileResponse profile) {
+            try {
+                writeProfile(out, profile);
+                return KIND_BRAND_PROFILE;
+            } catch (UnsupportedValueException e) {
+                out.reset(start);
+            }
+        }
+        out.writeBytes(fallback.serialize(value));
+        return KIND_JSON;
+    }
+
+    private Object readPayload(Input in, byte kind) {
+        return switch (kind) {
+            case KIND_CACHED_ENTRY -> {
+                long loadedAt = in.readVarLong();
+                Object value = readPayload(in, in.readByte());
+                yield value != null ? new CachedEntry(value, loadedAt) : null;
+            }
+            case KIND_BRAND_PROFILE -> readProfile(in);
+            case KIND_JSON -> fallback.deserialize(in.remaining());
+            default -> null;
+        };
+    }
+
+    private void writeProfile(Output out, BrandProfileResponse profile) {
+        int mask = (profile.getProfileId() != null ? 1 : 0)
+                | (profile.getCustomerId() != null ? 1 << 1 : 0)
+                | (profile.getBrandName() != null ? 1 << 2 : 0)
+                | (profile.getVoiceAttributes() != null ? 1 << 3 : 0)
+                | (profile.getConfidenceScore() != null ? 1 << 4 : 0)
+                | (profile.getStatus() != null ? 1 << 5 : 0)
+                | (profile.getCreatedAt() != null ? 1 << 6 : 0)
+                | (profile.getVersion() != null ? 1 << 7 : 0);
+        out.writeByte(mask);
+
+        if (profile.getProfileId() != null) out.writeString(profile.getProfileId());
+        if (profile.getCustomerId() != null) out.writeString(profile.getCustomerId());
+        if (profile.getBrandName() != null) out.writeString(profile.getBrandName());
+        if (profile.getVoiceAttributes() != null) writeMap(out, profile.getVoiceAttributes());
+        if (profile.getConfidenceScore() != null) out.writeDouble(profile.getConfidenceScore());
+        if (profile.getStatus() != null) out.writeString(profile.getStatus());
+        if (profile.getCreatedAt() != null) out.writeString(profile.getCreatedAt());
+        if (profile.getVersion() != null) out.writeVarLong(profile.getVersion());
+    }
+
+    private BrandProfileResponse readProfile(Input in) {
+        int mask = in.readByte() & 0xFF;
+        BrandProfileResponse profile = new BrandProfileResponse();
+
+        if ((mask & 1) != 0) profile.setProfileId(in.readString());
+        if ((mask & 1 << 1) != 0) profile.setCustomerId(in.readString());
+        if ((mask & 1 << 2) != 0) profile.setBrandName(in.readString());
+        if ((mask & 1 << 3) != 0) profile.setVoiceAttributes(readMap(in));
+        if ((mask & 1 << 4) != 0) profile.setConfidenceScore(in.readDouble());
+        if ((mask & 1 << 5) != 0) profile.setStatus(in.readString());
+        if ((mask & 1 << 6) != 0) profile.setCreatedAt(in.readString());
+        if ((mask & 1 << 7) != 0) profile.setVersion(in.readVarLong());
+
+        return profile;
+    }
+
+    private void writeMap(Output out, Map<?, ?> map) {
+        out.writeVarLong(map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!(entry.getKey() instanceof String key)) {
+                throw new UnsupportedValueException();
+            }
+            out.writeString(key);
+            writeValue(out, entry.getValue());
+        }
+    }
+
+    private Map<String, Object> readMap(Input in) {
+        int size = (int) in.readVarLong();
+        Map<String, Object> map = new LinkedHashMap<>(Math.max(4, size * 2));
+        for (int i = 0; i < size; i++) {
+            String key = in.readString();
+            map.put(key, readValue(in));
+        }
+        return map;
+    }
+
+    private void writeValue(Output out, Object value) {
+        if (value == null) {
+            out.writeByte(TAG_NULL);
+        } else if (value instanceof String s) {
+            out.writeByte(TAG_STRING);
+            out.writeString(s);
+        } else if (value instanceof Integer i) {
+            out.writeByte(TAG_INT);
+            out.writeVarLong(zigZag(i));
+        } else if (value instanceof Long l) {
+            out.writeByte(TAG_LONG);
+            out.writeVarLong(zigZag(l));
+        } else if (value instanceof Double d) {
+            out.writeByte(TAG_DOUBLE);
+            out.writeDouble(d);
+        } else if (value instanceof Boolean b) {
+            out.writeByte(b ? TAG_TRUE : TAG_FALSE);
+        } else if (value instanceof List<?> list) {
+            out.writeByte(TAG_LIST);
+            out.writeVarLong(list.size());
+            for (Object item : list) {
+                writeValue(out, item);
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            out.writeByte(TAG_MAP);
+            writeMap(out, map);
+        } else {
+            throw new UnsupportedValueException();
+        }
+    }
+
+    private Object readValue(Input in) {
+        byte tag = in.readByte();
+        return switch (tag) {
+            case TAG_NULL -> null;
+            case TAG_STRING -> in.readString();
+            case TAG_INT -> (int) unZigZag(in.readVarLong());
+            case TAG_LONG -> unZigZag(in.readVarLong());
+            case TAG_DOUBLE -> in.readDouble();
+            case TAG_TRUE -> Boolean.TRUE;
+            case TAG_FALSE -> Boolean.FALSE;
+            case TAG_LIST -> {
+                int size = (int) in.readVarLong();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                yield list;
+            }
+            case TAG_MAP -> readMap(in);
+            default -> throw new SerializationException("Unknown cache value tag: " + tag);
+        };
+    }
+
+    private static byte[] deflate(byte[] buffer, int payloadLength, byte kind) {
+        Deflater deflater = DEFLATER.get();
+        deflater.reset();
+        deflater.setInput(buffer, HEADER_LENGTH, payloadLength);
+        deflater.finish();
+
+        Output out = new Output(payloadLength / 2 + 16);
+        out.writeByte(FORMAT_VERSION);
+        out.writeByte(FLAG_DEFLATE);
+        out.writeByte(kind);
+        out.writeVarLong(payloadLength);
+
+        byte[] chunk = new byte[Math.min(payloadLength, 8192) + 64];
+        while (!deflater.finished()) {
+            int n = deflater.deflate(chunk);
+            out.writeBytes(chunk, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] inflate(byte[] bytes) {
+        Input header = new Input(bytes, HEADER_LENGTH);
+        int length = (int) header.readVarLong();
+
+        Inflater inflater = INFLATER.get();
+        inflater.reset();
+        inflater.setInput(bytes, header.position(), bytes.length - header.position());
+
+        byte[] payload = new byte[length];
+        try {
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                int n = inflater.inflate(payload, read, length - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != length) {
+                throw new SerializationException("Truncated compressed cache entry");
+            }
+        } catch (DataFormatException e) {
+            throw new SerializationException("Corrupt compressed cache entry", e);
+        }
+        return payload;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /** Value outside the binary schema; the entry is written as JSON instead. */
+    private static final class UnsupportedValueException extends RuntimeException {
+
+        UnsupportedValueException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final class Output {
+
+        private byte[] buffer;
+        private int size;
+
+        Output(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        void skip(int n) {
+            ensure(n);
+            size += n;
+        }
+
+        void reset(int newSize) {
+            size = newSize;
+        }
+
+        void set(int position, byte b) {
+            buffer[position] = b;
+        }
+
+        void writeByte(int b) {
+            ensure(1);
+            buffer[size++] = (byte) b;
+        }
+
+        void writeBytes(byte[] bytes) {
+            writeBytes(bytes, 0, bytes.length);
+        }
+
+        void writeBytes(byte[] bytes, int offset, int length) {
+            ensure(length);
+            System.arraycopy(bytes, offset, buffer, size, length);
+            size += length;
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void writeDouble(double value) {
+            ensure(8);
+            long bits = Double.doubleToRawLongBits(value);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[size++] = (byte) (bits >>> shift);
+            }
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            writeBytes(bytes);
+        }
+
+        byte[] buffer() {
+            return buffer;
+        }
+
+        int size() {
+            return size;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+    }
+
+    private static final class Input {
+
+        private final byte[] bytes;
+        private int position;
+
+        Input(byte[] bytes) {
+            this(bytes, 0);
+        }
+
+        Input(byte[] bytes, int position) {
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        int position() {
+            return position;
+        }
+
+        byte readByte() {
+            if (position >= bytes.length) {
+                throw new SerializationException("Truncated cache entry");
+            }
+            return bytes[position++];
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new SerializationException("Malformed varint in cache entry");
+        }
+
+        double readDouble() {
+            long bits = 0;
+            for (int i = 0; i < 8; i++) {
+                bits = (bits << 8) | (readByte() & 0xFF);
+            }
+            return Double.longBitsToDouble(bits);
+        }
+
+        String readString() {
+            int length = (int) readVarLong();
+            if (length < 0 || position + length > bytes.length) {
+                throw new SerializationException("Truncated cache entry");
+            }
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        byte[] remaining() {
+            return Arrays.copyOfRange(bytes, position, bytes.length);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.typeface.brandvoice.cache;
+
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * Value encodings available for the Redis cache, selected with
+ * {@code brand-voice.cache.codec}.
+ */
+public enum CacheCodec {
+
+    /** Jackson JSON with embedded class names. */
+    JSON,
+
+    /** Versioned schema-aware binary encoding; see {@link BinaryCacheSerializer}. */
+    BINARY;
+
+    /**
+     * Builds the value serializer. {@code compressionThreshold} only applies
+     * to {@link #BINARY}; entries at or above it are deflated, and zero or
+     * less disables compression.
+     */
+    public RedisSerializer<Object> serializer(int compressionThreshold) {
+        RedisSerializer<Object> json = new GenericJackson2JsonRedisSerializer();
+        return switch (this) {
+            case JSON -> json;
+            case BINARY -> new BinaryCacheSerializer(json, compressionThreshold);
+        };
+    }
+}
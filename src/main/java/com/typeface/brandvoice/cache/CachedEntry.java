@@ -0,0 +1,8 @@
+package com.typeface.brandvoice.cache;
+
+/**
+ * Cache envelope recording when a value was loaded, so reads can tell how far
+ * into its TTL an entry is.
+ */
+public record CachedEntry(Object value, long loadedAt) {
+}
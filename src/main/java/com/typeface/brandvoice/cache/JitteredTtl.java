@@ -0,0 +1,31 @@
+package com.typeface.brandvoice.cache;
+
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Spreads expirations by randomizing each entry's TTL within
+ * {@code base ± base * jitter}, so entries written together do not all
+ * expire together.
+ */
+public class JitteredTtl implements RedisCacheWriter.TtlFunction {
+
+    private final long baseMillis;
+    private final long spreadMillis;
+
+    public JitteredTtl(Duration base, double jitter) {
+        this.baseMillis = base.toMillis();
+        this.spreadMillis = (long) (baseMillis * Math.max(0.0, Math.min(jitter, 1.0)));
+    }
+
+    @Override
+    public Duration getTimeToLive(Object key, Object value) {
+        if (spreadMillis == 0) {
+            return Duration.ofMillis(baseMillis);
+        }
+        long offset = ThreadLocalRandom.current().nextLong(-spreadMillis, spreadMillis + 1);
+        return Duration.ofMillis(Math.max(1, baseMillis + offset));
+    }
+}
@@ -0,0 +1,213 @@
+package com.typeface.brandvoice.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Cache decorator adding refresh-ahead and stampede protection.
+ *
+ * Values are stored inside a {@link CachedEntry}. A read through
+ * {@link #get(Object, Callable)} (i.e. {@code @Cacheable(sync = true)}) that
+ * finds an entry older than {@code refreshAfterMillis} returns it and
+ * schedules a background reload. Only the node that takes the Redis lease for
+ * the key reloads it. Concurrent misses on one node share a single load.
+ */
+@Slf4j
+public class RefreshAheadCache implements Cache {
+
+    private static final String LEASE_PREFIX = "cache-refresh-lease::";
+
+    private final Cache delegate;
+    private final StringRedisTemplate redisTemplate;
+    private final Executor refreshExecutor;
+    private final RefreshAheadCacheManager.Settings settings;
+
+    private final Map<Object, CompletableFuture<Object>> inFlightLoads = new ConcurrentHashMap<>();
+    private final Map<Object, Boolean> inFlightRefreshes = new ConcurrentHashMap<>();
+
+    RefreshAheadCache(Cache delegate,
+                      StringRedisTemplate redisTemplate,
+                      Executor refreshExecutor,
+                      RefreshAheadCacheManager.Settings settings) {
+        this.delegate = delegate;
+        this.redisTemplate = redisTemplate;
+        this.refreshExecutor = refreshExecutor;
+        this.settings = settings;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper == null) {
+            return null;
+        }
+        return new SimpleValueWrapper(unwrap(wrapper.get()));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper != null) {
+            Object stored = wrapper.get();
+            if (stored instanceof CachedEntry entry && isDueForRefresh(entry)) {
+                refreshAsync(key, valueLoader);
+            }
+            return (T) unwrap(stored);
+        }
+
+        // Miss: one load per key on this node, everyone else waits for it
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlightLoads.putIfAbsent(key, load);
+        if (existing != null) {
+            return (T) join(key, existing);
+        }
+
+        try {
+            T value = valueLoader.call();
+            if (value != null) {
+                put(key, value);
+            }
+            load.complete(value);
+            return value;
+        } catch (Exception e) {
+            load.completeExceptionally(e);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            inFlightLoads.remove(key, load);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, wrap(value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper previous = delegate.putIfAbsent(key, wrap(value));
+        return previous != null ? new SimpleValueWrapper(unwrap(previous.get())) : null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    private boolean isDueForRefresh(CachedEntry entry) {
+        return System.currentTimeMillis() - entry.loadedAt() >= settings.refreshAfterMillis();
+    }
+
+    private void refreshAsync(Object key, Callable<?> valueLoader) {
+        if (inFlightRefreshes.putIfAbsent(key, Boolean.TRUE) != null) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    refresh(key, valueLoader);
+                } finally {
+                    inFlightRefreshes.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlightRefreshes.remove(key);
+            settings.recordRefresh(getName(), "rejected");
+        }
+    }
+
+    private void refresh(Object key, Callable<?> valueLoader) {
+        try {
+            // The lease is left to expire so at most one node reloads a key per lease period
+            Boolean leased = redisTemplate.opsForValue()
+                    .setIfAbsent(leaseKey(key), settings.nodeId(), settings.leaseDuration());
+            if (!Boolean.TRUE.equals(leased)) {
+                settings.recordRefresh(getName(), "lease_held");
+                return;
+            }
+
+            Object value = valueLoader.call();
+
+            // Skip the write if the key was evicted (e.g. profile deleted) while reloading
+            if (value != null && delegate.get(key) != null) {
+                put(key, value);
+            }
+            settings.recordRefresh(getName(), "refreshed");
+
+        } catch (Exception e) {
+            settings.recordRefresh(getName(), "failed");
+            log.warn("Refresh-ahead failed for {}::{}: {}", getName(), key, e.getMessage());
+        }
+    }
+
+    private Object join(Object key, CompletableFuture<Object> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new ValueRetrievalException(key, null, cause);
+        }
+    }
+
+    private String leaseKey(Object key) {
+        return LEASE_PREFIX + getName() + "::" + key;
+    }
+
+    private static Object wrap(Object value) {
+        return value != null ? new CachedEntry(value, System.currentTimeMillis()) : null;
+    }
+
+    private static Object unwrap(Object stored) {
+        return stored instanceof CachedEntry entry ? entry.value() : stored;
+    }
+}
@@ -0,0 +1,131 @@
+package com.typeface.brandvoice.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Wraps every cache of the delegate manager in a {@link RefreshAheadCache}
+ * sharing one small reload pool. Reloads are best effort: when the pool is
+ * saturated the stale value is served until the next read.
+ */
+public class RefreshAheadCacheManager implements CacheManager, AutoCloseable {
+
+    private final CacheManager delegate;
+    private final StringRedisTemplate redisTemplate;
+    private final Settings settings;
+    private final ThreadPoolExecutor refreshExecutor;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public RefreshAheadCacheManager(CacheManager delegate,
+                                    StringRedisTemplate redisTemplate,
+                                    Settings settings,
+                                    int refreshThreads) {
+        this.delegate = delegate;
+        this.redisTemplate = redisTemplate;
+        this.settings = settings;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.refreshExecutor = new ThreadPoolExecutor(
+                refreshThreads, refreshThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(1000),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cache-refresh-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.refreshExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        if (target == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name,
+                key -> new RefreshAheadCache(target, redisTemplate, refreshExecutor, settings));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    @Override
+    public void close() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * Refresh-ahead tuning shared by all caches, plus the outcome counter
+     * {@code brandvoice.cache.refresh{cache,outcome}}.
+     */
+    public static final class Settings {
+
+        private final long refreshAfterMillis;
+        private final Duration leaseDuration;
+        private final String nodeId;
+        private final MeterRegistry meterRegistry;
+        private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+        /**
+         * @param ttl             base entry TTL before jitter
+         * @param ttlJitter       fraction of the TTL by which entry TTLs vary, see {@link JitteredTtl}
+         * @param refreshFraction fraction of the TTL after which a read triggers a reload
+         * @param leaseDuration   how long one node holds the reload lease for a key
+         * @throws IllegalArgumentException when an entry could expire before its refresh point
+         */
+        public Settings(Duration ttl, double ttlJitter, double refreshFraction, Duration leaseDuration,
+                        String nodeId, MeterRegistry meterRegistry) {
+            // The shortest jittered TTL is ttl * (1 - jitter); refreshing any later means some entries never refresh
+            double shortestFraction = 1.0 - Math.max(0.0, Math.min(ttlJitter, 1.0));
+            if (refreshFraction <= 0.0 || refreshFraction >= shortestFraction) {
+                throw new IllegalArgumentException("refresh-ahead-fraction must be above 0 and below "
+                        + shortestFraction + " (1 - ttl-jitter), was " + refreshFraction);
+            }
+            this.refreshAfterMillis = (long) (ttl.toMillis() * refreshFraction);
+            this.leaseDuration = leaseDuration;
+            this.nodeId = nodeId;
+            this.meterRegistry = meterRegistry;
+        }
+
+        long refreshAfterMillis() {
+            return refreshAfterMillis;
+        }
+
+        Duration leaseDuration() {
+            return leaseDuration;
+        }
+
+        String nodeId() {
+            return nodeId;
+        }
+
+        void recordRefresh(String cacheName, String outcome) {
+            counters.computeIfAbsent(cacheName + ':' + outcome, key -> Counter
+                            .builder("brandvoice.cache.refresh")
+                            .description("Refresh-ahead attempts by outcome")
+                            .tag("cache", cacheName)
+                            .tag("outcome", outcome)
+                            .register(meterRegistry))
+                    .increment();
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.typeface.brandvoice.cluster;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.typeface.brandvoice.config.CachedBodyRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.util.UriUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Sends profile and validation requests to the instance that owns the
+ * customer, so each instance's caches only hold the customers it owns.
+ *
+ * The customer comes from the path for {@code /profiles/{customerId}} and
+ * from the JSON body for profile creation and {@code /validate}. In forward
+ * mode the request is proxied and the owner's response relayed; in redirect
+ * mode the client gets a 307 to the owner, which only clients that can reach
+ * every instance should use. Forwarded requests carry
+ * {@link #FORWARDED_BY_HEADER} and are always served where they land, so
+ * instances that briefly disagree about membership cannot bounce a request
+ * between them. If the owner refuses the connection the request is served
+ * locally rather than failed.
+ *
+ * Corpus uploads to {@code /profiles/corpus} are too large to buffer, so they
+ * are routed by the {@code customerId} query parameter and streamed to the
+ * owner as they arrive, in either mode: a proxy such as the gateway cannot
+ * replay a streamed body to follow a redirect, and must not hand internal
+ * instance URLs to its clients. Without the parameter they are served where
+ * they land.
+ */
+@Slf4j
+public class ClusterForwardingFilter extends OncePerRequestFilter {
+
+    public static final String FORWARDED_BY_HEADER = "X-Brand-Voice-Forwarded-By";
+    public static final String OWNER_HEADER = "X-Brand-Voice-Owner";
+
+    private static final String API_PREFIX = "/api/v1/brand-voice";
+    private static final String PROFILES_PATH = API_PREFIX + "/profiles";
+    private static final String CORPUS_PATH = PROFILES_PATH + "/corpus";
+    private static final Set<String> BODY_ROUTED_PATHS = Set.of(
+            PROFILES_PATH, API_PREFIX + "/validate", API_PREFIX + "/validate/stream");
+    private static final List<String> FORWARDED_REQUEST_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.ACCEPT, HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MATCH,
+            HttpHeaders.AUTHORIZATION, "X-Request-ID", "Idempotency-Key", "Prefer");
+    private static final Duration UPLOAD_TIMEOUT = Duration.ofMinutes(10);
+    private static final int UPLOAD_BUFFER_BYTES = 64 * 1024;
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            "connection", "keep-alive", "transfer-encoding", "content-length", "upgrade");
+
+    public enum Mode {
+        FORWARD,
+        REDIRECT
+    }
+
+    private final ClusterRouter router;
+    private final WebClient webClient;
+    private final Mode mode;
+    private final Duration forwardTimeout;
+    private final MeterRegistry meterRegistry;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    public ClusterForwardingFilter(ClusterRouter router,
+                                   WebClient webClient,
+                                   Mode mode,
+                                   Duration forwardTimeout,
+                                   MeterRegistry meterRegistry) {
+        this.router = router;
+        this.webClient = webClient;
+        this.mode = mode;
+        this.forwardTimeout = forwardTimeout;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !path.startsWith(PROFILES_PATH + "/") && !BODY_ROUTED_PATHS.contains(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+
+        if (request.getHeader(FORWARDED_BY_HEADER) != null) {
+            count("received");
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String path = request.getRequestURI();
+        byte[] body = null;
+        String customerId;
+        boolean upload = false;
+
+        if (path.equals(CORPUS_PATH) && HttpMethod.POST.matches(request.getMethod())) {
+            customerId = queryParameter(request.getQueryString(), "customerId");
+            upload = true;
+        } else if (BODY_ROUTED_PATHS.contains(path)) {
+            if (!HttpMethod.POST.matches(request.getMethod())) {
+                chain.doFilter(request, response);
+                return;
+            }
+            body = StreamUtils.copyToByteArray(request.getInputStream());
+            request = new CachedBodyRequest(request, body);
+            customerId = customerIdFrom(body);
+        } else {
+            customerId = customerIdFrom(path);
+        }
+
+        // Unroutable requests are left to the controller to reject
+        if (customerId == null || customerId.isEmpty()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String owner = router.ownerOf(customerId);
+        response.setHeader(OWNER_HEADER, owner);
+
+        if (owner.equals(router.selfUrl())) {
+            count("local");
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String target = owner + path + (request.getQueryString() != null ? "?" + request.getQueryString() : "");
+
+        if (mode == Mode.REDIRECT && !upload) {
+            count("redirected");
+            response.setStatus(HttpStatus.TEMPORARY_REDIRECT.value());
+            response.setHeader(HttpHeaders.LOCATION, target);
+            return;
+        }
+
+        if (body == null && !upload) {
+            body = StreamUtils.copyToByteArray(request.getInputStream());
+        }
+
+        ResponseEntity<byte[]> forwarded;
+        try {
+            forwarded = upload
+                    ? forwardUpload(request, URI.create(target))
+                    : forward(request, URI.create(target), body);
+        } catch (WebClientRequestException e) {
+            if (!(e.getCause() instanceof ConnectException)) {
+                throw e;
+            }
+            // The owner never received the request, so serving it here cannot apply it twice
+            log.warn("Owner {} of customer {} is unreachable, serving locally", owner, customerId);
+            count("fallback");
+            chain.doFilter(upload ? request : new CachedBodyRequest(request, body), response);
+            return;
+        } catch (RuntimeException e) {
+            log.error("Failed to forward {} {} to {}", request.getMethod(), path, owner, e);
+            count("failed");
+            response.sendError(HttpStatus.BAD_GATEWAY.value(), "Owning instance did not respond");
+            return;
+        }
+
+        count("forwarded");
+        response.setStatus(forwarded.getStatusCode().value());
+        forwarded.getHeaders().forEach((name, values) -> {
+            if (HOP_BY_HOP_HEADERS.contains(name.toLowerCase()) || name.equalsIgnoreCase(OWNER_HEADER)) return;
+            for (String value : values) {
+                response.addHeader(name, value);
+            }
+        });
+        if (forwarded.getBody() != null) {
+            response.setContentLength(forwarded.getBody().length);
+            response.getOutputStream().write(forwarded.getBody());
+        }
+    }
+
+    private ResponseEntity<byte[]> forward(HttpServletRequest request, URI target, byte[] body) {
+        WebClient.RequestBodySpec spec = requestTo(request, target);
+        return exchange(body.length > 0 ? spec.bodyValue(body) : spec, forwardTimeout);
+    }
+
+    // Reads the upload on a worker thread as the owner consumes it, so it is never held in memory
+    private ResponseEntity<byte[]> forwardUpload(HttpServletRequest request, URI target) {
+        Flux<DataBuffer> body = DataBufferUtils
+                .readInputStream(request::getInputStream, DefaultDataBufferFactory.sharedInstance, UPLOAD_BUFFER_BYTES)
+                .subscribeOn(Schedulers.boundedElastic());
+        return exchange(requestTo(request, target).body(body, DataBuffer.class), UPLOAD_TIMEOUT);
+    }
+
+    private WebClient.RequestBodySpec requestTo(HttpServletRequest request, URI target) {
+        return webClient
+                .method(HttpMethod.valueOf(request.getMethod()))
+                .uri(target)
+                .headers(headers -> {
+                    for (String name : FORWARDED_REQUEST_HEADERS) {
+                        String value = request.getHeader(name);
+                        if (value != null) headers.set(name, value);
+                    }
+                    headers.set(FORWARDED_BY_HEADER, router.selfUrl());
+                });
+    }
+
+    private static ResponseEntity<byte[]> exchange(WebClient.RequestHeadersSpec<?> spec, Duration timeout) {
+        return spec
+                .exchangeToMono(clientResponse -> clientResponse.toEntity(byte[].class))
+                .timeout(timeout)
+                .block();
+    }
+
+    // The request URI is still percent-encoded; decode so the ID hashes like the body and query ones
+    static String customerIdFrom(String path) {
+        String rest = path.substring(PROFILES_PATH.length() + 1);
+        int slash = rest.indexOf('/');
+        try {
+            return UriUtils.decode(slash < 0 ? rest : rest.substring(0, slash), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            // Malformed escapes are left to the controller to reject
+            return null;
+        }
+    }
+
+    static String queryParameter(String query, String name) {
+        if (query == null) return null;
+
+        for (String pair : query.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0 && URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8).equals(name)) {
+                return URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads top-level fields until {@code customerId}, skipping the values of
+     * the others without materializing them.
+     */
+    public static String customerIdFrom(byte[] body) {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) return null;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("customerId".equals(field)) {
+                    return value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void count(String outcome) {
+        Counter.builder("brandvoice.cluster.requests")
+                .description("Customer-routed requests by where they were served")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
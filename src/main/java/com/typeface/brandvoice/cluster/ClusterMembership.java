@@ -0,0 +1,21 @@
+package com.typeface.brandvoice.cluster;
+
+import java.util.Set;
+
+/**
+ * Source of the instances taking part in customer-affinity routing.
+ */
+public interface ClusterMembership {
+
+    /**
+     * Announces this instance where the provider needs it and returns the
+     * base URLs of the current members.
+     */
+    Set<String> refresh();
+
+    /**
+     * Withdraws this instance on shutdown, so others stop routing to it.
+     */
+    default void leave() {
+    }
+}
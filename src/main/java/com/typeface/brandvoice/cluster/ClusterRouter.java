@@ -0,0 +1,95 @@
+package com.typeface.brandvoice.cluster;
+
+import com.typeface.brandvoice.service.ProfileRegistry;
+import com.typeface.brandvoice.service.ProfileResponseCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Decides which instance owns each customer.
+ *
+ * The ring is rebuilt from the membership provider every
+ * {@code refresh-interval} and swapped in with a single volatile write, so
+ * lookups never lock. This instance is always a member: until the first
+ * refresh, or while the provider is unreachable, it keeps routing with the
+ * last ring it saw (or serves everything itself). When ownership moves,
+ * local profile caches drop the customers this instance no longer owns.
+ */
+@Slf4j
+public class ClusterRouter {
+
+    private final ClusterMembership membership;
+    private final String selfUrl;
+    private final int virtualNodes;
+    private final ProfileRegistry profileRegistry;
+    private final ProfileResponseCache profileResponseCache;
+
+    private volatile ConsistentHashRing ring;
+
+    public ClusterRouter(ClusterMembership membership,
+                         String selfUrl,
+                         int virtualNodes,
+                         ProfileRegistry profileRegistry,
+                         ProfileResponseCache profileResponseCache,
+                         MeterRegistry meterRegistry) {
+        this.membership = membership;
+        this.selfUrl = selfUrl;
+        this.virtualNodes = virtualNodes;
+        this.profileRegistry = profileRegistry;
+        this.profileResponseCache = profileResponseCache;
+        this.ring = new ConsistentHashRing(Set.of(selfUrl), virtualNodes);
+
+        Gauge.builder("brandvoice.cluster.members", this, router -> router.ring.members().size())
+                .description("Instances in the customer-affinity hash ring")
+                .register(meterRegistry);
+    }
+
+    public String selfUrl() {
+        return selfUrl;
+    }
+
+    public String ownerOf(String customerId) {
+        return ring.owner(customerId);
+    }
+
+    public boolean isLocal(String customerId) {
+        return selfUrl.equals(ownerOf(customerId));
+    }
+
+    @Scheduled(fixedDelayString = "${brand-voice.cluster.refresh-interval:PT5S}")
+    public void refresh() {
+        Set<String> members;
+        try {
+            members = new TreeSet<>(membership.refresh());
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh cluster membership, keeping {} member(s): {}",
+                    ring.members().size(), e.getMessage());
+            return;
+        }
+        members.add(selfUrl);
+
+        if (members.equals(ring.members())) return;
+
+        ring = new ConsistentHashRing(members, virtualNodes);
+        log.info("Cluster membership changed to {}", members);
+
+        // Customers that moved away are cached by their new owner from now on
+        profileRegistry.removeIf(customerId -> !isLocal(customerId));
+        profileResponseCache.removeIf(customerId -> !isLocal(customerId));
+    }
+
+    @PreDestroy
+    void leave() {
+        try {
+            membership.leave();
+        } catch (RuntimeException e) {
+            log.warn("Failed to leave cluster membership: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.typeface.brandvoice.cluster;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Immutable consistent-hash ring mapping customer ids to member URLs.
+ *
+ * Each member is placed at {@code virtualNodes} points so ownership spreads
+ * evenly, and adding or removing a member only moves the keys of the points
+ * it gains or loses. Members are placed in sorted order, so every instance
+ * that sees the same member set builds the same ring.
+ */
+public final class ConsistentHashRing {
+
+    private final long[] points;
+    private final String[] owners;
+    private final Set<String> members;
+
+    public ConsistentHashRing(Collection<String> members, int virtualNodes) {
+        if (members.isEmpty()) {
+            throw new IllegalArgumentException("A hash ring needs at least one member");
+        }
+
+        this.members = Set.copyOf(new TreeSet<>(members));
+
+        TreeMap<Long, String> ring = new TreeMap<>();
+        for (String member : new TreeSet<>(members)) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.putIfAbsent(hash(member + "#" + i), member);
+            }
+        }
+
+        points = new long[ring.size()];
+        owners = new String[ring.size()];
+        int i = 0;
+        for (Map.Entry<Long, String> point : ring.entrySet()) {
+            points[i] = point.getKey();
+            owners[i] = point.getValue();
+            i++;
+        }
+    }
+
+    public Set<String> members() {
+        return members;
+    }
+
+    /**
+     * The member owning the first point at or after the key's hash.
+     */
+    public String owner(String key) {
+        int index = Arrays.binarySearch(points, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-16 code units, finished with the MurmurHash3
+     * mixer so similar ids ("cust_1", "cust_2") land far apart.
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,46 @@
+package com.typeface.brandvoice.cluster;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Heartbeat registry in a Redis sorted set scored by last-seen time.
+ *
+ * Each refresh re-announces this instance and drops members not seen within
+ * {@code member-ttl}, so crashed instances leave the ring without anyone
+ * having to notice. The TTL should span a few refresh intervals.
+ */
+public class RedisClusterMembership implements ClusterMembership {
+
+    static final String MEMBERS_KEY = "brand-voice:cluster:members";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String selfUrl;
+    private final Duration memberTtl;
+
+    public RedisClusterMembership(StringRedisTemplate redisTemplate, String selfUrl, Duration memberTtl) {
+        this.redisTemplate = redisTemplate;
+        this.selfUrl = selfUrl;
+        this.memberTtl = memberTtl;
+    }
+
+    @Override
+    public Set<String> refresh() {
+        ZSetOperations<String, String> members = redisTemplate.opsForZSet();
+        long now = System.currentTimeMillis();
+        long oldest = now - memberTtl.toMillis();
+
+        members.add(MEMBERS_KEY, selfUrl, now);
+        members.removeRangeByScore(MEMBERS_KEY, Double.NEGATIVE_INFINITY, oldest - 1);
+        Set<String> current = members.rangeByScore(MEMBERS_KEY, oldest, Double.POSITIVE_INFINITY);
+        return current != null ? current : Set.of(selfUrl);
+    }
+
+    @Override
+    public void leave() {
+        redisTemplate.opsForZSet().remove(MEMBERS_KEY, selfUrl);
+    }
+}
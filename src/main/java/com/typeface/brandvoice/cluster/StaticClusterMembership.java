@@ -0,0 +1,21 @@
+package com.typeface.brandvoice.cluster;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Fixed member list from configuration, e.g. several instances on localhost.
+ */
+public class StaticClusterMembership implements ClusterMembership {
+
+    private final Set<String> members;
+
+    public StaticClusterMembership(Collection<String> members) {
+        this.members = Set.copyOf(members);
+    }
+
+    @Override
+    public Set<String> refresh() {
+        return members;
+    }
+}
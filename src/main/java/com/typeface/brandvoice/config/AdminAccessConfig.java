@@ -0,0 +1,32 @@
+package com.typeface.brandvoice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+
+/**
+ * Internal endpoints that need {@code brand-voice.admin.token}, see
+ * {@link AdminAccessFilter}.
+ */
+@Configuration
+public class AdminAccessConfig {
+
+    static final List<String> ADMIN_PATHS = List.of(
+            "/api/v1/brand-voice/export/**",
+            "/api/v1/brand-voice/profiles/*/similar");
+
+    @Bean
+    public FilterRegistrationBean<AdminAccessFilter> adminAccessFilter(
+            @Value("${brand-voice.admin.token:}") String token) {
+
+        FilterRegistrationBean<AdminAccessFilter> registration =
+                new FilterRegistrationBean<>(new AdminAccessFilter(token, ADMIN_PATHS));
+        // Ahead of the cluster and idempotency filters, so unauthorized requests go no further
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,62 @@
+package com.typeface.brandvoice.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Guards internal endpoints, such as the bulk export, with an admin bearer
+ * token ({@code brand-voice.admin.token}). They are not routed through the
+ * public gateway, and answer 404 while no token is configured, so they are
+ * off unless explicitly enabled.
+ */
+public class AdminAccessFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    private final byte[] token;
+    private final List<String> paths;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+
+    public AdminAccessFilter(String token, List<String> paths) {
+        this.token = token == null || token.isBlank() ? null : token.getBytes(StandardCharsets.UTF_8);
+        this.paths = List.copyOf(paths);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return paths.stream().noneMatch(pattern -> matcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+
+        if (token == null) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.startsWith(BEARER)
+                || !MessageDigest.isEqual(token, authorization.substring(BEARER.length()).getBytes(StandardCharsets.UTF_8))) {
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+            response.sendError(HttpStatus.UNAUTHORIZED.value(), "Admin credentials required");
+            return;
+        }
+
+        chain.doFilter(request, response);
+    }
+}
@@ -1,15 +1,24 @@
 package com.typeface.brandvoice.config;
 
+import com.typeface.brandvoice.cache.CacheCodec;
+import com.typeface.brandvoice.cache.JitteredTtl;
+import com.typeface.brandvoice.cache.RefreshAheadCacheManager;
 import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.lang.management.ManagementFactory;
 import java.time.Duration;
 
 @Configuration
@@ -26,17 +35,43 @@ public class ApplicationConfig {
     }
 
     @Bean
-    public RedisCacheConfiguration cacheConfiguration() {
+    public RedisCacheConfiguration cacheConfiguration(
+            @Value("${brand-voice.cache.codec:json}") CacheCodec codec,
+            @Value("${brand-voice.cache.compression-threshold:0}") int compressionThreshold,
+            @Value("${brand-voice.cache.ttl:PT30M}") Duration ttl,
+            @Value("${brand-voice.cache.ttl-jitter:0.1}") double ttlJitter) {
         return RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(30))
+                .entryTtl(new JitteredTtl(ttl, ttlJitter))
                 .disableCachingNullValues()
                 .serializeValuesWith(
                         RedisSerializationContext.SerializationPair.fromSerializer(
-                                new GenericJackson2JsonRedisSerializer()
+                                codec.serializer(compressionThreshold)
                         )
                 );
     }
 
+    @Bean
+    public CacheManager cacheManager(
+            RedisConnectionFactory connectionFactory,
+            RedisCacheConfiguration cacheConfiguration,
+            @Lazy StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${brand-voice.cache.ttl:PT30M}") Duration ttl,
+            @Value("${brand-voice.cache.ttl-jitter:0.1}") double ttlJitter,
+            @Value("${brand-voice.cache.refresh-ahead-fraction:0.8}") double refreshFraction,
+            @Value("${brand-voice.cache.refresh-lease:PT10S}") Duration refreshLease,
+            @Value("${brand-voice.cache.refresh-threads:2}") int refreshThreads) {
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(cacheConfiguration)
+                .build();
+        redisCacheManager.afterPropertiesSet();
+
+        RefreshAheadCacheManager.Settings settings = new RefreshAheadCacheManager.Settings(
+                ttl, ttlJitter, refreshFraction, refreshLease,
+                ManagementFactory.getRuntimeMXBean().getName(), meterRegistry);
+        return new RefreshAheadCacheManager(redisCacheManager, redisTemplate, settings, refreshThreads);
+    }
+
     @Bean
     public MeterRegistryCustomizer<MeterRegistry> metricsCommonTags() {
         return registry -> registry.config()
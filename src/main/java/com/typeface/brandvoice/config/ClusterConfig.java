@@ -0,0 +1,92 @@
+package com.typeface.brandvoice.config;
+
+import com.typeface.brandvoice.cluster.ClusterForwardingFilter;
+import com.typeface.brandvoice.cluster.ClusterMembership;
+import com.typeface.brandvoice.cluster.ClusterRouter;
+import com.typeface.brandvoice.cluster.RedisClusterMembership;
+import com.typeface.brandvoice.cluster.StaticClusterMembership;
+import com.typeface.brandvoice.service.ProfileRegistry;
+import com.typeface.brandvoice.service.ProfileResponseCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.Ordered;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Customer-affinity routing across instances, enabled with
+ * {@code brand-voice.cluster.enabled}.
+ *
+ * Members come from a static list ({@code membership: static}) or a Redis
+ * heartbeat registry ({@code membership: redis}); each instance names
+ * itself with {@code self-url}, which must match how the others reach it.
+ */
+@Configuration
+@ConditionalOnProperty(name = "brand-voice.cluster.enabled", havingValue = "true")
+@Slf4j
+public class ClusterConfig {
+
+    @Value("${brand-voice.cluster.self-url:http://localhost:${server.port:8080}}")
+    private String selfUrl;
+
+    @Bean
+    public ClusterMembership clusterMembership(
+            @Value("${brand-voice.cluster.membership:static}") String membership,
+            @Value("${brand-voice.cluster.members:}") String members,
+            @Value("${brand-voice.cluster.member-ttl:PT15S}") Duration memberTtl,
+            @Lazy StringRedisTemplate redisTemplate) {
+
+        return switch (membership) {
+            case "static" -> {
+                List<String> urls = Arrays.stream(members.split(","))
+                        .map(String::trim)
+                        .filter(url -> !url.isEmpty())
+                        .toList();
+                log.info("Cluster mode with static membership {} as {}", urls, selfUrl);
+                yield new StaticClusterMembership(urls);
+            }
+            case "redis" -> {
+                log.info("Cluster mode with Redis membership as {}", selfUrl);
+                yield new RedisClusterMembership(redisTemplate, selfUrl, memberTtl);
+            }
+            default -> throw new IllegalArgumentException("Unknown cluster membership provider: " + membership);
+        };
+    }
+
+    @Bean
+    public ClusterRouter clusterRouter(
+            ClusterMembership clusterMembership,
+            ProfileRegistry profileRegistry,
+            ProfileResponseCache profileResponseCache,
+            MeterRegistry meterRegistry,
+            @Value("${brand-voice.cluster.virtual-nodes:160}") int virtualNodes) {
+
+        return new ClusterRouter(clusterMembership, selfUrl, virtualNodes,
+                profileRegistry, profileResponseCache, meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ClusterForwardingFilter> clusterForwardingFilter(
+            ClusterRouter clusterRouter,
+            @Lazy WebClient webClient,
+            MeterRegistry meterRegistry,
+            @Value("${brand-voice.cluster.mode:forward}") ClusterForwardingFilter.Mode mode,
+            @Value("${brand-voice.cluster.forward-timeout:PT10S}") Duration forwardTimeout) {
+
+        FilterRegistrationBean<ClusterForwardingFilter> registration = new FilterRegistrationBean<>(
+                new ClusterForwardingFilter(clusterRouter, webClient, mode, forwardTimeout, meterRegistry));
+        // Ahead of everything that reads the body
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
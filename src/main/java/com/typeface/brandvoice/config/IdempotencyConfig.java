@@ -0,0 +1,55 @@
+package com.typeface.brandvoice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.typeface.brandvoice.idempotency.IdempotencyFilter;
+import com.typeface.brandvoice.idempotency.IdempotencyStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.Ordered;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * {@code Idempotency-Key} support for profile creation and validation,
+ * enabled with {@code brand-voice.idempotency.enabled}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "brand-voice.idempotency.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class IdempotencyConfig {
+
+    @Bean
+    public IdempotencyStore idempotencyStore(
+            @Lazy StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            @Value("${brand-voice.idempotency.shared:true}") boolean shared,
+            @Value("${brand-voice.idempotency.ttl:PT24H}") Duration ttl,
+            @Value("${brand-voice.idempotency.wait-timeout:PT30S}") Duration waitTimeout,
+            @Value("${brand-voice.idempotency.lease:PT1M}") Duration lease,
+            @Value("${brand-voice.idempotency.max-entries:10000}") int maxEntries) {
+
+        log.info("Idempotency keys kept for {} ({})", ttl, shared ? "local and Redis" : "local only");
+        return new IdempotencyStore(shared ? redisTemplate : null, objectMapper, ttl, waitTimeout, lease, maxEntries);
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            IdempotencyStore idempotencyStore,
+            MeterRegistry meterRegistry,
+            @Value("${brand-voice.idempotency.max-response-size:1MB}") DataSize maxResponseSize) {
+
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+                new IdempotencyFilter(idempotencyStore, (int) maxResponseSize.toBytes(), meterRegistry));
+        // Behind the cluster filter, so only the customer's owner stores responses
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
@@ -0,0 +1,52 @@
+package com.typeface.brandvoice.config;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.List;
+
+/**
+ * Marks Pub/Sub, Redis template and {@link WebClient} beans lazy so their
+ * clients, channels and event loops are built on first use instead of during
+ * startup. Services that depend on them inject lazy-resolution proxies.
+ *
+ * The Redis connection factory and cache manager stay eager: Boot validates
+ * the cache manager and the Redis health contributor at startup. Lettuce
+ * still defers the actual connection until the first command.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "brand-voice.startup.lazy-infrastructure", havingValue = "true")
+public class LazyInfrastructureConfig {
+
+    private static final List<String> LAZY_PACKAGES = List.of(
+            "com.google.cloud.spring.pubsub.",
+            "com.google.cloud.pubsub.",
+            "com.google.api.gax.",
+            "org.springframework.data.redis.core."
+    );
+
+    @Bean
+    static BeanFactoryPostProcessor lazyInfrastructurePostProcessor() {
+        return beanFactory -> {
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                if (definition.isAbstract() || !definition.isSingleton()) continue;
+
+                Class<?> type = beanFactory.getType(name, false);
+                if (type != null && isLazyCandidate(type)) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    private static boolean isLazyCandidate(Class<?> type) {
+        if (WebClient.class.isAssignableFrom(type)) return true;
+        String typeName = type.getName();
+        return LAZY_PACKAGES.stream().anyMatch(typeName::startsWith);
+    }
+}
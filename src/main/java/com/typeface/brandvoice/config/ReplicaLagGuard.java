@@ -0,0 +1,91 @@
+package com.typeface.brandvoice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-your-writes guard for replica routing.
+ *
+ * Writes record the customer they touched. For the configured window
+ * afterwards, reads for that customer run inside a scope that pins the
+ * current thread to the primary, so a lagging replica cannot serve (and the
+ * profile cache cannot capture) a stale or missing profile.
+ *
+ * The window is tracked per instance; writes made through another node are
+ * covered only by the replica lag check in {@link ReplicaRoutingDataSource}.
+ */
+@Component
+public class ReplicaLagGuard {
+
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+    private final Map<String, Long> recentWrites = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final long windowNanos;
+
+    public ReplicaLagGuard(
+            @Value("${brand-voice.datasource.replica-urls:}") String replicaUrls,
+            @Value("${brand-voice.datasource.read-your-writes-window:PT5S}") Duration window) {
+        this.enabled = !replicaUrls.isBlank();
+        this.windowNanos = window.toNanos();
+    }
+
+    public void recordWrite(String customerId) {
+        if (!enabled) return;
+        recentWrites.put(customerId, System.nanoTime() + windowNanos);
+    }
+
+    /**
+     * Opens a read scope for the customer. Reads inside it go to the primary
+     * when the customer was written within the window.
+     */
+    public Scope readScope(String customerId) {
+        if (!enabled || !isRecentlyWritten(customerId) || isPrimaryForced()) {
+            return Scope.NONE;
+        }
+        PRIMARY_FORCED.set(Boolean.TRUE);
+        return PRIMARY_FORCED::remove;
+    }
+
+    /**
+     * Opens a scope that sends every read on this thread to the primary,
+     * for reads that a write is based on or that must not lag.
+     */
+    public Scope primaryScope() {
+        if (!enabled || isPrimaryForced()) {
+            return Scope.NONE;
+        }
+        PRIMARY_FORCED.set(Boolean.TRUE);
+        return PRIMARY_FORCED::remove;
+    }
+
+    public static boolean isPrimaryForced() {
+        return PRIMARY_FORCED.get() != null;
+    }
+
+    @Scheduled(fixedDelayString = "${brand-voice.datasource.read-your-writes-window:PT5S}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        recentWrites.values().removeIf(expiresAt -> expiresAt - now <= 0);
+    }
+
+    private boolean isRecentlyWritten(String customerId) {
+        Long expiresAt = recentWrites.get(customerId);
+        return expiresAt != null && expiresAt - System.nanoTime() > 0;
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        Scope NONE = () -> {
+        };
+
+        @Override
+        void close();
+    }
+}
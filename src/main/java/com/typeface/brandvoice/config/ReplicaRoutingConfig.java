@@ -0,0 +1,80 @@
+package com.typeface.brandvoice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Replaces Boot's single DataSource with primary/replica routing when
+ * {@code brand-voice.datasource.replica-urls} lists at least one replica.
+ *
+ * The primary pool is built from {@code spring.datasource.*}; each replica
+ * pool copies its Hikari settings and only overrides the JDBC URL and
+ * credentials.
+ */
+@Configuration
+@ConditionalOnExpression("!'${brand-voice.datasource.replica-urls:}'.isBlank()")
+@Slf4j
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${brand-voice.datasource.replica-urls}") String replicaUrls,
+            @Value("${brand-voice.datasource.replica-username:${spring.datasource.username:}}") String replicaUsername,
+            @Value("${brand-voice.datasource.replica-password:${spring.datasource.password:}}") String replicaPassword,
+            @Value("${brand-voice.datasource.max-replication-lag:PT10S}") Duration maxReplicationLag) {
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+
+        List<String> urls = Arrays.stream(replicaUrls.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .toList();
+
+        List<HikariDataSource> replicas = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            primary.copyStateTo(replica);
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(urls.get(i));
+            replica.setUsername(replicaUsername);
+            replica.setPassword(replicaPassword);
+            // A replica that is down at startup is skipped, not fatal
+            replica.setInitializationFailTimeout(-1);
+            replica.setConnectionTimeout(Math.min(primary.getConnectionTimeout(), 2000));
+            replicas.add(replica);
+        }
+
+        log.info("Routing read-only transactions across {} replica(s)", replicas.size());
+        return new ReplicaRoutingDataSource(primary, replicas, maxReplicationLag, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
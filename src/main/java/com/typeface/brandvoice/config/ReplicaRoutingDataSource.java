@@ -0,0 +1,167 @@
+package com.typeface.brandvoice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource that sends read-only transactions to healthy replicas and
+ * everything else to the primary.
+ *
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * so the connection is fetched after the transaction's read-only flag is set.
+ * Replicas are picked round-robin among those that passed the last health
+ * check; a replica that fails to hand out a connection is marked down until
+ * the next check, and the read falls back to the primary.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+            END""";
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final double maxLagSeconds;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(HikariDataSource primary,
+                                    List<HikariDataSource> replicas,
+                                    Duration maxReplicationLag,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.maxLagSeconds = maxReplicationLag.toMillis() / 1000.0;
+
+        Gauge.builder("brandvoice.datasource.replicas.healthy", this, ReplicaRoutingDataSource::healthyReplicaCount)
+                .description("Read replicas currently eligible for read-only transactions")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(HikariDataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    /**
+     * Probes each replica and takes it out of rotation when it is unreachable
+     * or replaying more than {@code max-replication-lag} behind the primary.
+     */
+    @Scheduled(fixedDelayString = "${brand-voice.datasource.health-check-interval:PT10S}")
+    public void checkReplicaHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                double lagSeconds = replicationLagSeconds(connection);
+                if (lagSeconds > maxLagSeconds) {
+                    replica.markDown(String.format("replication lag %.1fs", lagSeconds));
+                } else {
+                    replica.markUp();
+                }
+            } catch (SQLException e) {
+                replica.markDown(e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+        primary.close();
+    }
+
+    int healthyReplicaCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    private Connection route(ConnectionSource source) throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !ReplicaLagGuard.isPrimaryForced()) {
+            Replica replica = nextHealthyReplica();
+            if (replica != null) {
+                try {
+                    return source.open(replica.dataSource);
+                } catch (SQLFeatureNotSupportedException e) {
+                    // Hikari rejects per-call credentials; that says nothing about the replica's health
+                    throw e;
+                } catch (SQLException e) {
+                    replica.markDown(e.getMessage());
+                }
+            }
+        }
+        return source.open(primary);
+    }
+
+    private Replica nextHealthyReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(cursor.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private double replicationLagSeconds(Connection connection) throws SQLException {
+        if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+            return connection.isValid(2) ? 0 : Double.MAX_VALUE;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+            return rs.next() ? rs.getDouble(1) : 0;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection open(HikariDataSource dataSource) throws SQLException;
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private void markUp() {
+            if (!healthy) {
+                log.info("Replica {} back in rotation", dataSource.getPoolName());
+            }
+            healthy = true;
+        }
+
+        private void markDown(String reason) {
+            if (healthy) {
+                log.warn("Replica {} taken out of rotation: {}", dataSource.getPoolName(), reason);
+            }
+            healthy = false;
+        }
+    }
+}
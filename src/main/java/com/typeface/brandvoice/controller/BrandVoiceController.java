@@ -1,14 +1,42 @@
 package com.typeface.brandvoice.controller;
 
+import com.typeface.brandvoice.cluster.ClusterForwardingFilter;
 import com.typeface.brandvoice.dto.*;
+import com.typeface.brandvoice.exception.MalformedRequestException;
+import com.typeface.brandvoice.export.ExportFormat;
+import com.typeface.brandvoice.export.ExportService;
+import com.typeface.brandvoice.model.ScoringRules;
+import com.typeface.brandvoice.service.AdmissionControlService;
 import com.typeface.brandvoice.service.BrandVoiceService;
+import com.typeface.brandvoice.service.ProfileCreationService;
+import com.typeface.brandvoice.service.ProfileResponseCache;
+import com.typeface.brandvoice.service.ScoreSketchService;
+import com.typeface.brandvoice.service.SimilarBrandService;
+import com.typeface.brandvoice.service.Utf8ContentReader;
+import com.typeface.brandvoice.service.ValidationJobService;
+import com.typeface.brandvoice.service.ValidationStatsService;
+import com.typeface.brandvoice.service.ValidationWarmup;
 import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/v1/brand-voice")
@@ -17,15 +45,43 @@ import org.springframework.web.bind.annotation.*;
 public class BrandVoiceController {
 
     private final BrandVoiceService brandVoiceService;
+    private final ProfileResponseCache profileResponseCache;
+    private final AdmissionControlService admissionControl;
+    private final ValidationJobService validationJobService;
+    private final Utf8ContentReader utf8ContentReader;
+    private final ValidationStatsService validationStatsService;
+    private final ScoreSketchService scoreSketchService;
+    private final SimilarBrandService similarBrandService;
+    private final ExportService exportService;
+    private final ProfileCreationService profileCreationService;
+    private final ValidationWarmup validationWarmup;
 
+    /**
+     * Creates a profile, analyzing the sample before responding. With
+     * {@code Prefer: respond-async} it instead answers 202 with a pending
+     * profile, analyzed in the background; poll the Location for its status.
+     */
     @PostMapping("/profiles")
     @Timed(value = "api.profile.create", description = "Time to create brand profile")
     public ResponseEntity<BrandProfileResponse> createBrandProfile(
-            @Valid @RequestBody CreateBrandProfileRequest request) {
+            @Valid @RequestBody CreateBrandProfileRequest request,
+            @RequestHeader(value = "Prefer", required = false) String prefer) {
 
         log.info("Creating brand profile for customer: {}", request.getCustomerId());
 
-        try {
+        AdmissionControlService.Permit permit = admissionControl.admit(request.getCustomerId(), true);
+
+        try (permit) {
+            if (prefer != null && prefer.toLowerCase(Locale.ROOT).contains("respond-async")) {
+                BrandProfileResponse response = profileCreationService.submit(request);
+                return ResponseEntity.accepted()
+                        .location(UriComponentsBuilder.fromPath("/api/v1/brand-voice/profiles/{customerId}/status")
+                                .buildAndExpand(request.getCustomerId())
+                                .encode()
+                                .toUri())
+                        .header("Preference-Applied", "respond-async")
+                        .body(response);
+            }
             BrandProfileResponse response = brandVoiceService.createBrandProfile(request);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
         } catch (Exception e) {
@@ -34,15 +90,149 @@ public class BrandVoiceController {
         }
     }
 
+    /**
+     * Creates a profile from a whole corpus (e.g. a blog archive) uploaded as
+     * the {@code corpus} part of a multipart form, plain UTF-8 or gzipped.
+     * Parts are spooled to disk by the container and the corpus is analyzed
+     * as it is read back, so heap use does not depend on its size.
+     */
+    @PostMapping(value = "/profiles/corpus", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Timed(value = "api.profile.create.corpus", description = "Time to create a brand profile from a corpus")
+    public ResponseEntity<BrandProfileResponse> createBrandProfileFromCorpus(
+            @RequestParam String customerId,
+            @RequestParam String brandName,
+            @RequestPart("corpus") MultipartFile corpus) throws IOException {
+
+        log.info("Creating brand profile for customer: {} from a {} byte corpus upload",
+                customerId, corpus.getSize());
+
+        try (InputStream in = corpus.getInputStream()) {
+            return createFromCorpus(customerId, brandName, in);
+        }
+    }
+
+    /**
+     * Same, with the corpus as the raw request body, which is read straight
+     * off the connection without being buffered anywhere. Customer ID and
+     * brand name go in the query string.
+     */
+    @PostMapping(value = "/profiles/corpus",
+            consumes = {MediaType.TEXT_PLAIN_VALUE, "application/gzip", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @Timed(value = "api.profile.create.corpus", description = "Time to create a brand profile from a corpus")
+    public ResponseEntity<BrandProfileResponse> createBrandProfileFromCorpusBody(
+            @RequestParam String customerId,
+            @RequestParam String brandName,
+            InputStream body) {
+
+        log.info("Creating brand profile for customer: {} from a streamed corpus", customerId);
+
+        return createFromCorpus(customerId, brandName, body);
+    }
+
+    private ResponseEntity<BrandProfileResponse> createFromCorpus(
+            String customerId, String brandName, InputStream corpus) {
+
+        if (customerId.isBlank()) {
+            throw new MalformedRequestException("Customer ID is required");
+        }
+        if (brandName.isBlank()) {
+            throw new MalformedRequestException("Brand name is required");
+        }
+
+        try (AdmissionControlService.Permit permit = admissionControl.admit(customerId, true)) {
+            BrandProfileResponse response = brandVoiceService.createBrandProfileFromCorpus(customerId, brandName, corpus);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        }
+    }
+
     @GetMapping("/profiles/{customerId}")
     @Timed(value = "api.profile.get", description = "Time to get brand profile")
-    public ResponseEntity<BrandProfileResponse> getBrandProfile(
-            @PathVariable String customerId) {
+    public ResponseEntity<byte[]> getBrandProfile(
+            @PathVariable String customerId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
         log.info("Fetching brand profile for customer: {}", customerId);
 
-        BrandProfileResponse response = brandVoiceService.getBrandProfile(customerId);
-        return ResponseEntity.ok(response);
+        admissionControl.admit(customerId, false);
+
+        // Pre-serialized body and ETag; only falls through to the service on a local miss
+        ProfileResponseCache.Entry entry = profileResponseCache.get(customerId)
+                .orElseGet(() -> profileResponseCache.put(brandVoiceService.getBrandProfile(customerId)));
+
+        if (entry.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(entry.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(entry.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(entry.body());
+    }
+
+    @PutMapping("/profiles/{customerId}")
+    @Timed(value = "api.profile.update", description = "Time to update brand profile")
+    public ResponseEntity<BrandProfileResponse> updateBrandProfile(
+            @PathVariable String customerId,
+            @Valid @RequestBody UpdateBrandProfileRequest request) {
+
+        log.info("Updating brand profile for customer: {}", customerId);
+
+        try (AdmissionControlService.Permit permit = admissionControl.admit(customerId, true)) {
+            return ResponseEntity.ok(brandVoiceService.updateBrandProfile(customerId, request));
+        }
+    }
+
+    @PatchMapping("/profiles/{customerId}")
+    @Timed(value = "api.profile.patch", description = "Time to patch brand profile")
+    public ResponseEntity<BrandProfileResponse> patchBrandProfile(
+            @PathVariable String customerId,
+            @Valid @RequestBody PatchBrandProfileRequest request) {
+
+        log.info("Patching brand profile for customer: {}", customerId);
+
+        try (AdmissionControlService.Permit permit = admissionControl.admit(customerId, true)) {
+            return ResponseEntity.ok(brandVoiceService.patchBrandProfile(customerId, request));
+        }
+    }
+
+    @GetMapping("/profiles/{customerId}/status")
+    @Timed(value = "api.profile.status", description = "Time to read a profile's creation status")
+    public ResponseEntity<ProfileStatusResponse> getProfileStatus(@PathVariable String customerId) {
+        return ResponseEntity.ok(brandVoiceService.getProfileStatus(customerId));
+    }
+
+    @GetMapping("/profiles/{customerId}/scoring-rules")
+    @Timed(value = "api.profile.scoring-rules.get", description = "Time to read scoring rules")
+    public ResponseEntity<ScoringRules> getScoringRules(@PathVariable String customerId) {
+        return ResponseEntity.ok(brandVoiceService.getScoringRules(customerId));
+    }
+
+    @PutMapping("/profiles/{customerId}/scoring-rules")
+    @Timed(value = "api.profile.scoring-rules.update", description = "Time to update scoring rules")
+    public ResponseEntity<ScoringRules> updateScoringRules(
+            @PathVariable String customerId,
+            @RequestParam(required = false) Long version,
+            @RequestBody ScoringRules rules) {
+
+        log.info("Updating scoring rules for customer: {}", customerId);
+
+        // Tenant rate only: rules are compiled in-process, without the analyzer
+        admissionControl.admit(customerId, false);
+
+        return ResponseEntity.ok(brandVoiceService.updateScoringRules(customerId, rules, version));
+    }
+
+    @GetMapping("/profiles/{customerId}/similar")
+    @Timed(value = "api.profile.similar", description = "Time to find brands with a similar voice")
+    public ResponseEntity<SimilarBrandsResponse> findSimilarBrands(
+            @PathVariable String customerId,
+            @RequestParam(defaultValue = "10") int k) {
+
+        return ResponseEntity.ok(similarBrandService.findSimilar(customerId, k));
     }
 
     @PostMapping("/validate")
@@ -52,19 +242,128 @@ public class BrandVoiceController {
 
         log.info("Validating content for customer: {}", request.getCustomerId());
 
+        try (AdmissionControlService.Permit permit = admissionControl.admit(request.getCustomerId(), true)) {
+            long startTime = System.nanoTime();
+
+            ContentValidationResponse response = brandVoiceService.validateContent(request);
+
+            long elapsed = System.nanoTime() - startTime;
+            validationWarmup.recordValidation(elapsed);
+            long processingTime = TimeUnit.NANOSECONDS.toMillis(elapsed);
+            response.setProcessingTimeMs(processingTime);
+
+            log.info("Content validation completed in {}ms with score: {}",
+                    processingTime, response.getConsistencyScore());
+
+            return ResponseEntity.ok(response);
+        }
+    }
+
+    /**
+     * Same request and response as {@code /validate}, for large documents: the
+     * body is analyzed in-process straight from its UTF-8 bytes, without
+     * decoding the content into a String or calling the NLP analyzer.
+     */
+    @PostMapping(value = "/validate/stream", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Timed(value = "api.validate.stream", description = "Time to validate content from raw request bytes")
+    public ResponseEntity<ContentValidationResponse> validateContentStream(@RequestBody byte[] body) {
+
         long startTime = System.currentTimeMillis();
 
-        ContentValidationResponse response = brandVoiceService.validateContent(request);
+        // Admit on a scan for the customer ID alone, so shed requests never pay for decoding and stylometry
+        String customerId = ClusterForwardingFilter.customerIdFrom(body);
+        if (customerId == null || customerId.isBlank()) {
+            throw new MalformedRequestException("Customer ID is required");
+        }
+
+        log.info("Validating {} bytes of streamed content for customer: {}", body.length, customerId);
+
+        // Tenant rate only: this path never calls the analyzer
+        admissionControl.admit(customerId, false);
 
-        long processingTime = System.currentTimeMillis() - startTime;
-        response.setProcessingTimeMs(processingTime);
+        Utf8ContentReader.Content content = utf8ContentReader.read(body);
+        if (!customerId.equals(content.customerId())) {
+            throw new MalformedRequestException("Customer ID must be given once");
+        }
 
-        log.info("Content validation completed in {}ms with score: {}",
-                processingTime, response.getConsistencyScore());
+        ContentValidationResponse response = brandVoiceService
+                .validateAnalyzedContent(content.customerId(), content.contentType(), content.analysis());
+
+        response.setProcessingTimeMs(System.currentTimeMillis() - startTime);
 
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/validate/jobs")
+    @Timed(value = "api.validate.job.submit", description = "Time to queue a validation job")
+    public ResponseEntity<ValidationJobResponse> submitValidationJob(
+            @Valid @RequestBody ValidationJobRequest request) {
+
+        log.info("Queueing validation job for customer: {} ({} items)",
+                request.getCustomerId(), request.getItems().size());
+
+        ValidationJobResponse job = validationJobService.submit(request);
+
+        return ResponseEntity.accepted()
+                .location(UriComponentsBuilder.fromPath("/api/v1/brand-voice/validate/jobs/{jobId}")
+                        .buildAndExpand(job.getJobId())
+                        .encode()
+                        .toUri())
+                .body(job);
+    }
+
+    @GetMapping("/validate/jobs/{jobId}")
+    public ResponseEntity<ValidationJobResponse> getValidationJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(validationJobService.getJob(jobId));
+    }
+
+    @GetMapping("/customers/{customerId}/validation-stats")
+    @Timed(value = "api.validation.stats", description = "Time to read validation stats")
+    public ResponseEntity<ValidationStatsResponse> getValidationStats(
+            @PathVariable String customerId,
+            @RequestParam(defaultValue = "daily") String granularity,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to) {
+
+        return ResponseEntity.ok(validationStatsService.getStats(customerId, granularity, from, to));
+    }
+
+    @GetMapping("/customers/{customerId}/score-quantiles")
+    @Timed(value = "api.score.quantiles", description = "Time to read score quantiles")
+    public ResponseEntity<ScoreQuantilesResponse> getScoreQuantiles(
+            @PathVariable String customerId,
+            @RequestParam(name = "q", defaultValue = "0.5,0.9,0.99") List<Double> quantiles,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to) {
+
+        return ResponseEntity.ok(scoreSketchService.getQuantiles(customerId, quantiles, from, to));
+    }
+
+    @GetMapping("/export/profiles")
+    @Timed(value = "api.export.profiles", description = "Time to export all brand profiles")
+    public ResponseEntity<StreamingResponseBody> exportProfiles(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        return export(ExportService.Dataset.PROFILES, exportFormat, gzip,
+                exportService.exportProfiles(exportFormat, gzip));
+    }
+
+    @GetMapping("/export/validations")
+    @Timed(value = "api.export.validations", description = "Time to export validation results")
+    public ResponseEntity<StreamingResponseBody> exportValidations(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) String customerId) {
+
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        return export(ExportService.Dataset.VALIDATIONS, exportFormat, gzip,
+                exportService.exportValidations(exportFormat, gzip, from, to, customerId));
+    }
+
     @DeleteMapping("/profiles/{customerId}")
     public ResponseEntity<Void> deleteBrandProfile(@PathVariable String customerId) {
         log.info("Deleting brand profile for customer: {}", customerId);
@@ -76,4 +375,18 @@ public class BrandVoiceController {
     public ResponseEntity<String> healthCheck() {
         return ResponseEntity.ok("Brand Voice Service is healthy");
     }
-}
\ No newline at end of file
+
+    private static ResponseEntity<StreamingResponseBody> export(ExportService.Dataset dataset,
+                                                                ExportFormat format,
+                                                                boolean gzip,
+                                                                StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : format.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(dataset.fileName(format, gzip))
+                        .build()
+                        .toString())
+                .cacheControl(CacheControl.noStore())
+                .body(body);
+    }
+}
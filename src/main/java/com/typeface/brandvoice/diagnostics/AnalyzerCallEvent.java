@@ -0,0 +1,22 @@
+package com.typeface.brandvoice.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * The content length of this event is the payload sent to the analyzer.
+ */
+@Name(AnalyzerCallEvent.NAME)
+@Label("Analyzer Call")
+@Description("Voice analysis of content or a profile sample by the NLP analyzer")
+@Threshold("20 ms")
+public class AnalyzerCallEvent extends BrandVoiceEvent {
+
+    public static final String NAME = "com.typeface.brandvoice.AnalyzerCall";
+
+    @Label("Mode")
+    @Description("batched or direct")
+    public String mode;
+}
@@ -0,0 +1,62 @@
+package com.typeface.brandvoice.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Common fields of the Flight Recorder events for one stage of a validation
+ * or profile creation.
+ *
+ * Usage is {@code begin()}, the stage, then {@link #finish}. While no
+ * recording has the event enabled, {@code begin()}, {@code end()} and
+ * {@code shouldCommit()} compile to nothing and the JIT can usually drop the
+ * short-lived event object too, so the instrumentation costs next to nothing
+ * in production. Durations below the
+ * event's threshold are dropped; see {@code JfrRecordingEndpoint}.
+ */
+@Category({"Brand Voice"})
+@StackTrace(false)
+public abstract class BrandVoiceEvent extends Event {
+
+    public static final String VALIDATE = "validate";
+    public static final String CREATE_PROFILE = "create_profile";
+    public static final String UPDATE_PROFILE = "update_profile";
+
+    @Label("Operation")
+    @Description("validate, create_profile or update_profile")
+    public String operation;
+
+    @Label("Customer ID")
+    public String customerId;
+
+    @Label("Content Length")
+    @Description("Length of the content or sample in UTF-16 chars")
+    public long contentLength;
+
+    @Label("Outcome")
+    public String outcome;
+
+    /**
+     * Ends the stage and records it if it ran longer than the threshold.
+     */
+    public void finish(String operation, String customerId, long contentLength, String outcome) {
+        this.outcome = outcome;
+        finish(operation, customerId, contentLength);
+    }
+
+    /**
+     * Same, keeping the outcome the stage already set.
+     */
+    public void finish(String operation, String customerId, long contentLength) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.customerId = customerId;
+            this.contentLength = contentLength;
+            commit();
+        }
+    }
+}
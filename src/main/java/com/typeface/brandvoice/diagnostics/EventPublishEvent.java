@@ -0,0 +1,22 @@
+package com.typeface.brandvoice.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Publishing is asynchronous, so this is the time spent handing the event
+ * off on the request thread.
+ */
+@Name(EventPublishEvent.NAME)
+@Label("Event Publish")
+@Description("Handing a profile or validation event to the Pub/Sub publisher")
+@Threshold("1 ms")
+public class EventPublishEvent extends BrandVoiceEvent {
+
+    public static final String NAME = "com.typeface.brandvoice.EventPublish";
+
+    @Label("Event Type")
+    public String eventType;
+}
@@ -0,0 +1,164 @@
+package com.typeface.brandvoice.diagnostics;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@code /actuator/jfr}: on-demand Flight Recorder recordings of the brand
+ * voice stage events.
+ *
+ * {@code POST} starts a recording (replacing any current one) with the
+ * configured thresholds, optionally on top of the JDK's {@code default} or
+ * {@code profile} settings; {@code GET} reports it and
+ * {@code GET /actuator/jfr/{id}} downloads what it has recorded so far, for
+ * {@code jfr print} or JDK Mission Control. Recordings are bounded by
+ * {@code max-duration} and {@code max-size} and stop on their own.
+ * {@code DELETE} discards the recording.
+ */
+@Component
+@Endpoint(id = "jfr")
+@Slf4j
+public class JfrRecordingEndpoint {
+
+    private static final Set<String> SETTINGS = Set.of("none", "default", "profile");
+
+    private final Duration defaultDuration;
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+    private final Map<String, Duration> thresholds = new LinkedHashMap<>();
+
+    private Recording recording;
+
+    public JfrRecordingEndpoint(
+            @Value("${brand-voice.jfr.default-duration:PT1M}") Duration defaultDuration,
+            @Value("${brand-voice.jfr.max-duration:PT5M}") Duration maxDuration,
+            @Value("${brand-voice.jfr.max-size:32MB}") DataSize maxSize,
+            @Value("${brand-voice.jfr.thresholds.profile-lookup:1ms}") Duration profileLookup,
+            @Value("${brand-voice.jfr.thresholds.analyzer-call:20ms}") Duration analyzerCall,
+            @Value("${brand-voice.jfr.thresholds.scoring:1ms}") Duration scoring,
+            @Value("${brand-voice.jfr.thresholds.event-publish:1ms}") Duration eventPublish) {
+
+        this.defaultDuration = defaultDuration;
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+
+        thresholds.put(ProfileLookupEvent.NAME, profileLookup);
+        thresholds.put(AnalyzerCallEvent.NAME, analyzerCall);
+        thresholds.put(ScoringEvent.NAME, scoring);
+        thresholds.put(EventPublishEvent.NAME, eventPublish);
+    }
+
+    /**
+     * @param duration how long to record, capped at {@code max-duration}
+     * @param settings {@code none} (brand voice events only), {@code default} or {@code profile}
+     * @param threshold overrides the configured threshold of every brand voice event
+     */
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(
+            @Nullable Duration duration, @Nullable String settings, @Nullable Duration threshold) {
+
+        String base = settings != null ? settings : "none";
+        if (!SETTINGS.contains(base)) {
+            return new WebEndpointResponse<>(Map.of("error", "settings must be one of " + SETTINGS),
+                    WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        Duration length = duration != null ? duration : defaultDuration;
+        if (length.isNegative() || length.isZero()) {
+            return new WebEndpointResponse<>(Map.of("error", "duration must be positive"),
+                    WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+
+        Recording next;
+        try {
+            next = base.equals("none") ? new Recording() : new Recording(Configuration.getConfiguration(base));
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Cannot load JFR settings " + base, e);
+        }
+
+        thresholds.forEach((event, configured) ->
+                next.enable(event).withThreshold(threshold != null ? threshold : configured));
+        next.setName("brand-voice-" + Instant.now());
+        next.setToDisk(true);
+        next.setMaxSize(maxSize.toBytes());
+        next.setDuration(length.compareTo(maxDuration) > 0 ? maxDuration : length);
+
+        close();
+        next.start();
+        recording = next;
+
+        log.info("Started JFR recording {} for {} with {} settings", next.getId(), next.getDuration(), base);
+        return new WebEndpointResponse<>(describe(next));
+    }
+
+    @ReadOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> status() {
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return new WebEndpointResponse<>(describe(recording));
+    }
+
+    /**
+     * The events recorded so far; the recording keeps running.
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> dump(@Selector long id) throws IOException {
+        if (recording == null || recording.getId() != id || recording.getState() == RecordingState.NEW) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+
+        Path file = Files.createTempFile("brand-voice-", ".jfr");
+        try {
+            recording.dump(file);
+            return new WebEndpointResponse<>(new ByteArrayResource(Files.readAllBytes(file)));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @DeleteOperation
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private static Map<String, Object> describe(Recording recording) {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("id", recording.getId());
+        status.put("name", recording.getName());
+        status.put("state", recording.getState().name().toLowerCase());
+        status.put("startedAt", recording.getStartTime() != null ? recording.getStartTime().toString() : null);
+        status.put("duration", recording.getDuration() != null ? recording.getDuration().toString() : null);
+        status.put("maxSize", recording.getMaxSize());
+        status.put("size", recording.getSize());
+        return status;
+    }
+}
@@ -0,0 +1,19 @@
+package com.typeface.brandvoice.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+@Name(ProfileLookupEvent.NAME)
+@Label("Profile Lookup")
+@Description("Resolving the compiled brand profile a validation is scored against")
+@Threshold("1 ms")
+public class ProfileLookupEvent extends BrandVoiceEvent {
+
+    public static final String NAME = "com.typeface.brandvoice.ProfileLookup";
+
+    @Label("Source")
+    @Description("registry, snapshot or database")
+    public String source;
+}
@@ -0,0 +1,18 @@
+package com.typeface.brandvoice.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+@Name(ScoringEvent.NAME)
+@Label("Scoring")
+@Description("Comparing analyzed content with the brand profile")
+@Threshold("1 ms")
+public class ScoringEvent extends BrandVoiceEvent {
+
+    public static final String NAME = "com.typeface.brandvoice.Scoring";
+
+    @Label("Consistency Score")
+    public double consistencyScore;
+}
@@ -21,4 +21,5 @@ public class BrandProfileResponse {
     private Double confidenceScore;
     private String status;
     private String createdAt;
+    private Long version;
 }
\ No newline at end of file
@@ -19,4 +19,6 @@ public class ContentValidationResponse {
     private List<ValidationIssue> issues;
     private Map<String, Double> detailedScores;
     private Long processingTimeMs;
+    private Long profileVersion; // profile version the content was scored against
+    private Boolean reused; // true when copied from a near-duplicate validated earlier
 }
\ No newline at end of file
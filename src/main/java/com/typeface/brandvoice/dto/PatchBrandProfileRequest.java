@@ -0,0 +1,25 @@
+package com.typeface.brandvoice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+// Request to change some fields of a brand profile (PATCH); null fields are left as they are
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatchBrandProfileRequest {
+
+    @Pattern(regexp = "(?s).*\\S.*", message = "Brand name must not be blank")
+    private String brandName;
+
+    @Size(min = 100, message = "Sample content should be at least 100 characters")
+    private String sampleContent;
+
+    // Version the client last read; the update is rejected if the profile has moved on
+    private Long version;
+}
@@ -0,0 +1,17 @@
+package com.typeface.brandvoice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileStatusResponse {
+    private String customerId;
+    private String status; // "pending", "active", "failed"
+    private Long version;
+    private String updatedAt;
+}
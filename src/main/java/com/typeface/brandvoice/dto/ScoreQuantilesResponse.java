@@ -0,0 +1,21 @@
+package com.typeface.brandvoice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoreQuantilesResponse {
+    private String customerId;
+    private String window; // "hour", "day"
+    private String from;
+    private String to;
+    private Long count;
+    private Map<String, Double> quantiles; // e.g. "p50" -> 82.4; null values when there were no validations
+}
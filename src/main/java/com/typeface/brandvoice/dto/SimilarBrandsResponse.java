@@ -0,0 +1,30 @@
+package com.typeface.brandvoice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarBrandsResponse {
+    private String customerId;
+    private Integer k;
+    private Integer indexedProfiles;
+    private List<SimilarBrand> similar; // most similar first
+    private Long processingTimeMs;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SimilarBrand {
+        private String customerId;
+        private String brandName;
+        private Double similarity; // cosine of the voice vectors, 1.0 = identical
+    }
+}
@@ -0,0 +1,26 @@
+package com.typeface.brandvoice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+// Request to replace a brand profile (PUT)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpdateBrandProfileRequest {
+
+    @NotBlank(message = "Brand name is required")
+    private String brandName;
+
+    @NotBlank(message = "Sample content is required")
+    @Size(min = 100, message = "Sample content should be at least 100 characters")
+    private String sampleContent;
+
+    // Version the client last read; the update is rejected if the profile has moved on
+    private Long version;
+}
@@ -0,0 +1,43 @@
+package com.typeface.brandvoice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ValidationJobRequest {
+
+    @NotBlank(message = "Customer ID is required")
+    private String customerId;
+
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 1000, message = "A job can contain at most 1000 items")
+    private List<@Valid Item> items;
+
+    @Pattern(regexp = "(?i)high|normal|low", message = "Priority must be high, normal or low")
+    private String priority; // high, normal (default), low
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+
+        @NotBlank(message = "Content is required")
+        @Size(min = 10, message = "Content should be at least 10 characters")
+        private String content;
+
+        private String contentType; // email, social, ad
+    }
+}
@@ -0,0 +1,26 @@
+package com.typeface.brandvoice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ValidationJobResponse {
+    private String jobId;
+    private String customerId;
+    private String status; // "queued", "running", "succeeded", "failed"
+    private String priority;
+    private Integer itemCount;
+    private Integer completedItems;
+    private List<ContentValidationResponse> results;
+    private String error;
+    private String submittedAt;
+    private String startedAt;
+    private String completedAt;
+}
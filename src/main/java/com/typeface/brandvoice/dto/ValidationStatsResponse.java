@@ -0,0 +1,39 @@
+package com.typeface.brandvoice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ValidationStatsResponse {
+    private String customerId;
+    private String granularity; // "hourly", "daily"
+    private String from;
+    private String to;
+    private Long totalValidations;
+    private Double averageScore; // null when there were no validations
+    private Double minScore;
+    private Double maxScore;
+    private Map<String, Long> verdicts;
+    private List<Bucket> buckets;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+        private String start;
+        private Long validations;
+        private Double averageScore;
+        private Double minScore;
+        private Double maxScore;
+        private Map<String, Long> verdicts;
+    }
+}
@@ -0,0 +1,21 @@
+package com.typeface.brandvoice.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when a request is shed before doing any work.
+ * Mapped to 429 (tenant over its rate) or 503 (service saturated) with Retry-After.
+ */
+@Getter
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final long retryAfterSeconds;
+
+    public AdmissionRejectedException(HttpStatus status, long retryAfterSeconds, String message) {
+        super(message);
+        this.status = status;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
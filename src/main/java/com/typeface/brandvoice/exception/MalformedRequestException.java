@@ -0,0 +1,16 @@
+package com.typeface.brandvoice.exception;
+
+/**
+ * Thrown when request input that is checked by hand (rather than bound and
+ * validated by Spring) is invalid. Mapped to 400.
+ */
+public class MalformedRequestException extends RuntimeException {
+
+    public MalformedRequestException(String message) {
+        super(message);
+    }
+
+    public MalformedRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
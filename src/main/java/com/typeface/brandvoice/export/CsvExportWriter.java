@@ -0,0 +1,75 @@
+package com.typeface.brandvoice.export;
+
+import com.typeface.brandvoice.repository.ExportRepository.Column;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV with a header row of column names. SQL NULL is an empty
+ * field and an empty string is {@code ""}; JSON columns and float vectors
+ * are written as JSON text.
+ */
+final class CsvExportWriter extends ExportWriter {
+
+    private final Writer writer;
+
+    CsvExportWriter(List<Column> columns, OutputStream out) throws IOException {
+        super(columns);
+        this.writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) writer.write(',');
+            writeField(columns.get(i).name());
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    protected void writeRow(ResultSet rs) throws IOException, SQLException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) writer.write(',');
+            String value = text(rs, i + 1, columns.get(i));
+            if (value != null) {
+                writeField(value);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    private void writeField(String value) throws IOException {
+        if (!value.isEmpty() && !needsQuotes(value)) {
+            writer.write(value);
+            return;
+        }
+
+        writer.write('"');
+        int from = 0;
+        for (int quote = value.indexOf('"'); quote >= 0; quote = value.indexOf('"', from)) {
+            writer.write(value, from, quote + 1 - from);
+            writer.write('"');
+            from = quote + 1;
+        }
+        writer.write(value, from, value.length() - from);
+        writer.write('"');
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') return true;
+        }
+        return false;
+    }
+}
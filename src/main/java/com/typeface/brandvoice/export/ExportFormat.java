@@ -0,0 +1,39 @@
+package com.typeface.brandvoice.export;
+
+import com.typeface.brandvoice.exception.MalformedRequestException;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+public enum ExportFormat {
+
+    // One JSON object per line
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+    // RFC 4180, with a header row
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public static ExportFormat parse(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new MalformedRequestException("Unknown export format: " + name + " (expected ndjson or csv)");
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.typeface.brandvoice.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.typeface.brandvoice.exception.AdmissionRejectedException;
+import com.typeface.brandvoice.exception.MalformedRequestException;
+import com.typeface.brandvoice.repository.ExportRepository;
+import com.typeface.brandvoice.repository.ExportRepository.Column;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bulk exports of profiles and validation results for analytics, streamed
+ * to the response as the database cursor returns rows.
+ *
+ * Output goes out in {@value #CHUNK_BYTES}-byte chunks, optionally gzipped,
+ * so memory stays flat however large the table is. Each export holds a
+ * database connection and a read-only transaction for as long as the client
+ * takes to read it, so only {@code max-concurrent} run at once per instance;
+ * more get 429. The slot is taken on the request thread, so the 429 is a
+ * normal response, and given back once the async request completes even if
+ * the body never ran (async timeout, client gone, executor rejection).
+ */
+@Service
+@Slf4j
+public class ExportService {
+
+    static final int CHUNK_BYTES = 64 * 1024;
+
+    public enum Dataset {
+        PROFILES,
+        VALIDATIONS;
+
+        public String fileName(ExportFormat format, boolean gzip) {
+            return name().toLowerCase(Locale.ROOT) + "." + format.extension() + (gzip ? ".gz" : "");
+        }
+    }
+
+    private final ExportRepository exportRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore permits;
+
+    public ExportService(ExportRepository exportRepository,
+                         ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${brand-voice.export.max-concurrent:2}") int maxConcurrent) {
+        this.exportRepository = exportRepository;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    public StreamingResponseBody exportProfiles(ExportFormat format, boolean gzip) {
+        Permit permit = acquire(Dataset.PROFILES);
+        return out -> write(permit, Dataset.PROFILES, format, gzip, ExportRepository.PROFILE_COLUMNS,
+                exportRepository::streamProfiles, out);
+    }
+
+    /**
+     * Validation results in [from, to), by default the last 24 hours.
+     */
+    public StreamingResponseBody exportValidations(ExportFormat format,
+                                                   boolean gzip,
+                                                   Instant from,
+                                                   Instant to,
+                                                   String customerId) {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(Duration.ofDays(1));
+        if (!start.isBefore(end)) {
+            throw new MalformedRequestException("from must be before to");
+        }
+
+        Permit permit = acquire(Dataset.VALIDATIONS);
+        return out -> write(permit, Dataset.VALIDATIONS, format, gzip, ExportRepository.VALIDATION_COLUMNS,
+                handler -> exportRepository.streamValidations(start, end, customerId, handler), out);
+    }
+
+    private Permit acquire(Dataset dataset) {
+        if (!permits.tryAcquire()) {
+            count(dataset, "rejected");
+            throw new AdmissionRejectedException(HttpStatus.TOO_MANY_REQUESTS, 60,
+                    "Too many exports in progress, retry later");
+        }
+
+        Permit permit = new Permit();
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            WebAsyncUtils.getAsyncManager(attributes.getRequest()).registerCallableInterceptor(permit, permit);
+        }
+        return permit;
+    }
+
+    // Runs on the async request thread once the response headers are sent
+    private void write(Permit permit,
+                       Dataset dataset,
+                       ExportFormat format,
+                       boolean gzip,
+                       List<Column> columns,
+                       Consumer<RowCallbackHandler> query,
+                       OutputStream response) throws IOException {
+
+        long start = System.nanoTime();
+        ExportWriter writer = null;
+        try {
+            BufferedOutputStream chunks = new BufferedOutputStream(response, CHUNK_BYTES);
+            GZIPOutputStream compressed = gzip ? gzip(chunks) : null;
+
+            writer = ExportWriter.create(format, columns, compressed != null ? compressed : chunks,
+                    objectMapper.getFactory());
+            query.accept(writer);
+            writer.finish();
+            if (compressed != null) {
+                compressed.finish();
+            }
+            chunks.flush();
+
+            count(dataset, "completed");
+            log.info("Exported {} {} rows as {} in {}ms", writer.rows(), dataset.name().toLowerCase(Locale.ROOT),
+                    format.extension(), (System.nanoTime() - start) / 1_000_000);
+
+        } catch (IOException | RuntimeException e) {
+            // Headers are already sent, so the client only sees a truncated body
+            count(dataset, "failed");
+            log.warn("Export of {} failed after {} rows: {}", dataset.name().toLowerCase(Locale.ROOT),
+                    writer != null ? writer.rows() : 0, e.toString());
+            throw e;
+
+        } finally {
+            permit.release();
+            if (writer != null) {
+                Counter.builder("brandvoice.export.rows")
+                        .description("Rows written by bulk exports")
+                        .tag("dataset", dataset.name().toLowerCase(Locale.ROOT))
+                        .register(meterRegistry)
+                        .increment(writer.rows());
+            }
+        }
+    }
+
+    // Fastest level; at the default, compression dominates the export time (see ExportBenchmark)
+    static GZIPOutputStream gzip(OutputStream out) throws IOException {
+        return new GZIPOutputStream(out, CHUNK_BYTES) {
+            {
+                def.setLevel(Deflater.BEST_SPEED);
+            }
+        };
+    }
+
+    /**
+     * One export slot, released exactly once: by the body when it finishes,
+     * or when the async request completes if the body never ran.
+     */
+    private final class Permit implements CallableProcessingInterceptor {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+
+        @Override
+        public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+            release();
+        }
+    }
+
+    private void count(Dataset dataset, String outcome) {
+        Counter.builder("brandvoice.export.requests")
+                .description("Bulk export requests, by dataset and outcome")
+                .tag("dataset", dataset.name().toLowerCase(Locale.ROOT))
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
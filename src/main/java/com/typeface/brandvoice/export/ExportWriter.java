@@ -0,0 +1,117 @@
+package com.typeface.brandvoice.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.typeface.brandvoice.repository.ExportRepository.Column;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Writes exported rows in one {@link ExportFormat} as the cursor returns
+ * them. Columns are read straight off the {@link ResultSet}: JSON columns are
+ * copied as stored and float vectors are decoded from their packed bytes, so
+ * nothing per row outlives the row.
+ *
+ * Write errors, e.g. the client going away, are rethrown unchecked so the
+ * query stops.
+ */
+public abstract class ExportWriter implements RowCallbackHandler {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    protected final List<Column> columns;
+    private long rows;
+
+    protected ExportWriter(List<Column> columns) {
+        this.columns = columns;
+    }
+
+    public static ExportWriter create(ExportFormat format,
+                                      List<Column> columns,
+                                      OutputStream out,
+                                      JsonFactory jsonFactory) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonExportWriter(columns, out, jsonFactory);
+            case CSV -> new CsvExportWriter(columns, out);
+        };
+    }
+
+    @Override
+    public final void processRow(ResultSet rs) throws SQLException {
+        try {
+            writeRow(rs);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        rows++;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    /**
+     * Writes out anything buffered; the stream is left open.
+     */
+    public abstract void finish() throws IOException;
+
+    protected abstract void writeRow(ResultSet rs) throws IOException, SQLException;
+
+    /**
+     * The column at {@code index} (1-based) as text, or null for SQL NULL.
+     */
+    protected static String text(ResultSet rs, int index, Column column) throws SQLException {
+        return switch (column.type()) {
+            case TEXT, JSON -> rs.getString(index);
+            case NUMBER -> {
+                Object value = rs.getObject(index);
+                yield value instanceof BigDecimal decimal ? decimal.toPlainString()
+                        : value != null ? value.toString() : null;
+            }
+            case BOOLEAN -> {
+                boolean value = rs.getBoolean(index);
+                yield rs.wasNull() ? null : Boolean.toString(value);
+            }
+            case TIMESTAMP -> {
+                LocalDateTime value = rs.getObject(index, LocalDateTime.class);
+                yield value != null ? value.toString() : null;
+            }
+            case TIMESTAMPTZ -> {
+                OffsetDateTime value = rs.getObject(index, OffsetDateTime.class);
+                yield value != null ? value.toInstant().toString() : null;
+            }
+            case FLOAT_VECTOR -> {
+                byte[] value = rs.getBytes(index);
+                if (value == null) yield null;
+
+                ByteBuffer floats = floats(value);
+                StringBuilder json = new StringBuilder(value.length * 3).append('[');
+                for (int i = 0; i < value.length / Float.BYTES; i++) {
+                    if (i > 0) json.append(',');
+                    json.append(floats.getFloat(i * Float.BYTES));
+                }
+                yield json.append(']').toString();
+            }
+            case BYTES -> {
+                byte[] value = rs.getBytes(index);
+                yield value != null ? HEX.formatHex(value) : null;
+            }
+        };
+    }
+
+    // Packed little-endian float32, as written by FloatArrayConverter
+    protected static ByteBuffer floats(byte[] packed) {
+        return ByteBuffer.wrap(packed).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
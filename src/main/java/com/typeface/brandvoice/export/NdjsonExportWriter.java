@@ -0,0 +1,103 @@
+package com.typeface.brandvoice.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.typeface.brandvoice.repository.ExportRepository.Column;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * One JSON object per row and line, keyed by column name. Numbers, booleans,
+ * JSON columns and float vectors keep their JSON types; everything else is a
+ * string.
+ */
+final class NdjsonExportWriter extends ExportWriter {
+
+    private final JsonGenerator generator;
+
+    NdjsonExportWriter(List<Column> columns, OutputStream out, JsonFactory jsonFactory) throws IOException {
+        super(columns);
+        this.generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Lines are terminated explicitly, instead of separating root values with a space
+        generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    protected void writeRow(ResultSet rs) throws IOException, SQLException {
+        generator.writeStartObject();
+        for (int i = 0; i < columns.size(); i++) {
+            Column column = columns.get(i);
+            generator.writeFieldName(column.name());
+            writeValue(rs, i + 1, column);
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.flush();
+    }
+
+    private void writeValue(ResultSet rs, int index, Column column) throws IOException, SQLException {
+        switch (column.type()) {
+            case NUMBER -> {
+                Object value = rs.getObject(index);
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof BigDecimal decimal) {
+                    generator.writeNumber(decimal);
+                } else if (value instanceof Long || value instanceof Integer || value instanceof Short) {
+                    generator.writeNumber(((Number) value).longValue());
+                } else {
+                    generator.writeNumber(((Number) value).doubleValue());
+                }
+            }
+            case BOOLEAN -> {
+                boolean value = rs.getBoolean(index);
+                if (rs.wasNull()) {
+                    generator.writeNull();
+                } else {
+                    generator.writeBoolean(value);
+                }
+            }
+            case JSON -> {
+                String value = rs.getString(index);
+                if (value == null) {
+                    generator.writeNull();
+                } else {
+                    generator.writeRawValue(value);
+                }
+            }
+            case FLOAT_VECTOR -> {
+                byte[] value = rs.getBytes(index);
+                if (value == null) {
+                    generator.writeNull();
+                    return;
+                }
+                ByteBuffer floats = floats(value);
+                generator.writeStartArray();
+                for (int i = 0; i < value.length / Float.BYTES; i++) {
+                    generator.writeNumber(floats.getFloat(i * Float.BYTES));
+                }
+                generator.writeEndArray();
+            }
+            default -> {
+                String value = text(rs, index, column);
+                if (value == null) {
+                    generator.writeNull();
+                } else {
+                    generator.writeString(value);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.typeface.brandvoice.grpc;
+
+import com.typeface.brandvoice.dto.ContentValidationResponse;
+import com.typeface.brandvoice.dto.ValidateContentRequest;
+import com.typeface.brandvoice.exception.AdmissionRejectedException;
+import com.typeface.brandvoice.grpc.v1.BrandVoiceValidationGrpc;
+import com.typeface.brandvoice.grpc.v1.Error;
+import com.typeface.brandvoice.grpc.v1.ValidateRequest;
+import com.typeface.brandvoice.grpc.v1.ValidateResponse;
+import com.typeface.brandvoice.grpc.v1.ValidationIssue;
+import com.typeface.brandvoice.service.AdmissionControlService;
+import com.typeface.brandvoice.service.BrandVoiceService;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * gRPC front end for content validation, sharing the BrandVoiceService core
+ * and admission control with the REST controller.
+ */
+@Component
+@ConditionalOnProperty(name = "grpc.server.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class BrandVoiceGrpcService extends BrandVoiceValidationGrpc.BrandVoiceValidationImplBase {
+
+    private final BrandVoiceService brandVoiceService;
+    private final AdmissionControlService admissionControl;
+
+    @Value("${grpc.server.max-in-flight-per-stream:32}")
+    private int maxInFlightPerStream;
+
+    @Value("${grpc.server.worker-threads:64}")
+    private int workerThreads;
+
+    // Validation blocks on the analyzer, so streamed items run off the transport threads
+    private ExecutorService grpcValidationExecutor;
+
+    @PostConstruct
+    void startExecutor() {
+        grpcValidationExecutor = Executors.newFixedThreadPool(workerThreads, Thread.ofPlatform()
+                .name("grpc-validate-", 0)
+                .daemon(true)
+                .factory());
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        grpcValidationExecutor.shutdown();
+    }
+
+    @Override
+    public void validate(ValidateRequest request, StreamObserver<ValidateResponse> responseObserver) {
+        try {
+            responseObserver.onNext(validateRequest(request));
+            responseObserver.onCompleted();
+        } catch (StatusRuntimeException e) {
+            responseObserver.onError(e);
+        }
+    }
+
+    @Override
+    public StreamObserver<ValidateRequest> validateStream(StreamObserver<ValidateResponse> responseObserver) {
+        ServerCallStreamObserver<ValidateResponse> serverObserver =
+                (ServerCallStreamObserver<ValidateResponse>) responseObserver;
+
+        // Manual flow control: at most maxInFlightPerStream requests are being validated per stream
+        serverObserver.disableAutoRequest();
+        serverObserver.request(maxInFlightPerStream);
+
+        return new StreamObserver<>() {
+
+            private final AtomicInteger pending = new AtomicInteger();
+            private final AtomicBoolean completed = new AtomicBoolean();
+            private volatile boolean halfClosed;
+
+            @Override
+            public void onNext(ValidateRequest request) {
+                pending.incrementAndGet();
+                grpcValidationExecutor.execute(() -> {
+                    ValidateResponse response = validateStreamItem(request);
+                    synchronized (serverObserver) {
+                        if (!serverObserver.isCancelled()) {
+                            serverObserver.onNext(response);
+                        }
+                    }
+                    serverObserver.request(1);
+
+                    if (pending.decrementAndGet() == 0 && halfClosed) {
+                        complete();
+                    }
+                });
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                log.debug("Validation stream cancelled by client: {}", t.getMessage());
+            }
+
+            @Override
+            public void onCompleted() {
+                halfClosed = true;
+                if (pending.get() == 0) {
+                    complete();
+                }
+            }
+
+            private void complete() {
+                if (completed.compareAndSet(false, true)) {
+                    synchronized (serverObserver) {
+                        if (!serverObserver.isCancelled()) {
+                            serverObserver.onCompleted();
+                        }
+                    }
+                }
+            }
+        };
+    }
+
+    private ValidateResponse validateStreamItem(ValidateRequest request) {
+        try {
+            return validateRequest(request);
+        } catch (StatusRuntimeException e) {
+            return ValidateResponse.newBuilder()
+                    .setCustomerId(request.getCustomerId())
+                    .setRequestId(request.getRequestId())
+                    .setError(Error.newBuilder()
+                            .setCode(e.getStatus().getCode().name())
+                            .setMessage(String.valueOf(e.getStatus().getDescription())))
+                    .build();
+        }
+    }
+
+    private ValidateResponse validateRequest(ValidateRequest request) {
+        if (request.getCustomerId().isBlank()) {
+            throw Status.INVALID_ARGUMENT.withDescription("Customer ID is required").asRuntimeException();
+        }
+        if (request.getContent().length() < 10) {
+            throw Status.INVALID_ARGUMENT.withDescription("Content should be at least 10 characters").asRuntimeException();
+        }
+
+        try (AdmissionControlService.Permit permit = admissionControl.admit(request.getCustomerId(), true)) {
+            long startTime = System.currentTimeMillis();
+
+            ContentValidationResponse result = brandVoiceService.validateContent(
+                    ValidateContentRequest.builder()
+                            .customerId(request.getCustomerId())
+                            .content(request.getContent())
+                            .contentType(request.getContentType().isEmpty() ? null : request.getContentType())
+                            .build());
+
+            return toProto(result, request.getRequestId(), System.currentTimeMillis() - startTime);
+
+        } catch (NoSuchElementException e) {
+            throw Status.NOT_FOUND.withDescription(e.getMessage()).asRuntimeException();
+        } catch (AdmissionRejectedException e) {
+            Status status = e.getStatus() == HttpStatus.TOO_MANY_REQUESTS
+                    ? Status.RESOURCE_EXHAUSTED
+                    : Status.UNAVAILABLE;
+            throw status.withDescription(e.getMessage()).asRuntimeException();
+        } catch (IllegalStateException e) {
+            // Profile still processing or failed: the REST API answers 409 for the same case
+            throw Status.FAILED_PRECONDITION.withDescription(e.getMessage()).asRuntimeException();
+        } catch (StatusRuntimeException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            log.error("gRPC validation failed for customer: {}", request.getCustomerId(), e);
+            throw Status.INTERNAL.withDescription("An unexpected error occurred").asRuntimeException();
+        }
+    }
+
+    private ValidateResponse toProto(ContentValidationResponse result, String requestId, long processingTimeMs) {
+        ValidateResponse.Builder builder = ValidateResponse.newBuilder()
+                .setCustomerId(result.getCustomerId())
+                .setConsistencyScore(result.getConsistencyScore())
+                .setVerdict(result.getVerdict())
+                .putAllDetailedScores(result.getDetailedScores())
+                .setProcessingTimeMs(processingTimeMs)
+                .setRequestId(requestId);
+
+        if (result.getProfileVersion() != null) {
+            builder.setProfileVersion(result.getProfileVersion());
+        }
+        if (Boolean.TRUE.equals(result.getReused())) {
+            builder.setReused(true);
+        }
+
+        result.getIssues().forEach(issue -> builder.addIssues(ValidationIssue.newBuilder()
+                .setType(issue.getType())
+                .setSeverity(issue.getSeverity())
+                .setDescription(issue.getDescription())
+                .setSuggestion(issue.getSuggestion())));
+
+        return builder.build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.typeface.brandvoice.grpc;
+
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the Netty gRPC server alongside Tomcat. Connections are long-lived
+ * HTTP/2 with keepalives, so callers multiplex many RPCs per connection.
+ */
+@Component
+@ConditionalOnProperty(name = "grpc.server.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class GrpcServerLifecycle implements SmartLifecycle {
+
+    private final BrandVoiceGrpcService brandVoiceGrpcService;
+
+    @Value("${grpc.server.port:9090}")
+    private int port;
+
+    @Value("${grpc.server.keep-alive-time:PT30S}")
+    private Duration keepAliveTime;
+
+    @Value("${grpc.server.max-inbound-message-size:16777216}")
+    private int maxInboundMessageSize;
+
+    private Server server;
+
+    @Override
+    public void start() {
+        try {
+            server = NettyServerBuilder.forPort(port)
+                    .addService(brandVoiceGrpcService)
+                    .keepAliveTime(keepAliveTime.toMillis(), TimeUnit.MILLISECONDS)
+                    .permitKeepAliveTime(keepAliveTime.toMillis() / 2, TimeUnit.MILLISECONDS)
+                    .permitKeepAliveWithoutCalls(true)
+                    .maxInboundMessageSize(maxInboundMessageSize)
+                    .build()
+                    .start();
+
+            log.info("gRPC server started on port {}", server.getPort());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start gRPC server on port " + port, e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (server == null) return;
+
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(10, TimeUnit.SECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        log.info("gRPC server stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null && !server.isShutdown();
+    }
+}
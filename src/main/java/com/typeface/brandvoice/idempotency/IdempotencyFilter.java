@@ -0,0 +1,202 @@
+package com.typeface.brandvoice.idempotency;
+
+import com.typeface.brandvoice.cluster.ClusterForwardingFilter;
+import com.typeface.brandvoice.config.CachedBodyRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Honours the {@code Idempotency-Key} header on profile creation and
+ * validation, which clients retry on timeout.
+ *
+ * The first request with a key runs normally and its response is stored in
+ * the {@link IdempotencyStore}. Retries with the same key replay the stored
+ * status and bytes, marked with {@code Idempotent-Replayed: true}, without
+ * analyzing the content or publishing events again; a retry that arrives
+ * while the first request is still running waits for it. Reusing a key for a
+ * different request (method, path, query or body) gets 422, and a retry that
+ * outwaits {@code wait-timeout} gets 409. Server errors and 429 responses are
+ * not stored, so retrying those runs the request again.
+ *
+ * Keys are scoped to the {@code customerId} of the request body, so one
+ * tenant can neither replay another's response nor block its key.
+ *
+ * Runs after the cluster filter, so keys are stored on the customer's owner.
+ */
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String PREFER_HEADER = "Prefer";
+    private static final String API_PREFIX = "/api/v1/brand-voice";
+    private static final Set<String> IDEMPOTENT_PATHS = Set.of(
+            API_PREFIX + "/profiles", API_PREFIX + "/validate", API_PREFIX + "/validate/stream");
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final int maxResponseBytes;
+    private final MeterRegistry meterRegistry;
+
+    public IdempotencyFilter(IdempotencyStore store, int maxResponseBytes, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.maxResponseBytes = maxResponseBytes;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !HttpMethod.POST.matches(request.getMethod())
+                || !IDEMPOTENT_PATHS.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (!isValidKey(key)) {
+            count("invalid_key");
+            response.sendError(HttpStatus.BAD_REQUEST.value(),
+                    IDEMPOTENCY_KEY_HEADER + " must be 1 to " + MAX_KEY_LENGTH + " printable ASCII characters");
+            return;
+        }
+
+        // The cluster filter may already have read the body
+        CachedBodyRequest cached = request instanceof CachedBodyRequest body
+                ? body
+                : new CachedBodyRequest(request, StreamUtils.copyToByteArray(request.getInputStream()));
+        String fingerprint = fingerprint(cached);
+        key = scopedKey(cached, key);
+
+        IdempotencyStore.Claim claim;
+        try {
+            claim = store.claim(key, fingerprint);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Interrupted while waiting for a retried request");
+            return;
+        }
+
+        switch (claim.outcome()) {
+            case REPLAY -> {
+                count("replayed");
+                replay(claim.response(), response);
+            }
+            case MISMATCH -> {
+                count("mismatch");
+                response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                        IDEMPOTENCY_KEY_HEADER + " was already used for a different request");
+            }
+            case IN_PROGRESS -> {
+                count("in_progress");
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                response.sendError(HttpStatus.CONFLICT.value(),
+                        "A request with this " + IDEMPOTENCY_KEY_HEADER + " is still in progress");
+            }
+            case EXECUTE -> {
+                count("executed");
+                execute(key, fingerprint, cached, response, chain);
+            }
+        }
+    }
+
+    private void execute(String key,
+                         String fingerprint,
+                         CachedBodyRequest request,
+                         HttpServletResponse response,
+                         FilterChain chain) throws ServletException, IOException {
+
+        ContentCachingResponseWrapper captured = new ContentCachingResponseWrapper(response);
+        IdempotencyStore.StoredResponse stored = null;
+        try {
+            chain.doFilter(request, captured);
+
+            int status = captured.getStatus();
+            byte[] body = captured.getContentAsByteArray();
+            if (status < 500 && status != HttpStatus.TOO_MANY_REQUESTS.value() && body.length <= maxResponseBytes) {
+                stored = new IdempotencyStore.StoredResponse(fingerprint, status, captured.getContentType(),
+                        captured.getHeader(HttpHeaders.LOCATION), body);
+            }
+        } finally {
+            // Waiting duplicates are released even if the request failed
+            store.complete(key, stored);
+        }
+        captured.copyBodyToResponse();
+    }
+
+    private static void replay(IdempotencyStore.StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.location());
+        }
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    static boolean isValidKey(String key) {
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) return false;
+
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c < 0x21 || c > 0x7E) return false;
+        }
+        return true;
+    }
+
+    // Encoding the customer ID keeps the separator unambiguous, since keys may contain ':'
+    private static String scopedKey(CachedBodyRequest request, String key) {
+        String customerId = ClusterForwardingFilter.customerIdFrom(request.body());
+        return URLEncoder.encode(customerId != null ? customerId : "", StandardCharsets.UTF_8) + ":" + key;
+    }
+
+    private static String fingerprint(CachedBodyRequest request) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        // Prefer decides between a synchronous create and a 202, so it is part of the request
+        digest.update((request.getMethod() + " " + request.getRequestURI() + "?"
+                + (request.getQueryString() != null ? request.getQueryString() : "") + "\n"
+                + (request.getHeader(PREFER_HEADER) != null ? request.getHeader(PREFER_HEADER) : "") + "\n")
+                .getBytes(StandardCharsets.UTF_8));
+        digest.update(request.body());
+        return Base64.getEncoder().encodeToString(digest.digest());
+    }
+
+    private void count(String outcome) {
+        Counter.builder("brandvoice.idempotency.requests")
+                .description("Requests carrying an Idempotency-Key, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,253 @@
+package com.typeface.brandvoice.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Responses stored by {@code Idempotency-Key}, so a retried request gets
+ * the first execution's response instead of running again.
+ *
+ * Keys are claimed in a local map first: a duplicate arriving while the
+ * first execution is in flight waits on it, and completed responses are
+ * replayed from memory until {@code ttl}. The local map is bounded by
+ * {@code max-entries}; once full, completed responses are only kept in
+ * Redis. When {@code shared} is set, completed responses are also written to
+ * Redis and a short Redis lease claims the key across instances, so a retry
+ * that lands on another instance waits for or replays the same response.
+ * Redis errors fall back to local-only behaviour rather than failing the
+ * request.
+ */
+@Slf4j
+public class IdempotencyStore {
+
+    private static final String RESPONSE_PREFIX = "idempotency::";
+    private static final String LEASE_PREFIX = "idempotency-lease::";
+    private static final long POLL_INTERVAL_MILLIS = 50;
+
+    public enum Outcome {
+        // The caller owns the key and must call complete()
+        EXECUTE,
+        REPLAY,
+        // The key was used for a different request
+        MISMATCH,
+        // Another execution did not finish within the wait timeout
+        IN_PROGRESS
+    }
+
+    /**
+     * A response as sent, with the fingerprint of the request it answered.
+     */
+    public record StoredResponse(String fingerprint, int status, String contentType, String location, byte[] body) {
+    }
+
+    public record Claim(Outcome outcome, StoredResponse response) {
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    private final Duration lease;
+    private final int maxEntries;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * @param redisTemplate null to keep responses on this instance only
+     */
+    public IdempotencyStore(StringRedisTemplate redisTemplate,
+                            ObjectMapper objectMapper,
+                            Duration ttl,
+                            Duration waitTimeout,
+                            Duration lease,
+                            int maxEntries) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.lease = lease;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Claims a key for a request with the given fingerprint, waiting up to
+     * {@code wait-timeout} for an execution already in flight.
+     */
+    public Claim claim(String key, String fingerprint) throws InterruptedException {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+
+        while (true) {
+            Entry mine = new Entry(fingerprint);
+            Entry existing = entries.putIfAbsent(key, mine);
+
+            if (existing == null) {
+                return claimShared(key, mine, deadline);
+            }
+            if (existing.expiresAt < System.currentTimeMillis()) {
+                entries.remove(key, existing);
+                continue;
+            }
+            if (!existing.fingerprint.equals(fingerprint)) {
+                return new Claim(Outcome.MISMATCH, null);
+            }
+
+            StoredResponse response;
+            try {
+                response = existing.result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                return new Claim(Outcome.IN_PROGRESS, null);
+            } catch (ExecutionException e) {
+                response = null;
+            }
+
+            // Null means the first execution was not stored, so this one runs instead
+            if (response != null) {
+                return new Claim(Outcome.REPLAY, response);
+            }
+        }
+    }
+
+    /**
+     * Stores the response of an {@link Outcome#EXECUTE} claim and releases
+     * the key to waiting duplicates; a null response releases it without
+     * storing anything, so the next attempt executes again.
+     */
+    public void complete(String key, StoredResponse response) {
+        Entry entry = entries.get(key);
+        if (response == null) {
+            if (entry != null) {
+                entries.remove(key, entry);
+                entry.result.complete(null);
+            }
+            releaseLease(key);
+            return;
+        }
+
+        if (entry != null) {
+            entry.expiresAt = System.currentTimeMillis() + ttl.toMillis();
+            if (entries.size() > maxEntries) {
+                entries.remove(key, entry);
+            }
+            entry.result.complete(response);
+        }
+
+        if (redisTemplate != null) {
+            try {
+                redisTemplate.opsForValue().set(RESPONSE_PREFIX + key, objectMapper.writeValueAsString(response), ttl);
+            } catch (JsonProcessingException | RuntimeException e) {
+                log.warn("Failed to store idempotent response for key {} in Redis", key, e);
+            }
+        }
+        releaseLease(key);
+    }
+
+    @Scheduled(fixedDelayString = "${brand-voice.idempotency.eviction-interval:PT1M}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt < now);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    // This instance owns the key locally; make sure no other instance does
+    private Claim claimShared(String key, Entry mine, long deadline) throws InterruptedException {
+        if (redisTemplate == null) {
+            return new Claim(Outcome.EXECUTE, null);
+        }
+
+        try {
+            while (true) {
+                StoredResponse stored = readShared(key);
+                if (stored != null) {
+                    return replayShared(key, mine, stored);
+                }
+
+                Boolean leased = redisTemplate.opsForValue().setIfAbsent(LEASE_PREFIX + key, nodeId, lease);
+                if (Boolean.TRUE.equals(leased)) {
+                    return new Claim(Outcome.EXECUTE, null);
+                }
+
+                if (System.nanoTime() >= deadline) {
+                    complete(key, null);
+                    return new Claim(Outcome.IN_PROGRESS, null);
+                }
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            }
+
+        } catch (RuntimeException e) {
+            log.warn("Idempotency key {} could not be checked in Redis, executing locally", key, e);
+            return new Claim(Outcome.EXECUTE, null);
+
+        } catch (InterruptedException e) {
+            complete(key, null);
+            throw e;
+        }
+    }
+
+    private Claim replayShared(String key, Entry mine, StoredResponse stored) {
+        if (!stored.fingerprint().equals(mine.fingerprint)) {
+            entries.remove(key, mine);
+            mine.result.complete(null);
+            return new Claim(Outcome.MISMATCH, null);
+        }
+
+        // Cached locally for later retries; Redis already has it
+        mine.expiresAt = System.currentTimeMillis() + ttl.toMillis();
+        if (entries.size() > maxEntries) {
+            entries.remove(key, mine);
+        }
+        mine.result.complete(stored);
+        return new Claim(Outcome.REPLAY, stored);
+    }
+
+    private StoredResponse readShared(String key) {
+        String json = redisTemplate.opsForValue().get(RESPONSE_PREFIX + key);
+        if (json == null) return null;
+
+        try {
+            return objectMapper.readValue(json, StoredResponse.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring corrupt idempotent response for key {}", key, e);
+            return null;
+        }
+    }
+
+    private void releaseLease(String key) {
+        if (redisTemplate == null) return;
+
+        try {
+            // Only our own lease; an expired one may already belong to another instance
+            if (nodeId.equals(redisTemplate.opsForValue().get(LEASE_PREFIX + key))) {
+                redisTemplate.delete(LEASE_PREFIX + key);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to release idempotency lease for key {}", key, e);
+        }
+    }
+
+    private static final class Entry {
+
+        final String fingerprint;
+        final CompletableFuture<StoredResponse> result = new CompletableFuture<>();
+        // Set once the response is stored; in-flight entries never expire
+        volatile long expiresAt = Long.MAX_VALUE;
+
+        Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
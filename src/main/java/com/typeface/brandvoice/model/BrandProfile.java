@@ -5,6 +5,9 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import java.time.LocalDateTime;
 import java.util.Map;
 
@@ -46,6 +49,16 @@ public class BrandProfile {
     @Column
     private Double confidenceScore;
 
+    // Stylometric centroid of the sample content, see StylometricFeatureExtractor
+    @Convert(converter = FloatArrayConverter.class)
+    @Column(name = "stylometric_vector")
+    private float[] stylometricVector;
+
+    // Per-profile and per-content-type scoring rules; null for the defaults
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "scoring_rules", columnDefinition = "jsonb")
+    private ScoringRules scoringRules;
+
     @Column
     private LocalDateTime createdAt;
 
@@ -55,15 +68,27 @@ public class BrandProfile {
     @Column
     private boolean active;
 
+    // Only ACTIVE profiles can be validated against; see ProfileStatus
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    @Builder.Default
+    private ProfileStatus status = ProfileStatus.ACTIVE;
+
+    // Optimistic lock; bumped by Hibernate on every update
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
-        active = true;
+        active = status == ProfileStatus.ACTIVE;
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        active = status == ProfileStatus.ACTIVE;
     }
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.typeface.brandvoice.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Immutable, scoring-ready view of a {@link BrandProfile}.
+ *
+ * Holds only the fields validation needs, already unpacked from the JSONB
+ * voice attributes, so hot paths never touch the entity or parse maps.
+ * Scoring rules are compiled here too, once per profile version.
+ */
+@Value
+@Builder
+public class CompiledProfile {
+
+    String customerId;
+    long version;
+    String tone;
+    double formality;
+    double vocabularyComplexity;
+    String sentenceLength;
+    float[] stylometricVector;
+
+    @Builder.Default
+    CompiledScoringRules scoringRules = CompiledScoringRules.DEFAULT;
+
+    public static CompiledProfile from(BrandProfile profile) {
+        Map<String, Object> attributes = profile.getVoiceAttributes() != null
+                ? profile.getVoiceAttributes()
+                : Map.of();
+
+        return CompiledProfile.builder()
+                .customerId(profile.getCustomerId())
+                .version(versionOf(profile))
+                .tone((String) attributes.getOrDefault("tone", "neutral"))
+                .formality(((Number) attributes.getOrDefault("formality", 0.5)).doubleValue())
+                .vocabularyComplexity(((Number) attributes.getOrDefault("vocabulary_complexity", 0.5)).doubleValue())
+                .sentenceLength((String) attributes.getOrDefault("sentence_length", "medium"))
+                .stylometricVector(profile.getStylometricVector())
+                .scoringRules(CompiledScoringRules.compile(profile.getScoringRules()))
+                .build();
+    }
+
+    /**
+     * Optimistic lock version of the profile, 0 until it is first persisted.
+     */
+    public static long versionOf(BrandProfile profile) {
+        return profile.getVersion() != null ? profile.getVersion() : 0L;
+    }
+}
@@ -0,0 +1,81 @@
+package com.typeface.brandvoice.model;
+
+import java.util.Map;
+
+/**
+ * A profile's {@link ScoringRules} compiled into one {@link ScoringEvaluator}
+ * per content type, plus the profile-wide one at index 0.
+ *
+ * Content types are few, so they are found by a linear scan over a small
+ * array rather than a map. Unknown or missing content types use index 0.
+ */
+public final class CompiledScoringRules {
+
+    public static final int MAX_CONTENT_TYPES = 32;
+
+    public static final CompiledScoringRules DEFAULT =
+            new CompiledScoringRules(null, new String[0], new ScoringEvaluator[]{ScoringEvaluator.DEFAULT});
+
+    private final ScoringRules source;
+    private final String[] contentTypes;
+    private final ScoringEvaluator[] evaluators;
+
+    private CompiledScoringRules(ScoringRules source, String[] contentTypes, ScoringEvaluator[] evaluators) {
+        this.source = source;
+        this.contentTypes = contentTypes;
+        this.evaluators = evaluators;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the rules are invalid
+     */
+    public static CompiledScoringRules compile(ScoringRules rules) {
+        if (rules == null) return DEFAULT;
+
+        Map<String, ScoringRules> overrides = rules.getContentTypes() != null ? rules.getContentTypes() : Map.of();
+        if (overrides.size() > MAX_CONTENT_TYPES) {
+            throw new IllegalArgumentException("At most " + MAX_CONTENT_TYPES + " content types are allowed");
+        }
+
+        String[] contentTypes = new String[overrides.size()];
+        ScoringEvaluator[] evaluators = new ScoringEvaluator[overrides.size() + 1];
+        evaluators[0] = ScoringEvaluator.compile(rules);
+
+        int i = 0;
+        for (Map.Entry<String, ScoringRules> entry : overrides.entrySet()) {
+            if (entry.getKey() == null || entry.getKey().isBlank()) {
+                throw new IllegalArgumentException("Content type names must not be blank");
+            }
+            if (entry.getValue() != null && entry.getValue().getContentTypes() != null) {
+                throw new IllegalArgumentException("Content type rules cannot contain content types");
+            }
+            contentTypes[i] = entry.getKey();
+            evaluators[++i] = ScoringEvaluator.compile(rules, entry.getValue());
+        }
+        return new CompiledScoringRules(rules, contentTypes, evaluators);
+    }
+
+    /**
+     * Index of the evaluator for a content type, 0 for the profile-wide rules.
+     * Stable for a given profile version.
+     */
+    public int indexOf(String contentType) {
+        if (contentType != null) {
+            for (int i = 0; i < contentTypes.length; i++) {
+                if (contentTypes[i].equalsIgnoreCase(contentType)) return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    public ScoringEvaluator evaluator(int index) {
+        return evaluators[index];
+    }
+
+    /**
+     * The rules this was compiled from, null for the defaults.
+     */
+    public ScoringRules source() {
+        return source;
+    }
+}
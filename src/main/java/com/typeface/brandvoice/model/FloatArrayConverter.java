@@ -0,0 +1,36 @@
+package com.typeface.brandvoice.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Stores float vectors as packed little-endian float32 bytes (BYTEA).
+ */
+@Converter
+public class FloatArrayConverter implements AttributeConverter<float[], byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(float[] attribute) {
+        if (attribute == null) return null;
+
+        ByteBuffer buffer = ByteBuffer.allocate(attribute.length * Float.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(attribute);
+        return buffer.array();
+    }
+
+    @Override
+    public float[] convertToEntityAttribute(byte[] dbData) {
+        if (dbData == null) return null;
+
+        float[] vector = new float[dbData.length / Float.BYTES];
+        ByteBuffer.wrap(dbData)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .asFloatBuffer()
+                .get(vector);
+        return vector;
+    }
+}
@@ -0,0 +1,13 @@
+package com.typeface.brandvoice.model;
+
+/**
+ * Lifecycle of a brand profile. Profiles created synchronously start out
+ * {@code ACTIVE}; asynchronous creation inserts a {@code PENDING} row that
+ * becomes {@code ACTIVE} once the sample has been analyzed, or
+ * {@code FAILED} if it could not be.
+ */
+public enum ProfileStatus {
+    PENDING,
+    ACTIVE,
+    FAILED
+}
@@ -0,0 +1,16 @@
+package com.typeface.brandvoice.model;
+
+import java.util.Map;
+
+/**
+ * The columns of a brand profile its voice vector is built from, so bulk
+ * readers such as the similar-brand index need not load whole entities.
+ */
+public record ProfileVoice(
+        String id,
+        String customerId,
+        String brandName,
+        Map<String, Object> voiceAttributes,
+        float[] stylometricVector
+) {
+}
@@ -0,0 +1,189 @@
+package com.typeface.brandvoice.model;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Mergeable quantile sketch for consistency scores.
+ *
+ * Scores live in [0, 100], so instead of a t-digest this is a fixed-bucket
+ * histogram with 0.1 point resolution (1001 buckets, HDR style): recording is
+ * one atomic increment on the score's own bucket, merging is bucket-wise
+ * addition (exact, in any order), and any quantile is answered by one scan of
+ * the buckets, however many scores were recorded. Quantiles are accurate to
+ * within 0.05 points.
+ *
+ * Buckets are stored in pages of 32, allocated on the first score that lands
+ * in them. A tenant's scores usually cluster in a narrow band, so a sketch
+ * holds a few hundred bytes rather than a dense 8KB array, and one is kept
+ * per tenant for both the current hour and the current day.
+ *
+ * Serialized form: format byte, then (bucket index delta, count) varint pairs
+ * for the non-empty buckets.
+ */
+public final class ScoreSketch {
+
+    public static final double MIN_SCORE = 0.0;
+    public static final double MAX_SCORE = 100.0;
+
+    private static final int SCALE = 10;
+    private static final int BUCKETS = (int) (MAX_SCORE * SCALE) + 1;
+    private static final byte FORMAT = 1;
+
+    private static final int PAGE_SHIFT = 5;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    private static final int PAGES = (BUCKETS + PAGE_SIZE - 1) >> PAGE_SHIFT;
+
+    private final AtomicReferenceArray<AtomicLongArray> pages = new AtomicReferenceArray<>(PAGES);
+
+    public void record(double score) {
+        if (Double.isNaN(score)) return;
+
+        double clamped = Math.max(MIN_SCORE, Math.min(MAX_SCORE, score));
+        add((int) Math.round(clamped * SCALE), 1);
+    }
+
+    /**
+     * Adds another sketch's counts into this one.
+     */
+    public void merge(ScoreSketch other) {
+        for (int p = 0; p < PAGES; p++) {
+            AtomicLongArray page = other.pages.get(p);
+            if (page == null) continue;
+
+            for (int i = 0; i < PAGE_SIZE; i++) {
+                long count = page.get(i);
+                if (count != 0) {
+                    add((p << PAGE_SHIFT) + i, count);
+                }
+            }
+        }
+    }
+
+    public long count() {
+        long total = 0;
+        for (int p = 0; p < PAGES; p++) {
+            AtomicLongArray page = pages.get(p);
+            if (page == null) continue;
+
+            for (int i = 0; i < PAGE_SIZE; i++) {
+                total += page.get(i);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Nearest-rank quantile, {@code q} in [0, 1]; NaN when the sketch is empty.
+     */
+    public double quantile(double q) {
+        return quantiles(new double[]{q})[0];
+    }
+
+    /**
+     * Several quantiles from one pass over the buckets.
+     */
+    public double[] quantiles(double[] qs) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = get(i);
+            total += snapshot[i];
+        }
+
+        double[] result = new double[qs.length];
+        for (int k = 0; k < qs.length; k++) {
+            if (total == 0) {
+                result[k] = Double.NaN;
+                continue;
+            }
+
+            long rank = Math.max(1, (long) Math.ceil(qs[k] * total));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) {
+                    result[k] = (double) i / SCALE;
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        out.write(FORMAT);
+
+        int previous = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = get(i);
+            if (count == 0) continue;
+
+            writeVarLong(out, i - previous);
+            writeVarLong(out, count);
+            previous = i;
+        }
+        return out.toByteArray();
+    }
+
+    public static ScoreSketch fromBytes(byte[] bytes) {
+        if (bytes.length == 0 || bytes[0] != FORMAT) {
+            throw new IllegalArgumentException("Unsupported score sketch format");
+        }
+
+        ScoreSketch sketch = new ScoreSketch();
+        int[] position = {1};
+        int index = 0;
+        while (position[0] < bytes.length) {
+            index += (int) readVarLong(bytes, position);
+            long count = readVarLong(bytes, position);
+            if (index < 0 || index >= BUCKETS) {
+                throw new IllegalArgumentException("Score sketch bucket out of range: " + index);
+            }
+            sketch.add(index, count);
+        }
+        return sketch;
+    }
+
+    private void add(int bucket, long count) {
+        int p = bucket >> PAGE_SHIFT;
+        AtomicLongArray page = pages.get(p);
+        if (page == null) {
+            // Losing the race just discards this page; the winner's is used
+            pages.compareAndSet(p, null, new AtomicLongArray(PAGE_SIZE));
+            page = pages.get(p);
+        }
+        page.addAndGet(bucket & PAGE_MASK, count);
+    }
+
+    private long get(int bucket) {
+        AtomicLongArray page = pages.get(bucket >> PAGE_SHIFT);
+        return page != null ? page.get(bucket & PAGE_MASK) : 0;
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(byte[] bytes, int[] position) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position[0] >= bytes.length) {
+                throw new IllegalArgumentException("Truncated score sketch");
+            }
+            byte b = bytes[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed score sketch varint");
+    }
+}
@@ -0,0 +1,213 @@
+package com.typeface.brandvoice.model;
+
+/**
+ * One resolved set of {@link ScoringRules}, flattened into final fields.
+ *
+ * Built once when a profile is compiled, with every layer of rules already
+ * merged over the defaults, so scoring is plain arithmetic on fields: no
+ * rule lookups, boxing or null checks per request. {@link #DEFAULT} scores
+ * exactly as the built-in rules always have.
+ */
+public final class ScoringEvaluator {
+
+    public static final ScoringEvaluator DEFAULT = compile();
+
+    private final double toneMatch;
+    private final double toneMismatch;
+    private final double formalityPenalty;
+    private final double vocabularyPenalty;
+    private final double structureMatch;
+    private final double structureMismatch;
+
+    private final double toneWeight;
+    private final double formalityWeight;
+    private final double vocabularyWeight;
+    private final double structureWeight;
+    private final double stylometryWeight;
+    private final double coreWeight;
+
+    private final double onBrand;
+    private final double minorIssues;
+    private final double issueBelow;
+    private final double highSeverityBelow;
+
+    private ScoringEvaluator(Builder b) {
+        this.toneMatch = b.toneMatch;
+        this.toneMismatch = b.toneMismatch;
+        this.formalityPenalty = b.formalityPenalty;
+        this.vocabularyPenalty = b.vocabularyPenalty;
+        this.structureMatch = b.structureMatch;
+        this.structureMismatch = b.structureMismatch;
+        this.toneWeight = b.toneWeight;
+        this.formalityWeight = b.formalityWeight;
+        this.vocabularyWeight = b.vocabularyWeight;
+        this.structureWeight = b.structureWeight;
+        this.stylometryWeight = b.stylometryWeight;
+        this.coreWeight = toneWeight + formalityWeight + vocabularyWeight + structureWeight;
+        this.onBrand = b.onBrand;
+        this.minorIssues = b.minorIssues;
+        this.issueBelow = b.issueBelow;
+        this.highSeverityBelow = b.highSeverityBelow;
+    }
+
+    /**
+     * Merges the given rule layers over the defaults, later layers winning
+     * field by field. Null layers are skipped.
+     *
+     * @throws IllegalArgumentException if the merged rules are out of range
+     */
+    public static ScoringEvaluator compile(ScoringRules... layers) {
+        Builder b = new Builder();
+        for (ScoringRules layer : layers) {
+            if (layer != null) b.apply(layer);
+        }
+        b.validate();
+        return new ScoringEvaluator(b);
+    }
+
+    public double tone(String brand, String content) {
+        return brand.equals(content) ? toneMatch : toneMismatch;
+    }
+
+    public double formality(double brand, double content) {
+        return Math.max(0, 100.0 - Math.abs(brand - content) * formalityPenalty);
+    }
+
+    public double vocabulary(double brand, double content) {
+        return Math.max(0, 100.0 - Math.abs(brand - content) * vocabularyPenalty);
+    }
+
+    public double sentenceStructure(String brand, String content) {
+        return brand.equals(content) ? structureMatch : structureMismatch;
+    }
+
+    /**
+     * Weighted mean of the attribute scores; {@code stylometry} is NaN when
+     * the profile or content has no stylometric vector.
+     */
+    public double consistency(double tone, double formality, double vocabulary, double structure, double stylometry) {
+        double sum = tone * toneWeight + formality * formalityWeight
+                + vocabulary * vocabularyWeight + structure * structureWeight;
+        double weight = coreWeight;
+        if (!Double.isNaN(stylometry)) {
+            sum += stylometry * stylometryWeight;
+            weight += stylometryWeight;
+        }
+        return weight > 0 ? sum / weight : 0.0;
+    }
+
+    public String verdict(double score) {
+        if (score >= onBrand) return "on_brand";
+        if (score >= minorIssues) return "minor_issues";
+        return "off_brand";
+    }
+
+    /**
+     * Severity of an attribute score, or null when it is not an issue.
+     */
+    public String severity(double score) {
+        if (score >= issueBelow) return null;
+        return score < highSeverityBelow ? "high" : "medium";
+    }
+
+    private static final class Builder {
+        double toneMatch = 100.0;
+        double toneMismatch = 60.0;
+        double formalityPenalty = 200.0;
+        double vocabularyPenalty = 150.0;
+        double structureMatch = 100.0;
+        double structureMismatch = 70.0;
+        double toneWeight = 1.0;
+        double formalityWeight = 1.0;
+        double vocabularyWeight = 1.0;
+        double structureWeight = 1.0;
+        double stylometryWeight = 1.0;
+        double onBrand = 80.0;
+        double minorIssues = 60.0;
+        double issueBelow = 70.0;
+        double highSeverityBelow = 50.0;
+
+        void apply(ScoringRules rules) {
+            ScoringRules.Attribute tone = rules.getTone();
+            if (tone != null) {
+                toneMatch = or(tone.getMatch(), toneMatch);
+                toneMismatch = or(tone.getMismatch(), toneMismatch);
+                toneWeight = or(tone.getWeight(), toneWeight);
+            }
+            ScoringRules.Attribute formality = rules.getFormality();
+            if (formality != null) {
+                formalityPenalty = or(formality.getPenalty(), formalityPenalty);
+                formalityWeight = or(formality.getWeight(), formalityWeight);
+            }
+            ScoringRules.Attribute vocabulary = rules.getVocabulary();
+            if (vocabulary != null) {
+                vocabularyPenalty = or(vocabulary.getPenalty(), vocabularyPenalty);
+                vocabularyWeight = or(vocabulary.getWeight(), vocabularyWeight);
+            }
+            ScoringRules.Attribute structure = rules.getSentenceStructure();
+            if (structure != null) {
+                structureMatch = or(structure.getMatch(), structureMatch);
+                structureMismatch = or(structure.getMismatch(), structureMismatch);
+                structureWeight = or(structure.getWeight(), structureWeight);
+            }
+            ScoringRules.Attribute stylometry = rules.getStylometry();
+            if (stylometry != null) {
+                stylometryWeight = or(stylometry.getWeight(), stylometryWeight);
+            }
+            ScoringRules.Verdicts verdicts = rules.getVerdicts();
+            if (verdicts != null) {
+                onBrand = or(verdicts.getOnBrand(), onBrand);
+                minorIssues = or(verdicts.getMinorIssues(), minorIssues);
+            }
+            ScoringRules.Issues issues = rules.getIssues();
+            if (issues != null) {
+                issueBelow = or(issues.getBelow(), issueBelow);
+                highSeverityBelow = or(issues.getHighSeverityBelow(), highSeverityBelow);
+            }
+        }
+
+        void validate() {
+            score("tone.match", toneMatch);
+            score("tone.mismatch", toneMismatch);
+            score("sentenceStructure.match", structureMatch);
+            score("sentenceStructure.mismatch", structureMismatch);
+            score("verdicts.onBrand", onBrand);
+            score("verdicts.minorIssues", minorIssues);
+            score("issues.below", issueBelow);
+            score("issues.highSeverityBelow", highSeverityBelow);
+            nonNegative("formality.penalty", formalityPenalty);
+            nonNegative("vocabulary.penalty", vocabularyPenalty);
+            nonNegative("tone.weight", toneWeight);
+            nonNegative("formality.weight", formalityWeight);
+            nonNegative("vocabulary.weight", vocabularyWeight);
+            nonNegative("sentenceStructure.weight", structureWeight);
+            nonNegative("stylometry.weight", stylometryWeight);
+
+            if (toneWeight + formalityWeight + vocabularyWeight + structureWeight + stylometryWeight <= 0) {
+                throw new IllegalArgumentException("At least one attribute weight must be positive");
+            }
+            if (minorIssues > onBrand) {
+                throw new IllegalArgumentException("verdicts.minorIssues must not exceed verdicts.onBrand");
+            }
+            if (highSeverityBelow > issueBelow) {
+                throw new IllegalArgumentException("issues.highSeverityBelow must not exceed issues.below");
+            }
+        }
+
+        private static double or(Double value, double fallback) {
+            return value != null ? value : fallback;
+        }
+
+        private static void score(String name, double value) {
+            if (!(value >= 0.0 && value <= 100.0)) {
+                throw new IllegalArgumentException(name + " must be between 0 and 100");
+            }
+        }
+
+        private static void nonNegative(String name, double value) {
+            if (!(value >= 0.0) || Double.isInfinite(value)) {
+                throw new IllegalArgumentException(name + " must be a non-negative number");
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.typeface.brandvoice.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Declarative scoring rules for a brand profile, stored as JSON with it.
+ *
+ * Every field is optional; anything left out keeps the built-in rule (see
+ * {@link ScoringEvaluator#DEFAULT}). {@code contentTypes} overrides the rules
+ * for one {@code contentType} of validated content, again field by field on
+ * top of the profile's rules:
+ *
+ * <pre>
+ * {
+ *   "tone": {"match": 100, "mismatch": 50, "weight": 2},
+ *   "formality": {"penalty": 200},
+ *   "verdicts": {"onBrand": 85, "minorIssues": 65},
+ *   "contentTypes": {
+ *     "social": {"formality": {"weight": 0.5}, "verdicts": {"onBrand": 75}}
+ *   }
+ * }
+ * </pre>
+ *
+ * Rules are compiled once per profile version into {@link CompiledScoringRules}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ScoringRules {
+
+    // Scored 100 or mismatch points by whether the content's tone matches the brand's
+    private Attribute tone;
+
+    // Scored 100 minus penalty points per unit of difference (both range 0 to 1)
+    private Attribute formality;
+    private Attribute vocabulary;
+
+    private Attribute sentenceStructure;
+
+    // Only weight applies; the score is the stylometric similarity
+    private Attribute stylometry;
+
+    private Verdicts verdicts;
+    private Issues issues;
+
+    // Keyed by content type, e.g. email, social, ad; not nested further
+    private Map<String, ScoringRules> contentTypes;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Attribute {
+        private Double match;
+        private Double mismatch;
+        private Double penalty;
+        // Relative weight in the consistency score; 0 leaves the attribute out
+        private Double weight;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Verdicts {
+        // Minimum consistency score for on_brand and minor_issues
+        private Double onBrand;
+        private Double minorIssues;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Issues {
+        // Attribute scores below these are reported, as medium or high severity
+        private Double below;
+        private Double highSeverityBelow;
+    }
+}
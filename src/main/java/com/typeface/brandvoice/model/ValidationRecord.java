@@ -0,0 +1,23 @@
+package com.typeface.brandvoice.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * One validation result as stored in the validation history.
+ */
+@Value
+@Builder
+public class ValidationRecord {
+
+    String customerId;
+    Instant validatedAt;
+    double consistencyScore;
+    String verdict;
+    Map<String, Double> detailedScores;
+    Long profileVersion;
+    byte[] contentHash;
+}
@@ -1,15 +1,49 @@
 package com.typeface.brandvoice.repository;
 
 import com.typeface.brandvoice.model.BrandProfile;
+import com.typeface.brandvoice.model.ProfileStatus;
+import com.typeface.brandvoice.model.ProfileVoice;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BrandProfileRepository extends JpaRepository<BrandProfile, String> {
 
+    // Read-only so it can be routed to a replica when called outside a write transaction
+    @Transactional(readOnly = true)
     Optional<BrandProfile> findByCustomerId(String customerId);
 
     boolean existsByCustomerId(String customerId);
-}
\ No newline at end of file
+
+    List<BrandProfile> findByUpdatedAtAfter(LocalDateTime updatedAt);
+
+    List<BrandProfile> findByStatusAndUpdatedAtBefore(ProfileStatus status, LocalDateTime updatedAt);
+
+    // Keyset page: the next profiles after afterId in ID order, so each page is an index range scan
+    @Query("""
+            select new com.typeface.brandvoice.model.ProfileVoice(
+                p.id, p.customerId, p.brandName, p.voiceAttributes, p.stylometricVector)
+            from BrandProfile p
+            where p.status = :status and p.id > :afterId
+            order by p.id""")
+    List<ProfileVoice> findVoicesAfter(@Param("status") ProfileStatus status,
+                                       @Param("afterId") String afterId,
+                                       Limit limit);
+
+    // Keyset page of active customer IDs, read from the unique index without loading profiles
+    @Query("""
+            select p.customerId from BrandProfile p
+            where p.status = :status and p.customerId > :afterCustomerId
+            order by p.customerId""")
+    List<String> findCustomerIdsAfter(@Param("status") ProfileStatus status,
+                                      @Param("afterCustomerId") String afterCustomerId,
+                                      Limit limit);
+}
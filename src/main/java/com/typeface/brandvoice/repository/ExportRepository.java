@@ -0,0 +1,111 @@
+package com.typeface.brandvoice.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Streams whole tables for bulk export. Rows are handed to a
+ * {@link RowCallbackHandler} one at a time as they come off the cursor, so
+ * no entities are built and the persistence context does not grow.
+ *
+ * PostgreSQL only reads through a server-side cursor inside a transaction
+ * and with a fetch size, so every read is a read-only transaction (served by
+ * a replica when one is configured) on a JdbcTemplate with
+ * {@code brand-voice.export.fetch-size}. Rows come in no particular order.
+ */
+@Repository
+public class ExportRepository {
+
+    public enum ColumnType {
+        TEXT,
+        NUMBER,
+        BOOLEAN,
+        // TIMESTAMP, exported as local date-time
+        TIMESTAMP,
+        // TIMESTAMPTZ, exported as a UTC instant
+        TIMESTAMPTZ,
+        // JSONB, exported as the stored JSON
+        JSON,
+        // Packed little-endian float32 BYTEA, see FloatArrayConverter
+        FLOAT_VECTOR,
+        // BYTEA, exported as hex
+        BYTES
+    }
+
+    public record Column(String name, ColumnType type) {
+    }
+
+    public static final List<Column> PROFILE_COLUMNS = List.of(
+            new Column("id", ColumnType.TEXT),
+            new Column("customer_id", ColumnType.TEXT),
+            new Column("brand_name", ColumnType.TEXT),
+            new Column("voice_attributes", ColumnType.JSON),
+            new Column("sample_content", ColumnType.TEXT),
+            new Column("confidence_score", ColumnType.NUMBER),
+            new Column("stylometric_vector", ColumnType.FLOAT_VECTOR),
+            new Column("scoring_rules", ColumnType.JSON),
+            new Column("created_at", ColumnType.TIMESTAMP),
+            new Column("updated_at", ColumnType.TIMESTAMP),
+            new Column("active", ColumnType.BOOLEAN),
+            new Column("status", ColumnType.TEXT),
+            new Column("version", ColumnType.NUMBER));
+
+    public static final List<Column> VALIDATION_COLUMNS = List.of(
+            new Column("id", ColumnType.NUMBER),
+            new Column("customer_id", ColumnType.TEXT),
+            new Column("validated_at", ColumnType.TIMESTAMPTZ),
+            new Column("consistency_score", ColumnType.NUMBER),
+            new Column("verdict", ColumnType.TEXT),
+            new Column("detailed_scores", ColumnType.JSON),
+            new Column("profile_version", ColumnType.NUMBER),
+            new Column("content_hash", ColumnType.BYTES));
+
+    private static final String SELECT_PROFILES =
+            "SELECT " + names(PROFILE_COLUMNS) + " FROM brand_profiles";
+
+    // Bounded on validated_at so only the partitions in range are scanned
+    private static final String SELECT_VALIDATIONS =
+            "SELECT " + names(VALIDATION_COLUMNS) + " FROM validation_results"
+                    + " WHERE validated_at >= ? AND validated_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExportRepository(DataSource dataSource,
+                            @Value("${brand-voice.export.fetch-size:1000}") int fetchSize) {
+        // Not the shared template, so the fetch size only applies to exports
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    @Transactional(readOnly = true)
+    public void streamProfiles(RowCallbackHandler handler) {
+        jdbcTemplate.query(SELECT_PROFILES, handler);
+    }
+
+    /**
+     * Validation results in [from, to), optionally for one customer.
+     */
+    @Transactional(readOnly = true)
+    public void streamValidations(Instant from, Instant to, String customerId, RowCallbackHandler handler) {
+        if (customerId == null) {
+            jdbcTemplate.query(SELECT_VALIDATIONS, handler,
+                    from.atOffset(ZoneOffset.UTC), to.atOffset(ZoneOffset.UTC));
+        } else {
+            jdbcTemplate.query(SELECT_VALIDATIONS + " AND customer_id = ?", handler,
+                    from.atOffset(ZoneOffset.UTC), to.atOffset(ZoneOffset.UTC), customerId);
+        }
+    }
+
+    private static String names(List<Column> columns) {
+        return columns.stream().map(Column::name).collect(Collectors.joining(", "));
+    }
+}
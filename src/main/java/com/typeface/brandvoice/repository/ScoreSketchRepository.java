@@ -0,0 +1,64 @@
+package com.typeface.brandvoice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * JDBC access to persisted score sketches, one row per customer, window and
+ * service instance.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ScoreSketchRepository {
+
+    public record SketchRow(String customerId, String windowLength, Instant windowStart, byte[] sketch) {
+    }
+
+    private static final String UPSERT = """
+            INSERT INTO score_sketches (customer_id, window_length, window_start, node_id, sketch, updated_at)
+            VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP)
+            ON CONFLICT (customer_id, window_length, window_start, node_id) DO UPDATE SET
+                sketch = EXCLUDED.sketch,
+                updated_at = EXCLUDED.updated_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Replaces this instance's cumulative sketches for the given windows.
+     */
+    @Transactional
+    public void save(String nodeId, List<SketchRow> rows) {
+        jdbcTemplate.batchUpdate(UPSERT, rows, rows.size(), (statement, row) -> {
+            statement.setString(1, row.customerId());
+            statement.setString(2, row.windowLength());
+            statement.setObject(3, row.windowStart().atOffset(ZoneOffset.UTC));
+            statement.setString(4, nodeId);
+            statement.setBytes(5, row.sketch());
+        });
+    }
+
+    /**
+     * Sketches from every instance for windows starting in [from, to).
+     */
+    @Transactional(readOnly = true)
+    public List<byte[]> findSketches(String customerId, String windowLength, Instant from, Instant to) {
+        return jdbcTemplate.query("""
+                        SELECT sketch FROM score_sketches
+                        WHERE customer_id = ? AND window_length = ? AND window_start >= ? AND window_start < ?
+                        """,
+                (rs, rowNum) -> rs.getBytes("sketch"),
+                customerId, windowLength, from.atOffset(ZoneOffset.UTC), to.atOffset(ZoneOffset.UTC));
+    }
+
+    public int deleteOlderThan(String windowLength, Instant cutoff) {
+        return jdbcTemplate.update("DELETE FROM score_sketches WHERE window_length = ? AND window_start < ?",
+                windowLength, cutoff.atOffset(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,183 @@
+package com.typeface.brandvoice.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.typeface.brandvoice.model.ValidationRecord;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * JDBC access to the validation history: batch appends of raw results and
+ * incremental hourly/daily rollups, plus rollup reads.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ValidationHistoryRepository {
+
+    public enum Granularity {
+        HOURLY("validation_stats_hourly", ChronoUnit.HOURS),
+        DAILY("validation_stats_daily", ChronoUnit.DAYS);
+
+        private final String table;
+        private final ChronoUnit unit;
+
+        Granularity(String table, ChronoUnit unit) {
+            this.table = table;
+            this.unit = unit;
+        }
+
+        public Instant truncate(Instant instant) {
+            return instant.truncatedTo(unit);
+        }
+    }
+
+    public record Bucket(
+            Instant start,
+            long validations,
+            double scoreSum,
+            double scoreMin,
+            double scoreMax,
+            long onBrand,
+            long minorIssues,
+            long offBrand) {
+    }
+
+    private static final String INSERT_RESULT = """
+            INSERT INTO validation_results
+                (customer_id, validated_at, consistency_score, verdict, detailed_scores, profile_version, content_hash)
+            VALUES (?, ?, ?, ?, ?::jsonb, ?, ?)
+            """;
+
+    private static final String UPSERT_ROLLUP = """
+            INSERT INTO %s AS s
+                (customer_id, bucket_start, validations, score_sum, score_min, score_max, on_brand, minor_issues, off_brand)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (customer_id, bucket_start) DO UPDATE SET
+                validations = s.validations + EXCLUDED.validations,
+                score_sum = s.score_sum + EXCLUDED.score_sum,
+                score_min = LEAST(s.score_min, EXCLUDED.score_min),
+                score_max = GREATEST(s.score_max, EXCLUDED.score_max),
+                on_brand = s.on_brand + EXCLUDED.on_brand,
+                minor_issues = s.minor_issues + EXCLUDED.minor_issues,
+                off_brand = s.off_brand + EXCLUDED.off_brand
+            """;
+
+    private static final String SELECT_ROLLUP = """
+            SELECT bucket_start, validations, score_sum, score_min, score_max, on_brand, minor_issues, off_brand
+            FROM %s
+            WHERE customer_id = ? AND bucket_start >= ? AND bucket_start < ?
+            ORDER BY bucket_start
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Inserts the raw results and folds them into both rollups in one transaction.
+     */
+    @Transactional
+    public void append(List<ValidationRecord> records) {
+        jdbcTemplate.batchUpdate(INSERT_RESULT, records, records.size(), (statement, record) -> {
+            statement.setString(1, record.getCustomerId());
+            statement.setObject(2, record.getValidatedAt().atOffset(ZoneOffset.UTC));
+            statement.setDouble(3, record.getConsistencyScore());
+            statement.setString(4, record.getVerdict());
+            statement.setString(5, toJson(record.getDetailedScores()));
+            statement.setObject(6, record.getProfileVersion());
+            statement.setBytes(7, record.getContentHash());
+        });
+
+        for (Granularity granularity : Granularity.values()) {
+            List<Map.Entry<String, Bucket>> rollups = rollUp(records, granularity);
+            jdbcTemplate.batchUpdate(UPSERT_ROLLUP.formatted(granularity.table), rollups, rollups.size(),
+                    (statement, rollup) -> {
+                        Bucket bucket = rollup.getValue();
+                        statement.setString(1, rollup.getKey());
+                        statement.setObject(2, bucket.start().atOffset(ZoneOffset.UTC));
+                        statement.setLong(3, bucket.validations());
+                        statement.setDouble(4, bucket.scoreSum());
+                        statement.setDouble(5, bucket.scoreMin());
+                        statement.setDouble(6, bucket.scoreMax());
+                        statement.setLong(7, bucket.onBrand());
+                        statement.setLong(8, bucket.minorIssues());
+                        statement.setLong(9, bucket.offBrand());
+                    });
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<Bucket> findBuckets(String customerId, Granularity granularity, Instant from, Instant to) {
+        return jdbcTemplate.query(SELECT_ROLLUP.formatted(granularity.table),
+                (rs, rowNum) -> new Bucket(
+                        rs.getObject("bucket_start", OffsetDateTime.class).toInstant(),
+                        rs.getLong("validations"),
+                        rs.getDouble("score_sum"),
+                        rs.getDouble("score_min"),
+                        rs.getDouble("score_max"),
+                        rs.getLong("on_brand"),
+                        rs.getLong("minor_issues"),
+                        rs.getLong("off_brand")),
+                customerId, from.atOffset(ZoneOffset.UTC), to.atOffset(ZoneOffset.UTC));
+    }
+
+    public void createPartition(LocalDate month) {
+        jdbcTemplate.queryForList("SELECT create_validation_results_partition(?)", Date.valueOf(month));
+    }
+
+    /**
+     * Aggregates a batch per customer and bucket. Sorted so concurrent
+     * writers lock rollup rows in the same order and cannot deadlock.
+     */
+    static List<Map.Entry<String, Bucket>> rollUp(List<ValidationRecord> records, Granularity granularity) {
+        TreeMap<String, TreeMap<Instant, Bucket>> byCustomer = new TreeMap<>();
+
+        for (ValidationRecord record : records) {
+            Instant start = granularity.truncate(record.getValidatedAt());
+            double score = record.getConsistencyScore();
+            Bucket single = new Bucket(start, 1, score, score, score,
+                    "on_brand".equals(record.getVerdict()) ? 1 : 0,
+                    "minor_issues".equals(record.getVerdict()) ? 1 : 0,
+                    "off_brand".equals(record.getVerdict()) ? 1 : 0);
+
+            byCustomer.computeIfAbsent(record.getCustomerId(), customerId -> new TreeMap<>())
+                    .merge(start, single, ValidationHistoryRepository::merge);
+        }
+
+        List<Map.Entry<String, Bucket>> rollups = new ArrayList<>();
+        byCustomer.forEach((customerId, buckets) ->
+                buckets.values().forEach(bucket -> rollups.add(Map.entry(customerId, bucket))));
+        return rollups;
+    }
+
+    private static Bucket merge(Bucket a, Bucket b) {
+        return new Bucket(a.start(),
+                a.validations() + b.validations(),
+                a.scoreSum() + b.scoreSum(),
+                Math.min(a.scoreMin(), b.scoreMin()),
+                Math.max(a.scoreMax(), b.scoreMax()),
+                a.onBrand() + b.onBrand(),
+                a.minorIssues() + b.minorIssues(),
+                a.offBrand() + b.offBrand());
+    }
+
+    private String toJson(Map<String, Double> detailedScores) {
+        try {
+            return objectMapper.writeValueAsString(detailedScores != null ? detailedScores : Map.of());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize detailed scores", e);
+        }
+    }
+}
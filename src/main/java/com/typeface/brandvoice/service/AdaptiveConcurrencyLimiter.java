@@ -0,0 +1,96 @@
+package com.typeface.brandvoice.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Global concurrency limit for analyzer-bound work, adapted with AIMD.
+ *
+ * Every analyzer call reports its latency. Calls under the target latency
+ * grow the limit additively (about +1 per limit's worth of calls); slow
+ * calls, timeouts and errors shrink it multiplicatively. Requests beyond
+ * the current limit are shed instead of queueing on Tomcat threads and
+ * Hikari connections.
+ */
+@Component
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+
+    private volatile double limit;
+
+    public AdaptiveConcurrencyLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${brand-voice.admission.concurrency.initial-limit:20}") int initialLimit,
+            @Value("${brand-voice.admission.concurrency.min-limit:4}") int minLimit,
+            @Value("${brand-voice.admission.concurrency.max-limit:200}") int maxLimit,
+            @Value("${brand-voice.admission.concurrency.target-latency:PT0.5S}") Duration targetLatency,
+            @Value("${brand-voice.admission.concurrency.backoff-ratio:0.9}") double backoffRatio) {
+
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatency.toNanos();
+        this.backoffRatio = backoffRatio;
+
+        Gauge.builder("brandvoice.admission.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("brandvoice.admission.concurrency.in_flight", inFlight, AtomicInteger::get)
+                .description("Admitted analyzer-bound requests in flight")
+                .register(meterRegistry);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Feeds one analyzer call back into the limit.
+     */
+    public void onSample(long latencyNanos, boolean failed) {
+        double current = limit;
+        double next;
+        if (failed || latencyNanos > targetLatencyNanos) {
+            next = Math.max(minLimit, current * backoffRatio);
+        } else if (inFlight.get() * 2 >= current) {
+            // Only grow while the limit is actually being used
+            next = Math.min(maxLimit, current + 1.0 / current);
+        } else {
+            return;
+        }
+        // Lost updates under contention are harmless: the next sample corrects them
+        limit = next;
+    }
+
+    public double getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,237 @@
+package com.typeface.brandvoice.service;
+
+import com.typeface.brandvoice.exception.AdmissionRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Per-tenant rate limiting and global load shedding inside the service.
+ *
+ * Each customerId gets a token bucket implemented as GCRA (generic cell rate
+ * algorithm): the whole bucket state is one "theoretical arrival time" held
+ * in an AtomicLong and updated with a CAS, so admission never takes a lock.
+ * Analyzer-bound requests additionally need a slot from the
+ * {@link AdaptiveConcurrencyLimiter}. Background work goes through the same
+ * bucket and limiter one item at a time, waiting instead of being shed.
+ *
+ * {@code brandvoice.admission.requests} is tagged by tenant for the
+ * {@code top-tenants} busiest customers of the previous
+ * {@code top-tenants-interval}, and {@code other} for everyone else, so the
+ * number of series stays bounded however many tenants there are.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AdmissionControlService {
+
+    private static final long IDLE_BUCKET_NANOS = TimeUnit.MINUTES.toNanos(10);
+    private static final long MIN_BACKOFF_MILLIS = 10;
+    private static final long MAX_BACKOFF_MILLIS = 1_000;
+    private static final String REQUESTS_METRIC = "brandvoice.admission.requests";
+    private static final String OTHER_TENANTS = "other";
+
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${brand-voice.admission.enabled:true}")
+    private boolean enabled;
+
+    @Value("${brand-voice.admission.tenant.rate-per-second:20}")
+    private double tenantRatePerSecond;
+
+    @Value("${brand-voice.admission.tenant.burst:40}")
+    private int tenantBurst;
+
+    @Value("${brand-voice.admission.metrics.top-tenants:20}")
+    private int topTenants;
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    // Requests per tenant since the last top-tenant refresh
+    private final ConcurrentHashMap<String, LongAdder> tenantRequests = new ConcurrentHashMap<>();
+    private volatile Set<String> taggedTenants = Set.of();
+
+    /**
+     * Admits a tenant-scoped request. When {@code analyzerBound} is set the
+     * returned permit also holds a global concurrency slot and must be closed.
+     *
+     * @throws AdmissionRejectedException when the request is shed
+     */
+    public Permit admit(String customerId, boolean analyzerBound) {
+        if (!enabled) {
+            return Permit.NONE;
+        }
+
+        long retryAfterNanos = consumeToken(customerId);
+        if (retryAfterNanos > 0) {
+            record(customerId, "shed", "tenant_rate");
+            throw new AdmissionRejectedException(
+                    HttpStatus.TOO_MANY_REQUESTS,
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + 999_999_999L)),
+                    "Rate limit exceeded for customer: " + customerId
+            );
+        }
+
+        if (analyzerBound && !concurrencyLimiter.tryAcquire()) {
+            // Shedding for capacity is not the tenant's doing, so it keeps its token
+            refundToken(customerId);
+            record(customerId, "shed", "concurrency");
+            throw new AdmissionRejectedException(
+                    HttpStatus.SERVICE_UNAVAILABLE,
+                    1,
+                    "Service is at capacity, please retry shortly"
+            );
+        }
+
+        record(customerId, "admitted", "none");
+        return analyzerBound ? new Permit(concurrencyLimiter) : Permit.NONE;
+    }
+
+    /**
+     * Admits one analyzer-bound item of background work, such as a validation
+     * job item. Takes a tenant token and a concurrency slot like
+     * {@link #admit}, but sleeps until the token is due and backs off
+     * exponentially while the limiter is full, so background work yields to
+     * interactive requests instead of failing. The returned permit must be closed.
+     *
+     * @throws InterruptedException when the waiting thread is interrupted
+     */
+    public Permit await(String customerId) throws InterruptedException {
+        if (!enabled) {
+            return Permit.NONE;
+        }
+
+        long retryAfterNanos;
+        while ((retryAfterNanos = consumeToken(customerId)) > 0) {
+            TimeUnit.NANOSECONDS.sleep(retryAfterNanos);
+        }
+
+        long backoffMillis = MIN_BACKOFF_MILLIS;
+        while (!concurrencyLimiter.tryAcquire()) {
+            Thread.sleep(backoffMillis);
+            backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF_MILLIS);
+        }
+
+        record(customerId, "admitted", "none");
+        return new Permit(concurrencyLimiter);
+    }
+
+    /**
+     * GCRA token bucket. Returns 0 when admitted, otherwise nanos until a token is available.
+     */
+    private long consumeToken(String customerId) {
+        long emissionInterval = emissionInterval();
+        long burstTolerance = emissionInterval * tenantBurst;
+
+        AtomicLong theoreticalArrival = buckets.computeIfAbsent(customerId, id -> new AtomicLong(System.nanoTime()));
+        while (true) {
+            long now = System.nanoTime();
+            long tat = theoreticalArrival.get();
+            long next = (tat - now > 0 ? tat : now) + emissionInterval;
+
+            long waitNanos = next - burstTolerance - now;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private void refundToken(String customerId) {
+        AtomicLong theoreticalArrival = buckets.get(customerId);
+        if (theoreticalArrival != null) {
+            theoreticalArrival.addAndGet(-emissionInterval());
+        }
+    }
+
+    private long emissionInterval() {
+        return (long) (TimeUnit.SECONDS.toNanos(1) / tenantRatePerSecond);
+    }
+
+    private void record(String customerId, String outcome, String reason) {
+        tenantRequests.computeIfAbsent(customerId, id -> new LongAdder()).increment();
+        Counter.builder(REQUESTS_METRIC)
+                .description("Requests admitted or shed by admission control")
+                .tag("outcome", outcome)
+                .tag("reason", reason)
+                .tag("tenant", taggedTenants.contains(customerId) ? customerId : OTHER_TENANTS)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Picks the tenants tagged by name for the next interval, and drops the
+     * series of those that fell out of the top.
+     */
+    @Scheduled(
+            fixedDelayString = "${brand-voice.admission.metrics.top-tenants-interval:PT1M}",
+            initialDelayString = "${brand-voice.admission.metrics.top-tenants-interval:PT1M}"
+    )
+    public void refreshTaggedTenants() {
+        Map<String, Long> counts = new HashMap<>();
+        tenantRequests.forEach((customerId, requests) -> counts.put(customerId, requests.sumThenReset()));
+        tenantRequests.clear();
+
+        Set<String> next = counts.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(topTenants)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toUnmodifiableSet());
+
+        Set<String> previous = taggedTenants;
+        taggedTenants = next;
+        for (String customerId : previous) {
+            if (!next.contains(customerId)) {
+                meterRegistry.find(REQUESTS_METRIC).tag("tenant", customerId).meters()
+                        .forEach(meterRegistry::remove);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdleBuckets() {
+        long cutoff = System.nanoTime() - IDLE_BUCKET_NANOS;
+        buckets.values().removeIf(tat -> tat.get() - cutoff < 0);
+    }
+
+    /**
+     * Concurrency slot held for the duration of an analyzer-bound request.
+     */
+    public static class Permit implements AutoCloseable {
+
+        static final Permit NONE = new Permit(null);
+
+        private final AdaptiveConcurrencyLimiter limiter;
+        private boolean released;
+
+        Permit(AdaptiveConcurrencyLimiter limiter) {
+            this.limiter = limiter;
+        }
+
+        @Override
+        public void close() {
+            if (limiter != null && !released) {
+                released = true;
+                limiter.release();
+            }
+        }
+    }
+}
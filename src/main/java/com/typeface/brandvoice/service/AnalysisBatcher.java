@@ -0,0 +1,218 @@
+package com.typeface.brandvoice.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces concurrent analysis requests into micro-batches for the NLP
+ * analyzer's {@code /analyze/batch} endpoint.
+ *
+ * Callers enqueue a text and get a future. A single flusher thread drains the
+ * queue into a batch once it reaches {@code max-size} texts or the oldest text
+ * has waited {@code max-wait}, sends it without blocking and completes each
+ * caller's future from the matching result. On shutdown, texts not yet sent
+ * fail with a {@link RejectedExecutionException} so their callers fall back
+ * at once instead of waiting out the timeout.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AnalysisBatcher {
+
+    private static final ParameterizedTypeReference<Map<String, List<Map<String, Object>>>> BATCH_RESPONSE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private static final int MAX_REMOTE_BATCH_SIZE = 256;
+
+    @Lazy
+    private final WebClient webClient;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${nlp.analyzer.url:http://localhost:8001}")
+    private String nlpAnalyzerUrl;
+
+    @Value("${nlp.analyzer.batch.enabled:false}")
+    private boolean enabled;
+
+    @Value("${nlp.analyzer.batch.max-size:32}")
+    private int maxBatchSize;
+
+    @Value("${nlp.analyzer.batch.max-wait:PT0.005S}")
+    private Duration maxWait;
+
+    @Value("${nlp.analyzer.batch.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${nlp.analyzer.timeout:5000}")
+    private long timeoutMillis;
+
+    private BlockingQueue<PendingAnalysis> queue;
+    private Thread flusher;
+    private DistributionSummary batchSize;
+    private Timer queueWait;
+    private volatile boolean stopped;
+
+    // The batch the flusher is collecting, not yet sent; failed by stop()
+    private volatile List<PendingAnalysis> collecting;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) return;
+
+        // The analyzer rejects batches above its own limit
+        maxBatchSize = Math.max(1, Math.min(maxBatchSize, MAX_REMOTE_BATCH_SIZE));
+
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+        batchSize = DistributionSummary.builder("nlp.analyzer.batch.size")
+                .description("Texts per analyzer batch request")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        queueWait = Timer.builder("nlp.analyzer.batch.queue.wait")
+                .description("Time a text waited in the batch queue before being sent")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        flusher = Thread.ofPlatform().name("nlp-batch-flusher").daemon(true).start(this::flushLoop);
+        log.info("Analyzer micro-batching enabled (max size {}, max wait {})", maxBatchSize, maxWait);
+    }
+
+    @PreDestroy
+    void stop() {
+        stopped = true;
+        if (flusher == null) return;
+
+        flusher.interrupt();
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<PendingAnalysis> unsent = new ArrayList<>();
+        if (collecting != null) {
+            unsent.addAll(collecting);
+        }
+        queue.drainTo(unsent);
+
+        RejectedExecutionException stoppedError = new RejectedExecutionException("Analyzer batcher stopped");
+        unsent.forEach(pending -> pending.result().completeExceptionally(stoppedError));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues a text for the next batch. Returns {@code null} when the queue is
+     * full or the batcher has stopped, so the caller can fall back to a direct call.
+     */
+    public CompletableFuture<Map<String, Object>> submit(String text) {
+        if (stopped) return null;
+
+        PendingAnalysis pending = new PendingAnalysis(text, System.nanoTime(), new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            return null;
+        }
+        // Lost a race with stop(): take it back unless stop() already drained and failed it
+        if (stopped && queue.remove(pending)) {
+            return null;
+        }
+        return pending.result();
+    }
+
+    private void flushLoop() {
+        long maxWaitNanos = maxWait.toNanos();
+
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                PendingAnalysis first = queue.take();
+                List<PendingAnalysis> batch = new ArrayList<>(maxBatchSize);
+                batch.add(first);
+                collecting = batch;
+
+                long deadline = first.enqueuedAt() + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingAnalysis next = remaining > 0
+                            ? queue.poll(remaining, TimeUnit.NANOSECONDS)
+                            : queue.poll();
+                    if (next == null) break;
+                    batch.add(next);
+                }
+
+                send(batch);
+                collecting = null;
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Analyzer batch flush failed", e);
+            }
+        }
+    }
+
+    private void send(List<PendingAnalysis> batch) {
+        long sentAt = System.nanoTime();
+        batchSize.record(batch.size());
+        batch.forEach(pending -> queueWait.record(sentAt - pending.enqueuedAt(), TimeUnit.NANOSECONDS));
+
+        List<String> texts = batch.stream().map(PendingAnalysis::text).toList();
+
+        webClient
+                .post()
+                .uri(nlpAnalyzerUrl + "/analyze/batch")
+                .bodyValue(Map.of("texts", texts))
+                .retrieve()
+                .bodyToMono(BATCH_RESPONSE)
+                .timeout(Duration.ofMillis(timeoutMillis))
+                .subscribe(
+                        response -> {
+                            concurrencyLimiter.onSample(System.nanoTime() - sentAt, false);
+                            complete(batch, response.get("results"));
+                        },
+                        error -> {
+                            concurrencyLimiter.onSample(System.nanoTime() - sentAt, true);
+                            log.warn("Analyzer batch of {} failed: {}", batch.size(), error.getMessage());
+                            batch.forEach(pending -> pending.result().completeExceptionally(error));
+                        });
+    }
+
+    private void complete(List<PendingAnalysis> batch, List<Map<String, Object>> results) {
+        for (int i = 0; i < batch.size(); i++) {
+            CompletableFuture<Map<String, Object>> future = batch.get(i).result();
+            Map<String, Object> result = results != null && i < results.size() ? results.get(i) : null;
+
+            if (result == null || result.containsKey("error")) {
+                future.completeExceptionally(new IllegalStateException(
+                        "Analyzer rejected text: " + (result != null ? result.get("error") : "missing result")));
+            } else {
+                future.complete(result);
+            }
+        }
+    }
+
+    private record PendingAnalysis(String text, long enqueuedAt, CompletableFuture<Map<String, Object>> result) {
+    }
+}
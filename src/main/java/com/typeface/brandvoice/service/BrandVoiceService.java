@@ -1,17 +1,36 @@
 package com.typeface.brandvoice.service;
 
+import com.typeface.brandvoice.config.ReplicaLagGuard;
+import com.typeface.brandvoice.diagnostics.AnalyzerCallEvent;
+import com.typeface.brandvoice.diagnostics.BrandVoiceEvent;
+import com.typeface.brandvoice.diagnostics.EventPublishEvent;
+import com.typeface.brandvoice.diagnostics.ProfileLookupEvent;
+import com.typeface.brandvoice.diagnostics.ScoringEvent;
 import com.typeface.brandvoice.dto.*;
+import com.typeface.brandvoice.exception.MalformedRequestException;
 import com.typeface.brandvoice.model.BrandProfile;
+import com.typeface.brandvoice.model.CompiledProfile;
+import com.typeface.brandvoice.model.CompiledScoringRules;
+import com.typeface.brandvoice.model.ProfileStatus;
+import com.typeface.brandvoice.model.ScoringEvaluator;
+import com.typeface.brandvoice.model.ScoringRules;
+import com.typeface.brandvoice.model.ValidationRecord;
 import com.typeface.brandvoice.repository.BrandProfileRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import com.typeface.brandvoice.dto.ContentValidationResponse;
 
+import java.io.InputStream;
+import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -21,23 +40,38 @@ public class BrandVoiceService {
     private final BrandProfileRepository brandProfileRepository;
     private final NLPAnalyzerService nlpAnalyzerService;
     private final EventPublisherService eventPublisher;
-
-    @Transactional
+    private final StylometricFeatureExtractor stylometricFeatureExtractor;
+    private final ProfileSnapshotStore profileSnapshotStore;
+    private final ProfileResponseCache profileResponseCache;
+    private final ReplicaLagGuard replicaLagGuard;
+    private final ProfileRegistry profileRegistry;
+    private final ValidationHistoryWriter validationHistoryWriter;
+    private final ScoreSketchService scoreSketchService;
+    private final NearDuplicateIndex nearDuplicateIndex;
+    private final SimilarBrandService similarBrandService;
+    private final CorpusAnalyzer corpusAnalyzer;
+
+    /**
+     * Creates and analyzes a profile within the request. Deliberately not
+     * transactional: the analyzer call can take seconds and must not hold a
+     * database connection, so only the insert runs in a short transaction of
+     * its own. See {@link #createPendingBrandProfile} for the asynchronous
+     * variant.
+     */
+    @CacheEvict(value = "brandProfiles", key = "#request.customerId")
     public BrandProfileResponse createBrandProfile(CreateBrandProfileRequest request) {
 
         // Check if profile already exists
-        Optional<BrandProfile> existing = brandProfileRepository
-                .findByCustomerId(request.getCustomerId());
+        requireNoProfile(request.getCustomerId());
 
-        if (existing.isPresent()) {
-            throw new IllegalStateException(
-                    "Brand profile already exists for customer: " + request.getCustomerId()
-            );
-        }
+        long sampleLength = request.getSampleContent().length();
 
         // Analyze sample content to extract voice attributes
+        AnalyzerCallEvent analyzerCall = new AnalyzerCallEvent();
+        analyzerCall.begin();
         Map<String, Object> voiceAttributes = nlpAnalyzerService
-                .analyzeVoiceCharacteristics(request.getSampleContent());
+                .analyzeVoiceCharacteristics(request.getSampleContent(), analyzerCall);
+        analyzerCall.finish(BrandVoiceEvent.CREATE_PROFILE, request.getCustomerId(), sampleLength);
 
         // Create and save profile
         BrandProfile profile = BrandProfile.builder()
@@ -46,12 +80,18 @@ public class BrandVoiceService {
                 .sampleContent(request.getSampleContent())
                 .voiceAttributes(voiceAttributes)
                 .confidenceScore(calculateConfidenceScore(voiceAttributes))
+                .stylometricVector(stylometricFeatureExtractor.extract(request.getSampleContent()))
                 .build();
 
-        profile = brandProfileRepository.save(profile);
+        profile = insert(profile);
+        publishCompiled(profile);
 
         // Publish event for downstream systems
+        EventPublishEvent publish = new EventPublishEvent();
+        publish.begin();
         eventPublisher.publishProfileCreated(profile);
+        publish.eventType = "PROFILE_CREATED";
+        publish.finish(BrandVoiceEvent.CREATE_PROFILE, request.getCustomerId(), sampleLength, "ok");
 
         log.info("Brand profile created successfully for customer: {}",
                 request.getCustomerId());
@@ -59,62 +99,487 @@ public class BrandVoiceService {
         return mapToResponse(profile);
     }
 
-    @Cacheable(value = "brandProfiles", key = "#customerId")
-    public BrandProfileResponse getBrandProfile(String customerId) {
-        BrandProfile profile = brandProfileRepository
-                .findByCustomerId(customerId)
-                .orElseThrow(() -> new NoSuchElementException(
-                        "Brand profile not found for customer: " + customerId
-                ));
+    /**
+     * Creates a profile from a corpus of any size, analyzed as it streams in
+     * by {@link CorpusAnalyzer}. Only a bounded excerpt is stored as the
+     * sample content. Deliberately not transactional: the upload can take
+     * minutes and must not hold a connection, so the profile is only saved
+     * once the corpus has been read.
+     */
+    @CacheEvict(value = "brandProfiles", key = "#customerId")
+    public BrandProfileResponse createBrandProfileFromCorpus(String customerId, String brandName, InputStream corpus) {
+
+        // Fail before reading a large upload; the unique customer ID still guards the insert
+        requireNoProfile(customerId);
+
+        CorpusAnalyzer.Result analysis = corpusAnalyzer.analyze(customerId, corpus);
+
+        BrandProfile profile = BrandProfile.builder()
+                .customerId(customerId)
+                .brandName(brandName)
+                .sampleContent(analysis.excerpt())
+                .voiceAttributes(analysis.voiceAttributes())
+                .confidenceScore(calculateConfidenceScore(analysis.voiceAttributes()))
+                .stylometricVector(analysis.stylometricVector())
+                .build();
+
+        profile = insert(profile);
+        publishCompiled(profile);
+
+        EventPublishEvent publish = new EventPublishEvent();
+        publish.begin();
+        eventPublisher.publishProfileCreated(profile);
+        publish.eventType = "PROFILE_CREATED";
+        publish.finish(BrandVoiceEvent.CREATE_PROFILE, customerId, analysis.length(), "ok");
+
+        log.info("Brand profile created from a {} char corpus ({} chunks) for customer: {}",
+                analysis.length(), analysis.chunks(), customerId);
 
         return mapToResponse(profile);
     }
 
+    /**
+     * First stage of an asynchronous create: stores the request as a
+     * PENDING profile without analyzing it, for {@link ProfileCreationService}
+     * to complete. Pending profiles cannot be validated against or updated
+     * until then.
+     */
+    @CacheEvict(value = "brandProfiles", key = "#request.customerId")
+    public BrandProfileResponse createPendingBrandProfile(CreateBrandProfileRequest request) {
+
+        requireNoProfile(request.getCustomerId());
+
+        BrandProfile profile = insert(BrandProfile.builder()
+                .customerId(request.getCustomerId())
+                .brandName(request.getBrandName())
+                .sampleContent(request.getSampleContent())
+                .voiceAttributes(new HashMap<>())
+                .status(ProfileStatus.PENDING)
+                .build());
+        markWritten(profile.getCustomerId());
+
+        log.info("Pending brand profile created for customer: {}", request.getCustomerId());
+
+        return mapToResponse(profile);
+    }
+
+    /**
+     * Second stage of an asynchronous create: analyzes the pending profile's
+     * sample outside any transaction, then activates it in a short one.
+     * Returns false, discarding the analysis, if the profile is no longer
+     * pending (deleted, replaced or swept as stale) by the time it is saved.
+     */
+    @CacheEvict(value = "brandProfiles", key = "#customerId")
+    public boolean completePendingBrandProfile(String customerId) {
+
+        BrandProfile profile = findPendingProfile(customerId);
+        if (profile == null) {
+            return false;
+        }
+
+        String sampleContent = profile.getSampleContent();
+        AnalyzerCallEvent analyzerCall = new AnalyzerCallEvent();
+        analyzerCall.begin();
+        Map<String, Object> voiceAttributes = nlpAnalyzerService
+                .analyzeVoiceCharacteristics(sampleContent, analyzerCall);
+        analyzerCall.finish(BrandVoiceEvent.CREATE_PROFILE, customerId, sampleContent.length());
+
+        profile.setVoiceAttributes(voiceAttributes);
+        profile.setConfidenceScore(calculateConfidenceScore(voiceAttributes));
+        profile.setStylometricVector(stylometricFeatureExtractor.extract(sampleContent));
+        profile.setStatus(ProfileStatus.ACTIVE);
+
+        try {
+            profile = brandProfileRepository.saveAndFlush(profile);
+        } catch (OptimisticLockingFailureException e) {
+            log.info("Brand profile for customer {} changed during analysis, discarding it", customerId);
+            return false;
+        }
+        publishCompiled(profile);
+
+        EventPublishEvent publish = new EventPublishEvent();
+        publish.begin();
+        eventPublisher.publishProfileCreated(profile);
+        publish.eventType = "PROFILE_CREATED";
+        publish.finish(BrandVoiceEvent.CREATE_PROFILE, customerId, sampleContent.length(), "ok");
+
+        log.info("Brand profile created successfully for customer: {}", customerId);
+        return true;
+    }
+
+    /**
+     * Marks a pending profile FAILED, when its analysis failed or it was
+     * left behind by an instance that stopped. Creating the profile again
+     * replaces it.
+     */
+    @CacheEvict(value = "brandProfiles", key = "#customerId")
+    public void failPendingBrandProfile(String customerId, String reason) {
+
+        BrandProfile profile = findPendingProfile(customerId);
+        if (profile == null) {
+            return;
+        }
+
+        profile.setStatus(ProfileStatus.FAILED);
+        try {
+            brandProfileRepository.saveAndFlush(profile);
+        } catch (OptimisticLockingFailureException e) {
+            return;
+        }
+        markWritten(customerId);
+
+        log.warn("Brand profile creation failed for customer {}: {}", customerId, reason);
+    }
+
+    public ProfileStatusResponse getProfileStatus(String customerId) {
+        BrandProfile profile = findProfileForRead(customerId);
+        return ProfileStatusResponse.builder()
+                .customerId(customerId)
+                .status(statusOf(profile))
+                .version(CompiledProfile.versionOf(profile))
+                .updatedAt(profile.getUpdatedAt() != null
+                        ? profile.getUpdatedAt().format(DateTimeFormatter.ISO_DATE_TIME)
+                        : null)
+                .build();
+    }
+
+    private void requireNoProfile(String customerId) {
+        Optional<BrandProfile> existing = brandProfileRepository.findByCustomerId(customerId);
+        if (existing.isEmpty()) {
+            return;
+        }
+        // A failed asynchronous create leaves its row behind until the profile is created again
+        if (existing.get().getStatus() == ProfileStatus.FAILED) {
+            brandProfileRepository.delete(existing.get());
+            return;
+        }
+        throw new IllegalStateException("Brand profile already exists for customer: " + customerId);
+    }
+
+    // The unique customer ID catches a concurrent create that also passed requireNoProfile
+    private BrandProfile insert(BrandProfile profile) {
+        try {
+            return brandProfileRepository.save(profile);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException(
+                    "Brand profile already exists for customer: " + profile.getCustomerId(), e);
+        }
+    }
+
+    private BrandProfile findPendingProfile(String customerId) {
+        try (ReplicaLagGuard.Scope ignored = replicaLagGuard.readScope(customerId)) {
+            return brandProfileRepository
+                    .findByCustomerId(customerId)
+                    .filter(profile -> profile.getStatus() == ProfileStatus.PENDING)
+                    .orElse(null);
+        }
+    }
+
+    private static void requireActive(BrandProfile profile) {
+        switch (profile.getStatus()) {
+            case PENDING -> throw new IllegalStateException(
+                    "Brand profile for customer " + profile.getCustomerId() + " is still being analyzed");
+            case FAILED -> throw new IllegalStateException(
+                    "Brand profile creation failed for customer " + profile.getCustomerId() + "; create it again");
+            case ACTIVE -> {
+            }
+        }
+    }
+
+    /**
+     * Replaces the profile's name and sample. Not transactional, like
+     * {@link #createBrandProfile}: see {@link #applyUpdate}.
+     */
+    @CacheEvict(value = "brandProfiles", key = "#customerId")
+    public BrandProfileResponse updateBrandProfile(String customerId, UpdateBrandProfileRequest request) {
+        return applyUpdate(customerId, request.getBrandName(), request.getSampleContent(), request.getVersion());
+    }
+
+    @CacheEvict(value = "brandProfiles", key = "#customerId")
+    public BrandProfileResponse patchBrandProfile(String customerId, PatchBrandProfileRequest request) {
+        return applyUpdate(customerId, request.getBrandName(), request.getSampleContent(), request.getVersion());
+    }
+
+    /**
+     * The profile's scoring rules as stored, empty when it uses the defaults.
+     */
+    public ScoringRules getScoringRules(String customerId) {
+        ScoringRules rules = findProfileForRead(customerId).getScoringRules();
+        return rules != null ? rules : new ScoringRules();
+    }
+
+    /**
+     * Replaces the profile's scoring rules. They are compiled before saving,
+     * so invalid rules are rejected here rather than on the validation path,
+     * and the new version is published like any other profile update: only
+     * once the repository's own transaction has committed, see
+     * {@link #applyUpdate}.
+     */
+    @CacheEvict(value = "brandProfiles", key = "#customerId")
+    public ScoringRules updateScoringRules(String customerId, ScoringRules rules, Long expectedVersion) {
+        try {
+            CompiledScoringRules.compile(rules);
+        } catch (IllegalArgumentException e) {
+            throw new MalformedRequestException("Invalid scoring rules: " + e.getMessage(), e);
+        }
+
+        // Outside a transaction the read would be read-only and could hit a lagging replica
+        BrandProfile profile;
+        try (ReplicaLagGuard.Scope ignored = replicaLagGuard.primaryScope()) {
+            profile = brandProfileRepository
+                    .findByCustomerId(customerId)
+                    .orElseThrow(() -> new NoSuchElementException(
+                            "Brand profile not found for customer: " + customerId
+                    ));
+        }
+        requireActive(profile);
+
+        if (expectedVersion != null && !expectedVersion.equals(profile.getVersion())) {
+            throw new OptimisticLockingFailureException(String.format(
+                    "Brand profile for customer %s is at version %d, not %d",
+                    customerId, profile.getVersion(), expectedVersion));
+        }
+
+        profile.setScoringRules(rules);
+        profile = brandProfileRepository.saveAndFlush(profile);
+        publishCompiled(profile);
+
+        eventPublisher.publishProfileUpdated(profile);
+
+        log.info("Scoring rules updated at profile version {} for customer: {}",
+                profile.getVersion(), customerId);
+
+        return rules;
+    }
+
+    @Cacheable(value = "brandProfiles", key = "#customerId", sync = true)
+    public BrandProfileResponse getBrandProfile(String customerId) {
+        return mapToResponse(findProfileForRead(customerId));
+    }
+
     public ContentValidationResponse validateContent(ValidateContentRequest request) {
 
-        // Get brand profile (from cache if available)
-        BrandProfile profile = brandProfileRepository
-                .findByCustomerId(request.getCustomerId())
-                .orElseThrow(() -> new NoSuchElementException(
-                        "Brand profile not found for customer: " + request.getCustomerId()
-                ));
+        long contentLength = request.getContent().length();
+        CompiledProfile profile = compiledProfile(request.getCustomerId(), contentLength);
+        int ruleSet = profile.getScoringRules().indexOf(request.getContentType());
+
+        // Near-duplicates of recently validated content reuse the earlier result
+        OptionalLong fingerprint = nearDuplicateIndex.fingerprint(request.getContent());
+        if (fingerprint.isPresent()) {
+            Optional<NearDuplicateIndex.Result> prior = nearDuplicateIndex
+                    .find(request.getCustomerId(), profile.getVersion(), ruleSet, fingerprint.getAsLong());
+            if (prior.isPresent()) {
+                return reuse(request.getCustomerId(), profile, prior.get(), contentLength,
+                        () -> ContentDigest.of(request.getContent()));
+            }
+        }
 
         // Analyze the new content
+        AnalyzerCallEvent analyzerCall = new AnalyzerCallEvent();
+        analyzerCall.begin();
         Map<String, Object> contentAttributes = nlpAnalyzerService
-                .analyzeVoiceCharacteristics(request.getContent());
+                .analyzeVoiceCharacteristics(request.getContent(), analyzerCall);
+        analyzerCall.finish(BrandVoiceEvent.VALIDATE, request.getCustomerId(), contentLength);
+
+        // Compare writing style against the profile's stylometric centroid
+        float[] contentVector = profile.getStylometricVector() != null
+                ? stylometricFeatureExtractor.extract(request.getContent())
+                : null;
+
+        ContentValidationResponse response = score(request.getCustomerId(), profile, ruleSet, contentAttributes,
+                contentVector, contentLength, () -> ContentDigest.of(request.getContent()));
+
+        if (fingerprint.isPresent()) {
+            nearDuplicateIndex.put(request.getCustomerId(), profile.getVersion(), ruleSet, fingerprint.getAsLong(),
+                    new NearDuplicateIndex.Result(response.getConsistencyScore(), response.getVerdict(),
+                            response.getIssues(), response.getDetailedScores()));
+        }
+        return response;
+    }
+
+    /**
+     * Validates content already analyzed in-process, e.g. a large document
+     * read straight from the request bytes by {@link Utf8ContentReader}.
+     * Uses the built-in heuristics instead of the NLP analyzer.
+     */
+    public ContentValidationResponse validateAnalyzedContent(
+            String customerId, String contentType, TextAnalysis analysis) {
+
+        CompiledProfile profile = compiledProfile(customerId, analysis.length());
+
+        return score(customerId, profile, profile.getScoringRules().indexOf(contentType), analysis.attributes(),
+                profile.getStylometricVector() != null ? analysis.stylometricVector() : null,
+                analysis.length(), analysis::contentHash);
+    }
+
+    // Registry first, then the snapshot store, then the database
+    private CompiledProfile compiledProfile(String customerId, long contentLength) {
+        ProfileLookupEvent lookup = new ProfileLookupEvent();
+        lookup.begin();
+        lookup.source = "registry";
+        String outcome = "error";
+        try {
+            CompiledProfile profile = profileRegistry.get(customerId).orElse(null);
+            if (profile == null) {
+                lookup.source = "snapshot";
+                profile = profileRegistry.publish(profileSnapshotStore
+                        .get(customerId)
+                        .orElseGet(() -> {
+                            lookup.source = "database";
+                            return loadCompiledProfile(customerId);
+                        }));
+            }
+            outcome = "ok";
+            return profile;
+
+        } catch (NoSuchElementException e) {
+            outcome = "not_found";
+            throw e;
+        } finally {
+            lookup.finish(BrandVoiceEvent.VALIDATE, customerId, contentLength, outcome);
+        }
+    }
+
+    private ContentValidationResponse score(
+            String customerId,
+            CompiledProfile profile,
+            int ruleSet,
+            Map<String, Object> contentAttributes,
+            float[] contentVector,
+            long contentLength,
+            Supplier<byte[]> contentHash) {
+
+        ContentValidationResponse response = evaluate(
+                customerId, profile, ruleSet, contentAttributes, contentVector, contentLength);
+
+        recordValidation(customerId, profile, response.getConsistencyScore(), response.getVerdict(),
+                response.getDetailedScores(), contentLength, contentHash);
+
+        return response;
+    }
+
+    /**
+     * Scores analyzed content against a profile without recording the
+     * result anywhere. Also run by {@link ValidationWarmup} before the
+     * instance takes traffic.
+     */
+    public ContentValidationResponse evaluate(
+            String customerId,
+            CompiledProfile profile,
+            int ruleSet,
+            Map<String, Object> contentAttributes,
+            float[] contentVector,
+            long contentLength) {
+
+        ScoringEvent scoring = new ScoringEvent();
+        scoring.begin();
+
+        // Rules for this content type, compiled with the profile
+        ScoringEvaluator rules = profile.getScoringRules().evaluator(ruleSet);
 
         // Compare with brand profile
-        Map<String, Double> detailedScores = compareAttributes(
-                profile.getVoiceAttributes(),
-                contentAttributes
-        );
+        double tone = rules.tone(profile.getTone(),
+                (String) contentAttributes.getOrDefault("tone", "neutral"));
+        double formality = rules.formality(profile.getFormality(),
+                ((Number) contentAttributes.getOrDefault("formality", 0.5)).doubleValue());
+        double vocabulary = rules.vocabulary(profile.getVocabularyComplexity(),
+                ((Number) contentAttributes.getOrDefault("vocabulary_complexity", 0.5)).doubleValue());
+        double sentenceStructure = rules.sentenceStructure(profile.getSentenceLength(),
+                (String) contentAttributes.getOrDefault("sentence_length", "medium"));
+        double stylometry = contentVector != null
+                ? stylometricFeatureExtractor.similarity(contentVector, profile.getStylometricVector()) * 100.0
+                : Double.NaN;
+
+        Map<String, Double> detailedScores = new HashMap<>();
+        detailedScores.put("tone", tone);
+        detailedScores.put("formality", formality);
+        detailedScores.put("vocabulary", vocabulary);
+        detailedScores.put("sentence_structure", sentenceStructure);
+        if (contentVector != null) {
+            detailedScores.put("stylometry", stylometry);
+        }
 
         // Calculate overall consistency score
-        double consistencyScore = calculateConsistencyScore(detailedScores);
+        double consistencyScore = rules.consistency(tone, formality, vocabulary, sentenceStructure, stylometry);
 
         // Generate issues and suggestions
-        List<ValidationIssue> issues = generateIssues(detailedScores, profile.getVoiceAttributes());
+        List<ValidationIssue> issues = generateIssues(detailedScores, profile, rules);
 
         // Determine verdict
-        String verdict = determineVerdict(consistencyScore);
+        String verdict = rules.verdict(consistencyScore);
 
-        // Publish validation event for analytics
-        eventPublisher.publishValidationPerformed(
-                request.getCustomerId(),
-                consistencyScore,
-                verdict
-        );
+        scoring.consistencyScore = consistencyScore;
+        scoring.finish(BrandVoiceEvent.VALIDATE, customerId, contentLength, verdict);
 
         return ContentValidationResponse.builder()
-                .customerId(request.getCustomerId())
+                .customerId(customerId)
                 .consistencyScore(consistencyScore)
                 .verdict(verdict)
                 .issues(issues)
                 .detailedScores(detailedScores)
+                .profileVersion(profile.getVersion())
                 .build();
     }
 
+    private ContentValidationResponse reuse(
+            String customerId,
+            CompiledProfile profile,
+            NearDuplicateIndex.Result prior,
+            long contentLength,
+            Supplier<byte[]> contentHash) {
+
+        recordValidation(customerId, profile, prior.consistencyScore(), prior.verdict(),
+                prior.detailedScores(), contentLength, contentHash);
+
+        return ContentValidationResponse.builder()
+                .customerId(customerId)
+                .consistencyScore(prior.consistencyScore())
+                .verdict(prior.verdict())
+                .issues(prior.issues())
+                .detailedScores(prior.detailedScores())
+                .profileVersion(profile.getVersion())
+                .reused(true)
+                .build();
+    }
+
+    private void recordValidation(
+            String customerId,
+            CompiledProfile profile,
+            double consistencyScore,
+            String verdict,
+            Map<String, Double> detailedScores,
+            long contentLength,
+            Supplier<byte[]> contentHash) {
+
+        // Publish validation event for analytics
+        EventPublishEvent publish = new EventPublishEvent();
+        publish.begin();
+        eventPublisher.publishValidationPerformed(
+                customerId,
+                consistencyScore,
+                verdict
+        );
+        publish.eventType = "VALIDATION_PERFORMED";
+        publish.finish(BrandVoiceEvent.VALIDATE, customerId, contentLength, "ok");
+
+        scoreSketchService.record(customerId, consistencyScore);
+
+        // Persist for audits and trends, off the request path
+        if (validationHistoryWriter.isEnabled()) {
+            validationHistoryWriter.record(ValidationRecord.builder()
+                    .customerId(customerId)
+                    .validatedAt(Instant.now())
+                    .consistencyScore(consistencyScore)
+                    .verdict(verdict)
+                    .detailedScores(detailedScores)
+                    .profileVersion(profile.getVersion())
+                    .contentHash(contentHash.get())
+                    .build());
+        }
+    }
+
     @Transactional
+    @CacheEvict(value = "brandProfiles", key = "#customerId")
     public void deleteBrandProfile(String customerId) {
         BrandProfile profile = brandProfileRepository
                 .findByCustomerId(customerId)
@@ -123,78 +588,122 @@ public class BrandVoiceService {
                 ));
 
         brandProfileRepository.delete(profile);
+        replicaLagGuard.recordWrite(customerId);
+        profileSnapshotStore.remove(customerId);
+        profileRegistry.remove(customerId);
+        profileResponseCache.invalidate(customerId);
+        // A re-created profile starts again at version 0
+        nearDuplicateIndex.remove(customerId);
+        similarBrandService.remove(customerId);
         eventPublisher.publishProfileDeleted(customerId);
 
         log.info("Brand profile deleted for customer: {}", customerId);
     }
 
-    private Map<String, Double> compareAttributes(
-            Map<String, Object> brandAttributes,
-            Map<String, Object> contentAttributes) {
-
-        Map<String, Double> scores = new HashMap<>();
+    /**
+     * Analyzes a changed sample before any transaction is open, then saves in
+     * the repository's own short transaction. The profile was read outside
+     * that transaction, so the save's version check also rejects an update
+     * that landed while the analyzer ran. The new version is only published
+     * once the save has committed.
+     */
+    private BrandProfileResponse applyUpdate(
+            String customerId, String brandName, String sampleContent, Long expectedVersion) {
+
+        // Outside a transaction the read would be read-only and could hit a lagging replica
+        BrandProfile profile;
+        try (ReplicaLagGuard.Scope ignored = replicaLagGuard.primaryScope()) {
+            profile = brandProfileRepository
+                    .findByCustomerId(customerId)
+                    .orElseThrow(() -> new NoSuchElementException(
+                            "Brand profile not found for customer: " + customerId
+                    ));
+        }
+        requireActive(profile);
 
-        // Compare tone
-        scores.put("tone", compareTone(brandAttributes, contentAttributes));
+        if (expectedVersion != null && !expectedVersion.equals(profile.getVersion())) {
+            throw new OptimisticLockingFailureException(String.format(
+                    "Brand profile for customer %s is at version %d, not %d",
+                    customerId, profile.getVersion(), expectedVersion));
+        }
 
-        // Compare formality
-        scores.put("formality", compareFormality(brandAttributes, contentAttributes));
+        if (brandName != null) {
+            profile.setBrandName(brandName);
+        }
 
-        // Compare vocabulary complexity
-        scores.put("vocabulary", compareVocabulary(brandAttributes, contentAttributes));
+        // Only re-analyze when the sample actually changed
+        if (sampleContent != null && !sampleContent.equals(profile.getSampleContent())) {
+            AnalyzerCallEvent analyzerCall = new AnalyzerCallEvent();
+            analyzerCall.begin();
+            Map<String, Object> voiceAttributes = nlpAnalyzerService
+                    .analyzeVoiceCharacteristics(sampleContent, analyzerCall);
+            analyzerCall.finish(BrandVoiceEvent.UPDATE_PROFILE, customerId, sampleContent.length());
+
+            profile.setSampleContent(sampleContent);
+            profile.setVoiceAttributes(voiceAttributes);
+            profile.setConfidenceScore(calculateConfidenceScore(voiceAttributes));
+            profile.setStylometricVector(stylometricFeatureExtractor.extract(sampleContent));
+        }
 
-        // Compare sentence structure
-        scores.put("sentence_structure", compareSentenceStructure(brandAttributes, contentAttributes));
+        // Flush so the version bump (and any concurrent-update conflict) happens here
+        profile = brandProfileRepository.saveAndFlush(profile);
+        publishCompiled(profile);
 
-        return scores;
-    }
+        eventPublisher.publishProfileUpdated(profile);
 
-    private double compareTone(Map<String, Object> brand, Map<String, Object> content) {
-        String brandTone = (String) brand.getOrDefault("tone", "neutral");
-        String contentTone = (String) content.getOrDefault("tone", "neutral");
-        return brandTone.equals(contentTone) ? 100.0 : 60.0;
-    }
+        log.info("Brand profile updated to version {} for customer: {}",
+                profile.getVersion(), customerId);
 
-    private double compareFormality(Map<String, Object> brand, Map<String, Object> content) {
-        double brandFormality = ((Number) brand.getOrDefault("formality", 0.5)).doubleValue();
-        double contentFormality = ((Number) content.getOrDefault("formality", 0.5)).doubleValue();
-        double diff = Math.abs(brandFormality - contentFormality);
-        return Math.max(0, 100.0 - (diff * 200));
+        return mapToResponse(profile);
     }
 
-    private double compareVocabulary(Map<String, Object> brand, Map<String, Object> content) {
-        double brandVocab = ((Number) brand.getOrDefault("vocabulary_complexity", 0.5)).doubleValue();
-        double contentVocab = ((Number) content.getOrDefault("vocabulary_complexity", 0.5)).doubleValue();
-        double diff = Math.abs(brandVocab - contentVocab);
-        return Math.max(0, 100.0 - (diff * 150));
+    // Swaps the new compiled snapshot in everywhere validations and reads look for it
+    private void publishCompiled(BrandProfile profile) {
+        CompiledProfile compiled = CompiledProfile.from(profile);
+        replicaLagGuard.recordWrite(profile.getCustomerId());
+        profileSnapshotStore.put(compiled);
+        profileRegistry.publish(compiled);
+        profileResponseCache.invalidate(profile.getCustomerId());
+        similarBrandService.put(profile);
     }
 
-    private double compareSentenceStructure(Map<String, Object> brand, Map<String, Object> content) {
-        String brandStructure = (String) brand.getOrDefault("sentence_length", "medium");
-        String contentStructure = (String) content.getOrDefault("sentence_length", "medium");
-        return brandStructure.equals(contentStructure) ? 100.0 : 70.0;
+    private CompiledProfile loadCompiledProfile(String customerId) {
+        BrandProfile profile = findProfileForRead(customerId);
+        requireActive(profile);
+        CompiledProfile compiled = CompiledProfile.from(profile);
+        profileSnapshotStore.put(compiled);
+        return compiled;
     }
 
-    private double calculateConsistencyScore(Map<String, Double> detailedScores) {
-        return detailedScores.values().stream()
-                .mapToDouble(Double::doubleValue)
-                .average()
-                .orElse(0.0);
+    /**
+     * Loads a profile on the read path, which may be served by a replica
+     * unless the customer was written within the read-your-writes window.
+     */
+    private BrandProfile findProfileForRead(String customerId) {
+        try (ReplicaLagGuard.Scope ignored = replicaLagGuard.readScope(customerId)) {
+            return brandProfileRepository
+                    .findByCustomerId(customerId)
+                    .orElseThrow(() -> new NoSuchElementException(
+                            "Brand profile not found for customer: " + customerId
+                    ));
+        }
     }
 
     private List<ValidationIssue> generateIssues(
             Map<String, Double> scores,
-            Map<String, Object> brandAttributes) {
+            CompiledProfile brandProfile,
+            ScoringEvaluator rules) {
 
         List<ValidationIssue> issues = new ArrayList<>();
 
         scores.forEach((attribute, score) -> {
-            if (score < 70) {
+            String severity = rules.severity(score);
+            if (severity != null) {
                 issues.add(ValidationIssue.builder()
                         .type(attribute)
-                        .severity(score < 50 ? "high" : "medium")
+                        .severity(severity)
                         .description(String.format("The %s doesn't match your brand voice", attribute))
-                        .suggestion(getSuggestion(attribute, brandAttributes))
+                        .suggestion(getSuggestion(attribute, brandProfile))
                         .build());
             }
         });
@@ -202,20 +711,25 @@ public class BrandVoiceService {
         return issues;
     }
 
-    private String getSuggestion(String attribute, Map<String, Object> brandAttributes) {
+    private String getSuggestion(String attribute, CompiledProfile brandProfile) {
         return switch (attribute) {
-            case "tone" -> "Try using a more " + brandAttributes.get("tone") + " tone";
+            case "tone" -> "Try using a more " + brandProfile.getTone() + " tone";
             case "formality" -> "Adjust the formality level to match your brand";
             case "vocabulary" -> "Use vocabulary that aligns with your brand complexity";
             case "sentence_structure" -> "Adjust sentence length to match your brand style";
+            case "stylometry" -> "Match the word choice, rhythm and punctuation of your sample content";
             default -> "Review this aspect against your brand guidelines";
         };
     }
 
-    private String determineVerdict(double score) {
-        if (score >= 80) return "on_brand";
-        if (score >= 60) return "minor_issues";
-        return "off_brand";
+    // Replica reads and the serialized response must not outlive a status change
+    private void markWritten(String customerId) {
+        replicaLagGuard.recordWrite(customerId);
+        profileResponseCache.invalidate(customerId);
+    }
+
+    private static String statusOf(BrandProfile profile) {
+        return profile.getStatus().name().toLowerCase(Locale.ROOT);
     }
 
     private double calculateConfidenceScore(Map<String, Object> attributes) {
@@ -230,8 +744,11 @@ public class BrandVoiceService {
                 .brandName(profile.getBrandName())
                 .voiceAttributes(profile.getVoiceAttributes())
                 .confidenceScore(profile.getConfidenceScore())
-                .status(profile.isActive() ? "active" : "inactive")
-                .createdAt(profile.getCreatedAt().format(DateTimeFormatter.ISO_DATE_TIME))
+                .status(statusOf(profile))
+                .createdAt(profile.getCreatedAt() != null
+                        ? profile.getCreatedAt().format(DateTimeFormatter.ISO_DATE_TIME)
+                        : null)
+                .version(CompiledProfile.versionOf(profile))
                 .build();
     }
 }
\ No newline at end of file
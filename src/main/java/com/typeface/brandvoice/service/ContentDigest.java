@@ -0,0 +1,71 @@
+package com.typeface.brandvoice.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Streaming SHA-256 of text as UTF-8, fed one code point at a time.
+ *
+ * Gives the same hash whether the content arrived as a {@code String} or was
+ * decoded from JSON bytes (escapes and all), without encoding the whole text
+ * into a byte array first. Not thread-safe; one per text.
+ */
+public final class ContentDigest {
+
+    private final MessageDigest digest;
+    private final byte[] buffer = new byte[4096];
+    private int position;
+
+    public ContentDigest() {
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static byte[] of(CharSequence text) {
+        ContentDigest digest = new ContentDigest();
+        int length = text.length();
+        for (int i = 0; i < length; ) {
+            int codePoint = Character.codePointAt(text, i);
+            digest.accept(codePoint);
+            i += Character.charCount(codePoint);
+        }
+        return digest.finish();
+    }
+
+    public void accept(int codePoint) {
+        if (position > buffer.length - 4) {
+            digest.update(buffer, 0, position);
+            position = 0;
+        }
+
+        if (codePoint < 0x80) {
+            buffer[position++] = (byte) codePoint;
+        } else if (codePoint < 0x800) {
+            buffer[position++] = (byte) (0xC0 | codePoint >> 6);
+            buffer[position++] = (byte) (0x80 | codePoint & 0x3F);
+        } else if (codePoint < 0x10000) {
+            if (Character.isSurrogate((char) codePoint)) {
+                // Lone surrogates encode as '?', like String.getBytes(UTF_8)
+                buffer[position++] = '?';
+                return;
+            }
+            buffer[position++] = (byte) (0xE0 | codePoint >> 12);
+            buffer[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+            buffer[position++] = (byte) (0x80 | codePoint & 0x3F);
+        } else {
+            buffer[position++] = (byte) (0xF0 | codePoint >> 18);
+            buffer[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+            buffer[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+            buffer[position++] = (byte) (0x80 | codePoint & 0x3F);
+        }
+    }
+
+    public byte[] finish() {
+        digest.update(buffer, 0, position);
+        position = 0;
+        return digest.digest();
+    }
+}
@@ -0,0 +1,300 @@
+package com.typeface.brandvoice.service;
+
+import com.typeface.brandvoice.diagnostics.AnalyzerCallEvent;
+import com.typeface.brandvoice.diagnostics.BrandVoiceEvent;
+import com.typeface.brandvoice.exception.MalformedRequestException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Analyzes a sample corpus of any size as it is read, for profile creation
+ * from an uploaded archive.
+ *
+ * The corpus (plain UTF-8, gzipped or not) is decoded in small buffers and
+ * cut at whitespace into chunks of about {@code chunk-chars}. Each chunk goes
+ * to the NLP analyzer, at most {@code max-in-flight} at a time per upload,
+ * and the results are folded by {@link VoiceAttributeFold}; the stylometric
+ * vector accumulates over the whole corpus in reading order. What is held at
+ * any time is the chunk being read, the chunks in flight and the excerpt, so
+ * heap use does not grow with the upload.
+ *
+ * The excerpt kept as the profile's sample is a reservoir sample of up to
+ * {@link #EXCERPT_PASSAGES} passages spread uniformly over the corpus, in
+ * corpus order, or the whole corpus when it fits in {@code excerpt-chars}.
+ */
+@Component
+@Slf4j
+public class CorpusAnalyzer {
+
+    static final int EXCERPT_PASSAGES = 8;
+
+    private static final int MIN_CORPUS_LENGTH = 100;
+    private static final int READ_BUFFER_CHARS = 8192;
+    // A trailing chunk shorter than this is too small for the analyzer to say anything useful
+    private static final int MIN_CHUNK_CHARS = 100;
+
+    public record Result(Map<String, Object> voiceAttributes,
+                         float[] stylometricVector,
+                         String excerpt,
+                         long length,
+                         long chunks) {
+    }
+
+    private final NLPAnalyzerService nlpAnalyzerService;
+    private final StylometricFeatureExtractor stylometricFeatureExtractor;
+    private final int chunkChars;
+    private final int maxInFlight;
+    private final int excerptChars;
+    private final long maxChars;
+    private final int workerThreads;
+
+    // Analyzer calls block, so chunks are analyzed off the request thread
+    private ExecutorService executor;
+
+    public CorpusAnalyzer(
+            NLPAnalyzerService nlpAnalyzerService,
+            StylometricFeatureExtractor stylometricFeatureExtractor,
+            @Value("${brand-voice.corpus.chunk-chars:65536}") int chunkChars,
+            @Value("${brand-voice.corpus.max-in-flight:4}") int maxInFlight,
+            @Value("${brand-voice.corpus.excerpt-chars:20000}") int excerptChars,
+            @Value("${brand-voice.corpus.max-chars:1000000000}") long maxChars,
+            @Value("${brand-voice.corpus.worker-threads:16}") int workerThreads) {
+
+        this.nlpAnalyzerService = nlpAnalyzerService;
+        this.stylometricFeatureExtractor = stylometricFeatureExtractor;
+        this.chunkChars = chunkChars;
+        this.maxInFlight = maxInFlight;
+        this.excerptChars = excerptChars;
+        this.maxChars = maxChars;
+        this.workerThreads = workerThreads;
+    }
+
+    @PostConstruct
+    void startExecutor() {
+        executor = Executors.newFixedThreadPool(workerThreads, Thread.ofPlatform()
+                .name("corpus-analyze-", 0)
+                .daemon(true)
+                .factory());
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        executor.shutdown();
+    }
+
+    private record Pending(CompletableFuture<Map<String, Object>> analysis, long length) {
+    }
+
+    public Result analyze(String customerId, InputStream corpus) {
+        StylometricFeatureExtractor.Accumulator stylometry = stylometricFeatureExtractor.newAccumulator();
+        ExcerptSampler excerpt = new ExcerptSampler(excerptChars);
+        VoiceAttributeFold fold = new VoiceAttributeFold();
+        Deque<Pending> inFlight = new ArrayDeque<>();
+
+        StringBuilder chunk = new StringBuilder(chunkChars + READ_BUFFER_CHARS);
+        char[] buffer = new char[READ_BUFFER_CHARS];
+        long length = 0;
+        boolean blank = true;
+
+        try (Reader reader = new InputStreamReader(decompressed(corpus), StandardCharsets.UTF_8)) {
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                length += read;
+                if (length > maxChars) {
+                    throw new MalformedRequestException("Corpus exceeds " + maxChars + " characters");
+                }
+
+                for (int i = 0; i < read; i++) {
+                    char c = buffer[i];
+                    chunk.append(c);
+                    excerpt.accept(c);
+                    blank &= Character.isWhitespace(c);
+
+                    // Cut at whitespace once full, so words and surrogate pairs stay whole
+                    if (chunk.length() >= chunkChars && Character.isWhitespace(c)) {
+                        dispatch(customerId, chunk, stylometry, fold, inFlight);
+                    }
+                }
+            }
+
+            if (blank || length < MIN_CORPUS_LENGTH) {
+                throw new MalformedRequestException("Corpus should be at least " + MIN_CORPUS_LENGTH + " characters");
+            }
+            if (!chunk.isEmpty() && (chunk.length() >= MIN_CHUNK_CHARS || fold.chunks() + inFlight.size() == 0)) {
+                dispatch(customerId, chunk, stylometry, fold, inFlight);
+            } else {
+                accept(stylometry, chunk);
+            }
+            while (!inFlight.isEmpty()) {
+                Pending pending = inFlight.removeFirst();
+                fold.add(pending.analysis().join(), pending.length());
+            }
+
+        } catch (IOException e) {
+            throw new MalformedRequestException("Could not read corpus: " + e.getMessage(), e);
+        } finally {
+            inFlight.forEach(pending -> pending.analysis().cancel(false));
+        }
+
+        log.info("Analyzed corpus of {} chars in {} chunks for customer: {}", length, fold.chunks(), customerId);
+
+        return new Result(fold.result(), stylometry.finish(), excerpt.finish(), length, fold.chunks());
+    }
+
+    private void dispatch(String customerId,
+                          StringBuilder chunk,
+                          StylometricFeatureExtractor.Accumulator stylometry,
+                          VoiceAttributeFold fold,
+                          Deque<Pending> inFlight) {
+
+        // Waiting for the oldest chunk before reading on is what bounds memory
+        if (inFlight.size() >= maxInFlight) {
+            Pending oldest = inFlight.removeFirst();
+            fold.add(oldest.analysis().join(), oldest.length());
+        }
+
+        String text = chunk.toString();
+        chunk.setLength(0);
+        accept(stylometry, text);
+
+        inFlight.addLast(new Pending(CompletableFuture.supplyAsync(() -> {
+            AnalyzerCallEvent analyzerCall = new AnalyzerCallEvent();
+            analyzerCall.begin();
+            Map<String, Object> attributes = nlpAnalyzerService.analyzeVoiceCharacteristics(text, analyzerCall);
+            analyzerCall.finish(BrandVoiceEvent.CREATE_PROFILE, customerId, text.length());
+            return attributes;
+        }, executor), text.length()));
+    }
+
+    private static void accept(StylometricFeatureExtractor.Accumulator stylometry, CharSequence text) {
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = Character.codePointAt(text, i);
+            stylometry.accept(codePoint);
+            i += Character.charCount(codePoint);
+        }
+    }
+
+    private static InputStream decompressed(InputStream corpus) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(corpus, 65536);
+        in.mark(2);
+        int first = in.read();
+        int second = in.read();
+        in.reset();
+
+        // Gzip magic number, whatever the declared content type
+        boolean gzip = first == 0x1f && second == 0x8b;
+        return gzip ? new GZIPInputStream(in, 65536) : in;
+    }
+
+    /**
+     * Reservoir sample of fixed-length passages: passage {@code i} is kept
+     * with probability {@code k / (i + 1)}, decided when it starts, so only
+     * kept passages are ever buffered. The first {@code excerpt-chars} are
+     * also kept, in case the whole corpus fits.
+     */
+    static final class ExcerptSampler {
+
+        private final int maxChars;
+        private final int passageChars;
+        private final StringBuilder head;
+        private final String[] passages = new String[EXCERPT_PASSAGES];
+        private final long[] passageIndexes = new long[EXCERPT_PASSAGES];
+
+        private long index = -1;
+        private int passageLength;
+        private int slot = -1;
+        private StringBuilder current;
+        private long length;
+
+        ExcerptSampler(int maxChars) {
+            this.maxChars = maxChars;
+            this.passageChars = Math.max(1, maxChars / EXCERPT_PASSAGES);
+            this.head = new StringBuilder(Math.min(maxChars, 4096));
+            Arrays.fill(passageIndexes, -1);
+        }
+
+        void accept(char c) {
+            length++;
+            if (head.length() < maxChars) {
+                head.append(c);
+            }
+
+            if (passageLength == 0 || passageLength == passageChars) {
+                startPassage();
+            }
+            passageLength++;
+            if (current != null) {
+                current.append(c);
+            }
+        }
+
+        String finish() {
+            endPassage();
+            if (length <= maxChars) {
+                return head.toString();
+            }
+
+            Integer[] order = new Integer[EXCERPT_PASSAGES];
+            for (int i = 0; i < order.length; i++) order[i] = i;
+            Arrays.sort(order, Comparator.comparingLong(i -> passageIndexes[i]));
+
+            return Arrays.stream(order)
+                    .map(i -> passages[i])
+                    .filter(Objects::nonNull)
+                    .map(ExcerptSampler::wholeWords)
+                    .filter(passage -> !passage.isEmpty())
+                    .collect(Collectors.joining("\n\n"));
+        }
+
+        private void startPassage() {
+            endPassage();
+            index++;
+            passageLength = 0;
+
+            long candidate = index < EXCERPT_PASSAGES ? index : ThreadLocalRandom.current().nextLong(index + 1);
+            if (candidate < EXCERPT_PASSAGES) {
+                slot = (int) candidate;
+                current = new StringBuilder(passageChars);
+            }
+        }
+
+        private void endPassage() {
+            if (current != null) {
+                passages[slot] = current.toString();
+                passageIndexes[slot] = index;
+                current = null;
+            }
+        }
+
+        // Passages are cut at fixed offsets; drop the partial words at either end
+        private static String wholeWords(String passage) {
+            int start = 0;
+            int end = passage.length();
+            while (start < end && !Character.isWhitespace(passage.charAt(start))) start++;
+            while (end > start && !Character.isWhitespace(passage.charAt(end - 1))) end--;
+            return passage.substring(start, end).strip();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.typeface.brandvoice.service;
+
+/**
+ * Computes cosine similarity for two vectors of equal length.
+ */
+interface CosineKernel {
+
+    double cosine(float[] a, float[] b);
+
+    static double combine(double dot, double normA, double normB) {
+        if (normA == 0 || normB == 0) return 0.0;
+        return dot / Math.sqrt(normA * normB);
+    }
+}
@@ -1,11 +1,13 @@
 package com.typeface.brandvoice.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.cloud.spring.pubsub.core.PubSubTemplate;
 import com.typeface.brandvoice.model.BrandProfile;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
@@ -24,6 +26,7 @@ import java.util.concurrent.CompletableFuture;
 @Slf4j
 public class EventPublisherService {
 
+    @Lazy
     private final PubSubTemplate pubSubTemplate;
     private final ObjectMapper objectMapper;
 
@@ -57,6 +60,31 @@ public class EventPublisherService {
         return CompletableFuture.completedFuture(null);
     }
 
+    @Async
+    public CompletableFuture<Void> publishProfileUpdated(BrandProfile profile) {
+        try {
+            Map<String, Object> event = new HashMap<>();
+            event.put("eventType", "PROFILE_UPDATED");
+            event.put("timestamp", LocalDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME));
+            event.put("customerId", profile.getCustomerId());
+            event.put("brandName", profile.getBrandName());
+            event.put("profileId", profile.getId());
+            event.put("version", profile.getVersion());
+            event.put("confidenceScore", profile.getConfidenceScore());
+
+            String message = objectMapper.writeValueAsString(event);
+
+            pubSubTemplate.publish(profileEventsTopic, message);
+
+            log.info("Published PROFILE_UPDATED event for customer: {}", profile.getCustomerId());
+
+        } catch (Exception e) {
+            log.error("Failed to publish profile updated event", e);
+        }
+
+        return CompletableFuture.completedFuture(null);
+    }
+
     @Async
     public CompletableFuture<Void> publishProfileDeleted(String customerId) {
         try {
@@ -85,14 +113,7 @@ public class EventPublisherService {
             String verdict) {
 
         try {
-            Map<String, Object> event = new HashMap<>();
-            event.put("eventType", "VALIDATION_PERFORMED");
-            event.put("timestamp", LocalDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME));
-            event.put("customerId", customerId);
-            event.put("consistencyScore", consistencyScore);
-            event.put("verdict", verdict);
-
-            String message = objectMapper.writeValueAsString(event);
+            String message = encodeValidationPerformed(customerId, consistencyScore, verdict);
 
             pubSubTemplate.publish(validationEventsTopic, message);
 
@@ -104,4 +125,18 @@ public class EventPublisherService {
 
         return CompletableFuture.completedFuture(null);
     }
+
+    // Separate from publishing so ValidationWarmup can encode events without sending them
+    public String encodeValidationPerformed(String customerId, double consistencyScore, String verdict)
+            throws JsonProcessingException {
+
+        Map<String, Object> event = new HashMap<>();
+        event.put("eventType", "VALIDATION_PERFORMED");
+        event.put("timestamp", LocalDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME));
+        event.put("customerId", customerId);
+        event.put("consistencyScore", consistencyScore);
+        event.put("verdict", verdict);
+
+        return objectMapper.writeValueAsString(event);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,342 @@
+package com.typeface.brandvoice.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory approximate nearest neighbour index over float vectors
+ * (Hierarchical Navigable Small World graph, Malkov and Yashunin).
+ *
+ * Each node links to up to {@code m} neighbours per layer (twice that on
+ * layer 0), picked with the diversity heuristic so the graph stays
+ * navigable across clusters. Searches descend greedily from the top layer
+ * and run a beam of width {@code ef} on layer 0. Similarity is cosine,
+ * through {@link VectorSimilarity} so it uses the SIMD kernel when enabled.
+ *
+ * Inserts and removals take a write lock and searches a read lock. Removal
+ * only marks the node, which keeps the graph connected; removed nodes are
+ * skipped in results and dropped when the index is rebuilt. Re-inserting an
+ * id replaces its vector the same way.
+ */
+final class HnswIndex {
+
+    record Match(String id, double similarity) {
+    }
+
+    private final int dimensions;
+    private final int m;
+    private final int maxLinks0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ThreadLocal<Visited> visited = ThreadLocal.withInitial(Visited::new);
+
+    private Node[] nodes = new Node[1024];
+    private int nodeCount;
+    private int removed;
+    private final Map<String, Integer> ids = new HashMap<>();
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    HnswIndex(int dimensions, int m, int efConstruction) {
+        if (m < 2) throw new IllegalArgumentException("m must be at least 2");
+        this.dimensions = dimensions;
+        this.m = m;
+        this.maxLinks0 = m * 2;
+        this.efConstruction = Math.max(efConstruction, m);
+        this.levelMultiplier = 1.0 / Math.log(m);
+    }
+
+    void put(String id, float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("Expected " + dimensions + " dimensions, got " + vector.length);
+        }
+
+        lock.writeLock().lock();
+        try {
+            Integer existing = ids.get(id);
+            if (existing != null) {
+                nodes[existing].removed = true;
+                removed++;
+            }
+
+            int level = (int) (-Math.log(1.0 - random.nextDouble()) * levelMultiplier);
+            int index = append(new Node(id, vector, level, m, maxLinks0));
+            ids.put(id, index);
+
+            if (entryPoint < 0) {
+                entryPoint = index;
+                maxLevel = level;
+                return;
+            }
+
+            int entry = entryPoint;
+            for (int layer = maxLevel; layer > level; layer--) {
+                entry = greedy(vector, entry, layer);
+            }
+
+            for (int layer = Math.min(level, maxLevel); layer >= 0; layer--) {
+                List<Candidate> found = searchLayer(vector, entry, efConstruction, layer);
+                int[] neighbours = selectNeighbours(found, m);
+                Node node = nodes[index];
+                for (int neighbour : neighbours) {
+                    node.link(layer, neighbour);
+                    link(neighbour, index, layer);
+                }
+                entry = found.get(0).index();
+            }
+
+            if (level > maxLevel) {
+                entryPoint = index;
+                maxLevel = level;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Integer index = ids.remove(id);
+            if (index != null && !nodes[index].removed) {
+                nodes[index].removed = true;
+                removed++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The stored vector for an id, or null when it is not indexed.
+     */
+    float[] vector(String id) {
+        lock.readLock().lock();
+        try {
+            Integer index = ids.get(id);
+            return index != null ? nodes[index].vector : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code k} most similar live entries, most similar first,
+     * excluding {@code excludeId}.
+     */
+    List<Match> search(float[] query, int k, int ef, String excludeId) {
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0) return List.of();
+
+            int entry = entryPoint;
+            for (int layer = maxLevel; layer > 0; layer--) {
+                entry = greedy(query, entry, layer);
+            }
+
+            List<Match> matches = new ArrayList<>(k);
+            for (Candidate candidate : searchLayer(query, entry, Math.max(ef, k + 1), 0)) {
+                Node node = nodes[candidate.index()];
+                if (node.removed || node.id.equals(excludeId)) continue;
+                matches.add(new Match(node.id, candidate.similarity()));
+                if (matches.size() == k) break;
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return nodeCount - removed;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int append(Node node) {
+        if (nodeCount == nodes.length) {
+            nodes = Arrays.copyOf(nodes, nodes.length * 2);
+        }
+        nodes[nodeCount] = node;
+        return nodeCount++;
+    }
+
+    private int greedy(float[] query, int entry, int layer) {
+        int current = entry;
+        double best = similarity(query, nodes[current].vector);
+
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            Node node = nodes[current];
+            for (int i = 0; i < node.counts[layer]; i++) {
+                int neighbour = node.links[layer][i];
+                double similarity = similarity(query, nodes[neighbour].vector);
+                if (similarity > best) {
+                    best = similarity;
+                    current = neighbour;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    // Beam search on one layer; the result is sorted most similar first
+    private List<Candidate> searchLayer(float[] query, int entry, int ef, int layer) {
+        Visited seen = visited.get();
+        seen.reset(nodeCount);
+
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(Comparator.comparingDouble(c -> -c.similarity));
+        PriorityQueue<Candidate> results = new PriorityQueue<>(Comparator.comparingDouble(c -> c.similarity));
+
+        Candidate start = new Candidate(entry, similarity(query, nodes[entry].vector));
+        seen.mark(entry);
+        candidates.add(start);
+        results.add(start);
+
+        while (!candidates.isEmpty()) {
+            Candidate current = candidates.poll();
+            if (results.size() >= ef && current.similarity < results.peek().similarity) break;
+
+            Node node = nodes[current.index];
+            for (int i = 0; i < node.counts[layer]; i++) {
+                int neighbour = node.links[layer][i];
+                if (!seen.mark(neighbour)) continue;
+
+                double similarity = similarity(query, nodes[neighbour].vector);
+                if (results.size() < ef || similarity > results.peek().similarity) {
+                    Candidate candidate = new Candidate(neighbour, similarity);
+                    candidates.add(candidate);
+                    results.add(candidate);
+                    if (results.size() > ef) results.poll();
+                }
+            }
+        }
+
+        List<Candidate> sorted = new ArrayList<>(results);
+        sorted.sort(Comparator.comparingDouble(c -> -c.similarity));
+        return sorted;
+    }
+
+    /**
+     * Keeps candidates closer to the base than to any neighbour already
+     * kept, then tops up with the closest of the rest.
+     */
+    private int[] selectNeighbours(List<Candidate> sortedCandidates, int limit) {
+        int[] selected = new int[Math.min(limit, sortedCandidates.size())];
+        int count = 0;
+        List<Integer> pruned = new ArrayList<>();
+
+        for (Candidate candidate : sortedCandidates) {
+            if (count == selected.length) break;
+            int index = candidate.index();
+            float[] vector = nodes[index].vector;
+
+            boolean diverse = true;
+            for (int i = 0; i < count; i++) {
+                if (similarity(vector, nodes[selected[i]].vector) > candidate.similarity()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected[count++] = index;
+            } else {
+                pruned.add(index);
+            }
+        }
+        for (int i = 0; i < pruned.size() && count < selected.length; i++) {
+            selected[count++] = pruned.get(i);
+        }
+        return Arrays.copyOf(selected, count);
+    }
+
+    private void link(int from, int to, int layer) {
+        Node node = nodes[from];
+        int limit = layer == 0 ? maxLinks0 : m;
+        if (node.counts[layer] < limit) {
+            node.link(layer, to);
+            return;
+        }
+
+        // Full: re-pick the neighbour set including the new node
+        List<Candidate> candidates = new ArrayList<>(limit + 1);
+        candidates.add(new Candidate(to, similarity(node.vector, nodes[to].vector)));
+        for (int i = 0; i < node.counts[layer]; i++) {
+            int neighbour = node.links[layer][i];
+            candidates.add(new Candidate(neighbour, similarity(node.vector, nodes[neighbour].vector)));
+        }
+        candidates.sort(Comparator.comparingDouble(c -> -c.similarity));
+
+        int[] kept = selectNeighbours(candidates, limit);
+        System.arraycopy(kept, 0, node.links[layer], 0, kept.length);
+        node.counts[layer] = kept.length;
+    }
+
+    private static double similarity(float[] a, float[] b) {
+        return VectorSimilarity.cosine(a, b);
+    }
+
+    private static final class Node {
+
+        final String id;
+        final float[] vector;
+        final int[][] links;
+        final int[] counts;
+        volatile boolean removed;
+
+        Node(String id, float[] vector, int level, int m, int maxLinks0) {
+            this.id = id;
+            this.vector = vector;
+            this.links = new int[level + 1][];
+            this.counts = new int[level + 1];
+            for (int layer = 0; layer <= level; layer++) {
+                links[layer] = new int[layer == 0 ? maxLinks0 : m];
+            }
+        }
+
+        void link(int layer, int neighbour) {
+            links[layer][counts[layer]++] = neighbour;
+        }
+    }
+
+    private record Candidate(int index, double similarity) {
+    }
+
+    // Epoch-stamped visited set, reused per thread so searches do not allocate one per call
+    private static final class Visited {
+
+        private int[] marks = new int[0];
+        private int epoch;
+
+        void reset(int size) {
+            if (marks.length < size) {
+                marks = new int[Math.max(size, marks.length * 2)];
+                epoch = 0;
+            }
+            if (++epoch == Integer.MAX_VALUE) {
+                Arrays.fill(marks, 0);
+                epoch = 1;
+            }
+        }
+
+        boolean mark(int index) {
+            if (marks[index] == epoch) return false;
+            marks[index] = epoch;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.typeface.brandvoice.service;
+
+import java.util.Arrays;
+
+/**
+ * Streaming 64-bit near-duplicate fingerprint of text, fed one code point at
+ * a time.
+ *
+ * Features are case-folded word bigrams (the first word on its own). Each
+ * fingerprint bit is the lowest bit of the minimum of one of 64 independent
+ * hashes over the features (one-bit MinHash), so a bit differs between two
+ * texts with probability (1 - J) / 2, where J is the Jaccard similarity of
+ * their features. Changing a word or two in a paragraph moves the
+ * fingerprint by a few bits, while unrelated texts differ in about 32.
+ * Unlike SimHash, this holds for texts of a few dozen words.
+ * Not thread-safe; one per text.
+ */
+public final class MinHashFingerprint {
+
+    private static final long FNV64_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV64_PRIME = 0x100000001b3L;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final long[] minima = new long[Long.SIZE];
+
+    private long wordHash = FNV64_OFFSET;
+    private int wordLength;
+    private long previousWord;
+    private int features;
+
+    public MinHashFingerprint() {
+        Arrays.fill(minima, Long.MAX_VALUE);
+    }
+
+    public static MinHashFingerprint of(CharSequence text) {
+        MinHashFingerprint fingerprint = new MinHashFingerprint();
+        int length = text.length();
+        for (int i = 0; i < length; ) {
+            int codePoint = Character.codePointAt(text, i);
+            fingerprint.accept(codePoint);
+            i += Character.charCount(codePoint);
+        }
+        return fingerprint;
+    }
+
+    public void accept(int codePoint) {
+        if (Character.isLetterOrDigit(codePoint)) {
+            wordHash = (wordHash ^ Character.toLowerCase(codePoint)) * FNV64_PRIME;
+            wordLength++;
+        } else {
+            endWord();
+        }
+    }
+
+    /**
+     * Number of features (words) seen so far; fingerprints of very short
+     * texts move too much with each word to compare reliably.
+     */
+    public int features() {
+        endWord();
+        return features;
+    }
+
+    public long finish() {
+        endWord();
+
+        long fingerprint = 0;
+        for (int i = 0; i < Long.SIZE; i++) {
+            fingerprint |= (minima[i] & 1) << i;
+        }
+        return fingerprint;
+    }
+
+    private void endWord() {
+        if (wordLength == 0) return;
+
+        long feature = mix(previousWord ^ Long.rotateLeft(wordHash, 1));
+        for (int i = 0; i < Long.SIZE; i++) {
+            long hash = mix(feature + (i + 1) * GOLDEN_GAMMA);
+            if (hash < minima[i]) {
+                minima[i] = hash;
+            }
+        }
+
+        features++;
+        previousWord = wordHash;
+        wordHash = FNV64_OFFSET;
+        wordLength = 0;
+    }
+
+    // MurmurHash3 finalizer
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -1,15 +1,23 @@
 package com.typeface.brandvoice.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.typeface.brandvoice.diagnostics.AnalyzerCallEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Service that interfaces with Python NLP analyzer for text analysis
@@ -19,33 +27,59 @@ import java.util.Map;
 @Slf4j
 public class NLPAnalyzerService {
 
+    @Lazy
     private final WebClient webClient;
     private final ObjectMapper objectMapper;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final AnalysisBatcher analysisBatcher;
+    private final StylometricFeatureExtractor stylometricFeatureExtractor;
 
     @Value("${nlp.analyzer.url:http://localhost:8001}")
     private String nlpAnalyzerUrl;
 
+    @Value("${nlp.analyzer.timeout:5000}")
+    private long timeoutMillis;
+
     /**
      * Analyzes text to extract voice characteristics
      * Calls Python service for advanced NLP processing
+     *
+     * @param event receives how the analyzer was called and the outcome
      */
-    public Map<String, Object> analyzeVoiceCharacteristics(String text) {
+    public Map<String, Object> analyzeVoiceCharacteristics(String text, AnalyzerCallEvent event) {
 
         log.debug("Analyzing voice characteristics for text of length: {}", text.length());
 
+        event.outcome = "ok";
+
+        if (analysisBatcher.isEnabled()) {
+            CompletableFuture<Map<String, Object>> batched = analysisBatcher.submit(text);
+            if (batched != null) {
+                event.mode = "batched";
+                return awaitBatched(batched, text, event);
+            }
+            log.debug("Analyzer batch queue full, calling analyzer directly");
+        }
+
+        event.mode = "direct";
+
         try {
             Map<String, String> request = new HashMap<>();
             request.put("text", text);
 
-            // Call Python NLP service
+            long start = System.nanoTime();
+
+            // Call Python NLP service; latency feeds the adaptive concurrency limit
             Map<String, Object> response = webClient
                     .post()
                     .uri(nlpAnalyzerUrl + "/analyze")
                     .bodyValue(request)
                     .retrieve()
                     .bodyToMono(Map.class)
-                    .timeout(java.time.Duration.ofSeconds(5))
-                    .onErrorResume(this::handleAnalysisError)
+                    .timeout(Duration.ofMillis(timeoutMillis))
+                    .doOnSuccess(result -> concurrencyLimiter.onSample(System.nanoTime() - start, false))
+                    .doOnError(error -> concurrencyLimiter.onSample(System.nanoTime() - start, true))
+                    .onErrorResume(error -> Mono.just(handleAnalysisError(error, text, event)))
                     .block();
 
             log.debug("Voice analysis completed successfully");
@@ -54,117 +88,63 @@ public class NLPAnalyzerService {
         } catch (Exception e) {
             log.error("Error analyzing voice characteristics", e);
             // Return fallback analysis
+            event.outcome = "fallback";
             return getFallbackAnalysis(text);
         }
     }
 
-    private Mono<Map<String, Object>> handleAnalysisError(Throwable error) {
-        log.warn("NLP analyzer service error, using fallback: {}", error.getMessage());
-        return Mono.just(new HashMap<>());
-    }
-
     /**
-     * Fallback analysis using basic heuristics when Python service is unavailable
+     * Waits for a micro-batched result, mapping failures the same way as the
+     * direct call. The wait is bounded by the same timeout.
      */
-    private Map<String, Object> getFallbackAnalysis(String text) {
-        Map<String, Object> analysis = new HashMap<>();
-
-        // Basic tone detection
-        String tone = detectBasicTone(text);
-        analysis.put("tone", tone);
-
-        // Formality score (0-1)
-        double formality = calculateFormality(text);
-        analysis.put("formality", formality);
-
-        // Vocabulary complexity (0-1)
-        double complexity = calculateVocabularyComplexity(text);
-        analysis.put("vocabulary_complexity", complexity);
-
-        // Sentence length category
-        String sentenceLength = categorizeSentenceLength(text);
-        analysis.put("sentence_length", sentenceLength);
-
-        // Average sentence length
-        analysis.put("avg_sentence_length", calculateAvgSentenceLength(text));
-
-        return analysis;
-    }
-
-    private String detectBasicTone(String text) {
-        String lowerText = text.toLowerCase();
-
-        // Simple keyword-based detection
-        if (lowerText.contains("exciting") || lowerText.contains("amazing") ||
-                lowerText.contains("wonderful")) {
-            return "enthusiastic";
-        } else if (lowerText.contains("professional") || lowerText.contains("enterprise")) {
-            return "professional";
-        } else if (lowerText.contains("friend") || lowerText.contains("hey")) {
-            return "casual";
-        }
-
-        return "neutral";
-    }
-
-    private double calculateFormality(String text) {
-        int formalIndicators = 0;
-        int informalIndicators = 0;
-
-        String lowerText = text.toLowerCase();
-
-        // Formal indicators
-        String[] formalWords = {"therefore", "consequently", "furthermore", "moreover"};
-        for (String word : formalWords) {
-            if (lowerText.contains(word)) formalIndicators++;
-        }
-
-        // Informal indicators
-        String[] informalWords = {"hey", "yeah", "cool", "awesome", "gonna"};
-        for (String word : informalWords) {
-            if (lowerText.contains(word)) informalIndicators++;
-        }
-
-        // Check for contractions (informal)
-        if (text.contains("'")) informalIndicators++;
-
-        int total = formalIndicators + informalIndicators;
-        if (total == 0) return 0.5; // neutral
-
-        return (double) formalIndicators / total;
-    }
-
-    private double calculateVocabularyComplexity(String text) {
-        String[] words = text.split("\\s+");
+    private Map<String, Object> awaitBatched(
+            CompletableFuture<Map<String, Object>> batched, String text, AnalyzerCallEvent event) {
+        try {
+            Map<String, Object> response = batched.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            log.debug("Voice analysis completed successfully");
+            return response;
 
-        int complexWords = 0;
-        for (String word : words) {
-            // Words longer than 8 characters considered complex
-            if (word.length() > 8) {
-                complexWords++;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RejectedExecutionException) {
+                // Shutting down before the batch was sent; the analyzer was never asked
+                event.outcome = "fallback";
+                return getFallbackAnalysis(text);
             }
+            return handleAnalysisError(e.getCause(), text, event);
+        } catch (TimeoutException e) {
+            return handleAnalysisError(e, text, event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            event.outcome = "fallback";
+            return getFallbackAnalysis(text);
+        } catch (Exception e) {
+            log.error("Error analyzing voice characteristics", e);
+            event.outcome = "fallback";
+            return getFallbackAnalysis(text);
         }
-
-        return words.length > 0 ? (double) complexWords / words.length : 0.0;
-    }
-
-    private String categorizeSentenceLength(String text) {
-        double avgLength = calculateAvgSentenceLength(text);
-
-        if (avgLength < 10) return "short";
-        if (avgLength < 20) return "medium";
-        return "long";
     }
 
-    private double calculateAvgSentenceLength(String text) {
-        String[] sentences = text.split("[.!?]+");
-        if (sentences.length == 0) return 0;
-
-        int totalWords = 0;
-        for (String sentence : sentences) {
-            totalWords += sentence.trim().split("\\s+").length;
+    /**
+     * Failure handling shared by the direct and batched paths: a timeout means
+     * the analyzer is unavailable, so the heuristics stand in for it; an
+     * error response yields an empty analysis.
+     */
+    private Map<String, Object> handleAnalysisError(Throwable error, String text, AnalyzerCallEvent event) {
+        if (error instanceof TimeoutException) {
+            log.warn("NLP analyzer did not answer within {}ms, using heuristic analysis", timeoutMillis);
+            event.outcome = "timeout";
+            return getFallbackAnalysis(text);
         }
+        log.warn("NLP analyzer service error, using fallback: {}", error.getMessage());
+        event.outcome = "analyzer_error";
+        return new HashMap<>();
+    }
 
-        return (double) totalWords / sentences.length;
+    /**
+     * Fallback analysis using basic heuristics when Python service is unavailable.
+     * Single pass over the text, without lowercased copies or split arrays.
+     */
+    private Map<String, Object> getFallbackAnalysis(String text) {
+        return TextAnalysis.of(text, stylometricFeatureExtractor).attributes();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,318 @@
+package com.typeface.brandvoice.service;
+
+import com.typeface.brandvoice.dto.ValidationIssue;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-customer index of recently validated content by
+ * {@link MinHashFingerprint}, so near-duplicates can reuse the earlier result.
+ *
+ * Fingerprints are split into {@code ceil((max-distance + 1) / 2)} bands,
+ * 21 or 22 bits each by default. Two fingerprints within the maximum Hamming
+ * distance differ in at most one bit of at least one band, so a lookup probes
+ * each band's table for its value and the values one bit away (about 70 hash
+ * lookups) and only compares fingerprints against what it finds, instead of
+ * scanning the customer's entries. Bands that wide keep the chains short
+ * even with millions of fingerprints. Results only match for the same
+ * profile version and scoring rule set (see
+ * {@link com.typeface.brandvoice.model.CompiledScoringRules#indexOf}) and
+ * expire after {@code ttl}. Each customer keeps at most
+ * {@code max-entries-per-customer} fingerprints, oldest replaced first.
+ */
+@Component
+public class NearDuplicateIndex {
+
+    // Bounds the work per probe when many entries share a band value
+    private static final int MAX_CANDIDATES_PER_PROBE = 64;
+    private static final int MAX_DISTANCE_LIMIT = 7;
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The reusable part of a validation result.
+     */
+    public record Result(double consistencyScore,
+                         String verdict,
+                         List<ValidationIssue> issues,
+                         Map<String, Double> detailedScores) {
+
+        public Result {
+            issues = List.copyOf(issues);
+            detailedScores = Map.copyOf(detailedScores);
+        }
+    }
+
+    private final boolean enabled;
+    private final int maxDistance;
+    private final int maxEntriesPerCustomer;
+    private final int minWords;
+    private final long ttlNanos;
+    private final Counter hits;
+    private final Counter misses;
+
+    private final ConcurrentHashMap<String, CustomerIndex> customers = new ConcurrentHashMap<>();
+
+    public NearDuplicateIndex(
+            MeterRegistry meterRegistry,
+            @Value("${brand-voice.near-duplicate.enabled:false}") boolean enabled,
+            @Value("${brand-voice.near-duplicate.max-distance:5}") int maxDistance,
+            @Value("${brand-voice.near-duplicate.max-entries-per-customer:10000}") int maxEntriesPerCustomer,
+            @Value("${brand-voice.near-duplicate.min-words:20}") int minWords,
+            @Value("${brand-voice.near-duplicate.ttl:PT1H}") Duration ttl) {
+
+        if (maxDistance < 0 || maxDistance > MAX_DISTANCE_LIMIT) {
+            throw new IllegalArgumentException("near-duplicate.max-distance must be between 0 and " + MAX_DISTANCE_LIMIT);
+        }
+
+        this.enabled = enabled;
+        this.maxDistance = maxDistance;
+        this.maxEntriesPerCustomer = maxEntriesPerCustomer;
+        this.minWords = minWords;
+        this.ttlNanos = ttl.toNanos();
+
+        this.hits = Counter.builder("brandvoice.validation.near_duplicate")
+                .description("Validations answered from, or missing, the near-duplicate index")
+                .tag("outcome", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("brandvoice.validation.near_duplicate")
+                .description("Validations answered from, or missing, the near-duplicate index")
+                .tag("outcome", "miss")
+                .register(meterRegistry);
+        Gauge.builder("brandvoice.validation.near_duplicate.customers", customers, ConcurrentHashMap::size)
+                .description("Customers with fingerprints in the near-duplicate index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The content's fingerprint, or empty when the index is disabled or the
+     * content is too short to fingerprint reliably.
+     */
+    public OptionalLong fingerprint(CharSequence content) {
+        if (!enabled) return OptionalLong.empty();
+
+        MinHashFingerprint fingerprint = MinHashFingerprint.of(content);
+        return fingerprint.features() >= minWords ? OptionalLong.of(fingerprint.finish()) : OptionalLong.empty();
+    }
+
+    public Optional<Result> find(String customerId, long profileVersion, int ruleSet, long fingerprint) {
+        CustomerIndex index = customers.get(customerId);
+        Result result = index != null
+                ? index.find(scoringKey(profileVersion, ruleSet), fingerprint, System.nanoTime())
+                : null;
+
+        (result != null ? hits : misses).increment();
+        return Optional.ofNullable(result);
+    }
+
+    public void put(String customerId, long profileVersion, int ruleSet, long fingerprint, Result result) {
+        customers.computeIfAbsent(customerId, id -> new CustomerIndex(maxDistance, maxEntriesPerCustomer, ttlNanos))
+                .put(scoringKey(profileVersion, ruleSet), fingerprint, result, System.nanoTime());
+    }
+
+    // Rule set indexes are below MAX_CONTENT_TYPES + 1, so both fit one key exactly
+    private static long scoringKey(long profileVersion, int ruleSet) {
+        return profileVersion << 8 | ruleSet;
+    }
+
+    public void remove(String customerId) {
+        customers.remove(customerId);
+    }
+
+    @Scheduled(fixedDelayString = "${brand-voice.near-duplicate.ttl:PT1H}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        customers.values().removeIf(index -> index.isIdle(now));
+    }
+
+    /**
+     * Ring buffer of entries with one chain per band value, newest first,
+     * threaded through arrays indexed by slot.
+     */
+    static final class CustomerIndex {
+
+        private final int maxDistance;
+        private final long ttlNanos;
+        private final int[] bandShifts;
+        private final int[] bandWidths;
+        private final long[] bandMasks;
+        private final boolean probeNeighbours;
+
+        private final int capacity;
+        private long[] fingerprints;
+        private long[] versions;
+        private long[] insertedAt;
+        private Result[] results;
+
+        private final List<Map<Long, Integer>> heads;
+        private final int[][] next;
+        private final int[][] previous;
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private int size;
+        private int oldest;
+        private volatile long lastInsertAt;
+
+        CustomerIndex(int maxDistance, int capacity, long ttlNanos) {
+            this.maxDistance = maxDistance;
+            this.ttlNanos = ttlNanos;
+
+            // Pigeonhole: with d differing bits over (d + 1) / 2 bands, some band differs in at most one
+            int bands = (maxDistance + 2) / 2;
+            probeNeighbours = maxDistance > 0;
+            bandShifts = new int[bands];
+            bandWidths = new int[bands];
+            bandMasks = new long[bands];
+            for (int band = 0; band < bands; band++) {
+                int from = band * Long.SIZE / bands;
+                int to = (band + 1) * Long.SIZE / bands;
+                bandShifts[band] = from;
+                bandWidths[band] = to - from;
+                bandMasks[band] = to - from == Long.SIZE ? -1L : (1L << (to - from)) - 1;
+            }
+
+            // Arrays grow on demand up to capacity, so quiet customers stay small
+            this.capacity = capacity;
+            int initial = Math.min(capacity, INITIAL_CAPACITY);
+            fingerprints = new long[initial];
+            versions = new long[initial];
+            insertedAt = new long[initial];
+            results = new Result[initial];
+
+            heads = new ArrayList<>(bands);
+            next = new int[bands][initial];
+            previous = new int[bands][initial];
+            for (int band = 0; band < bands; band++) {
+                heads.add(new HashMap<>());
+            }
+        }
+
+        Result find(long version, long fingerprint, long now) {
+            lock.readLock().lock();
+            try {
+                int bestSlot = -1;
+                int bestDistance = maxDistance + 1;
+
+                for (int band = 0; band < bandShifts.length && bestDistance > 0; band++) {
+                    long value = bandValue(fingerprint, band);
+                    int probes = probeNeighbours ? bandWidths[band] : 0;
+
+                    // The band value itself, then each value one bit away
+                    for (int probe = -1; probe < probes && bestDistance > 0; probe++) {
+                        Integer head = heads.get(band).get(probe < 0 ? value : value ^ 1L << probe);
+                        int scanned = 0;
+
+                        for (int slot = head != null ? head : -1;
+                             slot != -1 && scanned < MAX_CANDIDATES_PER_PROBE;
+                             slot = next[band][slot], scanned++) {
+
+                            if (versions[slot] != version || now - insertedAt[slot] > ttlNanos) continue;
+
+                            int distance = Long.bitCount(fingerprints[slot] ^ fingerprint);
+                            if (distance < bestDistance) {
+                                bestSlot = slot;
+                                bestDistance = distance;
+                            }
+                        }
+                    }
+                }
+                return bestSlot >= 0 ? results[bestSlot] : null;
+
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void put(long version, long fingerprint, Result result, long now) {
+            lock.writeLock().lock();
+            try {
+                if (size == fingerprints.length && size < capacity) {
+                    grow(Math.min(capacity, size * 2));
+                }
+
+                int slot;
+                if (size < fingerprints.length) {
+                    slot = size++;
+                } else {
+                    slot = oldest;
+                    oldest = (oldest + 1) % fingerprints.length;
+                    unlink(slot);
+                }
+
+                fingerprints[slot] = fingerprint;
+                versions[slot] = version;
+                insertedAt[slot] = now;
+                results[slot] = result;
+
+                for (int band = 0; band < bandShifts.length; band++) {
+                    Integer head = heads.get(band).put(bandValue(fingerprint, band), slot);
+                    next[band][slot] = head != null ? head : -1;
+                    previous[band][slot] = -1;
+                    if (head != null) {
+                        previous[band][head] = slot;
+                    }
+                }
+                lastInsertAt = now;
+
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        boolean isIdle(long now) {
+            return now - lastInsertAt > ttlNanos;
+        }
+
+        private void grow(int length) {
+            fingerprints = Arrays.copyOf(fingerprints, length);
+            versions = Arrays.copyOf(versions, length);
+            insertedAt = Arrays.copyOf(insertedAt, length);
+            results = Arrays.copyOf(results, length);
+            for (int band = 0; band < bandShifts.length; band++) {
+                next[band] = Arrays.copyOf(next[band], length);
+                previous[band] = Arrays.copyOf(previous[band], length);
+            }
+        }
+
+        private void unlink(int slot) {
+            for (int band = 0; band < bandShifts.length; band++) {
+                int before = previous[band][slot];
+                int after = next[band][slot];
+
+                if (before == -1) {
+                    Long value = bandValue(fingerprints[slot], band);
+                    if (after == -1) {
+                        heads.get(band).remove(value);
+                    } else {
+                        heads.get(band).put(value, after);
+                    }
+                } else {
+                    next[band][before] = after;
+                }
+                if (after != -1) {
+                    previous[band][after] = before;
+                }
+            }
+            results[slot] = null;
+        }
+
+        private long bandValue(long fingerprint, int band) {
+            return fingerprint >>> bandShifts[band] & bandMasks[band];
+        }
+    }
+}
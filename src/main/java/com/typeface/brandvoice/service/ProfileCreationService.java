@@ -0,0 +1,188 @@
+package com.typeface.brandvoice.service;
+
+import com.typeface.brandvoice.dto.BrandProfileResponse;
+import com.typeface.brandvoice.dto.CreateBrandProfileRequest;
+import com.typeface.brandvoice.exception.AdmissionRejectedException;
+import com.typeface.brandvoice.model.BrandProfile;
+import com.typeface.brandvoice.model.ProfileStatus;
+import com.typeface.brandvoice.repository.BrandProfileRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Completes asynchronously created profiles in the background.
+ *
+ * A create with {@code Prefer: respond-async} only inserts a PENDING profile
+ * and queues its customer ID; a dedicated pool of worker threads then runs
+ * the analyzer and activates the profile. No connection is held while the
+ * analyzer runs, either here or in the request. Submissions beyond
+ * {@code queue-capacity} are rejected with 503 before anything is inserted.
+ *
+ * Profiles still PENDING after {@code pending-timeout}, e.g. queued on an
+ * instance that stopped, are marked FAILED by a periodic sweep on any
+ * instance, so clients polling the status see an outcome.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProfileCreationService {
+
+    private final BrandVoiceService brandVoiceService;
+    private final BrandProfileRepository brandProfileRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${brand-voice.profile-creation.workers:2}")
+    private int workerCount;
+
+    @Value("${brand-voice.profile-creation.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${brand-voice.profile-creation.pending-timeout:PT10M}")
+    private Duration pendingTimeout;
+
+    private final LinkedBlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final List<Thread> workers = new ArrayList<>();
+
+    private Timer queueWait;
+
+    @PostConstruct
+    void start() {
+        Gauge.builder("brandvoice.profiles.creation.queue.depth", queued, AtomicInteger::get)
+                .description("Pending profiles waiting for analysis")
+                .register(meterRegistry);
+        queueWait = Timer.builder("brandvoice.profiles.creation.queue.wait")
+                .description("Time a pending profile waited before a worker picked it up")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(Thread.ofPlatform()
+                    .name("profile-creation-" + i)
+                    .daemon(true)
+                    .start(this::workLoop));
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        workers.forEach(Thread::interrupt);
+
+        // Profiles still queued will never be analyzed on this node; fail them rather than wait for the sweep
+        Pending pending;
+        while ((pending = queue.poll()) != null) {
+            queued.decrementAndGet();
+            fail(pending.customerId(), "Service shut down before the profile was analyzed");
+        }
+    }
+
+    /**
+     * Inserts a pending profile and queues its analysis.
+     *
+     * @throws AdmissionRejectedException when the queue is full
+     * @throws IllegalStateException when the customer already has a profile
+     */
+    public BrandProfileResponse submit(CreateBrandProfileRequest request) {
+
+        // Reserve a slot first so the queue can never exceed its capacity
+        if (queued.incrementAndGet() > queueCapacity) {
+            queued.decrementAndGet();
+            record("rejected");
+            throw new AdmissionRejectedException(
+                    HttpStatus.SERVICE_UNAVAILABLE,
+                    5,
+                    "Profile creation queue is full, please retry shortly"
+            );
+        }
+
+        BrandProfileResponse response;
+        try {
+            response = brandVoiceService.createPendingBrandProfile(request);
+        } catch (RuntimeException e) {
+            queued.decrementAndGet();
+            throw e;
+        }
+        queue.add(new Pending(request.getCustomerId(), System.nanoTime()));
+        record("submitted");
+
+        return response;
+    }
+
+    @Scheduled(
+            fixedDelayString = "${brand-voice.profile-creation.sweep-interval:PT1M}",
+            initialDelayString = "${brand-voice.profile-creation.sweep-interval:PT1M}"
+    )
+    public void failStalePending() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(pendingTimeout);
+        try {
+            for (BrandProfile profile : brandProfileRepository
+                    .findByStatusAndUpdatedAtBefore(ProfileStatus.PENDING, cutoff)) {
+                fail(profile.getCustomerId(), "Not analyzed within " + pendingTimeout);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to sweep stale pending profiles", e);
+        }
+    }
+
+    private void workLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Pending pending;
+            try {
+                pending = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            queued.decrementAndGet();
+            queueWait.record(System.nanoTime() - pending.enqueuedAt(), TimeUnit.NANOSECONDS);
+            run(pending.customerId());
+        }
+    }
+
+    private void run(String customerId) {
+        try {
+            record(brandVoiceService.completePendingBrandProfile(customerId) ? "completed" : "discarded");
+        } catch (Exception e) {
+            record("failed");
+            fail(customerId, e.getMessage());
+        }
+    }
+
+    private void fail(String customerId, String reason) {
+        try {
+            brandVoiceService.failPendingBrandProfile(customerId, reason);
+        } catch (RuntimeException e) {
+            log.error("Failed to mark pending profile of customer {} as failed", customerId, e);
+        }
+    }
+
+    private void record(String outcome) {
+        Counter.builder("brandvoice.profiles.creation")
+                .description("Asynchronous profile creations by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private record Pending(String customerId, long enqueuedAt) {
+    }
+}
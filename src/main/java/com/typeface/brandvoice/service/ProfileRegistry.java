@@ -0,0 +1,87 @@
+package com.typeface.brandvoice.service;
+
+import com.typeface.brandvoice.model.CompiledProfile;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * In-process registry of the compiled profile each customer is currently
+ * scored against.
+ *
+ * Entries are immutable {@link CompiledProfile} snapshots. An update compiles
+ * a new snapshot and swaps it in with a single map write, so validations read
+ * with a plain lock-free lookup and always see one complete version, never a
+ * profile halfway through an update. Swaps only move forward in version;
+ * entries expire after a TTL to bound staleness for updates made on other
+ * instances.
+ */
+@Component
+public class ProfileRegistry {
+
+    private final ConcurrentHashMap<String, Entry> profiles = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+
+    public ProfileRegistry(
+            MeterRegistry meterRegistry,
+            @Value("${brand-voice.profile-registry.ttl:PT1M}") Duration ttl) {
+
+        this.ttlNanos = ttl.toNanos();
+
+        Gauge.builder("brandvoice.profile.registry.size", profiles, ConcurrentHashMap::size)
+                .description("Compiled profiles held in the in-process registry")
+                .register(meterRegistry);
+    }
+
+    public Optional<CompiledProfile> get(String customerId) {
+        Entry entry = profiles.get(customerId);
+        if (entry == null || entry.isExpired(System.nanoTime())) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.profile());
+    }
+
+    /**
+     * Swaps in a snapshot unless a newer version is already registered, and
+     * returns whichever one won. An expired entry is always replaced, since a
+     * profile deleted and re-created elsewhere starts again at version 0.
+     */
+    public CompiledProfile publish(CompiledProfile profile) {
+        long now = System.nanoTime();
+        Entry next = new Entry(profile, now + ttlNanos);
+
+        return profiles.merge(profile.getCustomerId(), next, (current, candidate) ->
+                current.isExpired(now) || candidate.profile().getVersion() >= current.profile().getVersion()
+                        ? candidate
+                        : current
+        ).profile();
+    }
+
+    public void remove(String customerId) {
+        profiles.remove(customerId);
+    }
+
+    public void removeIf(Predicate<String> customerIds) {
+        profiles.keySet().removeIf(customerIds);
+    }
+
+    @Scheduled(fixedDelayString = "${brand-voice.profile-registry.ttl:PT1M}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        profiles.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    private record Entry(CompiledProfile profile, long expiresAtNanos) {
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos > 0;
+        }
+    }
+}
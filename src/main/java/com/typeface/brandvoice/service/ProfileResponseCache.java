@@ -0,0 +1,109 @@
+package com.typeface.brandvoice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.typeface.brandvoice.dto.BrandProfileResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * In-process cache of pre-serialized profile responses keyed by customer.
+ *
+ * Each entry carries the JSON body as bytes plus a strong ETag derived from
+ * the profile version, so conditional GETs can be answered with 304 (and
+ * unconditional ones written straight to the socket) without hitting Redis,
+ * the database or Jackson. Entries expire after a short TTL to bound
+ * staleness for changes made on other instances.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProfileResponseCache {
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${brand-voice.profile-response-cache.ttl:PT1M}")
+    private Duration ttl;
+
+    @Value("${brand-voice.profile-response-cache.max-entries:10000}")
+    private int maxEntries;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public Optional<Entry> get(String customerId) {
+        Entry entry = entries.get(customerId);
+        if (entry == null) return Optional.empty();
+
+        if (entry.expiresAt() < System.currentTimeMillis()) {
+            entries.remove(customerId, entry);
+            return Optional.empty();
+        }
+        return Optional.of(entry);
+    }
+
+    public Entry put(BrandProfileResponse response) {
+        try {
+            Entry entry = new Entry(
+                    etagFor(response.getProfileId(), response.getVersion()),
+                    objectMapper.writeValueAsBytes(response),
+                    System.currentTimeMillis() + ttl.toMillis()
+            );
+
+            if (entries.size() < maxEntries || entries.containsKey(response.getCustomerId())) {
+                entries.put(response.getCustomerId(), entry);
+            }
+            return entry;
+
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize profile response", e);
+        }
+    }
+
+    public void invalidate(String customerId) {
+        entries.remove(customerId);
+    }
+
+    public void removeIf(Predicate<String> customerIds) {
+        entries.keySet().removeIf(customerIds);
+    }
+
+    @Scheduled(fixedDelayString = "${brand-voice.profile-response-cache.ttl:PT1M}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt() < now);
+    }
+
+    /**
+     * Versions restart at 0 when a profile is deleted and re-created, so the
+     * profile id is part of the tag.
+     */
+    public static String etagFor(String profileId, Long version) {
+        return "\"" + profileId + "-v" + (version != null ? version : 0L) + "\"";
+    }
+
+    public record Entry(String etag, byte[] body, long expiresAt) {
+
+        /**
+         * Weak comparison per RFC 9110 for If-None-Match: any listed tag (or *) matches.
+         */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*")) return true;
+                if (tag.startsWith("W/")) tag = tag.substring(2);
+                if (tag.equals(etag)) return true;
+            }
+            return false;
+        }
+    }
+}
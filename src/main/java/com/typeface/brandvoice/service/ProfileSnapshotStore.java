@@ -0,0 +1,521 @@
+package com.typeface.brandvoice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.typeface.brandvoice.config.ReplicaLagGuard;
+import com.typeface.brandvoice.model.BrandProfile;
+import com.typeface.brandvoice.model.CompiledProfile;
+import com.typeface.brandvoice.model.CompiledScoringRules;
+import com.typeface.brandvoice.model.ProfileStatus;
+import com.typeface.brandvoice.model.ScoringRules;
+import com.typeface.brandvoice.repository.BrandProfileRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Memory-mapped snapshot of compiled profiles for fast cold starts.
+ *
+ * The service periodically writes every compiled profile to a compact binary
+ * file. On startup the file is mapped with {@link FileChannel#map} and lookups
+ * are served straight from the mapped buffer through an open-addressing index
+ * stored in the same file, so no profile is loaded from Postgres or parsed from
+ * JSONB before the first request, nor after a {@link ProfileRegistry} entry
+ * expires. Changes made after the snapshot was written live in an on-heap
+ * overlay, a deleted profile as a tombstone, and are folded into the next
+ * snapshot.
+ *
+ * Writes and deletes on this instance go into the overlay directly. Changes
+ * made through other instances are reconciled from the database every
+ * {@code reconcile-interval}: profiles updated since the last pass, plus a
+ * scan of the active customer IDs for deletions. So the overlay only ever
+ * holds profiles that exist, or existed, and is bounded by what changed
+ * between two snapshots, and staleness is bounded by the reconcile interval.
+ *
+ * File layout (little-endian):
+ * header  : magic, format, createdAtMillis, recordCount, slotCount
+ * index   : slotCount x (int keyHash, long recordOffset), 0 = empty slot
+ * records : customerId, version, tone, formality, vocabularyComplexity,
+ *           sentenceLength, stylometric vector, scoring rules (JSON, may be empty)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProfileSnapshotStore {
+
+    private static final int MAGIC = 0x42565053; // "BVPS"
+    private static final int FORMAT = 3;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4 + 4;
+    private static final int SLOT_BYTES = 4 + 8;
+    private static final int PAGE_SIZE = 1000;
+
+    // updatedAt is set before commit, so each pass looks back a little past the previous one
+    private static final long RECONCILE_OVERLAP_MILLIS = 30_000;
+
+    private final BrandProfileRepository brandProfileRepository;
+    private final ReplicaLagGuard replicaLagGuard;
+    private final ObjectMapper objectMapper;
+
+    @Value("${brand-voice.snapshot.enabled:false}")
+    private boolean enabled;
+
+    @Value("${brand-voice.snapshot.path:/tmp/brand-voice/profiles.snapshot}")
+    private String snapshotPath;
+
+    // Changes newer than the mapped snapshot; a null profile marks a deletion
+    private final ConcurrentHashMap<String, OverlayEntry> overlay = new ConcurrentHashMap<>();
+
+    private volatile MappedSnapshot snapshot;
+
+    // Start of the last reconcile pass that completed
+    private volatile long reconciledAtMillis;
+
+    public Optional<CompiledProfile> get(String customerId) {
+        if (!enabled) return Optional.empty();
+
+        OverlayEntry entry = overlay.get(customerId);
+        if (entry != null) {
+            return Optional.ofNullable(entry.profile());
+        }
+
+        MappedSnapshot current = snapshot;
+        return current != null ? current.find(customerId) : Optional.empty();
+    }
+
+    public void put(CompiledProfile profile) {
+        if (!enabled) return;
+        change(profile.getCustomerId(), new OverlayEntry(profile, System.currentTimeMillis()));
+    }
+
+    public void remove(String customerId) {
+        if (!enabled) return;
+        change(customerId, new OverlayEntry(null, System.currentTimeMillis()));
+    }
+
+    public int size() {
+        MappedSnapshot current = snapshot;
+        return current != null ? current.recordCount : 0;
+    }
+
+    /**
+     * Maps the last snapshot, then pulls profiles changed since it was written.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!enabled) return;
+
+        Path path = Paths.get(snapshotPath);
+        if (!Files.exists(path)) {
+            log.info("No profile snapshot at {}, writing initial snapshot", path);
+            writeSnapshot();
+            return;
+        }
+
+        try {
+            long start = System.nanoTime();
+            snapshot = MappedSnapshot.open(path, objectMapper);
+            log.info("Mapped profile snapshot with {} profiles in {}ms",
+                    snapshot.recordCount, (System.nanoTime() - start) / 1_000_000);
+
+            reconciledAtMillis = snapshot.createdAtMillis;
+            reconcile();
+        } catch (Exception e) {
+            log.warn("Failed to map profile snapshot {}, rebuilding: {}", path, e.getMessage());
+            writeSnapshot();
+        }
+    }
+
+    /**
+     * Rewrites the snapshot from the database and swaps the mapping.
+     */
+    @Scheduled(
+            fixedDelayString = "${brand-voice.snapshot.interval:PT10M}",
+            initialDelayString = "${brand-voice.snapshot.interval:PT10M}"
+    )
+    public void writeSnapshot() {
+        if (!enabled) return;
+
+        long startedAt = System.currentTimeMillis();
+        Path path = Paths.get(snapshotPath);
+
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            Path records = Files.createTempFile(path.toAbsolutePath().getParent(), "profiles", ".records");
+            Path staging = Files.createTempFile(path.toAbsolutePath().getParent(), "profiles", ".snapshot");
+
+            try {
+                int count = writeRecords(records);
+                writeIndexedFile(records, staging, count, startedAt);
+                Files.move(staging, path,
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(records);
+                Files.deleteIfExists(staging);
+            }
+
+            snapshot = MappedSnapshot.open(path, objectMapper);
+
+            // Everything changed before the scan started is now in the mapped file
+            overlay.values().removeIf(entry -> entry.changedAt() < startedAt);
+            reconciledAtMillis = Math.max(reconciledAtMillis, startedAt);
+
+            log.info("Wrote profile snapshot with {} profiles in {}ms",
+                    snapshot.recordCount, System.currentTimeMillis() - startedAt);
+
+        } catch (IOException e) {
+            log.error("Failed to write profile snapshot to {}", path, e);
+        }
+    }
+
+    /**
+     * Pulls changes made through other instances into the overlay: profiles
+     * updated since the last pass, and snapshot profiles no longer active.
+     */
+    @Scheduled(
+            fixedDelayString = "${brand-voice.snapshot.reconcile-interval:PT1M}",
+            initialDelayString = "${brand-voice.snapshot.reconcile-interval:PT1M}"
+    )
+    public void reconcile() {
+        MappedSnapshot current = snapshot;
+        if (!enabled || current == null) return;
+
+        long startedAt = System.currentTimeMillis();
+        LocalDateTime since = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(reconciledAtMillis - RECONCILE_OVERLAP_MILLIS), ZoneId.systemDefault());
+
+        // A lagging replica would undo changes this instance already applied
+        try (ReplicaLagGuard.Scope ignored = replicaLagGuard.primaryScope()) {
+            int changed = 0;
+            for (BrandProfile profile : brandProfileRepository.findByUpdatedAtAfter(since)) {
+                change(profile.getCustomerId(), new OverlayEntry(profile.getStatus() == ProfileStatus.ACTIVE
+                        ? CompiledProfile.from(profile)
+                        : null, startedAt));
+                changed++;
+            }
+
+            Set<String> missing = current.customerIds();
+            List<String> page;
+            String lastCustomerId = "";
+            do {
+                page = brandProfileRepository.findCustomerIdsAfter(
+                        ProfileStatus.ACTIVE, lastCustomerId, Limit.of(PAGE_SIZE));
+                page.forEach(missing::remove);
+                if (!page.isEmpty()) {
+                    lastCustomerId = page.get(page.size() - 1);
+                }
+            } while (page.size() == PAGE_SIZE);
+            missing.forEach(customerId -> change(customerId, new OverlayEntry(null, startedAt)));
+
+            reconciledAtMillis = startedAt;
+            log.debug("Reconciled {} changed and {} deleted profiles since the last pass", changed, missing.size());
+
+        } catch (RuntimeException e) {
+            log.warn("Failed to reconcile profile snapshot: {}", e.getMessage());
+        }
+    }
+
+    // The later observation wins, so a reconcile pass never undoes a newer local write
+    private void change(String customerId, OverlayEntry entry) {
+        overlay.merge(customerId, entry,
+                (current, candidate) -> candidate.changedAt() >= current.changedAt() ? candidate : current);
+    }
+
+    // Streams every profile page by page into a flat record file, from the primary so it is never behind
+    private int writeRecords(Path records) throws IOException {
+        int count = 0;
+        try (ReplicaLagGuard.Scope ignored = replicaLagGuard.primaryScope();
+             OutputStream file = Files.newOutputStream(records);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 64 * 1024))) {
+
+            Page<BrandProfile> page;
+            int pageNumber = 0;
+            do {
+                page = brandProfileRepository.findAll(
+                        PageRequest.of(pageNumber++, PAGE_SIZE, Sort.by("id")));
+                for (BrandProfile profile : page) {
+                    // Pending and failed profiles cannot be validated against
+                    if (profile.getStatus() != ProfileStatus.ACTIVE) continue;
+                    writeRecord(out, CompiledProfile.from(profile));
+                    count++;
+                }
+            } while (page.hasNext());
+        }
+        return count;
+    }
+
+    private void writeIndexedFile(Path records, Path target, int count, long createdAt) throws IOException {
+        int slotCount = Integer.highestOneBit(Math.max(16, count * 2 - 1)) << 1;
+        long dataOffset = HEADER_BYTES + (long) slotCount * SLOT_BYTES;
+        long totalBytes = dataOffset + Files.size(records);
+
+        if (totalBytes > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot exceeds 2GB mapping limit: " + totalBytes + " bytes");
+        }
+
+        try (FileChannel channel = FileChannel.open(target,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             FileChannel source = FileChannel.open(records, StandardOpenOption.READ)) {
+
+            // Copy records behind the (zero-filled) index without pulling them onto the heap
+            long copied = 0;
+            while (copied < source.size()) {
+                copied += source.transferTo(copied, source.size() - copied, channel.position(dataOffset + copied));
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, totalBytes);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, FORMAT);
+            buffer.putLong(8, createdAt);
+            buffer.putInt(16, count);
+            buffer.putInt(20, slotCount);
+
+            // Build the open-addressing index over the record region
+            int mask = slotCount - 1;
+            int offset = (int) dataOffset;
+            for (int i = 0; i < count; i++) {
+                int keyLength = Short.toUnsignedInt(buffer.getShort(offset));
+                int hash = MappedSnapshot.hash(buffer, offset + 2, keyLength);
+
+                int slot = hash & mask;
+                while (buffer.getLong(MappedSnapshot.slotPosition(slot) + 4) != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                buffer.putInt(MappedSnapshot.slotPosition(slot), hash);
+                buffer.putLong(MappedSnapshot.slotPosition(slot) + 4, offset);
+
+                offset = MappedSnapshot.skipRecord(buffer, offset);
+            }
+
+            buffer.force();
+        }
+    }
+
+    // Records use the same little-endian layout as the mapped file
+    private void writeRecord(DataOutputStream out, CompiledProfile profile) throws IOException {
+        byte[] customerId = profile.getCustomerId().getBytes(StandardCharsets.UTF_8);
+        byte[] tone = profile.getTone().getBytes(StandardCharsets.UTF_8);
+        byte[] sentenceLength = profile.getSentenceLength().getBytes(StandardCharsets.UTF_8);
+        float[] vector = profile.getStylometricVector() != null ? profile.getStylometricVector() : new float[0];
+        ScoringRules rules = profile.getScoringRules().source();
+        byte[] scoringRules = rules != null ? objectMapper.writeValueAsBytes(rules) : new byte[0];
+
+        ByteBuffer record = ByteBuffer
+                .allocate(2 + customerId.length + 8 + 1 + tone.length + 8 + 8
+                        + 1 + sentenceLength.length + 2 + vector.length * Float.BYTES
+                        + 4 + scoringRules.length)
+                .order(ByteOrder.LITTLE_ENDIAN);
+
+        record.putShort((short) customerId.length).put(customerId);
+        record.putLong(profile.getVersion());
+        record.put((byte) tone.length).put(tone);
+        record.putDouble(profile.getFormality());
+        record.putDouble(profile.getVocabularyComplexity());
+        record.put((byte) sentenceLength.length).put(sentenceLength);
+        record.putShort((short) vector.length);
+        for (float value : vector) {
+            record.putFloat(value);
+        }
+        record.putInt(scoringRules.length).put(scoringRules);
+
+        out.write(record.array());
+    }
+
+    private record OverlayEntry(CompiledProfile profile, long changedAt) {
+    }
+
+    /**
+     * Read-only view over a mapped snapshot file. Uses absolute reads only, so
+     * it is safe to share between request threads.
+     */
+    private static final class MappedSnapshot {
+
+        private final ByteBuffer buffer;
+        private final ObjectMapper objectMapper;
+        private final long createdAtMillis;
+        private final int recordCount;
+        private final int slotMask;
+
+        private MappedSnapshot(ByteBuffer buffer, ObjectMapper objectMapper) {
+            this.buffer = buffer;
+            this.objectMapper = objectMapper;
+            this.createdAtMillis = buffer.getLong(8);
+            this.recordCount = buffer.getInt(16);
+            this.slotMask = buffer.getInt(20) - 1;
+        }
+
+        static MappedSnapshot open(Path path, ObjectMapper objectMapper) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                ByteBuffer buffer = channel
+                        .map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+                        .order(ByteOrder.LITTLE_ENDIAN);
+
+                if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT) {
+                    throw new IOException("Unrecognized snapshot format");
+                }
+                return new MappedSnapshot(buffer, objectMapper);
+            }
+        }
+
+        Optional<CompiledProfile> find(String customerId) {
+            byte[] key = customerId.getBytes(StandardCharsets.UTF_8);
+            int hash = hash(key);
+
+            int slot = hash & slotMask;
+            while (true) {
+                int position = slotPosition(slot);
+                long offset = buffer.getLong(position + 4);
+                if (offset == 0) {
+                    return Optional.empty();
+                }
+                if (buffer.getInt(position) == hash && keyEquals((int) offset, key)) {
+                    return Optional.of(decode((int) offset, customerId));
+                }
+                slot = (slot + 1) & slotMask;
+            }
+        }
+
+        Set<String> customerIds() {
+            Set<String> customerIds = new HashSet<>(recordCount * 2);
+            int offset = HEADER_BYTES + (slotMask + 1) * SLOT_BYTES;
+            for (int i = 0; i < recordCount; i++) {
+                customerIds.add(readString(offset + 2, Short.toUnsignedInt(buffer.getShort(offset))));
+                offset = skipRecord(buffer, offset);
+            }
+            return customerIds;
+        }
+
+        private boolean keyEquals(int offset, byte[] key) {
+            if (Short.toUnsignedInt(buffer.getShort(offset)) != key.length) return false;
+            for (int i = 0; i < key.length; i++) {
+                if (buffer.get(offset + 2 + i) != key[i]) return false;
+            }
+            return true;
+        }
+
+        private CompiledProfile decode(int offset, String customerId) {
+            int position = offset + 2 + Short.toUnsignedInt(buffer.getShort(offset));
+            long version = buffer.getLong(position);
+            position += 8;
+
+            int toneLength = Byte.toUnsignedInt(buffer.get(position++));
+            String tone = readString(position, toneLength);
+            position += toneLength;
+
+            double formality = buffer.getDouble(position);
+            double vocabularyComplexity = buffer.getDouble(position + 8);
+            position += 16;
+
+            int sentenceLengthLength = Byte.toUnsignedInt(buffer.get(position++));
+            String sentenceLength = readString(position, sentenceLengthLength);
+            position += sentenceLengthLength;
+
+            int dimensions = Short.toUnsignedInt(buffer.getShort(position));
+            position += 2;
+            float[] vector = null;
+            if (dimensions > 0) {
+                vector = new float[dimensions];
+                buffer.slice(position, dimensions * Float.BYTES)
+                        .order(ByteOrder.LITTLE_ENDIAN)
+                        .asFloatBuffer()
+                        .get(vector);
+            }
+            position += dimensions * Float.BYTES;
+
+            int rulesLength = buffer.getInt(position);
+            CompiledScoringRules scoringRules = CompiledScoringRules.DEFAULT;
+            if (rulesLength > 0) {
+                byte[] rules = new byte[rulesLength];
+                buffer.get(position + 4, rules);
+                try {
+                    scoringRules = CompiledScoringRules.compile(objectMapper.readValue(rules, ScoringRules.class));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Unreadable scoring rules for customer " + customerId, e);
+                }
+            }
+
+            return CompiledProfile.builder()
+                    .customerId(customerId)
+                    .version(version)
+                    .tone(tone)
+                    .formality(formality)
+                    .vocabularyComplexity(vocabularyComplexity)
+                    .sentenceLength(sentenceLength)
+                    .stylometricVector(vector)
+                    .scoringRules(scoringRules)
+                    .build();
+        }
+
+        private String readString(int position, int length) {
+            byte[] bytes = new byte[length];
+            buffer.get(position, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        static int slotPosition(int slot) {
+            return HEADER_BYTES + slot * SLOT_BYTES;
+        }
+
+        static int skipRecord(ByteBuffer buffer, int offset) {
+            int position = offset + 2 + Short.toUnsignedInt(buffer.getShort(offset)) + 8;
+            position += 1 + Byte.toUnsignedInt(buffer.get(position)) + 16;
+            position += 1 + Byte.toUnsignedInt(buffer.get(position));
+            position += 2 + Short.toUnsignedInt(buffer.getShort(position)) * Float.BYTES;
+            return position + 4 + buffer.getInt(position);
+        }
+
+        static int hash(byte[] key) {
+            return mix(Arrays.hashCode(key));
+        }
+
+        static int hash(ByteBuffer buffer, int position, int length) {
+            int hash = 1;
+            for (int i = 0; i < length; i++) {
+                hash = 31 * hash + buffer.get(position + i);
+            }
+            return mix(hash);
+        }
+
+        private static int mix(int hash) {
+            hash ^= hash >>> 16;
+            hash *= 0x85ebca6b;
+            hash ^= hash >>> 13;
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.typeface.brandvoice.service;
+
+/**
+ * Portable cosine kernel used when the Vector API is not available.
+ */
+final class ScalarCosineKernel implements CosineKernel {
+
+    @Override
+    public double cosine(float[] a, float[] b) {
+        float dot = 0f;
+        float normA = 0f;
+        float normB = 0f;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return CosineKernel.combine(dot, normA, normB);
+    }
+}
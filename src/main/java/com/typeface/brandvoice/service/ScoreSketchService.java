@@ -0,0 +1,238 @@
+package com.typeface.brandvoice.service;
+
+import com.typeface.brandvoice.dto.ScoreQuantilesResponse;
+import com.typeface.brandvoice.exception.MalformedRequestException;
+import com.typeface.brandvoice.model.ScoreSketch;
+import com.typeface.brandvoice.repository.ScoreSketchRepository;
+import com.typeface.brandvoice.repository.ScoreSketchRepository.SketchRow;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-customer consistency score percentiles over arbitrary time ranges.
+ *
+ * Every validation records its score into the customer's {@link ScoreSketch}
+ * for the current UTC hour and day: a lock-free bucket increment. Sketches
+ * are persisted every {@code flush-interval} as this instance's row for the
+ * window; readers merge the rows of every instance and window in the range
+ * (hour windows for ranges up to three days, day windows beyond), so a query
+ * costs the same however many validations it covers. Persisted sketches may
+ * be up to one flush interval behind.
+ */
+@Service
+@Slf4j
+public class ScoreSketchService {
+
+    private static final Duration HOURLY_RANGE_LIMIT = Duration.ofDays(3);
+    private static final Duration MAX_RANGE = Duration.ofDays(400);
+    private static final int MAX_QUANTILES = 20;
+    private static final int SAVE_BATCH_SIZE = 500;
+
+    enum Window {
+        HOUR("hour", ChronoUnit.HOURS),
+        DAY("day", ChronoUnit.DAYS);
+
+        final String length;
+        final ChronoUnit unit;
+
+        Window(String length, ChronoUnit unit) {
+            this.length = length;
+            this.unit = unit;
+        }
+
+        Instant start(Instant instant) {
+            return instant.truncatedTo(unit);
+        }
+
+        Instant end(Instant start) {
+            return start.plus(1, unit);
+        }
+    }
+
+    private record WindowKey(String customerId, Window window, Instant start) {
+    }
+
+    private static final class TrackedSketch {
+        final ScoreSketch sketch = new ScoreSketch();
+        volatile long persistedCount;
+    }
+
+    private final ScoreSketchRepository repository;
+    private final boolean enabled;
+    private final Duration flushInterval;
+    private final Duration hourlyRetention;
+    private final Duration dailyRetention;
+    private final String nodeId;
+
+    private final ConcurrentHashMap<WindowKey, TrackedSketch> sketches = new ConcurrentHashMap<>();
+
+    public ScoreSketchService(
+            ScoreSketchRepository repository,
+            MeterRegistry meterRegistry,
+            @Value("${brand-voice.score-sketch.enabled:false}") boolean enabled,
+            @Value("${brand-voice.score-sketch.flush-interval:PT1M}") Duration flushInterval,
+            @Value("${brand-voice.score-sketch.hourly-retention:P14D}") Duration hourlyRetention,
+            @Value("${brand-voice.score-sketch.daily-retention:P400D}") Duration dailyRetention) {
+
+        this.repository = repository;
+        this.enabled = enabled;
+        this.flushInterval = flushInterval;
+        this.hourlyRetention = hourlyRetention;
+        this.dailyRetention = dailyRetention;
+        this.nodeId = nodeId();
+
+        Gauge.builder("brandvoice.score.sketches.active", sketches, ConcurrentHashMap::size)
+                .description("Customer score sketches held in memory")
+                .register(meterRegistry);
+    }
+
+    public void record(String customerId, double consistencyScore) {
+        if (!enabled) return;
+
+        Instant now = Instant.now();
+        for (Window window : Window.values()) {
+            sketches.computeIfAbsent(new WindowKey(customerId, window, window.start(now)),
+                            key -> new TrackedSketch())
+                    .sketch.record(consistencyScore);
+        }
+    }
+
+    public ScoreQuantilesResponse getQuantiles(String customerId, List<Double> quantiles, Instant from, Instant to) {
+        if (quantiles.isEmpty() || quantiles.size() > MAX_QUANTILES) {
+            throw new MalformedRequestException("Between 1 and " + MAX_QUANTILES + " quantiles are required");
+        }
+        for (Double q : quantiles) {
+            if (q == null || q < 0.0 || q > 1.0) {
+                throw new MalformedRequestException("Quantiles must be between 0 and 1");
+            }
+        }
+
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(Duration.ofDays(7));
+        if (!start.isBefore(end)) {
+            throw new MalformedRequestException("from must be before to");
+        }
+        if (Duration.between(start, end).compareTo(MAX_RANGE) > 0) {
+            throw new MalformedRequestException("Range must not exceed " + MAX_RANGE.toDays() + " days");
+        }
+
+        // Whole windows only: widen the range to window boundaries
+        Window window = Duration.between(start, end).compareTo(HOURLY_RANGE_LIMIT) > 0 ? Window.DAY : Window.HOUR;
+        Instant windowFrom = window.start(start);
+        Instant windowTo = window.start(end).equals(end) ? end : window.end(window.start(end));
+
+        ScoreSketch merged = new ScoreSketch();
+        for (byte[] bytes : repository.findSketches(customerId, window.length, windowFrom, windowTo)) {
+            merged.merge(ScoreSketch.fromBytes(bytes));
+        }
+
+        double[] qs = quantiles.stream().mapToDouble(Double::doubleValue).toArray();
+        double[] values = merged.quantiles(qs);
+
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (int i = 0; i < qs.length; i++) {
+            result.put(label(quantiles.get(i)), Double.isNaN(values[i]) ? null : values[i]);
+        }
+
+        return ScoreQuantilesResponse.builder()
+                .customerId(customerId)
+                .from(windowFrom.toString())
+                .to(windowTo.toString())
+                .window(window.length)
+                .count(merged.count())
+                .quantiles(result)
+                .build();
+    }
+
+    /**
+     * Writes every sketch that changed since its last flush, then drops closed
+     * windows that are fully persisted.
+     */
+    @Scheduled(
+            fixedDelayString = "${brand-voice.score-sketch.flush-interval:PT1M}",
+            initialDelayString = "${brand-voice.score-sketch.flush-interval:PT1M}"
+    )
+    public void flush() {
+        if (!enabled || sketches.isEmpty()) return;
+
+        List<SketchRow> rows = new ArrayList<>();
+        List<TrackedSketch> flushed = new ArrayList<>();
+        List<Long> counts = new ArrayList<>();
+
+        sketches.forEach((key, tracked) -> {
+            long count = tracked.sketch.count();
+            if (count != tracked.persistedCount) {
+                rows.add(new SketchRow(key.customerId(), key.window().length, key.start(), tracked.sketch.toBytes()));
+                flushed.add(tracked);
+                counts.add(count);
+            }
+        });
+
+        for (int from = 0; from < rows.size(); from += SAVE_BATCH_SIZE) {
+            int to = Math.min(rows.size(), from + SAVE_BATCH_SIZE);
+            try {
+                repository.save(nodeId, rows.subList(from, to));
+                for (int i = from; i < to; i++) {
+                    flushed.get(i).persistedCount = counts.get(i);
+                }
+            } catch (RuntimeException e) {
+                // Kept in memory and retried on the next flush
+                log.warn("Failed to persist {} score sketches: {}", to - from, e.getMessage());
+            }
+        }
+
+        // Late scores cannot land in a window closed for longer than one flush interval
+        Instant closedBefore = Instant.now().minus(flushInterval);
+        sketches.entrySet().removeIf(entry ->
+                entry.getKey().window().end(entry.getKey().start()).isBefore(closedBefore)
+                        && entry.getValue().persistedCount == entry.getValue().sketch.count());
+    }
+
+    @PreDestroy
+    void stop() {
+        flush();
+    }
+
+    @Scheduled(cron = "0 17 3 * * *", zone = "UTC")
+    public void deleteExpired() {
+        if (!enabled) return;
+
+        Instant now = Instant.now();
+        int hourly = repository.deleteOlderThan(Window.HOUR.length, now.minus(hourlyRetention));
+        int daily = repository.deleteOlderThan(Window.DAY.length, now.minus(dailyRetention));
+        log.info("Deleted {} hourly and {} daily expired score sketches", hourly, daily);
+    }
+
+    private static String label(double q) {
+        return "p" + BigDecimal.valueOf(q).movePointRight(2).stripTrailingZeros().toPlainString();
+    }
+
+    private static String nodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        // A restarted instance writes new rows instead of overwriting counts it no longer holds
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        return (host.length() > 55 ? host.substring(0, 55) : host) + "-" + suffix;
+    }
+}
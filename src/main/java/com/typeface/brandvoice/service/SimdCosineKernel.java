@@ -0,0 +1,43 @@
+package com.typeface.brandvoice.service;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Cosine kernel using the incubating Vector API. Only instantiated by
+ * {@link VectorSimilarity} when {@code jdk.incubator.vector} is resolved.
+ */
+final class SimdCosineKernel implements CosineKernel {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    public double cosine(float[] a, float[] b) {
+        FloatVector dot = FloatVector.zero(SPECIES);
+        FloatVector normA = FloatVector.zero(SPECIES);
+        FloatVector normB = FloatVector.zero(SPECIES);
+
+        int i = 0;
+        int upperBound = SPECIES.loopBound(a.length);
+        for (; i < upperBound; i += SPECIES.length()) {
+            FloatVector va = FloatVector.fromArray(SPECIES, a, i);
+            FloatVector vb = FloatVector.fromArray(SPECIES, b, i);
+            dot = va.fma(vb, dot);
+            normA = va.fma(va, normA);
+            normB = vb.fma(vb, normB);
+        }
+
+        float dotSum = dot.reduceLanes(VectorOperators.ADD);
+        float normASum = normA.reduceLanes(VectorOperators.ADD);
+        float normBSum = normB.reduceLanes(VectorOperators.ADD);
+
+        for (; i < a.length; i++) {
+            dotSum += a[i] * b[i];
+            normASum += a[i] * a[i];
+            normBSum += b[i] * b[i];
+        }
+
+        return CosineKernel.combine(dotSum, normASum, normBSum);
+    }
+}
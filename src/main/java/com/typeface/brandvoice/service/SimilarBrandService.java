@@ -0,0 +1,222 @@
+package com.typeface.brandvoice.service;
+
+import com.typeface.brandvoice.config.ReplicaLagGuard;
+import com.typeface.brandvoice.dto.SimilarBrandsResponse;
+import com.typeface.brandvoice.exception.AdmissionRejectedException;
+import com.typeface.brandvoice.exception.MalformedRequestException;
+import com.typeface.brandvoice.model.BrandProfile;
+import com.typeface.brandvoice.model.ProfileStatus;
+import com.typeface.brandvoice.model.ProfileVoice;
+import com.typeface.brandvoice.repository.BrandProfileRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * "Brands whose voice is closest to X": every profile's voice vector (see
+ * {@link VoiceVectorizer}) in an {@link HnswIndex}, so a query visits a few
+ * hundred profiles instead of all of them.
+ *
+ * The index is built from the database in the background at startup and
+ * rebuilt every {@code rebuild-interval}, which drops removed nodes and
+ * picks up changes made on other instances. Changes made here are applied
+ * incrementally as they happen, and replayed onto a rebuild in progress so
+ * the swapped-in index does not lose them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SimilarBrandService {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private final BrandProfileRepository brandProfileRepository;
+    private final ReplicaLagGuard replicaLagGuard;
+    private final VoiceVectorizer voiceVectorizer;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${brand-voice.similar-brands.enabled:true}")
+    private boolean enabled;
+
+    @Value("${brand-voice.similar-brands.m:16}")
+    private int m;
+
+    @Value("${brand-voice.similar-brands.ef-construction:100}")
+    private int efConstruction;
+
+    @Value("${brand-voice.similar-brands.ef-search:64}")
+    private int efSearch;
+
+    @Value("${brand-voice.similar-brands.max-k:100}")
+    private int maxK;
+
+    private volatile Index current;
+
+    // Changes made while a rebuild is scanning the database; a null vector marks a deletion
+    private Map<String, Change> pending;
+
+    private record Index(HnswIndex graph, Map<String, String> brandNames) {
+    }
+
+    private record Change(String brandName, float[] vector) {
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("brandvoice.similar-brands.indexed", this, service -> service.indexedProfiles())
+                .description("Profiles in the similar-brand index")
+                .register(meterRegistry);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Builds a fresh index from the database and swaps it in.
+     */
+    @Scheduled(
+            fixedDelayString = "${brand-voice.similar-brands.rebuild-interval:PT30M}",
+            initialDelayString = "${brand-voice.similar-brands.rebuild-interval:PT30M}"
+    )
+    public void rebuild() {
+        if (!enabled) return;
+
+        long start = System.nanoTime();
+        synchronized (this) {
+            pending = new ConcurrentHashMap<>();
+        }
+
+        // A lagging replica would drop recent changes from the swapped-in index until the next rebuild
+        try (ReplicaLagGuard.Scope ignored = replicaLagGuard.primaryScope()) {
+            Index index = new Index(new HnswIndex(VoiceVectorizer.DIMENSIONS, m, efConstruction),
+                    new ConcurrentHashMap<>());
+
+            // Keyset paging: each page starts after the last ID seen, rather than skipping an ever-larger offset
+            List<ProfileVoice> page;
+            String lastId = "";
+            do {
+                page = brandProfileRepository.findVoicesAfter(ProfileStatus.ACTIVE, lastId, Limit.of(PAGE_SIZE));
+                for (ProfileVoice voice : page) {
+                    apply(index, voice.customerId(), new Change(voice.brandName(), voiceVectorizer.embed(voice)));
+                }
+                if (!page.isEmpty()) {
+                    lastId = page.get(page.size() - 1).id();
+                }
+            } while (page.size() == PAGE_SIZE);
+
+            synchronized (this) {
+                pending.forEach((customerId, change) -> apply(index, customerId, change));
+                current = index;
+            }
+            log.info("Built similar-brand index of {} profiles in {}ms",
+                    index.graph().size(), (System.nanoTime() - start) / 1_000_000);
+
+        } catch (RuntimeException e) {
+            log.error("Failed to build similar-brand index", e);
+        } finally {
+            synchronized (this) {
+                pending = null;
+            }
+        }
+    }
+
+    public void put(BrandProfile profile) {
+        if (!enabled) return;
+        record(profile.getCustomerId(), new Change(profile.getBrandName(), voiceVectorizer.embed(profile)));
+    }
+
+    public void remove(String customerId) {
+        if (!enabled) return;
+        record(customerId, new Change(null, null));
+    }
+
+    public SimilarBrandsResponse findSimilar(String customerId, int k) {
+        if (!enabled) {
+            throw new NoSuchElementException("Similar-brand search is disabled");
+        }
+        if (k < 1 || k > maxK) {
+            throw new MalformedRequestException("k must be between 1 and " + maxK);
+        }
+
+        Index index = current;
+        if (index == null) {
+            throw new AdmissionRejectedException(HttpStatus.SERVICE_UNAVAILABLE, 5,
+                    "Similar-brand index is still being built");
+        }
+
+        long start = System.nanoTime();
+
+        // Profiles not indexed yet, e.g. created on another instance, are embedded on the fly
+        float[] query = index.graph().vector(customerId);
+        if (query == null) {
+            query = voiceVectorizer.embed(brandProfileRepository
+                    .findByCustomerId(customerId)
+                    .orElseThrow(() -> new NoSuchElementException(
+                            "Brand profile not found for customer: " + customerId
+                    )));
+        }
+
+        List<SimilarBrandsResponse.SimilarBrand> similar = index.graph()
+                .search(query, k, Math.max(efSearch, k), customerId)
+                .stream()
+                .map(match -> SimilarBrandsResponse.SimilarBrand.builder()
+                        .customerId(match.id())
+                        .brandName(index.brandNames().get(match.id()))
+                        .similarity(match.similarity())
+                        .build())
+                .toList();
+
+        return SimilarBrandsResponse.builder()
+                .customerId(customerId)
+                .k(k)
+                .indexedProfiles(index.graph().size())
+                .similar(similar)
+                .processingTimeMs((System.nanoTime() - start) / 1_000_000)
+                .build();
+    }
+
+    int indexedProfiles() {
+        Index index = current;
+        return index != null ? index.graph().size() : 0;
+    }
+
+    private synchronized void record(String customerId, Change change) {
+        Index index = current;
+        if (index != null) {
+            apply(index, customerId, change);
+        }
+        if (pending != null) {
+            pending.put(customerId, change);
+        }
+    }
+
+    private static void apply(Index index, String customerId, Change change) {
+        if (change.vector() == null) {
+            index.graph().remove(customerId);
+            index.brandNames().remove(customerId);
+        } else {
+            index.graph().put(customerId, change.vector());
+            if (change.brandName() != null) {
+                index.brandNames().put(customerId, change.brandName());
+            }
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.typeface.brandvoice.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Extracts a fixed-width stylometric feature vector from text.
+ *
+ * Layout of the {@value #DIMENSIONS} floats:
+ * [0, 128)   hashed word unigram and bigram frequencies
+ * [128, 224) hashed character trigram frequencies
+ * [224, 248) function-word rates (per word)
+ * [248, 256) punctuation rates (per word)
+ *
+ * Text is consumed one code point at a time, so callers that already hold
+ * decoded characters (or raw UTF-8) can feed an {@link Accumulator} directly
+ * without building lowercased copies or token arrays.
+ */
+@Component
+public class StylometricFeatureExtractor {
+
+    public static final int DIMENSIONS = 256;
+
+    private static final int WORD_OFFSET = 0;
+    private static final int WORD_BUCKETS = 128;
+    private static final int TRIGRAM_OFFSET = WORD_OFFSET + WORD_BUCKETS;
+    private static final int TRIGRAM_BUCKETS = 96;
+    private static final int FUNCTION_WORD_OFFSET = TRIGRAM_OFFSET + TRIGRAM_BUCKETS;
+    private static final int PUNCTUATION_OFFSET = FUNCTION_WORD_OFFSET + 24;
+
+    private static final String[] FUNCTION_WORDS = {
+            "the", "of", "and", "to", "a", "in", "is", "it", "that", "for", "you", "we",
+            "our", "with", "on", "as", "are", "this", "be", "your", "but", "not", "or", "will"
+    };
+
+    // Sorted FNV hashes of FUNCTION_WORDS with their feature slot, for allocation-free lookup
+    private static final int[] FUNCTION_WORD_HASHES;
+    private static final int[] FUNCTION_WORD_SLOTS;
+
+    private static final int FNV_OFFSET = 0x811c9dc5;
+    private static final int FNV_PRIME = 0x01000193;
+
+    static {
+        long[] packed = new long[FUNCTION_WORDS.length];
+        for (int i = 0; i < FUNCTION_WORDS.length; i++) {
+            int hash = FNV_OFFSET;
+            for (int j = 0; j < FUNCTION_WORDS[i].length(); j++) {
+                hash = (hash ^ FUNCTION_WORDS[i].charAt(j)) * FNV_PRIME;
+            }
+            packed[i] = ((long) hash << 32) | i;
+        }
+        Arrays.sort(packed);
+        FUNCTION_WORD_HASHES = new int[packed.length];
+        FUNCTION_WORD_SLOTS = new int[packed.length];
+        for (int i = 0; i < packed.length; i++) {
+            FUNCTION_WORD_HASHES[i] = (int) (packed[i] >> 32);
+            FUNCTION_WORD_SLOTS[i] = (int) packed[i];
+        }
+    }
+
+    public float[] extract(CharSequence text) {
+        Accumulator accumulator = newAccumulator();
+        int length = text.length();
+        for (int i = 0; i < length; ) {
+            int codePoint = Character.codePointAt(text, i);
+            accumulator.accept(codePoint);
+            i += Character.charCount(codePoint);
+        }
+        return accumulator.finish();
+    }
+
+    public Accumulator newAccumulator() {
+        return new Accumulator();
+    }
+
+    /**
+     * Cosine similarity between a content vector and a profile centroid, in [0, 1]
+     * for the non-negative vectors produced by this extractor.
+     */
+    public double similarity(float[] content, float[] centroid) {
+        return Math.max(0.0, VectorSimilarity.cosine(content, centroid));
+    }
+
+    /**
+     * Streaming feature accumulator. Not thread-safe; one per text.
+     */
+    public static final class Accumulator {
+
+        private final float[] counts = new float[DIMENSIONS];
+
+        private int wordHash = FNV_OFFSET;
+        private int wordLength;
+        private int previousWordHash;
+        private boolean hasPreviousWord;
+
+        // Last two case-folded characters for trigrams; ' ' marks a word boundary
+        private int c1 = ' ';
+        private int c2 = ' ';
+
+        private long words;
+        private long wordGrams;
+        private long trigrams;
+
+        public void accept(int codePoint) {
+            if (Character.isLetterOrDigit(codePoint)) {
+                int folded = Character.toLowerCase(codePoint);
+                wordHash = (wordHash ^ folded) * FNV_PRIME;
+                wordLength++;
+                addTrigram(folded);
+                return;
+            }
+
+            endWord();
+
+            if (c2 != ' ') {
+                addTrigram(' ');
+            }
+
+            int slot = punctuationSlot(codePoint);
+            if (slot >= 0) {
+                counts[PUNCTUATION_OFFSET + slot]++;
+                if (slot <= 3) {
+                    // Sentence and clause breaks reset bigram context
+                    hasPreviousWord = false;
+                }
+            }
+        }
+
+        public float[] finish() {
+            endWord();
+
+            float[] vector = new float[DIMENSIONS];
+            scale(vector, WORD_OFFSET, WORD_BUCKETS, wordGrams);
+            scale(vector, TRIGRAM_OFFSET, TRIGRAM_BUCKETS, trigrams);
+            scale(vector, FUNCTION_WORD_OFFSET, PUNCTUATION_OFFSET - FUNCTION_WORD_OFFSET, words);
+            scale(vector, PUNCTUATION_OFFSET, DIMENSIONS - PUNCTUATION_OFFSET, words);
+            return vector;
+        }
+
+        public long wordCount() {
+            return words + (wordLength > 0 ? 1 : 0);
+        }
+
+        private void scale(float[] target, int offset, int length, long total) {
+            if (total == 0) return;
+            float inverse = 1.0f / total;
+            for (int i = offset; i < offset + length; i++) {
+                target[i] = counts[i] * inverse;
+            }
+        }
+
+        private void endWord() {
+            if (wordLength == 0) return;
+
+            int hash = wordHash;
+            counts[WORD_OFFSET + Math.floorMod(mix(hash), WORD_BUCKETS)]++;
+            wordGrams++;
+            if (hasPreviousWord) {
+                counts[WORD_OFFSET + Math.floorMod(mix(previousWordHash * 31 + hash), WORD_BUCKETS)]++;
+                wordGrams++;
+            }
+
+            int index = Arrays.binarySearch(FUNCTION_WORD_HASHES, hash);
+            if (index >= 0) {
+                counts[FUNCTION_WORD_OFFSET + FUNCTION_WORD_SLOTS[index]]++;
+            }
+
+            words++;
+            previousWordHash = hash;
+            hasPreviousWord = true;
+            wordHash = FNV_OFFSET;
+            wordLength = 0;
+        }
+
+        private void addTrigram(int c3) {
+            if (c1 != ' ' || c2 != ' ') {
+                int hash = ((c1 * 31) + c2) * 31 + c3;
+                counts[TRIGRAM_OFFSET + Math.floorMod(mix(hash), TRIGRAM_BUCKETS)]++;
+                trigrams++;
+            }
+            c1 = c2;
+            c2 = c3;
+        }
+
+        private static int punctuationSlot(int codePoint) {
+            return switch (codePoint) {
+                case '.' -> 0;
+                case '!' -> 1;
+                case '?' -> 2;
+                case ';' -> 3;
+                case ',' -> 4;
+                case ':' -> 5;
+                case '\'', '’' -> 6;
+                case '-', '–', '—' -> 7;
+                default -> -1;
+            };
+        }
+
+        private static int mix(int hash) {
+            hash ^= hash >>> 16;
+            hash *= 0x7feb352d;
+            hash ^= hash >>> 15;
+            return hash;
+        }
+    }
+}
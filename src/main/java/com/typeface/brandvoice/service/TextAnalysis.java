@@ -0,0 +1,243 @@
+package com.typeface.brandvoice.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Single-pass, allocation-free heuristic voice analysis.
+ *
+ * Consumes text one code point at a time, case-folding and hashing words on
+ * the fly, and produces the same attributes as the NLP analyzer (tone,
+ * formality, vocabulary complexity, sentence length) plus the stylometric
+ * vector. Used as the analyzer fallback and for documents read straight from
+ * UTF-8 request bytes (see {@link Utf8ContentReader}). Not thread-safe; one
+ * per text.
+ */
+public final class TextAnalysis {
+
+    private static final int FNV_OFFSET = 0x811c9dc5;
+    private static final int FNV_PRIME = 0x01000193;
+
+    // Keyword groups, one bit per keyword in seenKeywords
+    private static final String[] ENTHUSIASTIC = {"exciting", "amazing", "wonderful"};
+    private static final String[] PROFESSIONAL = {"professional", "enterprise"};
+    private static final String[] CASUAL = {"friend", "friends", "friendly", "hey"};
+    private static final String[] FORMAL = {"therefore", "consequently", "furthermore", "moreover"};
+    private static final String[] INFORMAL = {"hey", "yeah", "cool", "awesome", "gonna"};
+
+    private static final long ENTHUSIASTIC_MASK;
+    private static final long PROFESSIONAL_MASK;
+    private static final long CASUAL_MASK;
+    private static final long FORMAL_MASK;
+    private static final long INFORMAL_MASK;
+
+    // Sorted keyword hashes with the bits they set, for allocation-free lookup
+    private static final int[] KEYWORD_HASHES;
+    private static final long[] KEYWORD_BITS;
+
+    static {
+        Map<Integer, Long> bits = new HashMap<>();
+        int[] next = {0};
+        ENTHUSIASTIC_MASK = register(ENTHUSIASTIC, bits, next);
+        PROFESSIONAL_MASK = register(PROFESSIONAL, bits, next);
+        CASUAL_MASK = register(CASUAL, bits, next);
+        FORMAL_MASK = register(FORMAL, bits, next);
+        INFORMAL_MASK = register(INFORMAL, bits, next);
+
+        KEYWORD_HASHES = bits.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        KEYWORD_BITS = new long[KEYWORD_HASHES.length];
+        for (int i = 0; i < KEYWORD_HASHES.length; i++) {
+            KEYWORD_BITS[i] = bits.get(KEYWORD_HASHES[i]);
+        }
+    }
+
+    private final StylometricFeatureExtractor.Accumulator stylometry;
+    private final ContentDigest contentDigest;
+
+    private int wordHash = FNV_OFFSET;
+    private int wordLength;
+    private long seenKeywords;
+    private boolean contraction;
+
+    // Whitespace-delimited tokens, as counted for vocabulary complexity
+    private int tokenChars;
+    private long tokens;
+    private long complexTokens;
+
+    // Tokens per sentence, where . ! ? also end tokens
+    private boolean inSentenceToken;
+    private boolean sentenceHasTokens;
+    private long sentenceTokens;
+    private long sentences;
+
+    private long chars;
+    private boolean blank = true;
+
+    public TextAnalysis(StylometricFeatureExtractor extractor) {
+        this(extractor, false);
+    }
+
+    /**
+     * @param hashContent also compute the SHA-256 of the text, see {@link #contentHash()}
+     */
+    public TextAnalysis(StylometricFeatureExtractor extractor, boolean hashContent) {
+        this.stylometry = extractor.newAccumulator();
+        this.contentDigest = hashContent ? new ContentDigest() : null;
+    }
+
+    public static TextAnalysis of(CharSequence text, StylometricFeatureExtractor extractor) {
+        TextAnalysis analysis = new TextAnalysis(extractor);
+        int length = text.length();
+        for (int i = 0; i < length; ) {
+            int codePoint = Character.codePointAt(text, i);
+            analysis.accept(codePoint);
+            i += Character.charCount(codePoint);
+        }
+        return analysis;
+    }
+
+    public void accept(int codePoint) {
+        stylometry.accept(codePoint);
+        if (contentDigest != null) {
+            contentDigest.accept(codePoint);
+        }
+        chars += Character.charCount(codePoint);
+
+        if (Character.isLetterOrDigit(codePoint)) {
+            wordHash = (wordHash ^ Character.toLowerCase(codePoint)) * FNV_PRIME;
+            wordLength++;
+        } else {
+            endWord();
+            if (codePoint == '\'') {
+                contraction = true;
+            }
+        }
+
+        if (Character.isWhitespace(codePoint)) {
+            endToken();
+            endSentenceToken();
+            return;
+        }
+
+        blank = false;
+        tokenChars += Character.charCount(codePoint);
+
+        if (codePoint == '.' || codePoint == '!' || codePoint == '?') {
+            endSentenceToken();
+            endSentence();
+        } else {
+            inSentenceToken = true;
+        }
+    }
+
+    /**
+     * Length of the text in UTF-16 chars, matching {@link String#length()}.
+     */
+    public long length() {
+        return chars;
+    }
+
+    public boolean isBlank() {
+        return blank;
+    }
+
+    public float[] stylometricVector() {
+        return stylometry.finish();
+    }
+
+    /**
+     * SHA-256 of the text as UTF-8, same as {@link ContentDigest#of}; only
+     * available when requested at construction. Call once, after the last
+     * code point.
+     */
+    public byte[] contentHash() {
+        if (contentDigest == null) {
+            throw new IllegalStateException("Content hashing was not enabled for this analysis");
+        }
+        return contentDigest.finish();
+    }
+
+    public Map<String, Object> attributes() {
+        endWord();
+        endToken();
+        endSentenceToken();
+        endSentence();
+
+        double avgSentenceLength = sentences > 0 ? (double) sentenceTokens / sentences : 0.0;
+
+        Map<String, Object> analysis = new HashMap<>();
+        analysis.put("tone", tone());
+        analysis.put("formality", formality());
+        analysis.put("vocabulary_complexity", tokens > 0 ? (double) complexTokens / tokens : 0.0);
+        analysis.put("sentence_length", avgSentenceLength < 10 ? "short" : avgSentenceLength < 20 ? "medium" : "long");
+        analysis.put("avg_sentence_length", avgSentenceLength);
+        return analysis;
+    }
+
+    private String tone() {
+        if ((seenKeywords & ENTHUSIASTIC_MASK) != 0) return "enthusiastic";
+        if ((seenKeywords & PROFESSIONAL_MASK) != 0) return "professional";
+        if ((seenKeywords & CASUAL_MASK) != 0) return "casual";
+        return "neutral";
+    }
+
+    private double formality() {
+        int formal = Long.bitCount(seenKeywords & FORMAL_MASK);
+        int informal = Long.bitCount(seenKeywords & INFORMAL_MASK) + (contraction ? 1 : 0);
+
+        int total = formal + informal;
+        return total == 0 ? 0.5 : (double) formal / total;
+    }
+
+    private void endWord() {
+        if (wordLength == 0) return;
+
+        int index = Arrays.binarySearch(KEYWORD_HASHES, wordHash);
+        if (index >= 0) {
+            seenKeywords |= KEYWORD_BITS[index];
+        }
+        wordHash = FNV_OFFSET;
+        wordLength = 0;
+    }
+
+    private void endToken() {
+        if (tokenChars == 0) return;
+
+        tokens++;
+        // Tokens longer than 8 characters considered complex
+        if (tokenChars > 8) {
+            complexTokens++;
+        }
+        tokenChars = 0;
+    }
+
+    private void endSentenceToken() {
+        if (!inSentenceToken) return;
+
+        sentenceTokens++;
+        sentenceHasTokens = true;
+        inSentenceToken = false;
+    }
+
+    private void endSentence() {
+        if (!sentenceHasTokens) return;
+
+        sentences++;
+        sentenceHasTokens = false;
+    }
+
+    private static long register(String[] keywords, Map<Integer, Long> bits, int[] next) {
+        long mask = 0;
+        for (String keyword : keywords) {
+            int hash = FNV_OFFSET;
+            for (int i = 0; i < keyword.length(); i++) {
+                hash = (hash ^ keyword.charAt(i)) * FNV_PRIME;
+            }
+            long bit = 1L << next[0]++;
+            bits.merge(hash, bit, (a, b) -> a | b);
+            mask |= bit;
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,179 @@
+package com.typeface.brandvoice.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.typeface.brandvoice.exception.MalformedRequestException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Reads a validation request straight from its UTF-8 JSON bytes.
+ *
+ * Jackson's streaming parser walks the object structure; the {@code content}
+ * string is never materialized: the parser skips it and it is decoded here
+ * in place, one code point at a time, into a {@link TextAnalysis}. Large
+ * documents are therefore analyzed without a {@code String}, lowercased
+ * copies or token arrays.
+ */
+@Component
+@RequiredArgsConstructor
+public class Utf8ContentReader {
+
+    private static final int MIN_CONTENT_LENGTH = 10;
+
+    private final ObjectMapper objectMapper;
+    private final StylometricFeatureExtractor stylometricFeatureExtractor;
+
+    public record Content(String customerId, String contentType, TextAnalysis analysis) {
+    }
+
+    public Content read(byte[] body) {
+        String customerId = null;
+        String contentType = null;
+        TextAnalysis analysis = null;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new MalformedRequestException("Request body must be a JSON object");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                switch (field) {
+                    case "customerId" -> customerId = textValue(parser, value);
+                    case "contentType" -> contentType = textValue(parser, value);
+                    case "content" -> analysis = analyzeContent(parser, value, body);
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new MalformedRequestException("Malformed JSON request body", e);
+        }
+
+        if (customerId == null || customerId.isBlank()) {
+            throw new MalformedRequestException("Customer ID is required");
+        }
+        if (analysis == null || analysis.isBlank()) {
+            throw new MalformedRequestException("Content is required");
+        }
+        if (analysis.length() < MIN_CONTENT_LENGTH) {
+            throw new MalformedRequestException("Content should be at least 10 characters");
+        }
+
+        return new Content(customerId, contentType, analysis);
+    }
+
+    private String textValue(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NULL) return null;
+        if (value != JsonToken.VALUE_STRING) {
+            throw new MalformedRequestException("Field " + parser.currentName() + " must be a string");
+        }
+        return parser.getText();
+    }
+
+    private TextAnalysis analyzeContent(JsonParser parser, JsonToken value, byte[] body) throws IOException {
+        if (value == JsonToken.VALUE_NULL) return null;
+        if (value != JsonToken.VALUE_STRING) {
+            throw new MalformedRequestException("Field content must be a string");
+        }
+
+        TextAnalysis analysis = new TextAnalysis(stylometricFeatureExtractor, true);
+
+        long offset = parser.currentTokenLocation().getByteOffset();
+        if (offset < 0 || offset >= body.length || body[(int) offset] != '"') {
+            // Location not available for this parser; fall back to the decoded string
+            String text = parser.getText();
+            for (int i = 0; i < text.length(); ) {
+                int codePoint = text.codePointAt(i);
+                analysis.accept(codePoint);
+                i += Character.charCount(codePoint);
+            }
+            return analysis;
+        }
+
+        decodeString(body, (int) offset + 1, analysis);
+        return analysis;
+    }
+
+    /**
+     * Decodes a JSON string body starting after its opening quote. The parser
+     * has already checked the string is well-formed JSON by the time it moves
+     * past it; malformed UTF-8 decodes to U+FFFD.
+     */
+    static void decodeString(byte[] bytes, int position, TextAnalysis analysis) {
+        int pendingHighSurrogate = -1;
+
+        while (position < bytes.length) {
+            int b = bytes[position++];
+            int codePoint;
+
+            if (b == '"') {
+                break;
+            } else if (b == '\\') {
+                if (position >= bytes.length) break;
+                int escape = bytes[position++];
+                if (escape == 'u') {
+                    if (position + 4 > bytes.length) break;
+                    codePoint = hex(bytes, position);
+                    position += 4;
+                } else {
+                    codePoint = switch (escape) {
+                        case 'b' -> '\b';
+                        case 'f' -> '\f';
+                        case 'n' -> '\n';
+                        case 'r' -> '\r';
+                        case 't' -> '\t';
+                        default -> escape; // \" \\ \/
+                    };
+                }
+            } else if (b >= 0) {
+                codePoint = b;
+            } else if ((b & 0xE0) == 0xC0 && position < bytes.length) {
+                codePoint = ((b & 0x1F) << 6) | (bytes[position++] & 0x3F);
+            } else if ((b & 0xF0) == 0xE0 && position + 1 < bytes.length) {
+                codePoint = ((b & 0x0F) << 12) | ((bytes[position] & 0x3F) << 6) | (bytes[position + 1] & 0x3F);
+                position += 2;
+            } else if ((b & 0xF8) == 0xF0 && position + 2 < bytes.length) {
+                codePoint = ((b & 0x07) << 18) | ((bytes[position] & 0x3F) << 12)
+                        | ((bytes[position + 1] & 0x3F) << 6) | (bytes[position + 2] & 0x3F);
+                position += 3;
+                if (codePoint > Character.MAX_CODE_POINT) codePoint = 0xFFFD;
+            } else {
+                codePoint = 0xFFFD;
+            }
+
+            // Escaped supplementary characters arrive as two surrogate escapes
+            if (pendingHighSurrogate >= 0) {
+                if (Character.isLowSurrogate((char) codePoint) && codePoint <= 0xFFFF) {
+                    analysis.accept(Character.toCodePoint((char) pendingHighSurrogate, (char) codePoint));
+                    pendingHighSurrogate = -1;
+                    continue;
+                }
+                analysis.accept(pendingHighSurrogate);
+                pendingHighSurrogate = -1;
+            }
+            if (codePoint <= 0xFFFF && Character.isHighSurrogate((char) codePoint)) {
+                pendingHighSurrogate = codePoint;
+                continue;
+            }
+            analysis.accept(codePoint);
+        }
+
+        if (pendingHighSurrogate >= 0) {
+            analysis.accept(pendingHighSurrogate);
+        }
+    }
+
+    private static int hex(byte[] bytes, int position) {
+        int value = 0;
+        for (int i = position; i < position + 4; i++) {
+            value = (value << 4) | Character.digit(bytes[i], 16);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,180 @@
+package com.typeface.brandvoice.service;
+
+import com.typeface.brandvoice.model.ValidationRecord;
+import com.typeface.brandvoice.repository.ValidationHistoryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind buffer for the validation history.
+ *
+ * Validations enqueue their result and return immediately. A single flusher
+ * thread drains the queue into batches of up to {@code batch-size} results,
+ * or whatever arrived within {@code flush-interval}, and appends each batch
+ * with JDBC batch inserts that also update the hourly and daily rollups.
+ * When the queue is full, or the database is unavailable, results are
+ * dropped and counted rather than slowing validations down.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ValidationHistoryWriter {
+
+    private final ValidationHistoryRepository repository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${brand-voice.validation-history.enabled:false}")
+    private boolean enabled;
+
+    @Value("${brand-voice.validation-history.batch-size:500}")
+    private int batchSize;
+
+    @Value("${brand-voice.validation-history.flush-interval:PT1S}")
+    private Duration flushInterval;
+
+    @Value("${brand-voice.validation-history.queue-capacity:50000}")
+    private int queueCapacity;
+
+    private BlockingQueue<ValidationRecord> queue;
+    private Thread flusher;
+    private DistributionSummary flushedBatchSize;
+
+    // A batch the flusher had taken when it was interrupted; written by stop()
+    private volatile List<ValidationRecord> unflushed;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) return;
+
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+        flushedBatchSize = DistributionSummary.builder("brandvoice.validation.history.batch.size")
+                .description("Validation results per history batch insert")
+                .register(meterRegistry);
+        Gauge.builder("brandvoice.validation.history.queue.depth", queue, BlockingQueue::size)
+                .description("Validation results waiting to be written to the history")
+                .register(meterRegistry);
+
+        // Before the first flush, so this month's rows never reach the default partition
+        createPartitions();
+
+        flusher = Thread.ofPlatform().name("validation-history-flusher").daemon(true).start(this::flushLoop);
+        log.info("Validation history enabled (batch size {}, flush interval {})", batchSize, flushInterval);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (flusher == null) return;
+
+        flusher.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(5));
+
+        // Write what is left on this thread, which is not interrupted; nothing else is enqueued during shutdown
+        List<ValidationRecord> remaining = new ArrayList<>();
+        if (unflushed != null) {
+            remaining.addAll(unflushed);
+        }
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            write(remaining.subList(from, Math.min(remaining.size(), from + batchSize)));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void record(ValidationRecord record) {
+        if (!enabled) return;
+
+        if (!queue.offer(record)) {
+            count("dropped", 1);
+        }
+    }
+
+    /**
+     * Keeps monthly partitions created ahead of time, so rows never land in
+     * the default partition. Runs once from start() and then every 12 hours.
+     */
+    @Scheduled(initialDelayString = "PT12H", fixedDelayString = "PT12H")
+    public void createPartitions() {
+        if (!enabled) return;
+
+        LocalDate thisMonth = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1);
+        try {
+            repository.createPartition(thisMonth);
+            repository.createPartition(thisMonth.plusMonths(1));
+        } catch (RuntimeException e) {
+            log.warn("Failed to create validation history partitions: {}", e.getMessage());
+        }
+    }
+
+    private void flushLoop() {
+        long flushIntervalNanos = flushInterval.toNanos();
+
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                ValidationRecord first = queue.take();
+                List<ValidationRecord> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                try {
+                    while (batch.size() < batchSize) {
+                        long remaining = deadline - System.nanoTime();
+                        ValidationRecord next = remaining > 0
+                                ? queue.poll(remaining, TimeUnit.NANOSECONDS)
+                                : queue.poll();
+                        if (next == null) break;
+                        batch.add(next);
+                    }
+                } catch (InterruptedException e) {
+                    // Shutting down: the pool refuses connections to an interrupted thread, so leave the write to stop()
+                    unflushed = batch;
+                    return;
+                }
+
+                write(batch);
+
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void write(List<ValidationRecord> batch) {
+        try {
+            repository.append(batch);
+            flushedBatchSize.record(batch.size());
+            count("written", batch.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to write {} validation results to history", batch.size(), e);
+            count("failed", batch.size());
+        }
+    }
+
+    private void count(String outcome, int amount) {
+        Counter.builder("brandvoice.validation.history")
+                .description("Validation results written to, or lost from, the history")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment(amount);
+    }
+}
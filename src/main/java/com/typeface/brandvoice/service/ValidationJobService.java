@@ -0,0 +1,319 @@
+package com.typeface.brandvoice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.typeface.brandvoice.dto.ContentValidationResponse;
+import com.typeface.brandvoice.dto.ValidateContentRequest;
+import com.typeface.brandvoice.dto.ValidationJobRequest;
+import com.typeface.brandvoice.dto.ValidationJobResponse;
+import com.typeface.brandvoice.exception.AdmissionRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs validation jobs in the background for requests too large to answer
+ * within the gateway's proxy timeout.
+ *
+ * Jobs wait in a bounded priority queue (high before normal before low, FIFO
+ * within a priority) and are drained by a dedicated pool of worker threads.
+ * Submissions beyond {@code queue-capacity} are rejected with 503 rather than
+ * queued. Job state and results are kept in Redis with a TTL, so any node can
+ * answer status requests.
+ *
+ * Submitting a job costs one tenant token like any other request, and every
+ * item then takes its own token and analyzer slot from
+ * {@link AdmissionControlService#await} before it runs, so jobs count
+ * against the tenant's rate and the adaptive concurrency limit item by item.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ValidationJobService {
+
+    public static final String QUEUED = "queued";
+    public static final String RUNNING = "running";
+    public static final String SUCCEEDED = "succeeded";
+    public static final String FAILED = "failed";
+
+    private static final String KEY_PREFIX = "validation-job::";
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final BrandVoiceService brandVoiceService;
+    private final AdmissionControlService admissionControl;
+    @Lazy
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${brand-voice.jobs.workers:4}")
+    private int workerCount;
+
+    @Value("${brand-voice.jobs.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Value("${brand-voice.jobs.result-ttl:PT1H}")
+    private Duration resultTtl;
+
+    private final PriorityBlockingQueue<QueuedJob> queue = new PriorityBlockingQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger busyWorkers = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<Thread> workers = new ArrayList<>();
+
+    private Timer queueWait;
+
+    @PostConstruct
+    void start() {
+        Gauge.builder("brandvoice.jobs.queue.depth", queued, AtomicInteger::get)
+                .description("Validation jobs waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("brandvoice.jobs.workers.busy", busyWorkers, AtomicInteger::get)
+                .description("Job workers currently running a job")
+                .register(meterRegistry);
+        Gauge.builder("brandvoice.jobs.workers.utilization", this, service -> service.workerUtilization())
+                .description("Fraction of job workers currently busy")
+                .register(meterRegistry);
+        queueWait = Timer.builder("brandvoice.jobs.queue.wait")
+                .description("Time a validation job waited before a worker picked it up")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(Thread.ofPlatform()
+                    .name("validation-job-" + i)
+                    .daemon(true)
+                    .start(this::workLoop));
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        workers.forEach(Thread::interrupt);
+
+        // Jobs still queued will never run on this node; report that instead of leaving them "queued"
+        QueuedJob job;
+        while ((job = queue.poll()) != null) {
+            queued.decrementAndGet();
+            job.state().setStatus(FAILED);
+            job.state().setError("Service shut down before the job started");
+            job.state().setCompletedAt(now());
+            save(job.state());
+        }
+    }
+
+    /**
+     * Queues a job and returns its initial state.
+     *
+     * @throws AdmissionRejectedException when the tenant is over its rate or the queue is full
+     */
+    public ValidationJobResponse submit(ValidationJobRequest request) {
+        admissionControl.admit(request.getCustomerId(), false);
+
+        // Reserve a slot first so the queue can never exceed its capacity
+        if (queued.incrementAndGet() > queueCapacity) {
+            queued.decrementAndGet();
+            record("rejected");
+            throw new AdmissionRejectedException(
+                    HttpStatus.SERVICE_UNAVAILABLE,
+                    5,
+                    "Validation job queue is full, please retry shortly"
+            );
+        }
+
+        Priority priority = Priority.of(request.getPriority());
+        ValidationJobResponse state = ValidationJobResponse.builder()
+                .jobId(UUID.randomUUID().toString())
+                .customerId(request.getCustomerId())
+                .status(QUEUED)
+                .priority(priority.name().toLowerCase(Locale.ROOT))
+                .itemCount(request.getItems().size())
+                .completedItems(0)
+                .submittedAt(now())
+                .build();
+
+        try {
+            store(state);
+        } catch (RuntimeException e) {
+            queued.decrementAndGet();
+            throw e;
+        }
+        // The worker owns state once it is queued; the response is serialized from a copy
+        ValidationJobResponse response = state.toBuilder().build();
+        queue.add(new QueuedJob(priority, sequence.getAndIncrement(), System.nanoTime(), request, state));
+        record("submitted");
+
+        log.info("Queued validation job {} for customer {} ({} items, {} priority)",
+                response.getJobId(), response.getCustomerId(), response.getItemCount(), response.getPriority());
+        return response;
+    }
+
+    public ValidationJobResponse getJob(String jobId) {
+        String json = redisTemplate.opsForValue().get(KEY_PREFIX + jobId);
+        if (json == null) {
+            throw new NoSuchElementException("Validation job not found: " + jobId);
+        }
+        try {
+            return objectMapper.readValue(json, ValidationJobResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Corrupt validation job record: " + jobId, e);
+        }
+    }
+
+    private void workLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            QueuedJob job;
+            try {
+                job = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            queued.decrementAndGet();
+            queueWait.record(System.nanoTime() - job.enqueuedAt(), TimeUnit.NANOSECONDS);
+
+            busyWorkers.incrementAndGet();
+            try {
+                run(job);
+            } finally {
+                busyWorkers.decrementAndGet();
+            }
+        }
+    }
+
+    private void run(QueuedJob job) {
+        ValidationJobResponse state = job.state();
+        state.setStatus(RUNNING);
+        state.setStartedAt(now());
+        state.setResults(new ArrayList<>(state.getItemCount()));
+        save(state);
+
+        long lastSave = System.nanoTime();
+        try {
+            for (ValidationJobRequest.Item item : job.request().getItems()) {
+                ContentValidationResponse result;
+                try (AdmissionControlService.Permit permit = admissionControl.await(state.getCustomerId())) {
+                    long startTime = System.currentTimeMillis();
+
+                    result = brandVoiceService.validateContent(ValidateContentRequest.builder()
+                            .customerId(state.getCustomerId())
+                            .content(item.getContent())
+                            .contentType(item.getContentType())
+                            .build());
+                    result.setProcessingTimeMs(System.currentTimeMillis() - startTime);
+                }
+
+                state.getResults().add(result);
+                state.setCompletedItems(state.getResults().size());
+
+                // Progress is visible to pollers, but large jobs are not rewritten for every item
+                if (System.nanoTime() - lastSave >= PROGRESS_INTERVAL_NANOS) {
+                    save(state);
+                    lastSave = System.nanoTime();
+                }
+            }
+
+            state.setStatus(SUCCEEDED);
+            record("succeeded");
+
+        } catch (InterruptedException e) {
+            // Shutting down: the worker exits after recording the job as failed
+            Thread.currentThread().interrupt();
+            state.setStatus(FAILED);
+            state.setError("Service shut down before the job finished");
+            record("failed");
+
+        } catch (Exception e) {
+            log.warn("Validation job {} failed: {}", state.getJobId(), e.getMessage());
+            state.setStatus(FAILED);
+            state.setError(e.getMessage());
+            record("failed");
+        }
+
+        state.setCompletedAt(now());
+        save(state);
+    }
+
+    private void store(ValidationJobResponse state) {
+        try {
+            redisTemplate.opsForValue().set(
+                    KEY_PREFIX + state.getJobId(),
+                    objectMapper.writeValueAsString(state),
+                    resultTtl
+            );
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize validation job", e);
+        }
+    }
+
+    private void save(ValidationJobResponse state) {
+        try {
+            store(state);
+        } catch (RuntimeException e) {
+            log.error("Failed to store state of validation job {}", state.getJobId(), e);
+        }
+    }
+
+    private double workerUtilization() {
+        return workerCount == 0 ? 0.0 : (double) busyWorkers.get() / workerCount;
+    }
+
+    private void record(String outcome) {
+        Counter.builder("brandvoice.jobs")
+                .description("Validation jobs by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String now() {
+        return LocalDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME);
+    }
+
+    enum Priority {
+        HIGH, NORMAL, LOW;
+
+        static Priority of(String value) {
+            return value == null || value.isBlank()
+                    ? NORMAL
+                    : valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private record QueuedJob(Priority priority,
+                             long sequence,
+                             long enqueuedAt,
+                             ValidationJobRequest request,
+                             ValidationJobResponse state) implements Comparable<QueuedJob> {
+
+        @Override
+        public int compareTo(QueuedJob other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.typeface.brandvoice.service;
+
+import com.typeface.brandvoice.dto.ValidationStatsResponse;
+import com.typeface.brandvoice.exception.MalformedRequestException;
+import com.typeface.brandvoice.repository.ValidationHistoryRepository;
+import com.typeface.brandvoice.repository.ValidationHistoryRepository.Bucket;
+import com.typeface.brandvoice.repository.ValidationHistoryRepository.Granularity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Validation trends per customer, read only from the hourly and daily
+ * rollups so a query never scans raw validation results.
+ */
+@Service
+@RequiredArgsConstructor
+public class ValidationStatsService {
+
+    private static final int MAX_BUCKETS = 1000;
+
+    private final ValidationHistoryRepository repository;
+
+    public ValidationStatsResponse getStats(String customerId, String granularityName, Instant from, Instant to) {
+        Granularity granularity = parseGranularity(granularityName);
+        Duration bucketLength = granularity == Granularity.HOURLY ? Duration.ofHours(1) : Duration.ofDays(1);
+
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(bucketLength.multipliedBy(
+                granularity == Granularity.HOURLY ? 24 : 30));
+
+        if (!start.isBefore(end)) {
+            throw new MalformedRequestException("from must be before to");
+        }
+        if (Duration.between(start, end).compareTo(bucketLength.multipliedBy(MAX_BUCKETS)) > 0) {
+            throw new MalformedRequestException("Range covers more than " + MAX_BUCKETS + " "
+                    + granularityName(granularity) + " buckets");
+        }
+
+        // Include the bucket that contains the start of the range
+        List<Bucket> buckets = repository.findBuckets(customerId, granularity, granularity.truncate(start), end);
+
+        long total = 0;
+        double scoreSum = 0;
+        double scoreMin = Double.POSITIVE_INFINITY;
+        double scoreMax = Double.NEGATIVE_INFINITY;
+        long onBrand = 0;
+        long minorIssues = 0;
+        long offBrand = 0;
+
+        for (Bucket bucket : buckets) {
+            total += bucket.validations();
+            scoreSum += bucket.scoreSum();
+            scoreMin = Math.min(scoreMin, bucket.scoreMin());
+            scoreMax = Math.max(scoreMax, bucket.scoreMax());
+            onBrand += bucket.onBrand();
+            minorIssues += bucket.minorIssues();
+            offBrand += bucket.offBrand();
+        }
+
+        return ValidationStatsResponse.builder()
+                .customerId(customerId)
+                .granularity(granularityName(granularity))
+                .from(start.toString())
+                .to(end.toString())
+                .totalValidations(total)
+                .averageScore(total > 0 ? scoreSum / total : null)
+                .minScore(total > 0 ? scoreMin : null)
+                .maxScore(total > 0 ? scoreMax : null)
+                .verdicts(verdicts(onBrand, minorIssues, offBrand))
+                .buckets(buckets.stream()
+                        .map(bucket -> ValidationStatsResponse.Bucket.builder()
+                                .start(bucket.start().toString())
+                                .validations(bucket.validations())
+                                .averageScore(bucket.validations() > 0
+                                        ? bucket.scoreSum() / bucket.validations()
+                                        : null)
+                                .minScore(bucket.scoreMin())
+                                .maxScore(bucket.scoreMax())
+                                .verdicts(verdicts(bucket.onBrand(), bucket.minorIssues(), bucket.offBrand()))
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    private static Granularity parseGranularity(String name) {
+        if (name == null || name.isBlank()) return Granularity.DAILY;
+
+        return switch (name.toLowerCase(Locale.ROOT)) {
+            case "hourly" -> Granularity.HOURLY;
+            case "daily" -> Granularity.DAILY;
+            default -> throw new MalformedRequestException("granularity must be hourly or daily");
+        };
+    }
+
+    private static String granularityName(Granularity granularity) {
+        return granularity.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static Map<String, Long> verdicts(long onBrand, long minorIssues, long offBrand) {
+        Map<String, Long> verdicts = new LinkedHashMap<>();
+        verdicts.put("on_brand", onBrand);
+        verdicts.put("minor_issues", minorIssues);
+        verdicts.put("off_brand", offBrand);
+        return verdicts;
+    }
+}
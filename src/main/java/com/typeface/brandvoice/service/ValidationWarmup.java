@@ -0,0 +1,228 @@
+package com.typeface.brandvoice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.typeface.brandvoice.dto.ContentValidationResponse;
+import com.typeface.brandvoice.model.BrandProfile;
+import com.typeface.brandvoice.model.CompiledProfile;
+import com.typeface.brandvoice.model.ScoringRules;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * JIT warm-up: runs the validation path on a synthetic corpus before the
+ * instance reports ready, so the first requests after a deploy or
+ * scale-out run compiled code rather than the interpreter.
+ *
+ * Spring Boot only moves readiness to ACCEPTING_TRAFFIC once application
+ * runners have finished, so {@code /actuator/health/readiness} stays
+ * OUT_OF_SERVICE while this runs. Each iteration analyzes a corpus sample
+ * in-process, scores it against a synthetic profile (attribute comparison
+ * and issues), serializes the response and encodes the validation event
+ * without publishing it; nothing is stored, cached or sent. It stops after
+ * {@code iterations} or {@code time-budget}, whichever comes first.
+ *
+ * The first {@code first-requests} real validations are timed into
+ * {@code brandvoice.validate.first-requests}, tagged by whether warm-up is
+ * enabled, so fresh instances with and without it can be compared.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ValidationWarmup implements ApplicationRunner {
+
+    // Varied tone, formality and sentence length, so every scoring branch gets compiled
+    private static final String[] CORPUS = {
+            "We are excited to share our amazing new release with you! It's a wonderful step forward "
+                    + "for every team, and we can't wait to see what you build.",
+            "Our enterprise platform delivers professional, reliable results. Organizations rely on "
+                    + "our strategic approach to reduce operational risk across global deployments.",
+            "Hey friends, gonna keep this short. The new stuff is pretty cool, yeah, and honestly "
+                    + "it's awesome. Give it a spin and tell us what you think.",
+            "Furthermore, the committee has reviewed the proposal in detail. Consequently, the "
+                    + "recommended changes shall take effect at the start of the next fiscal quarter; "
+                    + "moreover, all departments are therefore required to update their procedures.",
+            "Short update. Tests pass. Ship it.",
+            "Join thousands of creators who trust us every day. Start your free trial, explore the "
+                    + "templates, and invite your whole team in minutes - no credit card required.",
+            "Thank you for reaching out about your order. We have refunded the shipping charge and "
+                    + "a replacement is on its way; it should arrive within three business days.",
+    };
+
+    private static final String[] CONTENT_TYPES = {null, "email", "social", "ad"};
+
+    private static final ScoringRules RULES = ScoringRules.builder()
+            .tone(ScoringRules.Attribute.builder().mismatch(50.0).weight(2.0).build())
+            .contentTypes(Map.of(
+                    "email", ScoringRules.builder().build(),
+                    "social", ScoringRules.builder()
+                            .formality(ScoringRules.Attribute.builder().weight(0.5).build())
+                            .verdicts(ScoringRules.Verdicts.builder().onBrand(75.0).build())
+                            .build()))
+            .build();
+
+    private final BrandVoiceService brandVoiceService;
+    private final StylometricFeatureExtractor stylometricFeatureExtractor;
+    private final NearDuplicateIndex nearDuplicateIndex;
+    private final EventPublisherService eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${brand-voice.warmup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${brand-voice.warmup.iterations:20000}")
+    private int iterations;
+
+    @Value("${brand-voice.warmup.time-budget:PT30S}")
+    private Duration timeBudget;
+
+    @Value("${brand-voice.warmup.first-requests:1000}")
+    private int firstRequests;
+
+    private final AtomicInteger firstRequestsSeen = new AtomicInteger();
+    private final AtomicInteger firstRequestsRecorded = new AtomicInteger();
+    private AtomicLongArray firstLatencies;
+    private Timer firstRequestTimer;
+
+    private volatile long warmupNanos;
+    private volatile int warmupIterations;
+
+    @PostConstruct
+    void start() {
+        firstLatencies = new AtomicLongArray(Math.max(firstRequests, 0));
+        firstRequestTimer = Timer.builder("brandvoice.validate.first-requests")
+                .description("Latency of the first validations served after startup")
+                .tag("warmup", enabled ? "enabled" : "disabled")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        TimeGauge.builder("brandvoice.warmup.duration", this, TimeUnit.NANOSECONDS, warmup -> warmup.warmupNanos)
+                .description("Time spent in JIT warm-up before reporting ready")
+                .register(meterRegistry);
+        Gauge.builder("brandvoice.warmup.iterations", this, warmup -> warmup.warmupIterations)
+                .description("Synthetic validations run by JIT warm-up")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) return;
+
+        long start = System.nanoTime();
+        int completed = warmUp(iterations, timeBudget);
+        warmupNanos = System.nanoTime() - start;
+        warmupIterations = completed;
+
+        log.info("JIT warm-up ran {} validations in {}ms, stopped by its {}", completed,
+                TimeUnit.NANOSECONDS.toMillis(warmupNanos), completed >= iterations ? "iteration count" : "time budget");
+    }
+
+    /**
+     * Runs up to {@code maxIterations} synthetic validations within the
+     * budget and returns how many completed.
+     */
+    int warmUp(int maxIterations, Duration budget) {
+        long deadline = System.nanoTime() + budget.toNanos();
+        CompiledProfile[] profiles = {
+                profile("warmup-professional", CORPUS[1], null, true),
+                profile("warmup-casual", CORPUS[2], RULES, true),
+                profile("warmup-enthusiastic", CORPUS[0], RULES, false)
+        };
+
+        int completed = 0;
+        long bytes = 0;
+        try {
+            while (completed < maxIterations && System.nanoTime() - deadline < 0) {
+                bytes += validate(profiles[completed % profiles.length], completed);
+                completed++;
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            // A failed warm-up only costs latency; it must not keep the instance out of service
+            log.warn("JIT warm-up stopped after {} validations: {}", completed, e.toString());
+        }
+        log.debug("JIT warm-up produced {} response and event bytes", bytes);
+        return completed;
+    }
+
+    /**
+     * Times one real validation, for the first {@code first-requests} after
+     * startup, and logs their percentiles once all have been seen.
+     */
+    public void recordValidation(long nanos) {
+        if (firstRequestsSeen.get() >= firstRequests) return;
+
+        int index = firstRequestsSeen.getAndIncrement();
+        if (index >= firstRequests) return;
+
+        firstRequestTimer.record(nanos, TimeUnit.NANOSECONDS);
+        firstLatencies.set(index, nanos);
+        if (firstRequestsRecorded.incrementAndGet() == firstRequests) {
+            reportFirstRequests();
+        }
+    }
+
+    // The same steps as a /validate request, minus the analyzer call, lookup and recording
+    private long validate(CompiledProfile profile, int iteration) throws JsonProcessingException {
+        String content = CORPUS[iteration % CORPUS.length].repeat(1 + iteration / CORPUS.length % 4);
+        String contentType = CONTENT_TYPES[iteration % CONTENT_TYPES.length];
+
+        TextAnalysis analysis = TextAnalysis.of(content, stylometricFeatureExtractor);
+        nearDuplicateIndex.fingerprint(content);
+        float[] contentVector = profile.getStylometricVector() != null
+                ? stylometricFeatureExtractor.extract(content)
+                : null;
+
+        ContentValidationResponse response = brandVoiceService.evaluate(profile.getCustomerId(), profile,
+                profile.getScoringRules().indexOf(contentType), analysis.attributes(), contentVector,
+                analysis.length());
+        response.setProcessingTimeMs(0L);
+
+        byte[] body = objectMapper.writeValueAsBytes(response);
+        String event = eventPublisher.encodeValidationPerformed(
+                profile.getCustomerId(), response.getConsistencyScore(), response.getVerdict());
+        return body.length + event.length();
+    }
+
+    private CompiledProfile profile(String customerId, String sample, ScoringRules rules, boolean stylometry) {
+        return CompiledProfile.from(BrandProfile.builder()
+                .customerId(customerId)
+                .voiceAttributes(TextAnalysis.of(sample, stylometricFeatureExtractor).attributes())
+                .stylometricVector(stylometry ? stylometricFeatureExtractor.extract(sample) : null)
+                .scoringRules(rules)
+                .build());
+    }
+
+    private void reportFirstRequests() {
+        long[] latencies = new long[firstLatencies.length()];
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = firstLatencies.get(i);
+        }
+        Arrays.sort(latencies);
+
+        log.info("First {} validations after startup (warm-up {}): p50 {}ms, p99 {}ms, max {}ms",
+                latencies.length, enabled ? "enabled" : "disabled",
+                millis(latencies[latencies.length / 2]),
+                millis(latencies[(int) Math.ceil(latencies.length * 0.99) - 1]),
+                millis(latencies[latencies.length - 1]));
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.1f", nanos / 1e6);
+    }
+}
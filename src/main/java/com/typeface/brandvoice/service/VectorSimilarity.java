@@ -0,0 +1,49 @@
+package com.typeface.brandvoice.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cosine similarity over float vectors.
+ *
+ * Uses the SIMD kernel backed by {@code jdk.incubator.vector} when the JVM was
+ * started with {@code --add-modules jdk.incubator.vector}, otherwise falls back
+ * to a scalar loop. The kernel is chosen once at class initialization.
+ */
+@Slf4j
+public final class VectorSimilarity {
+
+    private static final CosineKernel KERNEL = selectKernel();
+
+    private VectorSimilarity() {
+    }
+
+    public static double cosine(float[] a, float[] b) {
+        if (a.length != b.length) {
+            throw new IllegalArgumentException(
+                    "Vector dimensions differ: " + a.length + " vs " + b.length
+            );
+        }
+        return KERNEL.cosine(a, b);
+    }
+
+    public static boolean isSimdEnabled() {
+        return !(KERNEL instanceof ScalarCosineKernel);
+    }
+
+    private static CosineKernel selectKernel() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                // Loaded reflectively so the incubator classes are never resolved without the module
+                CosineKernel kernel = (CosineKernel) Class
+                        .forName("com.typeface.brandvoice.service.SimdCosineKernel")
+                        .getDeclaredConstructor()
+                        .newInstance();
+                log.info("Using SIMD cosine kernel");
+                return kernel;
+            } catch (ReflectiveOperationException | LinkageError e) {
+                log.warn("SIMD cosine kernel unavailable, using scalar fallback: {}", e.getMessage());
+            }
+        }
+        return new ScalarCosineKernel();
+    }
+}
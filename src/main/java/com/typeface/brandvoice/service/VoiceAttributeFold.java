@@ -0,0 +1,97 @@
+package com.typeface.brandvoice.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Combines the analyzer's attributes for consecutive chunks of one corpus,
+ * each weighted by its length, in constant memory.
+ *
+ * Ratios and averages (formality, vocabulary complexity, average sentence
+ * length) become weighted means; categories (tone, sentence length) go to
+ * the weighted majority; word counts add up. Unique words cannot be merged
+ * without the words, so the largest chunk count stands in as a lower bound.
+ * Key phrases are scored by rank and chunk weight and the top ones kept.
+ * Chunks the analyzer could not analyze (empty attributes) are skipped.
+ */
+final class VoiceAttributeFold {
+
+    private static final Set<String> SUMMED = Set.of("word_count");
+    private static final Set<String> MAXIMUM = Set.of("unique_words");
+    private static final String KEY_PHRASES = "key_phrases";
+    private static final int TOP_KEY_PHRASES = 5;
+    private static final int MAX_TRACKED_PHRASES = 1024;
+
+    private final Map<String, double[]> weightedSums = new LinkedHashMap<>();
+    private final Map<String, Map<String, Double>> votes = new LinkedHashMap<>();
+    private final Map<String, Double> totals = new LinkedHashMap<>();
+    private final Map<String, Double> phraseScores = new HashMap<>();
+    private boolean hasPhrases;
+    private long chunks;
+
+    void add(Map<String, Object> attributes, long weight) {
+        if (attributes == null || attributes.isEmpty() || weight <= 0) return;
+
+        chunks++;
+        attributes.forEach((name, value) -> {
+            if (SUMMED.contains(name) && value instanceof Number number) {
+                totals.merge(name, number.doubleValue(), Double::sum);
+            } else if (MAXIMUM.contains(name) && value instanceof Number number) {
+                totals.merge(name, number.doubleValue(), Math::max);
+            } else if (value instanceof Number number) {
+                double[] sum = weightedSums.computeIfAbsent(name, key -> new double[2]);
+                sum[0] += number.doubleValue() * weight;
+                sum[1] += weight;
+            } else if (value instanceof String category) {
+                votes.computeIfAbsent(name, key -> new LinkedHashMap<>()).merge(category, (double) weight, Double::sum);
+            } else if (KEY_PHRASES.equals(name) && value instanceof List<?> phrases) {
+                addPhrases(phrases, weight);
+            }
+        });
+    }
+
+    long chunks() {
+        return chunks;
+    }
+
+    Map<String, Object> result() {
+        Map<String, Object> result = new HashMap<>();
+        weightedSums.forEach((name, sum) -> result.put(name, sum[0] / sum[1]));
+        votes.forEach((name, tally) -> result.put(name, tally.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElseThrow()
+                .getKey()));
+        totals.forEach((name, total) -> result.put(name, Math.round(total)));
+        if (hasPhrases) {
+            result.put(KEY_PHRASES, topPhrases(TOP_KEY_PHRASES));
+        }
+        return result;
+    }
+
+    private void addPhrases(List<?> phrases, long weight) {
+        hasPhrases = true;
+        for (int rank = 0; rank < phrases.size(); rank++) {
+            if (phrases.get(rank) instanceof String phrase) {
+                phraseScores.merge(phrase, (double) weight * (phrases.size() - rank), Double::sum);
+            }
+        }
+
+        // Phrases that never make the top of a chunk drop out, keeping the table bounded
+        if (phraseScores.size() > MAX_TRACKED_PHRASES) {
+            List<String> kept = topPhrases(MAX_TRACKED_PHRASES / 2);
+            phraseScores.keySet().retainAll(Set.copyOf(kept));
+        }
+    }
+
+    private List<String> topPhrases(int limit) {
+        List<Map.Entry<String, Double>> entries = new ArrayList<>(phraseScores.entrySet());
+        entries.sort(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+        return entries.stream().limit(limit).map(Map.Entry::getKey).toList();
+    }
+}
@@ -0,0 +1,116 @@
+package com.typeface.brandvoice.service;
+
+import com.typeface.brandvoice.model.BrandProfile;
+import com.typeface.brandvoice.model.ProfileVoice;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Embeds a brand profile as a fixed-width, unit-length voice vector, so
+ * brands can be compared by cosine similarity.
+ *
+ * Layout of the {@value #DIMENSIONS} floats:
+ * [0, 8)    tone, one-hot over the known tones (last slot for any other)
+ * [8, 14)   formality, vocabulary complexity, sentence length one-hot,
+ *           average sentence length (scaled to roughly [0, 1])
+ * [14, 78)  key phrases, feature-hashed with a sign bit
+ * [78, 110) function-word and punctuation rates from the stylometric vector
+ *
+ * Each block is normalized and weighted on its own before the whole vector
+ * is normalized, so a profile with many key phrases does not drown out its
+ * tone. Blocks a profile has no data for stay zero.
+ */
+@Component
+public class VoiceVectorizer {
+
+    public static final int DIMENSIONS = 110;
+
+    private static final List<String> TONES = List.of(
+            "neutral", "professional", "casual", "enthusiastic", "friendly", "formal", "playful");
+    private static final int TONE_OFFSET = 0;
+    private static final int ATTRIBUTE_OFFSET = TONE_OFFSET + 8;
+    private static final int PHRASE_OFFSET = ATTRIBUTE_OFFSET + 6;
+    private static final int PHRASE_BUCKETS = 64;
+    private static final int STYLE_OFFSET = PHRASE_OFFSET + PHRASE_BUCKETS;
+    private static final int STYLE_FEATURES = 32;
+
+    private static final float ATTRIBUTE_WEIGHT = 1.0f;
+    private static final float PHRASE_WEIGHT = 0.7f;
+    private static final float STYLE_WEIGHT = 0.7f;
+
+    private static final int FNV_OFFSET = 0x811c9dc5;
+    private static final int FNV_PRIME = 0x01000193;
+
+    public float[] embed(BrandProfile profile) {
+        return embed(profile.getVoiceAttributes(), profile.getStylometricVector());
+    }
+
+    public float[] embed(ProfileVoice voice) {
+        return embed(voice.voiceAttributes(), voice.stylometricVector());
+    }
+
+    private float[] embed(Map<String, Object> voiceAttributes, float[] stylometric) {
+        Map<String, Object> attributes = voiceAttributes != null ? voiceAttributes : Map.of();
+        float[] vector = new float[DIMENSIONS];
+
+        String tone = String.valueOf(attributes.getOrDefault("tone", "neutral")).toLowerCase(Locale.ROOT);
+        int toneSlot = TONES.indexOf(tone);
+        vector[TONE_OFFSET + (toneSlot >= 0 ? toneSlot : TONES.size())] = 1.0f;
+
+        vector[ATTRIBUTE_OFFSET] = number(attributes.get("formality"), 0.5f);
+        vector[ATTRIBUTE_OFFSET + 1] = number(attributes.get("vocabulary_complexity"), 0.5f);
+        switch (String.valueOf(attributes.getOrDefault("sentence_length", "medium"))) {
+            case "short" -> vector[ATTRIBUTE_OFFSET + 2] = 1.0f;
+            case "long" -> vector[ATTRIBUTE_OFFSET + 4] = 1.0f;
+            default -> vector[ATTRIBUTE_OFFSET + 3] = 1.0f;
+        }
+        vector[ATTRIBUTE_OFFSET + 5] = Math.min(2.0f, number(attributes.get("avg_sentence_length"), 15.0f) / 30.0f);
+        normalize(vector, TONE_OFFSET, PHRASE_OFFSET, ATTRIBUTE_WEIGHT);
+
+        if (attributes.get("key_phrases") instanceof List<?> phrases) {
+            for (Object phrase : phrases) {
+                if (phrase == null) continue;
+                int hash = fnv(phrase.toString().trim().toLowerCase(Locale.ROOT));
+                vector[PHRASE_OFFSET + Math.floorMod(hash, PHRASE_BUCKETS)] += hash < 0 ? -1.0f : 1.0f;
+            }
+            normalize(vector, PHRASE_OFFSET, STYLE_OFFSET, PHRASE_WEIGHT);
+        }
+
+        if (stylometric != null && stylometric.length == StylometricFeatureExtractor.DIMENSIONS) {
+            System.arraycopy(stylometric, StylometricFeatureExtractor.DIMENSIONS - STYLE_FEATURES,
+                    vector, STYLE_OFFSET, STYLE_FEATURES);
+            normalize(vector, STYLE_OFFSET, DIMENSIONS, STYLE_WEIGHT);
+        }
+
+        normalize(vector, 0, DIMENSIONS, 1.0f);
+        return vector;
+    }
+
+    private static float number(Object value, float fallback) {
+        return value instanceof Number number ? number.floatValue() : fallback;
+    }
+
+    private static void normalize(float[] vector, int from, int to, float length) {
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += vector[i] * vector[i];
+        }
+        if (sum == 0) return;
+
+        float scale = (float) (length / Math.sqrt(sum));
+        for (int i = from; i < to; i++) {
+            vector[i] *= scale;
+        }
+    }
+
+    private static int fnv(String text) {
+        int hash = FNV_OFFSET;
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,7 @@
+-- Brand Voice Service Database Schema
+-- Version: 2
+-- Description: Stylometric feature centroid per brand profile
+
+ALTER TABLE brand_profiles ADD COLUMN stylometric_vector BYTEA;
+
+COMMENT ON COLUMN brand_profiles.stylometric_vector IS 'Packed little-endian float32 stylometric feature centroid (256 dims)';
@@ -0,0 +1,7 @@
+-- Brand Voice Service Database Schema
+-- Version: 3
+-- Description: Optimistic locking version per brand profile
+
+ALTER TABLE brand_profiles ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN brand_profiles.version IS 'Incremented on every update; reported with each validation and used for optimistic locking';
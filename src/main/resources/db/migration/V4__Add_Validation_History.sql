@@ -0,0 +1,61 @@
+-- Brand Voice Service Database Schema
+-- Version: 4
+-- Description: Validation history, partitioned by month, with hourly and daily rollups
+
+-- Raw validation results; one partition per calendar month (UTC)
+CREATE TABLE validation_results (
+    id BIGSERIAL,
+    customer_id VARCHAR(255) NOT NULL,
+    validated_at TIMESTAMPTZ NOT NULL,
+    consistency_score DOUBLE PRECISION NOT NULL,
+    verdict VARCHAR(32) NOT NULL,
+    detailed_scores JSONB NOT NULL,
+    profile_version BIGINT,
+    content_hash BYTEA NOT NULL,
+    PRIMARY KEY (id, validated_at)
+) PARTITION BY RANGE (validated_at);
+
+CREATE INDEX idx_validation_results_customer ON validation_results (customer_id, validated_at DESC);
+
+-- Catches rows outside the created months so inserts never fail
+CREATE TABLE validation_results_default PARTITION OF validation_results DEFAULT;
+
+-- Creates the partition for the month containing the given date, if missing
+CREATE OR REPLACE FUNCTION create_validation_results_partition(month_date DATE)
+RETURNS VOID AS $$
+DECLARE
+    month_start DATE := date_trunc('month', month_date)::date;
+    partition_name TEXT := 'validation_results_' || to_char(month_start, 'YYYY_MM');
+BEGIN
+    EXECUTE format(
+        'CREATE TABLE IF NOT EXISTS %I PARTITION OF validation_results FOR VALUES FROM (%L) TO (%L)',
+        partition_name,
+        month_start::timestamp AT TIME ZONE 'UTC',
+        (month_start + INTERVAL '1 month')::timestamp AT TIME ZONE 'UTC'
+    );
+END;
+$$ language 'plpgsql';
+
+SELECT create_validation_results_partition(CURRENT_DATE);
+SELECT create_validation_results_partition((CURRENT_DATE + INTERVAL '1 month')::date);
+
+-- Rollups, maintained incrementally with each batch of raw inserts
+CREATE TABLE validation_stats_hourly (
+    customer_id VARCHAR(255) NOT NULL,
+    bucket_start TIMESTAMPTZ NOT NULL,
+    validations BIGINT NOT NULL,
+    score_sum DOUBLE PRECISION NOT NULL,
+    score_min DOUBLE PRECISION NOT NULL,
+    score_max DOUBLE PRECISION NOT NULL,
+    on_brand BIGINT NOT NULL DEFAULT 0,
+    minor_issues BIGINT NOT NULL DEFAULT 0,
+    off_brand BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (customer_id, bucket_start)
+);
+
+CREATE TABLE validation_stats_daily (LIKE validation_stats_hourly INCLUDING ALL);
+
+COMMENT ON TABLE validation_results IS 'Every validation result, for audits; partitioned by validated_at month';
+COMMENT ON COLUMN validation_results.content_hash IS 'SHA-256 of the validated content as UTF-8';
+COMMENT ON TABLE validation_stats_hourly IS 'Per-customer validation counts and score aggregates per UTC hour';
+COMMENT ON TABLE validation_stats_daily IS 'Per-customer validation counts and score aggregates per UTC day';
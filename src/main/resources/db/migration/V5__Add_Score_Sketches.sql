@@ -0,0 +1,21 @@
+-- Brand Voice Service Database Schema
+-- Version: 5
+-- Description: Per-customer consistency score histograms per hour and day
+
+-- One row per customer, window and service instance; each instance rewrites its
+-- own cumulative sketch, and readers merge rows across instances and windows
+CREATE TABLE score_sketches (
+    customer_id VARCHAR(255) NOT NULL,
+    window_length VARCHAR(8) NOT NULL,
+    window_start TIMESTAMPTZ NOT NULL,
+    node_id VARCHAR(64) NOT NULL,
+    sketch BYTEA NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (customer_id, window_length, window_start, node_id)
+);
+
+CREATE INDEX idx_score_sketches_window ON score_sketches (window_length, window_start);
+
+COMMENT ON TABLE score_sketches IS 'Mergeable consistency score histograms (0.1 point buckets) per customer and UTC hour/day';
+COMMENT ON COLUMN score_sketches.window_length IS 'hour or day';
+COMMENT ON COLUMN score_sketches.node_id IS 'Service instance that wrote the sketch';
@@ -0,0 +1,7 @@
+-- Brand Voice Service Database Schema
+-- Version: 6
+-- Description: Declarative scoring rules per brand profile
+
+ALTER TABLE brand_profiles ADD COLUMN scoring_rules JSONB;
+
+COMMENT ON COLUMN brand_profiles.scoring_rules IS 'Scoring weights, penalties and thresholds, optionally per content type; NULL uses the defaults';
@@ -0,0 +1,9 @@
+-- Brand Voice Service Database Schema
+-- Version: 7
+-- Description: Lifecycle status for asynchronously created brand profiles
+
+ALTER TABLE brand_profiles ADD COLUMN status VARCHAR(16) NOT NULL DEFAULT 'ACTIVE';
+
+CREATE INDEX idx_brand_profiles_pending ON brand_profiles(updated_at) WHERE status = 'PENDING';
+
+COMMENT ON COLUMN brand_profiles.status IS 'PENDING while the sample is analyzed after an asynchronous create, then ACTIVE or FAILED';
@@ -0,0 +1,55 @@
+-- Brand Voice Service Database Schema
+-- Version: 8
+-- Description: Partition creation moves rows that already landed in the default partition
+
+-- A month's partition cannot be created while the default partition holds rows
+-- for that month, so those rows are moved into it: the default is detached, the
+-- month created and filled from it, and the default reattached. Detaching locks
+-- validation_results, so concurrent inserts wait for the move to commit.
+CREATE OR REPLACE FUNCTION create_validation_results_partition(month_date DATE)
+RETURNS VOID AS $$
+DECLARE
+    month_start DATE := date_trunc('month', month_date)::date;
+    partition_name TEXT := 'validation_results_' || to_char(month_start, 'YYYY_MM');
+    range_start TIMESTAMPTZ := month_start::timestamp AT TIME ZONE 'UTC';
+    range_end TIMESTAMPTZ := (month_start + INTERVAL '1 month')::timestamp AT TIME ZONE 'UTC';
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN;
+    END IF;
+
+    IF NOT EXISTS (
+        SELECT 1 FROM validation_results_default
+        WHERE validated_at >= range_start AND validated_at < range_end
+    ) THEN
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF validation_results FOR VALUES FROM (%L) TO (%L)',
+            partition_name, range_start, range_end
+        );
+        RETURN;
+    END IF;
+
+    ALTER TABLE validation_results DETACH PARTITION validation_results_default;
+
+    EXECUTE format(
+        'CREATE TABLE %I PARTITION OF validation_results FOR VALUES FROM (%L) TO (%L)',
+        partition_name, range_start, range_end
+    );
+
+    INSERT INTO validation_results
+    SELECT * FROM validation_results_default
+    WHERE validated_at >= range_start AND validated_at < range_end;
+
+    DELETE FROM validation_results_default
+    WHERE validated_at >= range_start AND validated_at < range_end;
+
+    ALTER TABLE validation_results ATTACH PARTITION validation_results_default DEFAULT;
+END;
+$$ language 'plpgsql';
+
+-- Months whose rows went to the default partition before this migration
+SELECT create_validation_results_partition(month_start::date)
+FROM (
+    SELECT DISTINCT date_trunc('month', validated_at AT TIME ZONE 'UTC') AS month_start
+    FROM validation_results_default
+) months;
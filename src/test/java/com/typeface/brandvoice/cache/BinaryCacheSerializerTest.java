@@ -0,0 +1,95 @@
+package com.typeface.brandvoice.cache;
+
+import com.typeface.brandvoice.dto.BrandProfileResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BinaryCacheSerializerTest {
+
+    private final RedisSerializer<Object> json = new GenericJackson2JsonRedisSerializer();
+
+    @Test
+    void roundTrip_PreservesProfileFieldsAndAttributeTypes() {
+        BinaryCacheSerializer serializer = new BinaryCacheSerializer(json, 0);
+        BrandProfileResponse profile = profile("We are professional and innovative.");
+
+        Object decoded = serializer.deserialize(serializer.serialize(profile));
+
+        assertThat(decoded).isEqualTo(profile);
+        Map<String, Object> attributes = ((BrandProfileResponse) decoded).getVoiceAttributes();
+        assertThat(attributes.get("word_count")).isInstanceOf(Integer.class);
+        assertThat(attributes.get("formality")).isInstanceOf(Double.class);
+    }
+
+    @Test
+    void serialize_IsSmallerThanJsonAndHasNoClassNames() {
+        BinaryCacheSerializer serializer = new BinaryCacheSerializer(json, 0);
+        BrandProfileResponse profile = profile("We are professional and innovative.");
+
+        byte[] binary = serializer.serialize(profile);
+
+        assertThat(binary.length).isLessThan(json.serialize(profile).length * 6 / 10);
+        assertThat(new String(binary)).doesNotContain("BrandProfileResponse");
+    }
+
+    @Test
+    void serialize_CompressesLargeEntries() {
+        BinaryCacheSerializer compressed = new BinaryCacheSerializer(json, 256);
+        BinaryCacheSerializer plain = new BinaryCacheSerializer(json, 0);
+        BrandProfileResponse profile = profile("We deliver innovative enterprise solutions. ".repeat(40));
+
+        byte[] bytes = compressed.serialize(profile);
+
+        assertThat(bytes.length).isLessThan(plain.serialize(profile).length);
+        assertThat(compressed.deserialize(bytes)).isEqualTo(profile);
+    }
+
+    @Test
+    void deserialize_ReadsJsonEntriesAndTreatsUnknownVersionAsMiss() {
+        BinaryCacheSerializer serializer = new BinaryCacheSerializer(json, 0);
+        BrandProfileResponse profile = profile("We are professional and innovative.");
+
+        assertThat(serializer.deserialize(json.serialize(profile))).isEqualTo(profile);
+
+        byte[] future = serializer.serialize(profile);
+        future[0] = BinaryCacheSerializer.FORMAT_VERSION + 1;
+        assertThat(serializer.deserialize(future)).isNull();
+    }
+
+    @Test
+    void roundTrip_PreservesCachedEntryEnvelope() {
+        BinaryCacheSerializer serializer = new BinaryCacheSerializer(json, 256);
+        CachedEntry entry = new CachedEntry(profile("We are professional and innovative."), 1768473000000L);
+
+        assertThat(serializer.deserialize(serializer.serialize(entry))).isEqualTo(entry);
+    }
+
+    private BrandProfileResponse profile(String summary) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("tone", "professional");
+        attributes.put("formality", 0.75);
+        attributes.put("vocabulary_complexity", 0.42);
+        attributes.put("sentence_length", "medium");
+        attributes.put("word_count", 120);
+        attributes.put("key_phrases", List.of("innovative", "solutions", "enterprise"));
+        attributes.put("summary", summary);
+
+        return BrandProfileResponse.builder()
+                .profileId("7f1c2a9e-4b1d-4c55-9a57-0d3e3b1f2a10")
+                .customerId("customer-123")
+                .brandName("TechCorp")
+                .voiceAttributes(attributes)
+                .confidenceScore(0.85)
+                .status("active")
+                .createdAt("2026-01-15T10:30:00")
+                .version(1768473000000L)
+                .build();
+    }
+}
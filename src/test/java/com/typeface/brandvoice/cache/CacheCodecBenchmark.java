@@ -0,0 +1,76 @@
+package com.typeface.brandvoice.cache;
+
+import com.typeface.brandvoice.dto.BrandProfileResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode cost of one cached BrandProfileResponse per codec.
+ * Bytes per entry are printed once per trial.
+ *
+ * Run with: make bench BENCH=CacheCodecBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheCodecBenchmark {
+
+    @Param({"json", "binary", "binary-deflate"})
+    public String codec;
+
+    private RedisSerializer<Object> serializer;
+    private BrandProfileResponse profile;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        serializer = switch (codec) {
+            case "json" -> CacheCodec.JSON.serializer(0);
+            case "binary" -> CacheCodec.BINARY.serializer(0);
+            // Low threshold so the sample entry is actually compressed
+            default -> CacheCodec.BINARY.serializer(128);
+        };
+
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("tone", "professional");
+        attributes.put("formality", 0.75);
+        attributes.put("vocabulary_complexity", 0.42);
+        attributes.put("sentence_length", "medium");
+        attributes.put("avg_sentence_length", 17.5);
+        attributes.put("word_count", 186);
+        attributes.put("unique_words", 112);
+        attributes.put("key_phrases", List.of("innovative", "solutions", "enterprise", "strategic", "clients"));
+
+        profile = BrandProfileResponse.builder()
+                .profileId("7f1c2a9e-4b1d-4c55-9a57-0d3e3b1f2a10")
+                .customerId("customer-123")
+                .brandName("TechCorp")
+                .voiceAttributes(attributes)
+                .confidenceScore(0.85)
+                .status("active")
+                .createdAt("2026-01-15T10:30:00")
+                .version(1768473000000L)
+                .build();
+
+        encoded = serializer.serialize(profile);
+        System.out.printf("%n%s: %d bytes per entry%n", codec, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(profile);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return serializer.deserialize(encoded);
+    }
+}
@@ -0,0 +1,118 @@
+package com.typeface.brandvoice.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RefreshAheadCacheTest {
+
+    private final ConcurrentMapCache backing = new ConcurrentMapCache("brandProfiles", false);
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+
+    private RefreshAheadCache cache;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        RefreshAheadCacheManager.Settings settings = new RefreshAheadCacheManager.Settings(
+                Duration.ofSeconds(10), 0.1, 0.8, Duration.ofSeconds(10), "node-1", new SimpleMeterRegistry());
+        // Run reloads on the calling thread so the assertions see them
+        cache = new RefreshAheadCache(backing, redisTemplate, Runnable::run, settings);
+    }
+
+    @Test
+    void settings_RejectARefreshPointPastTheShortestJitteredTtl() {
+        assertThatThrownBy(() -> new RefreshAheadCacheManager.Settings(Duration.ofMinutes(30), 0.25, 0.8,
+                Duration.ofSeconds(10), "node-1", new SimpleMeterRegistry()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("refresh-ahead-fraction");
+        assertThatThrownBy(() -> new RefreshAheadCacheManager.Settings(Duration.ofMinutes(30), 0.1, 1.0,
+                Duration.ofSeconds(10), "node-1", new SimpleMeterRegistry()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void get_FreshEntryIsServedWithoutReload() {
+        cache.put("customer-123", "v1");
+
+        String value = cache.get("customer-123", () -> "v2");
+
+        assertThat(value).isEqualTo("v1");
+        verifyNoInteractions(valueOperations);
+    }
+
+    @Test
+    void get_AgedEntryServesStaleValueAndReloadsUnderLease() {
+        backing.put("customer-123", new CachedEntry("v1", System.currentTimeMillis() - 9_000));
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+
+        String value = cache.get("customer-123", () -> "v2");
+
+        assertThat(value).isEqualTo("v1");
+        assertThat(cache.get("customer-123", String.class)).isEqualTo("v2");
+    }
+
+    @Test
+    void get_AgedEntryIsNotReloadedWhenAnotherNodeHoldsTheLease() {
+        backing.put("customer-123", new CachedEntry("v1", System.currentTimeMillis() - 9_000));
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("customer-123", () -> "v" + loads.incrementAndGet());
+
+        assertThat(loads).hasValue(0);
+        assertThat(cache.get("customer-123", String.class)).isEqualTo("v1");
+    }
+
+    @Test
+    void get_ConcurrentMissesShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+
+        try {
+            Future<String> first = pool.submit(() -> cache.get("customer-123", () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                release.await();
+                return "v1";
+            }));
+            loading.await();
+
+            Future<?>[] waiters = new Future<?>[7];
+            for (int i = 0; i < waiters.length; i++) {
+                waiters[i] = pool.submit(() -> cache.get("customer-123", () -> "v" + (loads.incrementAndGet() + 1)));
+            }
+            Thread.sleep(50);
+            release.countDown();
+
+            assertThat(first.get()).isEqualTo("v1");
+            for (Future<?> waiter : waiters) {
+                assertThat(waiter.get()).isEqualTo("v1");
+            }
+            assertThat(loads).hasValue(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
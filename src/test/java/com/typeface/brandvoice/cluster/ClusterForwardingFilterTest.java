@@ -0,0 +1,203 @@
+package com.typeface.brandvoice.cluster;
+
+import com.typeface.brandvoice.service.ProfileRegistry;
+import com.typeface.brandvoice.service.ProfileResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriUtils;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ClusterForwardingFilterTest {
+
+    private static final String SELF = "http://localhost:8080";
+    private static final String OTHER = "http://localhost:8081";
+
+    private ClusterRouter router;
+    private ClusterForwardingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        router = new ClusterRouter(new StaticClusterMembership(List.of(SELF, OTHER)), SELF, 160,
+                mock(ProfileRegistry.class), mock(ProfileResponseCache.class), meterRegistry);
+        router.refresh();
+        filter = new ClusterForwardingFilter(router, WebClient.create(),
+                ClusterForwardingFilter.Mode.REDIRECT, Duration.ofSeconds(1), meterRegistry);
+    }
+
+    @Test
+    void ownedCustomer_IsServedLocallyWithTheBodyIntact() throws Exception {
+        String customerId = customerOwnedBy(SELF);
+        String body = "{\"content\":\"Our professional team delivers.\",\"meta\":{\"customerId\":\"x\"},"
+                + "\"customerId\":\"" + customerId + "\"}";
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(validateRequest(body), new MockHttpServletResponse(), chain);
+
+        HttpServletRequest served = (HttpServletRequest) chain.getRequest();
+        assertThat(served).isNotNull();
+        assertThat(StreamUtils.copyToString(served.getInputStream(), StandardCharsets.UTF_8)).isEqualTo(body);
+    }
+
+    @Test
+    void otherCustomer_IsRedirectedUnlessAlreadyForwarded() throws Exception {
+        String customerId = customerOwnedBy(OTHER);
+
+        MockHttpServletResponse redirected = new MockHttpServletResponse();
+        MockFilterChain notCalled = new MockFilterChain();
+        MockHttpServletRequest get = new MockHttpServletRequest("GET", "/api/v1/brand-voice/profiles/" + customerId);
+        filter.doFilter(get, redirected, notCalled);
+
+        assertThat(redirected.getStatus()).isEqualTo(307);
+        assertThat(redirected.getHeader("Location")).isEqualTo(OTHER + "/api/v1/brand-voice/profiles/" + customerId);
+        assertThat(notCalled.getRequest()).isNull();
+
+        // A request another instance already forwarded is served where it landed
+        MockHttpServletRequest forwarded = validateRequest("{\"customerId\":\"" + customerId + "\"}");
+        forwarded.addHeader(ClusterForwardingFilter.FORWARDED_BY_HEADER, OTHER);
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(forwarded, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    void corpusUpload_IsStreamedToTheOwnerEvenInRedirectMode() throws Exception {
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+        AtomicReference<byte[]> sentBody = new AtomicReference<>();
+        WebClient owner = WebClient.builder()
+                .exchangeFunction(request -> {
+                    sent.set(request);
+                    MockClientHttpRequest http = new MockClientHttpRequest(request.method(), request.url());
+                    return request.body().insert(http, new BodyInserter.Context() {
+                                @Override
+                                public List<HttpMessageWriter<?>> messageWriters() {
+                                    return ExchangeStrategies.withDefaults().messageWriters();
+                                }
+
+                                @Override
+                                public Optional<ServerHttpRequest> serverRequest() {
+                                    return Optional.empty();
+                                }
+
+                                @Override
+                                public Map<String, Object> hints() {
+                                    return Map.of();
+                                }
+                            })
+                            .then(Mono.defer(() -> DataBufferUtils.join(http.getBody())))
+                            .map(joined -> {
+                                byte[] bytes = new byte[joined.readableByteCount()];
+                                joined.read(bytes);
+                                sentBody.set(bytes);
+                                return ClientResponse.create(HttpStatus.CREATED).build();
+                            });
+                })
+                .build();
+        ClusterForwardingFilter redirecting = new ClusterForwardingFilter(router, owner,
+                ClusterForwardingFilter.Mode.REDIRECT, Duration.ofSeconds(1), new SimpleMeterRegistry());
+        String customerId = customerOwnedBy(OTHER);
+
+        MockHttpServletRequest upload = new MockHttpServletRequest("POST", "/api/v1/brand-voice/profiles/corpus");
+        upload.setQueryString("customerId=" + customerId + "&brandName=Acme%20Corp");
+        upload.setContentType("application/gzip");
+        upload.setContent(new byte[]{0x1f, (byte) 0x8b, 8, 0});
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        redirecting.doFilter(upload, response, new MockFilterChain());
+
+        // No internal instance URL reaches the client
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(response.getHeader("Location")).isNull();
+        assertThat(sent.get().url().toString()).isEqualTo(OTHER + "/api/v1/brand-voice/profiles/corpus?"
+                + "customerId=" + customerId + "&brandName=Acme%20Corp");
+        assertThat(sentBody.get()).containsExactly(0x1f, 0x8b, 8, 0);
+    }
+
+    @Test
+    void pathCustomerId_IsDecodedBeforeRouting() throws Exception {
+        String customerId = IntStream.range(0, 1_000)
+                .mapToObj(i -> "Acme Café " + i)
+                .filter(id -> router.ownerOf(id).equals(OTHER))
+                .findFirst()
+                .orElseThrow();
+        MockHttpServletRequest get = new MockHttpServletRequest("GET", "/api/v1/brand-voice/profiles/"
+                + UriUtils.encodePathSegment(customerId, StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(get, response, new MockFilterChain());
+
+        assertThat(response.getHeader(ClusterForwardingFilter.OWNER_HEADER)).isEqualTo(OTHER);
+    }
+
+    @Test
+    void forwardedCreate_KeepsPreferSoTheOwnerCanAnswerAsynchronously() throws Exception {
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+        WebClient owner = WebClient.builder()
+                .exchangeFunction(request -> {
+                    sent.set(request);
+                    return Mono.just(ClientResponse.create(HttpStatus.ACCEPTED)
+                            .header("Preference-Applied", "respond-async")
+                            .build());
+                })
+                .build();
+        ClusterForwardingFilter forwarding = new ClusterForwardingFilter(router, owner,
+                ClusterForwardingFilter.Mode.FORWARD, Duration.ofSeconds(1), new SimpleMeterRegistry());
+
+        MockHttpServletRequest create = new MockHttpServletRequest("POST", "/api/v1/brand-voice/profiles");
+        create.setContentType("application/json");
+        create.setContent(("{\"customerId\":\"" + customerOwnedBy(OTHER) + "\"}").getBytes(StandardCharsets.UTF_8));
+        create.addHeader("Prefer", "respond-async");
+        create.addHeader("Idempotency-Key", "key-1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        forwarding.doFilter(create, response, new MockFilterChain());
+
+        assertThat(sent.get().headers().getFirst("Prefer")).isEqualTo("respond-async");
+        assertThat(sent.get().headers().getFirst("Idempotency-Key")).isEqualTo("key-1");
+        assertThat(response.getStatus()).isEqualTo(202);
+        assertThat(response.getHeader("Preference-Applied")).isEqualTo("respond-async");
+    }
+
+    private String customerOwnedBy(String member) {
+        return IntStream.range(0, 1_000)
+                .mapToObj(i -> "cust_" + i)
+                .filter(id -> router.ownerOf(id).equals(member))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static MockHttpServletRequest validateRequest(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/brand-voice/validate");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
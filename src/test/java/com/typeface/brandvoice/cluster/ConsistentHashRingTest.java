@@ -0,0 +1,51 @@
+package com.typeface.brandvoice.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 100_000;
+
+    @Test
+    void owner_SpreadsCustomersEvenly() {
+        List<String> members = List.of("http://localhost:8080", "http://localhost:8081",
+                "http://localhost:8082", "http://localhost:8083", "http://localhost:8084");
+        ConsistentHashRing ring = new ConsistentHashRing(members, 160);
+
+        Map<String, Integer> owned = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            owned.merge(ring.owner("cust_" + i), 1, Integer::sum);
+        }
+
+        assertThat(owned).containsOnlyKeys(members);
+        owned.values().forEach(count -> assertThat(count).isBetween(KEYS / 5 * 3 / 4, KEYS / 5 * 5 / 4));
+    }
+
+    @Test
+    void addingAMember_OnlyMovesCustomersToIt() {
+        ConsistentHashRing before = new ConsistentHashRing(
+                List.of("http://localhost:8080", "http://localhost:8081", "http://localhost:8082"), 160);
+        // Same members in another order build the same ring
+        ConsistentHashRing after = new ConsistentHashRing(
+                List.of("http://localhost:8083", "http://localhost:8082", "http://localhost:8081",
+                        "http://localhost:8080"), 160);
+
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String customerId = "cust_" + i;
+            String owner = after.owner(customerId);
+            if (!owner.equals(before.owner(customerId))) {
+                assertThat(owner).isEqualTo("http://localhost:8083");
+                moved++;
+            }
+        }
+
+        assertThat(moved).isBetween(KEYS / 4 * 3 / 4, KEYS / 4 * 5 / 4);
+    }
+}
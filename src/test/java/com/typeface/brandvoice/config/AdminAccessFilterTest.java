@@ -0,0 +1,48 @@
+package com.typeface.brandvoice.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdminAccessFilterTest {
+
+    private static final List<String> PATHS = AdminAccessConfig.ADMIN_PATHS;
+
+    @Test
+    void adminPaths_RequireTheBearerToken() throws Exception {
+        AdminAccessFilter filter = new AdminAccessFilter("s3cret", PATHS);
+
+        assertThat(status(filter, "/api/v1/brand-voice/export/profiles", null)).isEqualTo(401);
+        assertThat(status(filter, "/api/v1/brand-voice/export/profiles", "Bearer wrong")).isEqualTo(401);
+        assertThat(status(filter, "/api/v1/brand-voice/export/profiles", "s3cret")).isEqualTo(401);
+        assertThat(status(filter, "/api/v1/brand-voice/export/validations", "Bearer s3cret")).isEqualTo(200);
+        assertThat(status(filter, "/api/v1/brand-voice/profiles/cust_1/similar", null)).isEqualTo(401);
+        assertThat(status(filter, "/api/v1/brand-voice/profiles/cust_1/similar", "Bearer s3cret")).isEqualTo(200);
+
+        // Everything else is untouched
+        assertThat(status(filter, "/api/v1/brand-voice/profiles/cust_1", null)).isEqualTo(200);
+    }
+
+    @Test
+    void adminPaths_AreNotFoundWithoutAConfiguredToken() throws Exception {
+        AdminAccessFilter filter = new AdminAccessFilter("", PATHS);
+
+        assertThat(status(filter, "/api/v1/brand-voice/export/profiles", "Bearer ")).isEqualTo(404);
+        assertThat(status(filter, "/api/v1/brand-voice/validate", null)).isEqualTo(200);
+    }
+
+    private static int status(AdminAccessFilter filter, String path, String authorization) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,66 @@
+package com.typeface.brandvoice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ReplicaRoutingDataSource(pool("primary"), List.of(pool("replica")),
+                Duration.ofSeconds(5), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        dataSource.close();
+    }
+
+    @Test
+    void readOnlyTransactions_GoToTheReplica_EverythingElseToThePrimary() throws Exception {
+        assertThat(catalog()).isEqualTo("PRIMARY");
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(catalog()).isEqualTo("REPLICA");
+    }
+
+    @Test
+    void perCallCredentials_AreDelegatedToTheRoutedPool() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Hikari pools do not take per-call credentials; the replica must stay in rotation regardless
+        assertThatThrownBy(() -> dataSource.getConnection("sa", ""))
+                .isInstanceOf(SQLFeatureNotSupportedException.class);
+        assertThat(dataSource.healthyReplicaCount()).isEqualTo(1);
+    }
+
+    private String catalog() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getCatalog();
+        }
+    }
+
+    private static HikariDataSource pool(String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        pool.setUsername("sa");
+        pool.setMaximumPoolSize(1);
+        return pool;
+    }
+}
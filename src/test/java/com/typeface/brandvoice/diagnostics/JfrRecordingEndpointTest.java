@@ -0,0 +1,74 @@
+package com.typeface.brandvoice.diagnostics;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JfrRecordingEndpointTest {
+
+    private final JfrRecordingEndpoint endpoint = new JfrRecordingEndpoint(
+            Duration.ofMinutes(1), Duration.ofMinutes(5), DataSize.ofMegabytes(8),
+            Duration.ofMillis(1), Duration.ofMillis(20), Duration.ofMillis(1), Duration.ofMillis(1));
+
+    @AfterEach
+    void tearDown() {
+        endpoint.close();
+    }
+
+    @Test
+    void dumpContainsStageEventsAboveThreshold() throws Exception {
+        WebEndpointResponse<Map<String, Object>> started = endpoint.start(null, null, Duration.ZERO);
+        assertThat(started.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        long id = (Long) started.getBody().get("id");
+
+        ScoringEvent scoring = new ScoringEvent();
+        scoring.begin();
+        scoring.consistencyScore = 87.5;
+        scoring.finish(BrandVoiceEvent.VALIDATE, "customer-1", 240, "on_brand");
+
+        WebEndpointResponse<Resource> dump = endpoint.dump(id);
+        assertThat(dump.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+
+        Path file = Files.createTempFile("jfr-test-", ".jfr");
+        try {
+            Files.write(file, dump.getBody().getContentAsByteArray());
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals(ScoringEvent.NAME))
+                    .toList();
+
+            assertThat(events).hasSize(1);
+            RecordedEvent event = events.get(0);
+            assertThat(event.getString("operation")).isEqualTo("validate");
+            assertThat(event.getString("customerId")).isEqualTo("customer-1");
+            assertThat(event.getLong("contentLength")).isEqualTo(240);
+            assertThat(event.getString("outcome")).isEqualTo("on_brand");
+            assertThat(event.getDouble("consistencyScore")).isEqualTo(87.5);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void rejectsUnknownSettingsAndCapsDuration() {
+        assertThat(endpoint.start(null, "everything", null).getStatus())
+                .isEqualTo(WebEndpointResponse.STATUS_BAD_REQUEST);
+
+        WebEndpointResponse<Map<String, Object>> started = endpoint.start(Duration.ofHours(1), null, null);
+        assertThat(started.getBody()).containsEntry("duration", "PT5M");
+
+        endpoint.close();
+        assertThat(endpoint.status().getStatus()).isEqualTo(WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+}
@@ -0,0 +1,119 @@
+package com.typeface.brandvoice.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.typeface.brandvoice.repository.ExportRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JMH benchmark for the bulk profile export: a full pass over a synthetic
+ * table of 100k profiles (about 5KB of NDJSON each) in an on-disk H2 database,
+ * through the same chunked, optionally gzipped stream as ExportService.
+ *
+ * The fork runs with a 128MB heap, a fraction of the exported bytes, so it
+ * only completes if memory stays flat as rows stream through. (H2 spools
+ * large results to disk where PostgreSQL would use the cursor.)
+ *
+ * Run with: make bench BENCH=ExportBenchmark
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector", "-Xmx128m"})
+@State(Scope.Benchmark)
+public class ExportBenchmark {
+
+    private static final int PROFILES = 100_000;
+
+    @Param({"ndjson", "csv"})
+    public String format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private Path directory;
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private ExportRepository repository;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private long exportedBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("export-bench");
+        dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:file:" + directory.resolve("db") + ";MODE=PostgreSQL", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        ExportWriterTest.createTables(jdbcTemplate);
+
+        // 256 float32 stylometric dimensions and a sample of about 1.5KB per profile
+        jdbcTemplate.update("""
+                INSERT INTO brand_profiles
+                    (id, customer_id, brand_name, voice_attributes, sample_content, confidence_score,
+                     stylometric_vector, scoring_rules, created_at, updated_at, active, version)
+                SELECT RANDOM_UUID(), 'cust_' || X, 'Brand, "' || X || '"',
+                       '{"tone":"professional","formality":0.8,"key_phrases":["innovative","customer-first"]}',
+                       REPEAT('We build reliable tools for teams, "fast".' || CHAR(10), 36),
+                       0.85, SECURE_RAND(1024), NULL, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, TRUE, X
+                FROM SYSTEM_RANGE(1, ?)
+                """, PROFILES);
+
+        repository = new ExportRepository(dataSource, 1000);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        System.out.printf("%nExported %d rows as %d bytes%n", PROFILES, exportedBytes);
+        dataSource.destroy();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public long exportProfiles() throws IOException {
+        CountingOutputStream response = new CountingOutputStream();
+        BufferedOutputStream chunks = new BufferedOutputStream(response, ExportService.CHUNK_BYTES);
+        GZIPOutputStream compressed = gzip ? ExportService.gzip(chunks) : null;
+
+        ExportWriter writer = ExportWriter.create(ExportFormat.parse(format), ExportRepository.PROFILE_COLUMNS,
+                compressed != null ? compressed : chunks, objectMapper.getFactory());
+        repository.streamProfiles(writer);
+        writer.finish();
+        if (compressed != null) {
+            compressed.finish();
+        }
+        chunks.flush();
+
+        if (writer.rows() != PROFILES) {
+            throw new IllegalStateException("Exported " + writer.rows() + " of " + PROFILES + " rows");
+        }
+        exportedBytes = response.bytes;
+        return response.bytes;
+    }
+
+    // Stands in for the servlet output stream
+    private static final class CountingOutputStream extends OutputStream {
+
+        long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
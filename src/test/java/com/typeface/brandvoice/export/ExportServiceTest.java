@@ -0,0 +1,83 @@
+package com.typeface.brandvoice.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.typeface.brandvoice.exception.AdmissionRejectedException;
+import com.typeface.brandvoice.repository.ExportRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class ExportServiceTest {
+
+    private final ExportService exportService = new ExportService(
+            mock(ExportRepository.class), new ObjectMapper(), new SimpleMeterRegistry(), 1);
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void permit_IsReleasedWhenTheRequestCompletes_EvenIfTheBodyNeverRan() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+
+        StreamingResponseBody body = exportService.exportProfiles(ExportFormat.NDJSON, false);
+        assertRejected();
+
+        // The async executor refuses the body, so it never writes and never releases itself
+        AsyncTaskExecutor executor = mock(AsyncTaskExecutor.class);
+        doThrow(new TaskRejectedException("full")).when(executor).submit(any(Runnable.class));
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+        asyncManager.setAsyncWebRequest(new StandardServletAsyncWebRequest(request, response));
+        asyncManager.setTaskExecutor(executor);
+        asyncManager.startCallableProcessing((Callable<Void>) () -> {
+            body.writeTo(new ByteArrayOutputStream());
+            return null;
+        });
+        assertRejected();
+
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+
+        RequestContextHolder.resetRequestAttributes();
+        exportService.exportProfiles(ExportFormat.NDJSON, false);
+    }
+
+    @Test
+    void permit_IsReleasedOnceByTheBody() throws Exception {
+        StreamingResponseBody body = exportService.exportProfiles(ExportFormat.NDJSON, false);
+        assertRejected();
+
+        body.writeTo(new ByteArrayOutputStream());
+        body.writeTo(new ByteArrayOutputStream());
+
+        exportService.exportProfiles(ExportFormat.NDJSON, false);
+        assertRejected();
+    }
+
+    private void assertRejected() {
+        assertThatThrownBy(() -> exportService.exportProfiles(ExportFormat.NDJSON, false))
+                .isInstanceOf(AdmissionRejectedException.class);
+    }
+}
@@ -0,0 +1,187 @@
+package com.typeface.brandvoice.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.typeface.brandvoice.model.FloatArrayConverter;
+import com.typeface.brandvoice.repository.ExportRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExportWriterTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private ExportRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:export;MODE=PostgreSQL", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        createTables(jdbcTemplate);
+        repository = new ExportRepository(dataSource, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        dataSource.destroy();
+    }
+
+    @Test
+    void ndjson_WritesOneObjectPerLine_KeepingJsonTypes() throws IOException {
+        insertProfile("cust_1", "Acme", "{\"tone\":\"playful\",\"formality\":0.3}", "Hi there",
+                new float[]{0.5f, -1.25f}, "{\"verdicts\":{\"onBrand\":85}}");
+        insertProfile("cust_2", "Globex", "{}", null, null, null);
+
+        String ndjson = export(ExportFormat.NDJSON, ExportRepository.PROFILE_COLUMNS, repository::streamProfiles);
+        String[] lines = ndjson.split("\n", -1);
+
+        assertThat(lines).hasSize(3);
+        assertThat(lines[2]).isEmpty();
+
+        JsonNode first = MAPPER.readTree(lines[0]);
+        assertThat(first.fieldNames()).toIterable().containsExactlyElementsOf(
+                ExportRepository.PROFILE_COLUMNS.stream().map(ExportRepository.Column::name).toList());
+        assertThat(first.get("customer_id").asText()).isEqualTo("cust_1");
+        assertThat(first.get("voice_attributes").get("tone").asText()).isEqualTo("playful");
+        assertThat(first.get("stylometric_vector").get(1).floatValue()).isEqualTo(-1.25f);
+        assertThat(first.get("scoring_rules").get("verdicts").get("onBrand").asInt()).isEqualTo(85);
+        assertThat(first.get("confidence_score").decimalValue()).isEqualByComparingTo("0.85");
+        assertThat(first.get("active").asBoolean()).isTrue();
+        assertThat(first.get("version").isIntegralNumber()).isTrue();
+        assertThat(first.get("created_at").asText()).isEqualTo("2026-03-01T10:15");
+
+        JsonNode second = MAPPER.readTree(lines[1]);
+        assertThat(second.get("sample_content").isNull()).isTrue();
+        assertThat(second.get("stylometric_vector").isNull()).isTrue();
+        assertThat(second.get("scoring_rules").isNull()).isTrue();
+    }
+
+    @Test
+    void csv_QuotesSpecialCharacters_AndTellsNullFromEmpty() throws IOException {
+        insertProfile("cust_1", "Acme, \"Inc\"", "{\"tone\":\"casual\"}", "line one\r\nline two",
+                new float[]{1.0f}, null);
+        insertProfile("cust_2", "Globex", "{}", "", null, null);
+
+        String csv = export(ExportFormat.CSV, ExportRepository.PROFILE_COLUMNS, repository::streamProfiles);
+
+        assertThat(csv).startsWith("id,customer_id,brand_name,voice_attributes,sample_content,confidence_score,"
+                + "stylometric_vector,scoring_rules,created_at,updated_at,active,status,version\r\n");
+        assertThat(csv).contains(",cust_1,\"Acme, \"\"Inc\"\"\",\"{\"\"tone\"\":\"\"casual\"\"}\","
+                + "\"line one\r\nline two\",0.85,[1.0],,2026-03-01T10:15,2026-03-01T10:15,true,ACTIVE,0\r\n");
+        assertThat(csv).contains(",cust_2,Globex,{},\"\",0.85,,,");
+        assertThat(csv).endsWith(",true,ACTIVE,0\r\n");
+    }
+
+    @Test
+    void validations_AreLimitedToTheRangeAndCustomer() throws IOException {
+        Instant t0 = Instant.parse("2026-03-01T10:00:00Z");
+        insertValidation("cust_1", t0.minusSeconds(1), 50.0);
+        insertValidation("cust_1", t0, 75.5);
+        insertValidation("cust_2", t0.plusSeconds(60), 90.0);
+        insertValidation("cust_1", t0.plusSeconds(3600), 60.0);
+
+        String ndjson = export(ExportFormat.NDJSON, ExportRepository.VALIDATION_COLUMNS, handler ->
+                repository.streamValidations(t0, t0.plusSeconds(3600), "cust_1", handler));
+
+        assertThat(ndjson.lines()).hasSize(1);
+        JsonNode row = MAPPER.readTree(ndjson.lines().findFirst().orElseThrow());
+        assertThat(row.get("validated_at").asText()).isEqualTo("2026-03-01T10:00:00Z");
+        assertThat(row.get("consistency_score").asDouble()).isEqualTo(75.5);
+        assertThat(row.get("detailed_scores").get("tone").asDouble()).isEqualTo(75.5);
+        assertThat(row.get("content_hash").asText()).isEqualTo("00ff".repeat(16));
+        assertThat(row.get("profile_version").isNull()).isTrue();
+
+        String all = export(ExportFormat.CSV, ExportRepository.VALIDATION_COLUMNS, handler ->
+                repository.streamValidations(t0, t0.plusSeconds(3600), null, handler));
+        assertThat(all.split("\r\n")).hasSize(3);
+    }
+
+    private static String export(ExportFormat format,
+                                 List<ExportRepository.Column> columns,
+                                 Consumer<RowCallbackHandler> query) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportWriter writer = ExportWriter.create(format, columns, out, MAPPER.getFactory());
+        query.accept(writer);
+        writer.finish();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private void insertProfile(String customerId, String brandName, String voiceAttributes, String sampleContent,
+                               float[] vector, String scoringRules) {
+        insertProfile(jdbcTemplate, customerId, brandName, voiceAttributes, sampleContent, vector, scoringRules);
+    }
+
+    private void insertValidation(String customerId, Instant at, double score) {
+        byte[] hash = new byte[32];
+        for (int i = 1; i < hash.length; i += 2) hash[i] = (byte) 0xff;
+        jdbcTemplate.update("""
+                        INSERT INTO validation_results
+                            (customer_id, validated_at, consistency_score, verdict, detailed_scores, profile_version, content_hash)
+                        VALUES (?, ?, ?, 'on_brand', ?, NULL, ?)
+                        """,
+                customerId, at.atOffset(ZoneOffset.UTC), score, "{\"tone\":" + score + "}", hash);
+    }
+
+    static void createTables(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("""
+                CREATE TABLE brand_profiles (
+                    id VARCHAR(36) PRIMARY KEY,
+                    customer_id VARCHAR(255) NOT NULL,
+                    brand_name VARCHAR(255) NOT NULL,
+                    voice_attributes VARCHAR NOT NULL,
+                    sample_content VARCHAR,
+                    confidence_score DECIMAL(3, 2),
+                    stylometric_vector VARBINARY,
+                    scoring_rules VARCHAR,
+                    created_at TIMESTAMP,
+                    updated_at TIMESTAMP,
+                    active BOOLEAN,
+                    status VARCHAR(16) NOT NULL DEFAULT 'ACTIVE',
+                    version BIGINT NOT NULL DEFAULT 0
+                )
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE validation_results (
+                    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    customer_id VARCHAR(255) NOT NULL,
+                    validated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                    consistency_score DOUBLE PRECISION NOT NULL,
+                    verdict VARCHAR(32) NOT NULL,
+                    detailed_scores VARCHAR NOT NULL,
+                    profile_version BIGINT,
+                    content_hash VARBINARY NOT NULL
+                )
+                """);
+    }
+
+    static void insertProfile(JdbcTemplate jdbcTemplate, String customerId, String brandName, String voiceAttributes,
+                              String sampleContent, float[] vector, String scoringRules) {
+        Timestamp createdAt = Timestamp.valueOf("2026-03-01 10:15:00");
+        jdbcTemplate.update("""
+                        INSERT INTO brand_profiles
+                            (id, customer_id, brand_name, voice_attributes, sample_content, confidence_score,
+                             stylometric_vector, scoring_rules, created_at, updated_at, active, version)
+                        VALUES (RANDOM_UUID(), ?, ?, ?, ?, 0.85, ?, ?, ?, ?, TRUE, 0)
+                        """,
+                customerId, brandName, voiceAttributes, sampleContent,
+                new FloatArrayConverter().convertToDatabaseColumn(vector), scoringRules, createdAt, createdAt);
+    }
+}
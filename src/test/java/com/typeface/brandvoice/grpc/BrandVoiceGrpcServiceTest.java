@@ -0,0 +1,158 @@
+package com.typeface.brandvoice.grpc;
+
+import com.typeface.brandvoice.dto.ContentValidationResponse;
+import com.typeface.brandvoice.dto.ValidateContentRequest;
+import com.typeface.brandvoice.grpc.v1.BrandVoiceValidationGrpc;
+import com.typeface.brandvoice.grpc.v1.ValidateRequest;
+import com.typeface.brandvoice.grpc.v1.ValidateResponse;
+import com.typeface.brandvoice.service.AdmissionControlService;
+import com.typeface.brandvoice.service.BrandVoiceService;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BrandVoiceGrpcServiceTest {
+
+    private static final String CONTENT = "Our professional team delivers innovative solutions.";
+
+    private final BrandVoiceService brandVoiceService = mock(BrandVoiceService.class);
+    private final AdmissionControlService admissionControl = mock(AdmissionControlService.class);
+
+    private BrandVoiceGrpcService service;
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = new BrandVoiceGrpcService(brandVoiceService, admissionControl);
+        ReflectionTestUtils.setField(service, "maxInFlightPerStream", 2);
+        ReflectionTestUtils.setField(service, "workerThreads", 4);
+        service.startExecutor();
+
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name).directExecutor().addService(service).build().start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        service.stopExecutor();
+    }
+
+    @Test
+    void validate_ReturnsTheScoredResponse() {
+        when(brandVoiceService.validateContent(any())).thenReturn(result("cust_1"));
+
+        ValidateResponse response = BrandVoiceValidationGrpc.newBlockingStub(channel)
+                .validate(request("cust_1", "req-1"));
+
+        assertThat(response.getCustomerId()).isEqualTo("cust_1");
+        assertThat(response.getRequestId()).isEqualTo("req-1");
+        assertThat(response.getConsistencyScore()).isEqualTo(82.0);
+        assertThat(response.getVerdict()).isEqualTo("on_brand");
+    }
+
+    @Test
+    void validate_MapsMissingAndNotReadyProfilesToStatusCodes() {
+        when(brandVoiceService.validateContent(any()))
+                .thenThrow(new NoSuchElementException("Brand profile not found"))
+                .thenThrow(new IllegalStateException("Brand profile is not ready"));
+        BrandVoiceValidationGrpc.BrandVoiceValidationBlockingStub stub =
+                BrandVoiceValidationGrpc.newBlockingStub(channel);
+
+        assertThatThrownBy(() -> stub.validate(request("cust_1", "req-1")))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.NOT_FOUND));
+        assertThatThrownBy(() -> stub.validate(request("cust_1", "req-2")))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.FAILED_PRECONDITION));
+    }
+
+    @Test
+    void validateStream_BoundsInFlightItemsAndCompletesAfterTheLastResponse() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger started = new AtomicInteger();
+        when(brandVoiceService.validateContent(any())).thenAnswer(invocation -> {
+            started.incrementAndGet();
+            release.await(10, TimeUnit.SECONDS);
+            return result(invocation.<ValidateContentRequest>getArgument(0).getCustomerId());
+        });
+
+        List<ValidateResponse> responses = new CopyOnWriteArrayList<>();
+        CountDownLatch completed = new CountDownLatch(1);
+        StreamObserver<ValidateRequest> requests = BrandVoiceValidationGrpc.newStub(channel)
+                .validateStream(new StreamObserver<>() {
+                    @Override
+                    public void onNext(ValidateResponse response) {
+                        responses.add(response);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        completed.countDown();
+                    }
+                });
+
+        for (int i = 0; i < 5; i++) {
+            requests.onNext(request("cust_" + i, "req-" + i));
+        }
+        requests.onCompleted();
+
+        // Only maxInFlightPerStream items are requested from the transport until a response goes out
+        Thread.sleep(200);
+        assertThat(started.get()).isEqualTo(2);
+        assertThat(completed.getCount()).isEqualTo(1);
+
+        release.countDown();
+
+        assertThat(completed.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(responses).extracting(ValidateResponse::getRequestId)
+                .containsExactlyInAnyOrder("req-0", "req-1", "req-2", "req-3", "req-4");
+    }
+
+    private static ValidateRequest request(String customerId, String requestId) {
+        return ValidateRequest.newBuilder()
+                .setCustomerId(customerId)
+                .setRequestId(requestId)
+                .setContent(CONTENT)
+                .build();
+    }
+
+    private static ContentValidationResponse result(String customerId) {
+        return ContentValidationResponse.builder()
+                .customerId(customerId)
+                .consistencyScore(82.0)
+                .verdict("on_brand")
+                .issues(List.of())
+                .detailedScores(Map.of("tone", 80.0))
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.typeface.brandvoice.grpc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.typeface.brandvoice.dto.ContentValidationResponse;
+import com.typeface.brandvoice.dto.ValidateContentRequest;
+import com.typeface.brandvoice.grpc.v1.ValidateRequest;
+import com.typeface.brandvoice.grpc.v1.ValidateResponse;
+import com.typeface.brandvoice.grpc.v1.ValidationIssue;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode + decode cost of one validation round trip: Jackson DTOs (REST) vs. protobuf (gRPC).
+ * Runs standalone; see ValidationTransportBenchmark for end-to-end numbers.
+ *
+ * Run with: make bench BENCH=ValidationCodecBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationCodecBenchmark {
+
+    private static final String CONTENT = "Our professional team delivers innovative enterprise " +
+            "solutions with strategic focus and excellence. ".repeat(8);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ValidateContentRequest jsonRequest;
+    private ContentValidationResponse jsonResponse;
+    private ValidateRequest protoRequest;
+    private ValidateResponse protoResponse;
+
+    @Setup
+    public void setUp() {
+        Map<String, Double> scores = Map.of("tone", 100.0, "formality", 92.5,
+                "vocabulary", 88.0, "sentence_structure", 70.0, "stylometry", 64.2);
+
+        jsonRequest = ValidateContentRequest.builder()
+                .customerId("customer-123").content(CONTENT).contentType("email").build();
+        jsonResponse = ContentValidationResponse.builder()
+                .customerId("customer-123").consistencyScore(82.9).verdict("on_brand")
+                .issues(List.of(com.typeface.brandvoice.dto.ValidationIssue.builder()
+                        .type("stylometry").severity("medium")
+                        .description("The stylometry doesn't match your brand voice")
+                        .suggestion("Match the word choice, rhythm and punctuation of your sample content")
+                        .build()))
+                .detailedScores(scores).processingTimeMs(12L).build();
+
+        protoRequest = ValidateRequest.newBuilder()
+                .setCustomerId("customer-123").setContent(CONTENT).setContentType("email").build();
+        protoResponse = ValidateResponse.newBuilder()
+                .setCustomerId("customer-123").setConsistencyScore(82.9).setVerdict("on_brand")
+                .addIssues(ValidationIssue.newBuilder()
+                        .setType("stylometry").setSeverity("medium")
+                        .setDescription("The stylometry doesn't match your brand voice")
+                        .setSuggestion("Match the word choice, rhythm and punctuation of your sample content"))
+                .putAllDetailedScores(scores).setProcessingTimeMs(12L).build();
+    }
+
+    @Benchmark
+    public Object jackson() throws Exception {
+        byte[] request = objectMapper.writeValueAsBytes(jsonRequest);
+        objectMapper.readValue(request, ValidateContentRequest.class);
+        byte[] response = objectMapper.writeValueAsBytes(jsonResponse);
+        return objectMapper.readValue(response, ContentValidationResponse.class);
+    }
+
+    @Benchmark
+    public Object protobuf() throws Exception {
+        byte[] request = protoRequest.toByteArray();
+        ValidateRequest.parseFrom(request);
+        byte[] response = protoResponse.toByteArray();
+        return ValidateResponse.parseFrom(response);
+    }
+}
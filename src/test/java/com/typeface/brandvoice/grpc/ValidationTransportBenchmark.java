@@ -0,0 +1,76 @@
+package com.typeface.brandvoice.grpc;
+
+import com.typeface.brandvoice.grpc.v1.BrandVoiceValidationGrpc;
+import com.typeface.brandvoice.grpc.v1.ValidateRequest;
+import io.grpc.ManagedChannel;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end /validate throughput: REST (JSON over HTTP/1.1) vs. gRPC unary over one HTTP/2 connection.
+ *
+ * Needs a running service with a profile for bench.customer-id:
+ *   make bench BENCH="ValidationTransportBenchmark -jvmArgs '-Dbench.rest-url=http://localhost:8080 -Dbench.grpc-target=localhost:9090'"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(16)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationTransportBenchmark {
+
+    private static final String CONTENT = "Our professional team delivers innovative enterprise " +
+            "solutions with strategic focus and excellence.";
+
+    private HttpClient httpClient;
+    private URI validateUri;
+    private String jsonBody;
+
+    private ManagedChannel channel;
+    private BrandVoiceValidationGrpc.BrandVoiceValidationBlockingStub stub;
+    private ValidateRequest grpcRequest;
+
+    @Setup
+    public void setUp() {
+        String customerId = System.getProperty("bench.customer-id", "bench-customer");
+
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        validateUri = URI.create(System.getProperty("bench.rest-url", "http://localhost:8080")
+                + "/api/v1/brand-voice/validate");
+        jsonBody = "{\"customerId\":\"" + customerId + "\",\"content\":\"" + CONTENT + "\",\"contentType\":\"email\"}";
+
+        channel = NettyChannelBuilder.forTarget(System.getProperty("bench.grpc-target", "localhost:9090"))
+                .usePlaintext()
+                .build();
+        stub = BrandVoiceValidationGrpc.newBlockingStub(channel);
+        grpcRequest = ValidateRequest.newBuilder()
+                .setCustomerId(customerId).setContent(CONTENT).setContentType("email").build();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        channel.shutdown().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public Object rest() throws Exception {
+        return httpClient.send(HttpRequest.newBuilder(validateUri)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+
+    @Benchmark
+    public Object grpc() {
+        return stub.validate(grpcRequest);
+    }
+}
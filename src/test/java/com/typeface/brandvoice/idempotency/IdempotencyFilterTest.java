@@ -0,0 +1,168 @@
+package com.typeface.brandvoice.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"customerId\":\"cust_1\",\"content\":\"Our professional team delivers.\"}";
+
+    private final AtomicInteger executions = new AtomicInteger();
+    private IdempotencyStore store;
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        store = new IdempotencyStore(null, new ObjectMapper(), Duration.ofMinutes(1), Duration.ofSeconds(5),
+                Duration.ofMinutes(1), 100);
+        filter = new IdempotencyFilter(store, 1024 * 1024, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void retry_ReplaysTheStoredResponseAndReusedKeyIsRejected() throws Exception {
+        FilterChain chain = validation(null);
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(request("key-1", BODY), first, chain);
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        filter.doFilter(request("key-1", BODY), retry, chain);
+
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(retry.getStatus()).isEqualTo(200);
+        assertThat(retry.getContentAsByteArray()).isEqualTo(first.getContentAsByteArray());
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(first.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+
+        MockHttpServletResponse reused = new MockHttpServletResponse();
+        filter.doFilter(request("key-1", BODY.replace("professional", "casual")), reused, chain);
+        assertThat(reused.getStatus()).isEqualTo(422);
+
+        // Requests without a key are untouched
+        filter.doFilter(request(null, BODY), new MockHttpServletResponse(), chain);
+        filter.doFilter(request(null, BODY), new MockHttpServletResponse(), chain);
+        assertThat(executions.get()).isEqualTo(3);
+    }
+
+    @Test
+    void sameKey_FromAnotherCustomer_RunsOnItsOwn() throws Exception {
+        FilterChain chain = validation(null);
+
+        filter.doFilter(request("key-5", BODY), new MockHttpServletResponse(), chain);
+        MockHttpServletResponse other = new MockHttpServletResponse();
+        filter.doFilter(request("key-5", BODY.replace("cust_1", "cust_2")), other, chain);
+
+        assertThat(executions.get()).isEqualTo(2);
+        assertThat(other.getStatus()).isEqualTo(200);
+        assertThat(other.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(other.getContentAsString()).isEqualTo("{\"execution\":2}");
+    }
+
+    @Test
+    void reusedKey_WithADifferentPreference_IsRejected() throws Exception {
+        FilterChain chain = validation(null);
+
+        filter.doFilter(request("key-4", BODY), new MockHttpServletResponse(), chain);
+        MockHttpServletRequest async = request("key-4", BODY);
+        async.addHeader("Prefer", "respond-async");
+        MockHttpServletResponse reused = new MockHttpServletResponse();
+        filter.doFilter(async, reused, chain);
+
+        assertThat(reused.getStatus()).isEqualTo(422);
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentDuplicate_WaitsForTheFirstExecution() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain chain = validation(release);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            MockHttpServletResponse first = new MockHttpServletResponse();
+            MockHttpServletResponse duplicate = new MockHttpServletResponse();
+            Future<?> firstDone = executor.submit(() -> run(request("key-2", BODY), first, chain));
+            while (executions.get() == 0) {
+                Thread.onSpinWait();
+            }
+            Future<?> duplicateDone = executor.submit(() -> run(request("key-2", BODY), duplicate, chain));
+
+            Thread.sleep(100);
+            assertThat(duplicateDone).isNotDone();
+
+            release.countDown();
+            firstDone.get(5, TimeUnit.SECONDS);
+            duplicateDone.get(5, TimeUnit.SECONDS);
+
+            assertThat(executions.get()).isEqualTo(1);
+            assertThat(duplicate.getContentAsString()).isEqualTo(first.getContentAsString());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void serverError_IsNotStoredSoTheRetryRunsAgain() throws Exception {
+        FilterChain failing = (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(503);
+        };
+
+        filter.doFilter(request("key-3", BODY), new MockHttpServletResponse(), failing);
+        filter.doFilter(request("key-3", BODY), new MockHttpServletResponse(), failing);
+
+        assertThat(executions.get()).isEqualTo(2);
+        assertThat(store.size()).isZero();
+    }
+
+    // Counts executions and answers with a distinct body each time
+    private FilterChain validation(CountDownLatch release) {
+        return (request, response) -> {
+            int execution = executions.incrementAndGet();
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            request.getInputStream().readAllBytes();
+            response.setContentType("application/json");
+            response.getOutputStream().write(("{\"execution\":" + execution + "}").getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private void run(MockHttpServletRequest request, MockHttpServletResponse response, FilterChain chain) {
+        try {
+            filter.doFilter(request, response, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MockHttpServletRequest request(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/brand-voice/validate");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        }
+        return request;
+    }
+}
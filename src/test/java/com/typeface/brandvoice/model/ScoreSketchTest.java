@@ -0,0 +1,82 @@
+package com.typeface.brandvoice.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class ScoreSketchTest {
+
+    @Test
+    void quantiles_MatchExactNearestRank_WithinResolution() {
+        Random random = new Random(42);
+        double[] scores = new double[100_000];
+        ScoreSketch sketch = new ScoreSketch();
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = Math.min(100.0, Math.max(0.0, 70.0 + random.nextGaussian() * 12.0));
+            sketch.record(scores[i]);
+        }
+        Arrays.sort(scores);
+
+        double[] qs = {0.0, 0.01, 0.25, 0.5, 0.9, 0.99, 0.999, 1.0};
+        double[] estimates = sketch.quantiles(qs);
+
+        assertThat(sketch.count()).isEqualTo(scores.length);
+        for (int k = 0; k < qs.length; k++) {
+            int rank = Math.max(1, (int) Math.ceil(qs[k] * scores.length));
+            assertThat(estimates[k]).isCloseTo(scores[rank - 1], within(0.05 + 1e-9));
+        }
+    }
+
+    @Test
+    void merge_OfSerializedPartsEqualsOneSketchOfEverything() {
+        Random random = new Random(7);
+        ScoreSketch all = new ScoreSketch();
+        ScoreSketch merged = new ScoreSketch();
+
+        for (int part = 0; part < 5; part++) {
+            ScoreSketch sketch = new ScoreSketch();
+            for (int i = 0; i < 1_000; i++) {
+                double score = random.nextDouble() * 100.0;
+                sketch.record(score);
+                all.record(score);
+            }
+            merged.merge(ScoreSketch.fromBytes(sketch.toBytes()));
+        }
+
+        assertThat(merged.toBytes()).isEqualTo(all.toBytes());
+        assertThat(merged.quantiles(new double[]{0.1, 0.5, 0.9}))
+                .containsExactly(all.quantiles(new double[]{0.1, 0.5, 0.9}));
+    }
+
+    @Test
+    void scoresOnEitherSideOfABucketPage_AndAtTheEnds_AreKept() {
+        ScoreSketch sketch = new ScoreSketch();
+        for (double score : new double[]{0.0, 3.1, 3.2, 100.0}) {
+            sketch.record(score);
+        }
+
+        ScoreSketch copy = ScoreSketch.fromBytes(sketch.toBytes());
+        assertThat(copy.count()).isEqualTo(4);
+        assertThat(copy.quantiles(new double[]{0.25, 0.5, 0.75, 1.0}))
+                .containsExactly(0.0, 3.1, 3.2, 100.0);
+    }
+
+    @Test
+    void emptyAndMalformedSketches() {
+        ScoreSketch empty = ScoreSketch.fromBytes(new ScoreSketch().toBytes());
+
+        assertThat(empty.count()).isZero();
+        assertThat(empty.quantile(0.5)).isNaN();
+        assertThatThrownBy(() -> ScoreSketch.fromBytes(new byte[]{9}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ScoreSketch.fromBytes(new byte[]{1, (byte) 0x80}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ScoreSketch.fromBytes(new byte[]{1, (byte) 0xE9, 0x07, 1}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,107 @@
+package com.typeface.brandvoice.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for attribute scoring: the former hard-coded rules vs. the
+ * compiled evaluator, for the default rules and a content type override.
+ *
+ * Run with: make bench BENCH=ScoringBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Benchmark)
+public class ScoringBenchmark {
+
+    private final Map<String, Object> content = Map.of(
+            "tone", "casual",
+            "formality", 0.45,
+            "vocabulary_complexity", 0.7,
+            "sentence_length", "medium");
+
+    private CompiledScoringRules defaults;
+    private CompiledScoringRules custom;
+
+    @Setup
+    public void setUp() {
+        defaults = CompiledScoringRules.compile(null);
+        custom = CompiledScoringRules.compile(ScoringRules.builder()
+                .tone(ScoringRules.Attribute.builder().mismatch(50.0).weight(2.0).build())
+                .contentTypes(Map.of(
+                        "email", ScoringRules.builder().build(),
+                        "ad", ScoringRules.builder().build(),
+                        "social", ScoringRules.builder()
+                                .formality(ScoringRules.Attribute.builder().weight(0.5).build())
+                                .verdicts(ScoringRules.Verdicts.builder().onBrand(75.0).build())
+                                .build()))
+                .build());
+    }
+
+    @Benchmark
+    public int hardCoded() {
+        Map<String, Double> scores = new HashMap<>();
+        scores.put("tone", "professional".equals(content.getOrDefault("tone", "neutral")) ? 100.0 : 60.0);
+        double formality = ((Number) content.getOrDefault("formality", 0.5)).doubleValue();
+        scores.put("formality", Math.max(0, 100.0 - Math.abs(0.8 - formality) * 200));
+        double vocabulary = ((Number) content.getOrDefault("vocabulary_complexity", 0.5)).doubleValue();
+        scores.put("vocabulary", Math.max(0, 100.0 - Math.abs(0.6 - vocabulary) * 150));
+        scores.put("sentence_structure",
+                "medium".equals(content.getOrDefault("sentence_length", "medium")) ? 100.0 : 70.0);
+
+        double score = scores.values().stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
+
+        List<String> issues = new ArrayList<>();
+        scores.forEach((attribute, value) -> {
+            if (value < 70) issues.add(value < 50 ? "high" : "medium");
+        });
+        String verdict = score >= 80 ? "on_brand" : score >= 60 ? "minor_issues" : "off_brand";
+        return verdict.length() + issues.size();
+    }
+
+    @Benchmark
+    public int compiledDefaults() {
+        return compiled(defaults, null);
+    }
+
+    @Benchmark
+    public int compiledContentType() {
+        return compiled(custom, "social");
+    }
+
+    // Mirrors BrandVoiceService.score
+    private int compiled(CompiledScoringRules compiled, String contentType) {
+        ScoringEvaluator rules = compiled.evaluator(compiled.indexOf(contentType));
+
+        double tone = rules.tone("professional", (String) content.getOrDefault("tone", "neutral"));
+        double formality = rules.formality(0.8,
+                ((Number) content.getOrDefault("formality", 0.5)).doubleValue());
+        double vocabulary = rules.vocabulary(0.6,
+                ((Number) content.getOrDefault("vocabulary_complexity", 0.5)).doubleValue());
+        double structure = rules.sentenceStructure("medium",
+                (String) content.getOrDefault("sentence_length", "medium"));
+
+        Map<String, Double> scores = new HashMap<>();
+        scores.put("tone", tone);
+        scores.put("formality", formality);
+        scores.put("vocabulary", vocabulary);
+        scores.put("sentence_structure", structure);
+
+        double score = rules.consistency(tone, formality, vocabulary, structure, Double.NaN);
+
+        List<String> issues = new ArrayList<>();
+        scores.forEach((attribute, value) -> {
+            String severity = rules.severity(value);
+            if (severity != null) issues.add(severity);
+        });
+        return rules.verdict(score).length() + issues.size();
+    }
+}
@@ -0,0 +1,83 @@
+package com.typeface.brandvoice.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class ScoringEvaluatorTest {
+
+    @Test
+    void defaults_ScoreLikeTheBuiltInRules() {
+        ScoringEvaluator rules = CompiledScoringRules.compile(null).evaluator(0);
+
+        assertThat(rules.tone("professional", "professional")).isEqualTo(100.0);
+        assertThat(rules.tone("professional", "casual")).isEqualTo(60.0);
+        assertThat(rules.formality(0.8, 0.5)).isCloseTo(40.0, within(1e-9));
+        assertThat(rules.vocabulary(0.2, 0.9)).isEqualTo(0.0);
+        assertThat(rules.sentenceStructure("short", "long")).isEqualTo(70.0);
+
+        // Plain mean, with or without stylometry
+        assertThat(rules.consistency(100, 40, 0, 70, Double.NaN)).isEqualTo(52.5);
+        assertThat(rules.consistency(100, 40, 0, 70, 90)).isEqualTo(60.0);
+
+        assertThat(rules.verdict(80)).isEqualTo("on_brand");
+        assertThat(rules.verdict(60)).isEqualTo("minor_issues");
+        assertThat(rules.verdict(59.9)).isEqualTo("off_brand");
+        assertThat(rules.severity(70)).isNull();
+        assertThat(rules.severity(55)).isEqualTo("medium");
+        assertThat(rules.severity(49)).isEqualTo("high");
+    }
+
+    @Test
+    void contentTypeRules_OverrideTheProfileRulesFieldByField() {
+        ScoringRules social = ScoringRules.builder()
+                .formality(ScoringRules.Attribute.builder().weight(0.0).build())
+                .verdicts(ScoringRules.Verdicts.builder().onBrand(70.0).build())
+                .build();
+        CompiledScoringRules compiled = CompiledScoringRules.compile(ScoringRules.builder()
+                .tone(ScoringRules.Attribute.builder().mismatch(40.0).weight(2.0).build())
+                .contentTypes(Map.of("social", social))
+                .build());
+
+        assertThat(compiled.indexOf(null)).isZero();
+        assertThat(compiled.indexOf("email")).isZero();
+        assertThat(compiled.indexOf("Social")).isEqualTo(1);
+
+        ScoringEvaluator profileWide = compiled.evaluator(0);
+        assertThat(profileWide.tone("a", "b")).isEqualTo(40.0);
+        assertThat(profileWide.consistency(40, 100, 100, 100, Double.NaN)).isEqualTo(76.0);
+        assertThat(profileWide.verdict(75)).isEqualTo("minor_issues");
+
+        // Inherits the tone rules, drops formality, lowers the bar
+        ScoringEvaluator socialRules = compiled.evaluator(1);
+        assertThat(socialRules.tone("a", "b")).isEqualTo(40.0);
+        assertThat(socialRules.consistency(40, 0, 100, 100, Double.NaN)).isEqualTo(70.0);
+        assertThat(socialRules.verdict(75)).isEqualTo("on_brand");
+    }
+
+    @Test
+    void invalidRules_AreRejectedWhenCompiled() {
+        assertThatThrownBy(() -> CompiledScoringRules.compile(ScoringRules.builder()
+                .tone(ScoringRules.Attribute.builder().match(120.0).build())
+                .build()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("tone.match");
+
+        assertThatThrownBy(() -> CompiledScoringRules.compile(ScoringRules.builder()
+                .verdicts(ScoringRules.Verdicts.builder().onBrand(50.0).minorIssues(60.0).build())
+                .build()))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        ScoringRules nested = ScoringRules.builder()
+                .contentTypes(Map.of("ad", new ScoringRules()))
+                .build();
+        assertThatThrownBy(() -> CompiledScoringRules.compile(ScoringRules.builder()
+                .contentTypes(Map.of("social", nested))
+                .build()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
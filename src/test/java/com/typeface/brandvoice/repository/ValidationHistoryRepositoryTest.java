@@ -0,0 +1,49 @@
+package com.typeface.brandvoice.repository;
+
+import com.typeface.brandvoice.model.ValidationRecord;
+import com.typeface.brandvoice.repository.ValidationHistoryRepository.Bucket;
+import com.typeface.brandvoice.repository.ValidationHistoryRepository.Granularity;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ValidationHistoryRepositoryTest {
+
+    private static final Instant T0 = Instant.parse("2026-03-01T10:15:00Z");
+
+    @Test
+    void rollUp_AggregatesPerCustomerAndBucket_InLockOrder() {
+        List<ValidationRecord> batch = List.of(
+                record("cust_b", T0, 90.0, "on_brand"),
+                record("cust_a", T0.plusSeconds(3600), 40.0, "off_brand"),
+                record("cust_a", T0, 70.0, "minor_issues"),
+                record("cust_a", T0.plusSeconds(60), 85.0, "on_brand"));
+
+        List<Map.Entry<String, Bucket>> hourly = ValidationHistoryRepository.rollUp(batch, Granularity.HOURLY);
+        List<Map.Entry<String, Bucket>> daily = ValidationHistoryRepository.rollUp(batch, Granularity.DAILY);
+
+        assertThat(hourly).extracting(Map.Entry::getKey).containsExactly("cust_a", "cust_a", "cust_b");
+        assertThat(hourly.get(0).getValue()).isEqualTo(new Bucket(
+                Instant.parse("2026-03-01T10:00:00Z"), 2, 155.0, 70.0, 85.0, 1, 1, 0));
+        assertThat(hourly.get(1).getValue().start()).isEqualTo(Instant.parse("2026-03-01T11:00:00Z"));
+
+        assertThat(daily).hasSize(2);
+        assertThat(daily.get(0).getValue()).isEqualTo(new Bucket(
+                Instant.parse("2026-03-01T00:00:00Z"), 3, 195.0, 40.0, 85.0, 1, 1, 1));
+    }
+
+    private static ValidationRecord record(String customerId, Instant at, double score, String verdict) {
+        return ValidationRecord.builder()
+                .customerId(customerId)
+                .validatedAt(at)
+                .consistencyScore(score)
+                .verdict(verdict)
+                .detailedScores(Map.of("tone", score))
+                .contentHash(new byte[32])
+                .build();
+    }
+}
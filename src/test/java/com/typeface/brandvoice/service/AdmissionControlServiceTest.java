@@ -0,0 +1,187 @@
+package com.typeface.brandvoice.service;
+
+import com.typeface.brandvoice.exception.AdmissionRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdmissionControlServiceTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void tenantBucket_AdmitsABurstThenShedsWithRetryAfterUntilItRefills() throws Exception {
+        AdmissionControlService admission = admission(limiter(10), 1, 5);
+
+        for (int i = 0; i < 5; i++) {
+            admission.admit("cust_1", false);
+        }
+        assertThatThrownBy(() -> admission.admit("cust_1", false))
+                .isInstanceOfSatisfying(AdmissionRejectedException.class, e -> {
+                    assertThat(e.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+                    assertThat(e.getRetryAfterSeconds()).isEqualTo(1);
+                });
+
+        // Other tenants have their own bucket
+        admission.admit("cust_2", false);
+
+        // One emission interval later there is exactly one token again
+        Thread.sleep(1_100);
+        admission.admit("cust_1", false);
+        assertThatThrownBy(() -> admission.admit("cust_1", false))
+                .isInstanceOf(AdmissionRejectedException.class);
+
+        assertThat(meterRegistry.get("brandvoice.admission.requests")
+                .tag("outcome", "shed").tag("reason", "tenant_rate").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void analyzerBound_ShedsWith503AtTheLimit_AndPermitsReleaseOnce() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2);
+        AdmissionControlService admission = admission(limiter, 1000, 1000);
+
+        AdmissionControlService.Permit first = admission.admit("cust_1", true);
+        admission.admit("cust_2", true);
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+
+        assertThatThrownBy(() -> admission.admit("cust_3", true))
+                .isInstanceOfSatisfying(AdmissionRejectedException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+
+        first.close();
+        first.close();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+
+        // Tenant-only requests never take a slot
+        admission.admit("cust_3", false).close();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void analyzerBound_ShedForCapacity_KeepsTheTenantToken() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2);
+        AdmissionControlService admission = admission(limiter, 1, 2);
+
+        admission.admit("cust_1", true);
+        admission.admit("cust_2", true);
+        assertThatThrownBy(() -> admission.admit("cust_3", true))
+                .isInstanceOfSatisfying(AdmissionRejectedException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+
+        // cust_3 still has both of its tokens
+        admission.admit("cust_3", false);
+        admission.admit("cust_3", false);
+        assertThatThrownBy(() -> admission.admit("cust_3", false))
+                .isInstanceOfSatisfying(AdmissionRejectedException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS));
+    }
+
+    @Test
+    void requests_AreTaggedByTenantOnlyForTheBusiestTenants() {
+        AdmissionControlService admission = admission(limiter(10), 1000, 1000);
+        ReflectionTestUtils.setField(admission, "topTenants", 1);
+
+        admission.admit("cust_1", false);
+        admission.admit("cust_1", false);
+        admission.admit("cust_2", false);
+        assertThat(tenantCount("other")).isEqualTo(3);
+
+        admission.refreshTaggedTenants();
+        admission.admit("cust_1", false);
+        admission.admit("cust_2", false);
+        assertThat(tenantCount("cust_1")).isEqualTo(1);
+        assertThat(meterRegistry.find("brandvoice.admission.requests").tag("tenant", "cust_2").counter()).isNull();
+
+        // cust_2 takes over the top spot and cust_1's series is dropped
+        admission.admit("cust_2", false);
+        admission.refreshTaggedTenants();
+        assertThat(meterRegistry.find("brandvoice.admission.requests").tag("tenant", "cust_1").counter()).isNull();
+        admission.admit("cust_2", false);
+        assertThat(tenantCount("cust_2")).isEqualTo(1);
+    }
+
+    @Test
+    void await_WaitsForTheTenantTokenInsteadOfShedding() throws Exception {
+        AdmissionControlService admission = admission(limiter(10), 20, 1);
+
+        admission.await("cust_1").close();
+        long start = System.nanoTime();
+        try (AdmissionControlService.Permit permit = admission.await("cust_1")) {
+            assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(40));
+        }
+    }
+
+    @Test
+    void limiter_ShrinksMultiplicativelyOnSlowOrFailedSamples_DownToTheMinimum() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        limiter.onSample(SLOW, false);
+        assertThat(limiter.getLimit()).isEqualTo(5.0);
+
+        limiter.onSample(FAST, true);
+        assertThat(limiter.getLimit()).isEqualTo(2.5);
+
+        limiter.onSample(SLOW, true);
+        assertThat(limiter.getLimit()).isEqualTo(2.0);
+    }
+
+    @Test
+    void limiter_GrowsAdditivelyOnlyWhileTheLimitIsInUse() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        // Idle: fast samples say nothing about how much more it could take
+        limiter.onSample(FAST, false);
+        assertThat(limiter.getLimit()).isEqualTo(10.0);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        limiter.onSample(FAST, false);
+        assertThat(limiter.getLimit()).isEqualTo(10.1);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.release();
+        }
+        limiter.onSample(FAST, false);
+        assertThat(limiter.getLimit()).isEqualTo(10.1);
+    }
+
+    @Test
+    void limiter_AdmitsUpToTheLimit_AndAgainAfterARelease() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release();
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    private double tenantCount(String tenant) {
+        return meterRegistry.get("brandvoice.admission.requests").tag("tenant", tenant).counter().count();
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        return new AdaptiveConcurrencyLimiter(meterRegistry, initialLimit, 2, 20, Duration.ofMillis(100), 0.5);
+    }
+
+    private AdmissionControlService admission(AdaptiveConcurrencyLimiter limiter, double ratePerSecond, int burst) {
+        AdmissionControlService admission = new AdmissionControlService(limiter, meterRegistry);
+        ReflectionTestUtils.setField(admission, "enabled", true);
+        ReflectionTestUtils.setField(admission, "tenantRatePerSecond", ratePerSecond);
+        ReflectionTestUtils.setField(admission, "tenantBurst", burst);
+        ReflectionTestUtils.setField(admission, "topTenants", 20);
+        return admission;
+    }
+}
@@ -0,0 +1,160 @@
+package com.typeface.brandvoice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AnalysisBatcherTest {
+
+    private final List<String> sentBodies = new CopyOnWriteArrayList<>();
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+            new SimpleMeterRegistry(), 20, 4, 200, Duration.ofSeconds(1), 0.9);
+    private AnalysisBatcher batcher;
+
+    @AfterEach
+    void tearDown() {
+        batcher.stop();
+    }
+
+    @Test
+    void fullBatch_IsSentAtOnce_AndResultsAreMappedBackInOrder() throws Exception {
+        batcher = batcher(3, Duration.ofSeconds(30), body -> json(HttpStatus.OK,
+                "{\"results\":[{\"tone\":\"first\"},{\"error\":\"text too long\"},{\"tone\":\"third\"}]}"));
+
+        CompletableFuture<Map<String, Object>> first = batcher.submit("one");
+        CompletableFuture<Map<String, Object>> second = batcher.submit("two");
+        CompletableFuture<Map<String, Object>> third = batcher.submit("three");
+
+        // Far sooner than max-wait: the batch was full
+        assertThat(first.get(10, TimeUnit.SECONDS)).containsEntry("tone", "first");
+        assertThat(third.get(10, TimeUnit.SECONDS)).containsEntry("tone", "third");
+        assertThatThrownBy(() -> second.get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasMessageContaining("text too long");
+
+        assertThat(sentBodies).containsExactly("{\"texts\":[\"one\",\"two\",\"three\"]}");
+    }
+
+    @Test
+    void partialBatch_IsSentOnceTheOldestTextHasWaitedMaxWait() throws Exception {
+        batcher = batcher(32, Duration.ofMillis(20), body -> json(HttpStatus.OK, sentBodies.size() == 1
+                ? "{\"results\":[{\"tone\":\"a\"},{\"tone\":\"b\"}]}"
+                : "{\"results\":[{\"tone\":\"c\"}]}"));
+
+        CompletableFuture<Map<String, Object>> first = batcher.submit("one");
+        CompletableFuture<Map<String, Object>> second = batcher.submit("two");
+
+        assertThat(first.get(10, TimeUnit.SECONDS)).containsEntry("tone", "a");
+        assertThat(second.get(10, TimeUnit.SECONDS)).containsEntry("tone", "b");
+        assertThat(sentBodies).hasSize(1);
+
+        // A result list shorter than the batch fails the texts without a result
+        CompletableFuture<Map<String, Object>> later = batcher.submit("three");
+        CompletableFuture<Map<String, Object>> missing = batcher.submit("four");
+        assertThat(later.get(10, TimeUnit.SECONDS)).containsEntry("tone", "c");
+        assertThatThrownBy(() -> missing.get(10, TimeUnit.SECONDS)).hasMessageContaining("missing result");
+    }
+
+    @Test
+    void failedBatch_FailsEveryCallerAndShrinksTheLimit() {
+        batcher = batcher(2, Duration.ofSeconds(30), body -> json(HttpStatus.SERVICE_UNAVAILABLE, "{}"));
+
+        CompletableFuture<Map<String, Object>> first = batcher.submit("one");
+        CompletableFuture<Map<String, Object>> second = batcher.submit("two");
+
+        assertThatThrownBy(() -> first.get(10, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+        assertThatThrownBy(() -> second.get(10, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+        assertThat(limiter.getLimit()).isLessThan(20.0);
+    }
+
+    @Test
+    void stop_FailsUnsentTextsAtOnce_AndRefusesNewOnes() throws Exception {
+        batcher = batcher(32, Duration.ofSeconds(30), body -> json(HttpStatus.OK, "{\"results\":[]}"));
+
+        CompletableFuture<Map<String, Object>> collected = batcher.submit("one");
+        // Let the flusher take it into a batch that is waiting for max-wait
+        Thread.sleep(200);
+        CompletableFuture<Map<String, Object>> queued = batcher.submit("two");
+
+        batcher.stop();
+
+        assertThatThrownBy(() -> collected.get(1, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThatThrownBy(() -> queued.get(1, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(batcher.submit("three")).isNull();
+        assertThat(sentBodies).isEmpty();
+    }
+
+    private AnalysisBatcher batcher(int maxSize, Duration maxWait, Function<String, Mono<ClientResponse>> analyzer) {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    String body = bodyOf(request);
+                    sentBodies.add(body);
+                    return analyzer.apply(body);
+                })
+                .build();
+
+        AnalysisBatcher batcher = new AnalysisBatcher(webClient, limiter, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(batcher, "nlpAnalyzerUrl", "http://analyzer");
+        ReflectionTestUtils.setField(batcher, "enabled", true);
+        ReflectionTestUtils.setField(batcher, "maxBatchSize", maxSize);
+        ReflectionTestUtils.setField(batcher, "maxWait", maxWait);
+        ReflectionTestUtils.setField(batcher, "queueCapacity", 100);
+        ReflectionTestUtils.setField(batcher, "timeoutMillis", 10_000L);
+        batcher.start();
+        return batcher;
+    }
+
+    private static Mono<ClientResponse> json(HttpStatus status, String body) {
+        return Mono.just(ClientResponse.create(status)
+                .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build());
+    }
+
+    static String bodyOf(ClientRequest request) {
+        MockClientHttpRequest http = new MockClientHttpRequest(request.method(), request.url());
+        request.body().insert(http, new BodyInserter.Context() {
+            @Override
+            public List<org.springframework.http.codec.HttpMessageWriter<?>> messageWriters() {
+                return ExchangeStrategies.withDefaults().messageWriters();
+            }
+
+            @Override
+            public Optional<org.springframework.http.server.reactive.ServerHttpRequest> serverRequest() {
+                return Optional.empty();
+            }
+
+            @Override
+            public Map<String, Object> hints() {
+                return Map.of();
+            }
+        }).block();
+        return http.getBodyAsString().block();
+    }
+}
@@ -1,15 +1,22 @@
 package com.typeface.brandvoice.service;
 
+import com.typeface.brandvoice.config.ReplicaLagGuard;
 import com.typeface.brandvoice.dto.*;
 import com.typeface.brandvoice.model.BrandProfile;
+import com.typeface.brandvoice.model.ScoringRules;
+import com.typeface.brandvoice.model.ProfileStatus;
 import com.typeface.brandvoice.repository.BrandProfileRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 
+import java.time.Duration;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -29,6 +36,36 @@ class BrandVoiceServiceTest {
     @Mock
     private EventPublisherService eventPublisher;
 
+    @Mock
+    private ProfileSnapshotStore profileSnapshotStore;
+
+    @Mock
+    private ProfileResponseCache profileResponseCache;
+
+    @Mock
+    private ReplicaLagGuard replicaLagGuard;
+
+    @Mock
+    private ValidationHistoryWriter validationHistoryWriter;
+
+    @Mock
+    private ScoreSketchService scoreSketchService;
+
+    @Mock
+    private NearDuplicateIndex nearDuplicateIndex;
+
+    @Mock
+    private SimilarBrandService similarBrandService;
+
+    @Mock
+    private CorpusAnalyzer corpusAnalyzer;
+
+    @Spy
+    private StylometricFeatureExtractor stylometricFeatureExtractor = new StylometricFeatureExtractor();
+
+    @Spy
+    private ProfileRegistry profileRegistry = new ProfileRegistry(new SimpleMeterRegistry(), Duration.ofMinutes(1));
+
     @InjectMocks
     private BrandVoiceService service;
 
@@ -57,6 +94,7 @@ class BrandVoiceServiceTest {
                 .voiceAttributes(mockVoiceAttributes)
                 .confidenceScore(0.9)
                 .active(true)
+                .version(3L)
                 .build();
     }
 
@@ -64,7 +102,7 @@ class BrandVoiceServiceTest {
     void createBrandProfile_Success() {
         // Arrange
         when(repository.findByCustomerId("test-customer")).thenReturn(Optional.empty());
-        when(nlpAnalyzerService.analyzeVoiceCharacteristics(any())).thenReturn(mockVoiceAttributes);
+        when(nlpAnalyzerService.analyzeVoiceCharacteristics(any(), any())).thenReturn(mockVoiceAttributes);
         when(repository.save(any(BrandProfile.class))).thenReturn(mockProfile);
 
         // Act
@@ -77,7 +115,7 @@ class BrandVoiceServiceTest {
         assertThat(response.getVoiceAttributes()).isNotEmpty();
 
         verify(repository).findByCustomerId("test-customer");
-        verify(nlpAnalyzerService).analyzeVoiceCharacteristics(createRequest.getSampleContent());
+        verify(nlpAnalyzerService).analyzeVoiceCharacteristics(eq(createRequest.getSampleContent()), any());
         verify(repository).save(any(BrandProfile.class));
         verify(eventPublisher).publishProfileCreated(any(BrandProfile.class));
     }
@@ -96,6 +134,62 @@ class BrandVoiceServiceTest {
         verify(repository, never()).save(any());
     }
 
+    @Test
+    void createPendingBrandProfile_StoresWithoutAnalysis() {
+        when(repository.findByCustomerId("test-customer")).thenReturn(Optional.empty());
+        when(repository.save(any(BrandProfile.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BrandProfileResponse response = service.createPendingBrandProfile(createRequest);
+
+        assertThat(response.getStatus()).isEqualTo("pending");
+        verify(repository).save(argThat(profile -> profile.getStatus() == ProfileStatus.PENDING
+                && createRequest.getSampleContent().equals(profile.getSampleContent())));
+        verifyNoInteractions(nlpAnalyzerService, eventPublisher, similarBrandService);
+        assertThat(profileRegistry.get("test-customer")).isEmpty();
+    }
+
+    @Test
+    void completePendingBrandProfile_AnalyzesAndActivates() {
+        BrandProfile pending = pendingProfile();
+        when(repository.findByCustomerId("test-customer")).thenReturn(Optional.of(pending));
+        when(nlpAnalyzerService.analyzeVoiceCharacteristics(any(), any())).thenReturn(mockVoiceAttributes);
+        when(repository.saveAndFlush(pending)).thenReturn(pending);
+
+        assertThat(service.completePendingBrandProfile("test-customer")).isTrue();
+
+        assertThat(pending.getStatus()).isEqualTo(ProfileStatus.ACTIVE);
+        assertThat(pending.getVoiceAttributes()).isEqualTo(mockVoiceAttributes);
+        assertThat(profileRegistry.get("test-customer")).isPresent();
+        verify(eventPublisher).publishProfileCreated(pending);
+    }
+
+    @Test
+    void completePendingBrandProfile_DeletedDuringAnalysis_DiscardsResult() {
+        BrandProfile pending = pendingProfile();
+        when(repository.findByCustomerId("test-customer")).thenReturn(Optional.of(pending));
+        when(nlpAnalyzerService.analyzeVoiceCharacteristics(any(), any())).thenReturn(mockVoiceAttributes);
+        when(repository.saveAndFlush(pending)).thenThrow(new OptimisticLockingFailureException("deleted"));
+
+        assertThat(service.completePendingBrandProfile("test-customer")).isFalse();
+
+        assertThat(profileRegistry.get("test-customer")).isEmpty();
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void validateContent_PendingProfile_ThrowsConflict() {
+        when(repository.findByCustomerId("test-customer")).thenReturn(Optional.of(pendingProfile()));
+
+        assertThatThrownBy(() -> service.validateContent(ValidateContentRequest.builder()
+                .customerId("test-customer")
+                .content("Some content")
+                .build()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("still being analyzed");
+
+        verifyNoInteractions(nlpAnalyzerService);
+    }
+
     @Test
     void getBrandProfile_Success() {
         // Arrange
@@ -139,7 +233,7 @@ class BrandVoiceServiceTest {
         contentAttributes.put("sentence_length", "medium");
 
         when(repository.findByCustomerId("test-customer")).thenReturn(Optional.of(mockProfile));
-        when(nlpAnalyzerService.analyzeVoiceCharacteristics(any())).thenReturn(contentAttributes);
+        when(nlpAnalyzerService.analyzeVoiceCharacteristics(any(), any())).thenReturn(contentAttributes);
 
         // Act
         ContentValidationResponse response = service.validateContent(request);
@@ -167,7 +261,7 @@ class BrandVoiceServiceTest {
         contentAttributes.put("sentence_length", "short");
 
         when(repository.findByCustomerId("test-customer")).thenReturn(Optional.of(mockProfile));
-        when(nlpAnalyzerService.analyzeVoiceCharacteristics(any())).thenReturn(contentAttributes);
+        when(nlpAnalyzerService.analyzeVoiceCharacteristics(any(), any())).thenReturn(contentAttributes);
 
         // Act
         ContentValidationResponse response = service.validateContent(request);
@@ -195,6 +289,142 @@ class BrandVoiceServiceTest {
                 .hasMessageContaining("not found");
     }
 
+    @Test
+    void validateContent_ReportsProfileVersion_AndReusesRegisteredSnapshot() {
+        // Arrange
+        ValidateContentRequest request = ValidateContentRequest.builder()
+                .customerId("test-customer")
+                .content("Our professional team delivers innovative solutions.")
+                .build();
+
+        when(repository.findByCustomerId("test-customer")).thenReturn(Optional.of(mockProfile));
+        when(nlpAnalyzerService.analyzeVoiceCharacteristics(any(), any())).thenReturn(mockVoiceAttributes);
+
+        // Act
+        ContentValidationResponse first = service.validateContent(request);
+        ContentValidationResponse second = service.validateContent(request);
+
+        // Assert
+        assertThat(first.getProfileVersion()).isEqualTo(3L);
+        assertThat(second.getProfileVersion()).isEqualTo(3L);
+        verify(repository, times(1)).findByCustomerId("test-customer");
+    }
+
+    @Test
+    void validateContent_NearDuplicate_ReusesPriorResultWithoutAnalysis() {
+        // Arrange
+        ValidateContentRequest request = ValidateContentRequest.builder()
+                .customerId("test-customer")
+                .content("Our professional team delivers innovative solutions.")
+                .build();
+        NearDuplicateIndex.Result prior = new NearDuplicateIndex.Result(
+                91.5, "on_brand", List.of(), Map.of("tone", 100.0));
+
+        when(repository.findByCustomerId("test-customer")).thenReturn(Optional.of(mockProfile));
+        when(nearDuplicateIndex.fingerprint(request.getContent())).thenReturn(OptionalLong.of(42L));
+        when(nearDuplicateIndex.find("test-customer", 3L, 0, 42L)).thenReturn(Optional.of(prior));
+
+        // Act
+        ContentValidationResponse response = service.validateContent(request);
+
+        // Assert
+        assertThat(response.getReused()).isTrue();
+        assertThat(response.getConsistencyScore()).isEqualTo(91.5);
+        assertThat(response.getVerdict()).isEqualTo("on_brand");
+        verify(nlpAnalyzerService, never()).analyzeVoiceCharacteristics(any(), any());
+        verify(eventPublisher).publishValidationPerformed("test-customer", 91.5, "on_brand");
+        verify(nearDuplicateIndex, never()).put(any(), anyLong(), anyInt(), anyLong(), any());
+    }
+
+    @Test
+    void patchBrandProfile_SwapsInNewVersionForValidation() {
+        // Arrange
+        when(repository.findByCustomerId("test-customer")).thenReturn(Optional.of(mockProfile));
+        when(repository.saveAndFlush(any(BrandProfile.class))).thenAnswer(invocation -> {
+            BrandProfile saved = invocation.getArgument(0);
+            saved.setVersion(saved.getVersion() + 1);
+            return saved;
+        });
+        when(nlpAnalyzerService.analyzeVoiceCharacteristics(any(), any())).thenReturn(mockVoiceAttributes);
+
+        // Act
+        BrandProfileResponse response = service.patchBrandProfile("test-customer",
+                PatchBrandProfileRequest.builder().brandName("Renamed Brand").version(3L).build());
+        ContentValidationResponse validation = service.validateContent(ValidateContentRequest.builder()
+                .customerId("test-customer")
+                .content("Our professional team delivers innovative solutions.")
+                .build());
+
+        // Assert
+        assertThat(response.getBrandName()).isEqualTo("Renamed Brand");
+        assertThat(response.getVersion()).isEqualTo(4L);
+        assertThat(validation.getProfileVersion()).isEqualTo(4L);
+
+        // Sample unchanged: the voice attributes are not re-analyzed
+        verify(nlpAnalyzerService, times(1)).analyzeVoiceCharacteristics(any(), any());
+        verify(profileResponseCache).invalidate("test-customer");
+        verify(eventPublisher).publishProfileUpdated(mockProfile);
+    }
+
+    @Test
+    void updateBrandProfile_StaleVersion_ThrowsConflict() {
+        // Arrange
+        when(repository.findByCustomerId("test-customer")).thenReturn(Optional.of(mockProfile));
+
+        UpdateBrandProfileRequest request = UpdateBrandProfileRequest.builder()
+                .brandName("Test Brand")
+                .sampleContent("We are a professional enterprise company.")
+                .version(2L)
+                .build();
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.updateBrandProfile("test-customer", request))
+                .isInstanceOf(OptimisticLockingFailureException.class)
+                .hasMessageContaining("version 3");
+
+        verify(repository, never()).saveAndFlush(any());
+        verifyNoInteractions(nlpAnalyzerService);
+    }
+
+    @Test
+    void updateBrandProfile_ConcurrentUpdateDuringAnalysis_PublishesNothing() {
+        // Arrange
+        when(repository.findByCustomerId("test-customer")).thenReturn(Optional.of(mockProfile));
+        when(nlpAnalyzerService.analyzeVoiceCharacteristics(any(), any())).thenReturn(mockVoiceAttributes);
+        when(repository.saveAndFlush(any(BrandProfile.class)))
+                .thenThrow(new OptimisticLockingFailureException("Row was updated by another transaction"));
+
+        UpdateBrandProfileRequest request = UpdateBrandProfileRequest.builder()
+                .brandName("Test Brand")
+                .sampleContent("A completely different sample for the brand.")
+                .version(3L)
+                .build();
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.updateBrandProfile("test-customer", request))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+
+        verify(replicaLagGuard).primaryScope();
+        verify(profileRegistry, never()).publish(any());
+        verify(eventPublisher, never()).publishProfileUpdated(any());
+    }
+
+    @Test
+    void updateScoringRules_ConcurrentUpdate_PublishesNothing() {
+        // Arrange
+        when(repository.findByCustomerId("test-customer")).thenReturn(Optional.of(mockProfile));
+        when(repository.saveAndFlush(any(BrandProfile.class)))
+                .thenThrow(new OptimisticLockingFailureException("Row was updated by another transaction"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.updateScoringRules("test-customer", new ScoringRules(), null))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+
+        verify(replicaLagGuard).primaryScope();
+        verify(profileRegistry, never()).publish(any());
+        verify(eventPublisher, never()).publishProfileUpdated(any());
+    }
+
     @Test
     void deleteBrandProfile_Success() {
         // Arrange
@@ -222,4 +452,16 @@ class BrandVoiceServiceTest {
         verify(repository).findByCustomerId("non-existent");
         verify(repository, never()).delete(any());
     }
-}
\ No newline at end of file
+
+    private BrandProfile pendingProfile() {
+        return BrandProfile.builder()
+                .id("profile-id")
+                .customerId("test-customer")
+                .brandName("Test Brand")
+                .sampleContent(createRequest.getSampleContent())
+                .voiceAttributes(new HashMap<>())
+                .status(ProfileStatus.PENDING)
+                .version(0L)
+                .build();
+    }
+}
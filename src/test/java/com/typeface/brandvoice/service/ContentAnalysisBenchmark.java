@@ -0,0 +1,87 @@
+package com.typeface.brandvoice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.typeface.brandvoice.dto.ValidateContentRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of analyzing a large document: decoding the JSON body into
+ * a String and running the previous split/toLowerCase heuristics, vs. reading
+ * the content straight from the UTF-8 bytes into a {@link TextAnalysis}.
+ * Allocation is the number that matters; run with the GC profiler.
+ *
+ * Run with: make bench BENCH="ContentAnalysisBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContentAnalysisBenchmark {
+
+    private static final String PARAGRAPH = "Our professional team delivers innovative enterprise " +
+            "solutions with strategic focus and excellence. Furthermore, we partner with our clients " +
+            "to ensure optimal, measurable results! Isn't that what you'd expect? ";
+
+    @Param({"10000", "1000000"})
+    public int contentBytes;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final StylometricFeatureExtractor extractor = new StylometricFeatureExtractor();
+    private final Utf8ContentReader reader = new Utf8ContentReader(objectMapper, extractor);
+
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws Exception {
+        String content = PARAGRAPH.repeat(contentBytes / PARAGRAPH.length() + 1);
+        body = objectMapper.writeValueAsBytes(ValidateContentRequest.builder()
+                .customerId("customer-123").content(content).contentType("email").build());
+    }
+
+    @Benchmark
+    public Object stringDecodeAndSplit() throws Exception {
+        ValidateContentRequest request = objectMapper.readValue(body, ValidateContentRequest.class);
+        Map<String, Object> attributes = splitHeuristics(request.getContent());
+        attributes.put("stylometry", extractor.extract(request.getContent()));
+        return attributes;
+    }
+
+    @Benchmark
+    public Object utf8Bytes() {
+        TextAnalysis analysis = reader.read(body).analysis();
+        Map<String, Object> attributes = analysis.attributes();
+        attributes.put("stylometry", analysis.stylometricVector());
+        return attributes;
+    }
+
+    // The analyzer fallback as it was before TextAnalysis
+    private static Map<String, Object> splitHeuristics(String text) {
+        Map<String, Object> analysis = new HashMap<>();
+
+        String lowerText = text.toLowerCase();
+        analysis.put("tone", lowerText.contains("professional") ? "professional" : "neutral");
+        analysis.put("formality", text.toLowerCase().contains("furthermore") ? 1.0 : 0.5);
+
+        String[] words = text.split("\\s+");
+        int complexWords = 0;
+        for (String word : words) {
+            if (word.length() > 8) complexWords++;
+        }
+        analysis.put("vocabulary_complexity", (double) complexWords / words.length);
+
+        String[] sentences = text.split("[.!?]+");
+        int totalWords = 0;
+        for (String sentence : sentences) {
+            totalWords += sentence.trim().split("\\s+").length;
+        }
+        analysis.put("avg_sentence_length", (double) totalWords / sentences.length);
+
+        return analysis;
+    }
+}
@@ -0,0 +1,108 @@
+package com.typeface.brandvoice.service;
+
+import com.typeface.brandvoice.exception.MalformedRequestException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CorpusAnalyzerTest {
+
+    private final StylometricFeatureExtractor extractor = new StylometricFeatureExtractor();
+    private NLPAnalyzerService nlpAnalyzerService;
+    private CorpusAnalyzer corpusAnalyzer;
+
+    @BeforeEach
+    void setUp() {
+        nlpAnalyzerService = mock(NLPAnalyzerService.class);
+        corpusAnalyzer = new CorpusAnalyzer(nlpAnalyzerService, extractor, 1_000, 2, 800, 10_000_000, 2);
+        corpusAnalyzer.startExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        corpusAnalyzer.stopExecutor();
+    }
+
+    @Test
+    void gzippedCorpus_IsAnalyzedInChunksAndFolded() throws IOException {
+        // Professional first half, casual second half that is slightly longer
+        StringBuilder corpus = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            corpus.append("Our enterprise platform delivers measurable results for every team. ");
+        }
+        for (int i = 0; i < 220; i++) {
+            corpus.append("Hey friends, this new feature is gonna be so cool to try out. ");
+        }
+        String text = corpus.toString();
+
+        when(nlpAnalyzerService.analyzeVoiceCharacteristics(anyString(), any())).thenAnswer(invocation -> {
+            String chunk = invocation.getArgument(0);
+            boolean casual = chunk.contains("Hey friends");
+            return Map.of(
+                    "tone", casual ? "casual" : "professional",
+                    "formality", casual ? 0.2 : 0.8,
+                    "word_count", chunk.split("\\s+").length,
+                    "key_phrases", casual ? List.of("feature", "friends") : List.of("enterprise", "platform"));
+        });
+
+        CorpusAnalyzer.Result result = corpusAnalyzer.analyze("cust_1", new ByteArrayInputStream(gzip(text)));
+
+        assertThat(result.length()).isEqualTo(text.length());
+        assertThat(result.chunks()).isGreaterThan(20);
+        verify(nlpAnalyzerService, atLeast(20)).analyzeVoiceCharacteristics(anyString(), any());
+
+        assertThat(result.voiceAttributes().get("tone")).isEqualTo("casual");
+        assertThat((Double) result.voiceAttributes().get("formality")).isBetween(0.45, 0.5);
+        assertThat(result.voiceAttributes().get("word_count")).isEqualTo((long) text.split("\\s+").length);
+        assertThat((List<?>) result.voiceAttributes().get("key_phrases")).hasSize(4);
+
+        // Stylometry accumulates over the whole corpus, as if it were one sample
+        assertThat(result.stylometricVector()).containsExactly(extractor.extract(text));
+
+        // Bounded excerpt drawn from both halves, in corpus order
+        assertThat(result.excerpt().length()).isLessThanOrEqualTo(800);
+        assertThat(text).contains(result.excerpt().split("\n\n")[0]);
+    }
+
+    @Test
+    void smallCorpus_IsKeptWholeAndTooSmallOneRejected() {
+        String text = "Our professional team delivers reliable enterprise solutions. ".repeat(3);
+        when(nlpAnalyzerService.analyzeVoiceCharacteristics(anyString(), any()))
+                .thenReturn(Map.of("tone", "professional"));
+
+        CorpusAnalyzer.Result result = corpusAnalyzer.analyze("cust_1",
+                new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result.excerpt()).isEqualTo(text);
+        assertThat(result.chunks()).isEqualTo(1);
+
+        assertThatThrownBy(() -> corpusAnalyzer.analyze("cust_1",
+                new ByteArrayInputStream("Too short".getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(MalformedRequestException.class);
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
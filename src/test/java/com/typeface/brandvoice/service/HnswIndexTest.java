@@ -0,0 +1,100 @@
+package com.typeface.brandvoice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class HnswIndexTest {
+
+    private static final int DIMENSIONS = VoiceVectorizer.DIMENSIONS;
+
+    @Test
+    void search_FindsNearlyAllTrueNeighbours_ComparedToBruteForce() {
+        Random random = new Random(7);
+        float[][] vectors = clusteredVectors(random, 10_000, 40);
+        HnswIndex index = new HnswIndex(DIMENSIONS, 16, 100);
+        for (int i = 0; i < vectors.length; i++) {
+            index.put("cust_" + i, vectors[i]);
+        }
+
+        int k = 10;
+        int queries = 200;
+        int found = 0;
+        for (int q = 0; q < queries; q++) {
+            int query = random.nextInt(vectors.length);
+            Set<String> exact = bruteForce(vectors, query, k);
+            found += (int) index.search(vectors[query], k, 64, "cust_" + query).stream()
+                    .filter(match -> exact.contains(match.id()))
+                    .count();
+        }
+
+        double recall = (double) found / (queries * k);
+        assertThat(recall).isGreaterThan(0.95);
+    }
+
+    @Test
+    void removedAndReplacedEntries_AreNotReturnedWithTheirOldVector() {
+        Random random = new Random(11);
+        float[][] vectors = clusteredVectors(random, 500, 5);
+        HnswIndex index = new HnswIndex(DIMENSIONS, 8, 50);
+        for (int i = 0; i < vectors.length; i++) {
+            index.put("cust_" + i, vectors[i]);
+        }
+
+        String nearest = index.search(vectors[0], 1, 32, "cust_0").get(0).id();
+        index.remove(nearest);
+        assertThat(index.search(vectors[0], 10, 32, "cust_0"))
+                .extracting(HnswIndex.Match::id)
+                .doesNotContain(nearest, "cust_0");
+        assertThat(index.size()).isEqualTo(499);
+
+        // Moving cust_1 onto cust_0's vector makes it the top match
+        index.put("cust_1", vectors[0].clone());
+        List<HnswIndex.Match> matches = index.search(vectors[0], 10, 32, "cust_0");
+        assertThat(matches.get(0).id()).isEqualTo("cust_1");
+        assertThat(matches.get(0).similarity()).isCloseTo(1.0, within(1e-6));
+        assertThat(matches).extracting(HnswIndex.Match::id).containsOnlyOnce("cust_1");
+        assertThat(index.size()).isEqualTo(499);
+    }
+
+    // Unit vectors scattered around a few centres, like brands sharing a style
+    static float[][] clusteredVectors(Random random, int count, int clusters) {
+        float[][] centres = new float[clusters][DIMENSIONS];
+        for (float[] centre : centres) {
+            for (int d = 0; d < DIMENSIONS; d++) centre[d] = (float) random.nextGaussian();
+        }
+        float[][] vectors = new float[count][DIMENSIONS];
+        for (int i = 0; i < count; i++) {
+            float[] centre = centres[random.nextInt(clusters)];
+            double norm = 0;
+            for (int d = 0; d < DIMENSIONS; d++) {
+                vectors[i][d] = centre[d] + (float) random.nextGaussian() * 0.6f;
+                norm += vectors[i][d] * vectors[i][d];
+            }
+            for (int d = 0; d < DIMENSIONS; d++) vectors[i][d] /= (float) Math.sqrt(norm);
+        }
+        return vectors;
+    }
+
+    static Set<String> bruteForce(float[][] vectors, int query, int k) {
+        double[] similarities = new double[vectors.length];
+        for (int i = 0; i < vectors.length; i++) {
+            similarities[i] = VectorSimilarity.cosine(vectors[query], vectors[i]);
+        }
+        return IntStream.range(0, vectors.length)
+                .filter(i -> i != query)
+                .boxed()
+                .sorted(Comparator.comparingDouble(i -> -similarities[i]))
+                .limit(k)
+                .map(i -> "cust_" + i)
+                .collect(Collectors.toSet());
+    }
+}
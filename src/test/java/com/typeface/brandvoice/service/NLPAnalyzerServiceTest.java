@@ -0,0 +1,106 @@
+package com.typeface.brandvoice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.typeface.brandvoice.diagnostics.AnalyzerCallEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NLPAnalyzerServiceTest {
+
+    private static final String TEXT = "We are excited to share our amazing new release with you!";
+
+    private final AnalysisBatcher batcher = mock(AnalysisBatcher.class);
+    private final StylometricFeatureExtractor extractor = new StylometricFeatureExtractor();
+
+    @Test
+    void direct_TimesOutAfterTheConfiguredTimeout_AndFallsBackToHeuristics() {
+        // Answers well within the old hard-coded 5s, but after the configured 100ms
+        NLPAnalyzerService analyzer = analyzer(Mono.delay(Duration.ofSeconds(1))
+                .map(tick -> json("{\"tone\":\"analyzer\"}")), 100);
+
+        AnalyzerCallEvent event = new AnalyzerCallEvent();
+        Map<String, Object> analysis = analyzer.analyzeVoiceCharacteristics(TEXT, event);
+
+        assertThat(event.mode).isEqualTo("direct");
+        assertThat(event.outcome).isEqualTo("timeout");
+        assertThat(analysis).isEqualTo(TextAnalysis.of(TEXT, extractor).attributes());
+    }
+
+    @Test
+    void batched_TimesOutTheSameWayAsDirect() {
+        when(batcher.isEnabled()).thenReturn(true);
+        when(batcher.submit(anyString())).thenReturn(new CompletableFuture<>());
+        NLPAnalyzerService analyzer = analyzer(Mono.never(), 100);
+
+        AnalyzerCallEvent event = new AnalyzerCallEvent();
+        Map<String, Object> analysis = analyzer.analyzeVoiceCharacteristics(TEXT, event);
+
+        assertThat(event.mode).isEqualTo("batched");
+        assertThat(event.outcome).isEqualTo("timeout");
+        assertThat(analysis).isEqualTo(TextAnalysis.of(TEXT, extractor).attributes());
+    }
+
+    @Test
+    void batched_ReturnsTheBatchResult_OrAnEmptyAnalysisWhenTheAnalyzerRejectsTheText() {
+        when(batcher.isEnabled()).thenReturn(true);
+        when(batcher.submit(anyString()))
+                .thenReturn(CompletableFuture.completedFuture(Map.of("tone", "enthusiastic")))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Analyzer rejected text")));
+        NLPAnalyzerService analyzer = analyzer(Mono.never(), 100);
+
+        AnalyzerCallEvent ok = new AnalyzerCallEvent();
+        assertThat(analyzer.analyzeVoiceCharacteristics(TEXT, ok)).containsEntry("tone", "enthusiastic");
+        assertThat(ok.outcome).isEqualTo("ok");
+
+        AnalyzerCallEvent rejected = new AnalyzerCallEvent();
+        assertThat(analyzer.analyzeVoiceCharacteristics(TEXT, rejected)).isEmpty();
+        assertThat(rejected.outcome).isEqualTo("analyzer_error");
+    }
+
+    @Test
+    void fullBatchQueue_FallsBackToADirectCall() {
+        when(batcher.isEnabled()).thenReturn(true);
+        when(batcher.submit(anyString())).thenReturn(null);
+        NLPAnalyzerService analyzer = analyzer(Mono.just(json("{\"tone\":\"professional\"}")), 5_000);
+
+        AnalyzerCallEvent event = new AnalyzerCallEvent();
+        Map<String, Object> analysis = analyzer.analyzeVoiceCharacteristics(TEXT, event);
+
+        assertThat(event.mode).isEqualTo("direct");
+        assertThat(event.outcome).isEqualTo("ok");
+        assertThat(analysis).containsEntry("tone", "professional");
+    }
+
+    private NLPAnalyzerService analyzer(Mono<ClientResponse> response, long timeoutMillis) {
+        WebClient webClient = WebClient.builder().exchangeFunction(request -> response).build();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                new SimpleMeterRegistry(), 20, 4, 200, Duration.ofSeconds(1), 0.9);
+
+        NLPAnalyzerService analyzer = new NLPAnalyzerService(webClient, new ObjectMapper(), limiter, batcher, extractor);
+        ReflectionTestUtils.setField(analyzer, "nlpAnalyzerUrl", "http://analyzer");
+        ReflectionTestUtils.setField(analyzer, "timeoutMillis", timeoutMillis);
+        return analyzer;
+    }
+
+    private static ClientResponse json(String body) {
+        return ClientResponse.create(HttpStatus.OK)
+                .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.typeface.brandvoice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for near-duplicate lookups in a single customer's index of
+ * two million fingerprints: a near hit, a miss, and fingerprinting itself.
+ *
+ * Run with: make bench BENCH=NearDuplicateIndexBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+@State(Scope.Benchmark)
+public class NearDuplicateIndexBenchmark {
+
+    private static final int ENTRIES = 2_000_000;
+    private static final String CONTENT = "Join us on March 3 for the launch of Acme Cloud Studio, the easiest way "
+            + "for growing teams to plan, write and publish on-brand content together. Our professional team will "
+            + "walk through new templates, approval workflows and analytics, and answer your questions live.";
+
+    private final NearDuplicateIndex index = new NearDuplicateIndex(
+            new SimpleMeterRegistry(), true, 5, ENTRIES, 20, Duration.ofHours(1));
+
+    private long[] near;
+    private long[] misses;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        NearDuplicateIndex.Result result = new NearDuplicateIndex.Result(
+                88.0, "on_brand", List.of(), Map.of("tone", 100.0));
+
+        near = new long[1024];
+        misses = new long[1024];
+        for (int i = 0; i < ENTRIES; i++) {
+            long fingerprint = random.nextLong();
+            index.put("cust_1", 1L, 0, fingerprint, result);
+            if (i % (ENTRIES / near.length) == 0 && i / (ENTRIES / near.length) < near.length) {
+                near[i / (ENTRIES / near.length)] = fingerprint ^ 1L << random.nextInt(64) ^ 1L << random.nextInt(64);
+            }
+        }
+        for (int i = 0; i < misses.length; i++) {
+            misses[i] = random.nextLong();
+        }
+    }
+
+    @Benchmark
+    public Optional<NearDuplicateIndex.Result> findNearDuplicate() {
+        return index.find("cust_1", 1L, 0, near[next++ & 1023]);
+    }
+
+    @Benchmark
+    public Optional<NearDuplicateIndex.Result> findMiss() {
+        return index.find("cust_1", 1L, 0, misses[next++ & 1023]);
+    }
+
+    @Benchmark
+    public long fingerprint() {
+        return index.fingerprint(CONTENT).orElseThrow();
+    }
+}
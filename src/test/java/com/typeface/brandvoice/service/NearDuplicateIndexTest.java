@@ -0,0 +1,68 @@
+package com.typeface.brandvoice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NearDuplicateIndexTest {
+
+    private static final String CONTENT = "Join us on March 3 for the launch of Acme Cloud Studio, the easiest way "
+            + "for growing teams to plan, write and publish on-brand content together. Our professional team will "
+            + "walk through new templates, approval workflows and analytics, and answer your questions live. "
+            + "Seats are limited, so reserve yours today and bring a colleague along.";
+
+    private final NearDuplicateIndex index = new NearDuplicateIndex(
+            new SimpleMeterRegistry(), true, 5, 1_000, 20, Duration.ofHours(1));
+
+    private final NearDuplicateIndex.Result result = new NearDuplicateIndex.Result(
+            88.0, "on_brand", List.of(), Map.of("tone", 100.0));
+
+    @Test
+    void find_MatchesContentWithAChangedDateOrName_ForTheSameProfileVersion() {
+        long fingerprint = index.fingerprint(CONTENT).orElseThrow();
+        index.put("cust_1", 2L, 0, fingerprint, result);
+
+        long changedDate = index.fingerprint(CONTENT.replace("March 3", "March 10")).orElseThrow();
+        long changedName = index.fingerprint(CONTENT.replace("Acme Cloud Studio", "Acme Writer")).orElseThrow();
+        long unrelated = index.fingerprint("Hey friends! Summer is here and we're gonna celebrate with the "
+                + "biggest sale of the year: everything in the shop is half price until Sunday, shipping is free, "
+                + "and every order gets a surprise gift. Don't wait, grab your favorites before they're gone!")
+                .orElseThrow();
+
+        assertThat(Long.bitCount(fingerprint ^ unrelated)).isGreaterThan(20);
+        assertThat(index.find("cust_1", 2L, 0, changedDate)).contains(result);
+        assertThat(index.find("cust_1", 2L, 0, changedName)).contains(result);
+        assertThat(index.find("cust_1", 2L, 0, unrelated)).isEmpty();
+        assertThat(index.find("cust_1", 3L, 0, changedDate)).isEmpty();
+        assertThat(index.find("cust_2", 2L, 0, changedDate)).isEmpty();
+        assertThat(index.fingerprint("Too short to fingerprint reliably.")).isEqualTo(OptionalLong.empty());
+    }
+
+    @Test
+    void find_UsesBandsToMatchEveryFingerprintWithinTheDistance_AndEvictsTheOldest() {
+        Random random = new Random(1);
+        long[] fingerprints = new long[1_500];
+        for (int i = 0; i < fingerprints.length; i++) {
+            fingerprints[i] = random.nextLong();
+            index.put("cust_1", 1L, 0, fingerprints[i], new NearDuplicateIndex.Result(
+                    i % 100, "off_brand", List.of(), Map.of()));
+        }
+
+        // Only the newest 1000 are kept
+        assertThat(index.find("cust_1", 1L, 0, fingerprints[0])).isEmpty();
+        for (int i = 500; i < fingerprints.length; i++) {
+            long nearby = fingerprints[i];
+            for (int flip = 0; flip < 5; flip++) {
+                nearby ^= 1L << random.nextInt(64);
+            }
+            assertThat(index.find("cust_1", 1L, 0, nearby).orElseThrow().consistencyScore()).isEqualTo(i % 100);
+        }
+    }
+}
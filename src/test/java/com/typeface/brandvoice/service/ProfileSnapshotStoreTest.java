@@ -0,0 +1,96 @@
+package com.typeface.brandvoice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.typeface.brandvoice.config.ReplicaLagGuard;
+import com.typeface.brandvoice.model.BrandProfile;
+import com.typeface.brandvoice.model.CompiledProfile;
+import com.typeface.brandvoice.model.ProfileStatus;
+import com.typeface.brandvoice.repository.BrandProfileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProfileSnapshotStoreTest {
+
+    private final BrandProfileRepository repository = mock(BrandProfileRepository.class);
+    private ProfileSnapshotStore store;
+    private boolean scannedOnPrimary;
+
+    @BeforeEach
+    void setUp(@TempDir Path directory) {
+        when(repository.findAll(any(Pageable.class))).thenAnswer(invocation -> {
+            scannedOnPrimary = ReplicaLagGuard.isPrimaryForced();
+            return new PageImpl<>(List.of(profile("cust_1", 3L), profile("cust_2", 5L)));
+        });
+
+        ReplicaLagGuard replicaLagGuard = new ReplicaLagGuard("jdbc:postgresql://replica/brandvoice", Duration.ofSeconds(5));
+        store = new ProfileSnapshotStore(repository, replicaLagGuard, new ObjectMapper());
+        ReflectionTestUtils.setField(store, "enabled", true);
+        ReflectionTestUtils.setField(store, "snapshotPath", directory.resolve("profiles.snapshot").toString());
+        store.writeSnapshot();
+    }
+
+    @Test
+    void snapshot_AnswersEveryLookupFromTheMappedFile() {
+        assertThat(scannedOnPrimary).isTrue();
+        assertThat(ReplicaLagGuard.isPrimaryForced()).isFalse();
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.get("cust_1")).map(CompiledProfile::getVersion).contains(3L);
+        assertThat(store.get("cust_1")).map(CompiledProfile::getVersion).contains(3L);
+
+        assertThat(store.get("cust_missing")).isEmpty();
+    }
+
+    @Test
+    void writtenOrDeletedProfiles_AreServedFromTheOverlay() {
+        store.put(CompiledProfile.from(profile("cust_1", 4L)));
+        store.remove("cust_2");
+
+        assertThat(store.get("cust_1")).map(CompiledProfile::getVersion).contains(4L);
+        assertThat(store.get("cust_2")).isEmpty();
+    }
+
+    @Test
+    void reconcile_PicksUpUpdatesAndDeletionsMadeElsewhere() {
+        when(repository.findByUpdatedAtAfter(any(LocalDateTime.class))).thenAnswer(invocation -> {
+            scannedOnPrimary = ReplicaLagGuard.isPrimaryForced();
+            return List.of(profile("cust_1", 5L));
+        });
+        when(repository.findCustomerIdsAfter(eq(ProfileStatus.ACTIVE), eq(""), any(Limit.class)))
+                .thenReturn(List.of("cust_1"));
+        scannedOnPrimary = false;
+
+        store.reconcile();
+
+        assertThat(scannedOnPrimary).isTrue();
+        assertThat(store.get("cust_1")).map(CompiledProfile::getVersion).contains(5L);
+        assertThat(store.get("cust_2")).isEmpty();
+    }
+
+    private static BrandProfile profile(String customerId, long version) {
+        return BrandProfile.builder()
+                .id("id-" + customerId)
+                .customerId(customerId)
+                .brandName("Brand " + customerId)
+                .voiceAttributes(Map.of("tone", "professional", "formality", 0.85,
+                        "vocabulary_complexity", 0.68, "sentence_length", "medium"))
+                .version(version)
+                .build();
+    }
+}
@@ -0,0 +1,70 @@
+package com.typeface.brandvoice.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for similar-brand search: HNSW vs. a brute-force scan over
+ * 200k voice vectors, plus incremental inserts.
+ *
+ * Run with: make bench BENCH=SimilarBrandBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class SimilarBrandBenchmark {
+
+    private static final int PROFILES = 200_000;
+    private static final int K = 10;
+
+    private float[][] vectors;
+    private HnswIndex index;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        vectors = HnswIndexTest.clusteredVectors(new Random(7), PROFILES, 200);
+        index = new HnswIndex(VoiceVectorizer.DIMENSIONS, 16, 100);
+        long start = System.nanoTime();
+        for (int i = 0; i < vectors.length; i++) {
+            index.put("cust_" + i, vectors[i]);
+        }
+        System.out.printf("%nBuilt index of %d vectors in %d ms%n", PROFILES, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Benchmark
+    public List<HnswIndex.Match> hnswSearch() {
+        int query = next++ % PROFILES;
+        return index.search(vectors[query], K, 64, "cust_" + query);
+    }
+
+    @Benchmark
+    public int bruteForce() {
+        int query = next++ % PROFILES;
+        float[] q = vectors[query];
+        // Keeps only the best match; a real top-k scan does at least this much work
+        int best = -1;
+        double bestSimilarity = -2;
+        for (int i = 0; i < vectors.length; i++) {
+            if (i == query) continue;
+            double similarity = VectorSimilarity.cosine(q, vectors[i]);
+            if (similarity > bestSimilarity) {
+                bestSimilarity = similarity;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    @Benchmark
+    public void insert() {
+        int id = next++ % PROFILES;
+        index.put("cust_" + id, vectors[id]);
+    }
+}
@@ -0,0 +1,63 @@
+package com.typeface.brandvoice.service;
+
+import com.typeface.brandvoice.config.ReplicaLagGuard;
+import com.typeface.brandvoice.dto.SimilarBrandsResponse;
+import com.typeface.brandvoice.model.ProfileStatus;
+import com.typeface.brandvoice.model.ProfileVoice;
+import com.typeface.brandvoice.repository.BrandProfileRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SimilarBrandServiceTest {
+
+    private static final List<String> TONES = List.of("professional", "casual", "enthusiastic");
+
+    @Test
+    void rebuild_PagesByLastIdUntilAShortPage() {
+        BrandProfileRepository repository = mock(BrandProfileRepository.class);
+        List<ProfileVoice> first = IntStream.range(0, 1000).mapToObj(SimilarBrandServiceTest::voice).toList();
+        List<ProfileVoice> second = IntStream.range(1000, 1003).mapToObj(SimilarBrandServiceTest::voice).toList();
+        when(repository.findVoicesAfter(eq(ProfileStatus.ACTIVE), eq(""), any(Limit.class))).thenReturn(first);
+        when(repository.findVoicesAfter(eq(ProfileStatus.ACTIVE), eq(first.get(999).id()), any(Limit.class)))
+                .thenReturn(second);
+
+        SimilarBrandService service = new SimilarBrandService(repository,
+                new ReplicaLagGuard("", Duration.ofSeconds(5)), new VoiceVectorizer(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "m", 16);
+        ReflectionTestUtils.setField(service, "efConstruction", 100);
+        ReflectionTestUtils.setField(service, "efSearch", 64);
+        ReflectionTestUtils.setField(service, "maxK", 100);
+
+        service.rebuild();
+
+        assertThat(service.indexedProfiles()).isEqualTo(1003);
+        verify(repository).findVoicesAfter(ProfileStatus.ACTIVE, "", Limit.of(1000));
+        verify(repository).findVoicesAfter(ProfileStatus.ACTIVE, first.get(999).id(), Limit.of(1000));
+
+        SimilarBrandsResponse response = service.findSimilar("cust_1001", 3);
+        assertThat(response.getSimilar()).hasSize(3)
+                .allSatisfy(match -> assertThat(match.getBrandName()).isEqualTo("Brand " + match.getCustomerId()));
+    }
+
+    private static ProfileVoice voice(int i) {
+        return new ProfileVoice(String.format("id-%05d", i), "cust_" + i, "Brand cust_" + i,
+                Map.of("tone", TONES.get(i % TONES.size()), "formality", (i % 10) / 10.0,
+                        "key_phrases", List.of("phrase " + i % 7)),
+                null);
+    }
+}
@@ -0,0 +1,60 @@
+package com.typeface.brandvoice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class StylometricFeatureExtractorTest {
+
+    private final StylometricFeatureExtractor extractor = new StylometricFeatureExtractor();
+
+    private static final String BRAND_SAMPLE = "We are a professional enterprise technology company " +
+            "focused on delivering innovative solutions. Our strategic approach ensures optimal " +
+            "results for our clients. We believe in excellence, efficiency, and partnership.";
+
+    @Test
+    void extract_ProducesFixedWidthVector() {
+        float[] vector = extractor.extract(BRAND_SAMPLE);
+
+        assertThat(vector).hasSize(StylometricFeatureExtractor.DIMENSIONS);
+        assertThat(extractor.similarity(vector, vector)).isCloseTo(1.0, within(1e-5));
+    }
+
+    @Test
+    void similarity_SimilarStyleScoresHigherThanCasualStyle() {
+        float[] centroid = extractor.extract(BRAND_SAMPLE);
+
+        double onBrand = extractor.similarity(extractor.extract(
+                "Our professional team delivers innovative enterprise solutions for our clients. " +
+                        "We focus on excellence, efficiency, and strategic partnership."), centroid);
+        double offBrand = extractor.similarity(extractor.extract(
+                "Hey folks!!! Check out our awesome cool stuff - it's gonna be super amazing!!"), centroid);
+
+        assertThat(onBrand).isGreaterThan(offBrand);
+    }
+
+    @Test
+    void extract_IsCaseInsensitive() {
+        assertThat(extractor.extract(BRAND_SAMPLE.toUpperCase()))
+                .containsExactly(extractor.extract(BRAND_SAMPLE));
+    }
+
+    @Test
+    void cosine_ScalarAndSimdKernelsAgree() {
+        Random random = new Random(42);
+        float[] a = new float[StylometricFeatureExtractor.DIMENSIONS + 3];
+        float[] b = new float[a.length];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = random.nextFloat();
+            b[i] = random.nextFloat();
+        }
+
+        double scalar = new ScalarCosineKernel().cosine(a, b);
+
+        assertThat(VectorSimilarity.cosine(a, b)).isCloseTo(scalar, within(1e-5));
+        assertThat(new SimdCosineKernel().cosine(a, b)).isCloseTo(scalar, within(1e-5));
+    }
+}
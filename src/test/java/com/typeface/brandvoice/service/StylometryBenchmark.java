@@ -0,0 +1,51 @@
+package com.typeface.brandvoice.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for stylometric scoring: SIMD vs. scalar cosine and feature extraction.
+ *
+ * Run with: make bench BENCH=StylometryBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Benchmark)
+public class StylometryBenchmark {
+
+    private static final String CONTENT = "Our professional team delivers innovative enterprise " +
+            "solutions with strategic focus and excellence. We partner with our clients to ensure " +
+            "optimal, measurable results; every engagement is built on trust, efficiency and care.";
+
+    private final StylometricFeatureExtractor extractor = new StylometricFeatureExtractor();
+    private final CosineKernel scalar = new ScalarCosineKernel();
+    private final CosineKernel simd = new SimdCosineKernel();
+
+    private float[] content;
+    private float[] centroid;
+
+    @Setup
+    public void setUp() {
+        content = extractor.extract(CONTENT);
+        centroid = extractor.extract(CONTENT.toUpperCase() + " Furthermore, we value partnership.");
+    }
+
+    @Benchmark
+    public double cosineScalar() {
+        return scalar.cosine(content, centroid);
+    }
+
+    @Benchmark
+    public double cosineSimd() {
+        return simd.cosine(content, centroid);
+    }
+
+    @Benchmark
+    public float[] extract() {
+        return extractor.extract(CONTENT);
+    }
+}
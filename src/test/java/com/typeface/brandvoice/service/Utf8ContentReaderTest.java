@@ -0,0 +1,103 @@
+package com.typeface.brandvoice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.typeface.brandvoice.dto.ValidateContentRequest;
+import com.typeface.brandvoice.exception.MalformedRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class Utf8ContentReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final StylometricFeatureExtractor extractor = new StylometricFeatureExtractor();
+    private final Utf8ContentReader reader = new Utf8ContentReader(objectMapper, extractor);
+
+    private static final String CONTENT = "Hey friends! Our professional team delivers \"innovative\" " +
+            "solutions — furthermore, we're gonna make it AMAZING. Ça va? Naïve café 😀 tab\there.\n";
+
+    @Test
+    void read_MatchesStringAnalysis_ForEscapesAndMultiByteText() throws Exception {
+        byte[] body = objectMapper.writeValueAsBytes(ValidateContentRequest.builder()
+                .customerId("cust_123").content(CONTENT).contentType("email").build());
+        // Same content with every non-ASCII character written as a JSON escape
+        byte[] escaped = ("{\"contentType\":\"email\",\"extra\":{\"nested\":[1,2]},\"content\":\""
+                + escapeNonAscii(CONTENT) + "\",\"customerId\":\"cust_123\"}").getBytes(StandardCharsets.US_ASCII);
+
+        TextAnalysis expected = TextAnalysis.of(CONTENT, extractor);
+        byte[] contentHash = MessageDigest.getInstance("SHA-256").digest(CONTENT.getBytes(StandardCharsets.UTF_8));
+        assertThat(ContentDigest.of(CONTENT)).isEqualTo(contentHash);
+
+        for (byte[] request : new byte[][]{body, escaped}) {
+            Utf8ContentReader.Content content = reader.read(request);
+
+            assertThat(content.customerId()).isEqualTo("cust_123");
+            assertThat(content.contentType()).isEqualTo("email");
+            assertThat(content.analysis().length()).isEqualTo(CONTENT.length());
+            assertThat(content.analysis().attributes()).isEqualTo(expected.attributes());
+            assertThat(content.analysis().stylometricVector()).containsExactly(extractor.extract(CONTENT));
+            assertThat(content.analysis().contentHash()).isEqualTo(contentHash);
+        }
+
+        assertThat(expected.attributes())
+                .containsEntry("tone", "enthusiastic")
+                .containsEntry("formality", 0.25);
+    }
+
+    @Test
+    void read_RejectsInvalidRequests() {
+        assertThatThrownBy(() -> reader.read("{\"content\":\"long enough content\"}".getBytes()))
+                .isInstanceOf(MalformedRequestException.class)
+                .hasMessageContaining("Customer ID");
+        assertThatThrownBy(() -> reader.read("{\"customerId\":\"c\",\"content\":\"short\"}".getBytes()))
+                .isInstanceOf(MalformedRequestException.class)
+                .hasMessageContaining("at least 10");
+        assertThatThrownBy(() -> reader.read("{\"customerId\":\"c\",\"content\":\"unterminated".getBytes()))
+                .isInstanceOf(MalformedRequestException.class);
+    }
+
+    @Test
+    void read_AllocatesAFractionOfStringDecoding() throws Exception {
+        byte[] body = objectMapper.writeValueAsBytes(ValidateContentRequest.builder()
+                .customerId("cust_123").content(CONTENT.repeat(5_000)).build());
+
+        long stringPath = 0;
+        long bytePath = 0;
+        for (int i = 0; i < 5; i++) {
+            stringPath = allocated(() -> objectMapper.readValue(body, ValidateContentRequest.class));
+            bytePath = allocated(() -> reader.read(body).analysis().attributes());
+        }
+
+        assertThat(bytePath).isLessThan(stringPath / 10);
+    }
+
+    private static long allocated(ThrowingRunnable runnable) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        runnable.run();
+        return threads.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    private static String escapeNonAscii(String text) {
+        StringBuilder escaped = new StringBuilder();
+        for (char c : text.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c < 0x20 || c > 0x7E) {
+                escaped.append(String.format("\\u%04X", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,82 @@
+package com.typeface.brandvoice.service;
+
+import com.typeface.brandvoice.model.ValidationRecord;
+import com.typeface.brandvoice.repository.ValidationHistoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class ValidationHistoryWriterTest {
+
+    @Test
+    void stop_WritesTheBatchTheFlusherWasCollecting() throws Exception {
+        ValidationHistoryRepository repository = mock(ValidationHistoryRepository.class);
+        List<ValidationRecord> written = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            // Like the connection pool, refuse to work on an interrupted thread
+            if (Thread.currentThread().isInterrupted()) {
+                throw new IllegalStateException("Interrupted during connection acquisition");
+            }
+            written.addAll(invocation.getArgument(0));
+            return null;
+        }).when(repository).append(anyList());
+
+        ValidationHistoryWriter writer = new ValidationHistoryWriter(repository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(writer, "enabled", true);
+        ReflectionTestUtils.setField(writer, "batchSize", 500);
+        ReflectionTestUtils.setField(writer, "flushInterval", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(writer, "queueCapacity", 100);
+        writer.start();
+
+        for (int i = 0; i < 3; i++) {
+            writer.record(record("cust_" + i));
+        }
+        // Let the flusher take them into a batch that is still waiting for the flush interval
+        Thread.sleep(200);
+        writer.stop();
+
+        assertThat(written).extracting(ValidationRecord::getCustomerId)
+                .containsExactly("cust_0", "cust_1", "cust_2");
+    }
+
+    @Test
+    void start_CreatesThisAndNextMonthsPartitionsBeforeFlushing() throws Exception {
+        ValidationHistoryRepository repository = mock(ValidationHistoryRepository.class);
+        ValidationHistoryWriter writer = new ValidationHistoryWriter(repository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(writer, "enabled", true);
+        ReflectionTestUtils.setField(writer, "batchSize", 500);
+        ReflectionTestUtils.setField(writer, "flushInterval", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(writer, "queueCapacity", 100);
+        writer.start();
+
+        LocalDate thisMonth = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1);
+        verify(repository).createPartition(thisMonth);
+        verify(repository).createPartition(thisMonth.plusMonths(1));
+        writer.stop();
+    }
+
+    private static ValidationRecord record(String customerId) {
+        return ValidationRecord.builder()
+                .customerId(customerId)
+                .validatedAt(Instant.now())
+                .consistencyScore(80.0)
+                .verdict("on_brand")
+                .detailedScores(Map.of("tone", 80.0))
+                .contentHash(new byte[32])
+                .build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.typeface.brandvoice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.typeface.brandvoice.dto.ContentValidationResponse;
+import com.typeface.brandvoice.dto.ValidateContentRequest;
+import com.typeface.brandvoice.dto.ValidationJobRequest;
+import com.typeface.brandvoice.dto.ValidationJobResponse;
+import com.typeface.brandvoice.exception.AdmissionRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ValidationJobServiceTest {
+
+    private final BrandVoiceService brandVoiceService = mock(BrandVoiceService.class);
+    private final AdmissionControlService admissionControl = mock(AdmissionControlService.class);
+    private final List<String> validated = new CopyOnWriteArrayList<>();
+
+    private ValidationJobService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        when(redisTemplate.opsForValue()).thenReturn(mock(ValueOperations.class));
+        when(admissionControl.await(anyString())).thenReturn(AdmissionControlService.Permit.NONE);
+        when(brandVoiceService.validateContent(any())).thenAnswer(invocation -> {
+            validated.add(invocation.<ValidateContentRequest>getArgument(0).getContent());
+            return ContentValidationResponse.builder().build();
+        });
+
+        service = new ValidationJobService(brandVoiceService, admissionControl, redisTemplate,
+                new ObjectMapper(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "workerCount", 1);
+        ReflectionTestUtils.setField(service, "queueCapacity", 3);
+        ReflectionTestUtils.setField(service, "resultTtl", Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void queue_RunsHigherPriorityFirst_FifoWithinAPriority() throws Exception {
+        // Queued before any worker starts, so the order is decided by the queue alone
+        service.submit(job("low first", "low"));
+        service.submit(job("normal", null));
+        service.submit(job("high", "HIGH"));
+        service.start();
+
+        verify(brandVoiceService, timeout(5_000).times(3)).validateContent(any());
+        assertThat(validated).containsExactly("high", "normal", "low first");
+
+        service.submit(job("low second", "low"));
+        verify(brandVoiceService, timeout(5_000).times(4)).validateContent(any());
+        verify(admissionControl, times(4)).await("cust_1");
+    }
+
+    @Test
+    void submit_ReturnsAResponseTheWorkerDoesNotTouch() {
+        ValidationJobResponse response = service.submit(job("only", null));
+        service.start();
+
+        verify(brandVoiceService, timeout(5_000)).validateContent(any());
+        assertThat(response.getStatus()).isEqualTo("queued");
+        assertThat(response.getResults()).isNull();
+        assertThat(response.getStartedAt()).isNull();
+    }
+
+    @Test
+    void submit_RejectsWith503_WhenTheQueueIsFull() {
+        service.submit(job("one", null));
+        service.submit(job("two", null));
+        service.submit(job("three", "high"));
+
+        assertThatThrownBy(() -> service.submit(job("four", "high")))
+                .isInstanceOfSatisfying(AdmissionRejectedException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
+    private static ValidationJobRequest job(String content, String priority) {
+        return ValidationJobRequest.builder()
+                .customerId("cust_1")
+                .items(List.of(ValidationJobRequest.Item.builder().content(content).build()))
+                .priority(priority)
+                .build();
+    }
+}
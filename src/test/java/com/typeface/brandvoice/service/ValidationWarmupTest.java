@@ -0,0 +1,46 @@
+package com.typeface.brandvoice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ValidationWarmupTest {
+
+    private final EventPublisherService eventPublisher = spy(new EventPublisherService(null, new ObjectMapper()));
+
+    @Test
+    void warmUp_StopsAtIterationCount_WithoutPublishing() throws Exception {
+        ValidationWarmup warmup = create(eventPublisher);
+
+        assertThat(warmup.warmUp(200, Duration.ofMinutes(1))).isEqualTo(200);
+
+        verify(eventPublisher, times(200)).encodeValidationPerformed(startsWith("warmup-"), anyDouble(), anyString());
+        verify(eventPublisher, never()).publishValidationPerformed(any(), anyDouble(), any());
+    }
+
+    @Test
+    void warmUp_StopsAtTimeBudget() {
+        ValidationWarmup warmup = create(eventPublisher);
+
+        assertThat(warmup.warmUp(Integer.MAX_VALUE, Duration.ofMillis(200))).isPositive().isLessThan(Integer.MAX_VALUE);
+        assertThat(warmup.warmUp(1000, Duration.ZERO)).isZero();
+    }
+
+    static ValidationWarmup create(EventPublisherService eventPublisher) {
+        StylometricFeatureExtractor extractor = new StylometricFeatureExtractor();
+        // Scoring only needs the extractor; nothing that stores, caches or publishes is wired in
+        BrandVoiceService brandVoiceService = new BrandVoiceService(null, null, eventPublisher, extractor,
+                null, null, null, null, null, null, null, null, null);
+        NearDuplicateIndex nearDuplicateIndex = new NearDuplicateIndex(
+                new SimpleMeterRegistry(), true, 5, 1000, 20, Duration.ofHours(1));
+
+        return new ValidationWarmup(brandVoiceService, extractor, nearDuplicateIndex, eventPublisher,
+                new ObjectMapper(), new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,45 @@
+package com.typeface.brandvoice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for the JIT warm-up: the time a fresh JVM takes for its
+ * first 1000 validations (in-process analysis, scoring, issues, response
+ * and event encoding), with no warm-up and after ValidationWarmup's default
+ * 20,000 iterations.
+ *
+ * Each measurement is a single shot in a new fork, so it sees the JVM as a
+ * newly started instance would.
+ *
+ * Run with: make bench BENCH=WarmupBenchmark
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(value = 5, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Benchmark)
+public class WarmupBenchmark {
+
+    private static final int FIRST_REQUESTS = 1000;
+
+    @Param({"0", "20000"})
+    public int warmupIterations;
+
+    private ValidationWarmup warmup;
+
+    @Setup
+    public void setUp() {
+        warmup = ValidationWarmupTest.create(new EventPublisherService(null, new ObjectMapper()));
+        warmup.warmUp(warmupIterations, Duration.ofMinutes(5));
+    }
+
+    @Benchmark
+    public int firstRequests() {
+        return warmup.warmUp(FIRST_REQUESTS, Duration.ofMinutes(5));
+    }
+}